@@ -2,13 +2,20 @@ package com.food.recipe.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The below class is the main class work as a entry point for spring boot application.
+ * R2DBC is only used by {@code com.food.recipe.reactive.ReactiveRecipeApplication}, the WebFlux deployment of the
+ * same API, so its connection factory is not configured here.
  * 
  * @author snehalata.arun.raut
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class RecipeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,119 @@
+package com.food.recipe.api.admission;
+
+import com.food.recipe.api.concurrent.Bulkhead;
+import com.food.recipe.api.config.AdmissionControlProperties;
+import com.food.recipe.api.exception.AdmissionRejectedException;
+import com.food.recipe.api.model.RecipeSearchFilterRequest;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admits requests to {@link AdmissionControlled} controller methods through the bulkhead of their
+ * {@link EndpointClass}, so expensive searches cannot take the connections point reads need.
+ * <p>
+ * A request which finds the queue of its bulkhead full is rejected with 429; one which waited in the
+ * queue without getting a slot is rejected with 503. The permit is held until the request completes,
+ * including the asynchronous part of async handlers: it is released in {@code afterCompletion} of the async
+ * dispatch, not when the request thread is handed back.
+ * <p>
+ * A queued request waits in {@code preHandle}, on its container thread, for up to the {@code max-wait} of its
+ * bulkhead. Queued list and search requests therefore hold Tomcat threads that point reads could use, so their
+ * queues and waits are kept short.
+ */
+@Slf4j
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+    private final AdmissionControlProperties properties;
+    private final SearchCostEstimator searchCostEstimator;
+
+    public AdmissionControlInterceptor(AdmissionControlProperties properties, SearchCostEstimator searchCostEstimator) {
+        this.properties = properties;
+        this.searchCostEstimator = searchCostEstimator;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            var limits = properties.bulkhead(endpointClass);
+            bulkheads.put(endpointClass, new Bulkhead(endpointClass.name(), limits.maxConcurrent(),
+                    limits.maxQueued(), limits.maxWait()));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(AdmissionControlled.class)) {
+            return true;
+        }
+
+        var endpointClass = classify(request, handlerMethod.getMethodAnnotation(AdmissionControlled.class).value());
+        var bulkhead = bulkheads.get(endpointClass);
+        var retryAfter = properties.bulkhead(endpointClass).retryAfter();
+
+        switch (bulkhead.acquire()) {
+            case ACQUIRED -> request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+            case QUEUE_FULL -> {
+                log.warn("Rejecting {} request, the queue of bulkhead {} is full.", request.getRequestURI(), endpointClass);
+                throw new AdmissionRejectedException("Too many concurrent " + endpointClass + " requests",
+                        HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+            }
+            case TIMED_OUT -> {
+                log.warn("Rejecting {} request, no slot of bulkhead {} became free in time.", request.getRequestURI(), endpointClass);
+                throw new AdmissionRejectedException("Service is overloaded with " + endpointClass + " requests",
+                        HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    Bulkhead bulkhead(EndpointClass endpointClass) {
+        return bulkheads.get(endpointClass);
+    }
+
+    private EndpointClass classify(HttpServletRequest request, EndpointClass endpointClass) {
+        if (endpointClass != EndpointClass.SEARCH) {
+            return endpointClass;
+        }
+        var filter = new RecipeSearchFilterRequest(null, null, null, null,
+                parameterValues(request, "includeIngredients"),
+                parameterValues(request, "excludeIngredients"),
+                request.getParameter("instructionText"));
+
+        int cost = searchCostEstimator.estimate(filter);
+        log.debug("Estimated search cost: {}", cost);
+        return cost >= properties.expensiveSearchCost() ? EndpointClass.EXPENSIVE_SEARCH : EndpointClass.SEARCH;
+    }
+
+    /**
+     * Mirrors the data binder, which accepts both repeated parameters and comma-separated values.
+     */
+    private static List<String> parameterValues(HttpServletRequest request, String name) {
+        String[] values = request.getParameterValues(name);
+        if (values == null) {
+            return List.of();
+        }
+        return Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(StringUtils.commaDelimitedListToStringArray(value)))
+                .toList();
+    }
+}
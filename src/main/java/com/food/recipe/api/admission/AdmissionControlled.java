@@ -0,0 +1,20 @@
+package com.food.recipe.api.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as admitted through the bulkhead of the given {@link EndpointClass}.
+ * Methods marked {@link EndpointClass#SEARCH} are re-classified as {@link EndpointClass#EXPENSIVE_SEARCH}
+ * when the estimated cost of their filter is high.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+
+    EndpointClass value();
+}
@@ -0,0 +1,33 @@
+package com.food.recipe.api.admission;
+
+/**
+ * Classes of endpoints which get their own concurrency limit, so a storm in one class
+ * cannot starve the others of database connections.
+ */
+public enum EndpointClass {
+
+    /**
+     * Single-recipe lookups by ID.
+     */
+    POINT_READ,
+
+    /**
+     * Unfiltered listing of all recipes.
+     */
+    LIST,
+
+    /**
+     * Searches whose estimated cost is below the expensive-search threshold.
+     */
+    SEARCH,
+
+    /**
+     * Searches whose estimated cost reaches the expensive-search threshold.
+     */
+    EXPENSIVE_SEARCH,
+
+    /**
+     * Creates, updates and deletes.
+     */
+    WRITE
+}
@@ -0,0 +1,39 @@
+package com.food.recipe.api.admission;
+
+import com.food.recipe.api.model.RecipeSearchFilterRequest;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Estimates the relative database cost of a recipe search from its filter.
+ * <p>
+ * The model follows the predicates {@code RecipesSpecificationBuilder} generates: every included or
+ * excluded ingredient adds a correlated sub-query over the ingredient table, and the instruction text
+ * becomes a leading-wildcard {@code LIKE} which has to read every instruction, growing with the text length.
+ * The vegetarian and servings filters are plain column comparisons and only count as the base cost.
+ */
+public class SearchCostEstimator {
+
+    static final int BASE_COST = 1;
+    static final int INGREDIENT_COST = 2;
+    static final int INSTRUCTION_TEXT_COST = 3;
+    static final int INSTRUCTION_TEXT_CHARS_PER_COST = 32;
+
+    public int estimate(RecipeSearchFilterRequest request) {
+        int cost = BASE_COST;
+        cost += INGREDIENT_COST * (count(request.includeIngredients()) + count(request.excludeIngredients()));
+
+        if (StringUtils.hasText(request.instructionText())) {
+            cost += INSTRUCTION_TEXT_COST + request.instructionText().length() / INSTRUCTION_TEXT_CHARS_PER_COST;
+        }
+        return cost;
+    }
+
+    private static int count(List<String> ingredients) {
+        if (ingredients == null) {
+            return 0;
+        }
+        return (int) ingredients.stream().filter(StringUtils::hasText).count();
+    }
+}
@@ -0,0 +1,58 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RecipeStore} keeping recipe objects in a {@link ConcurrentHashMap} on the Java heap.
+ * <p>
+ * Every cached recipe is a graph of objects (entity, strings, ingredient list) which the garbage collector
+ * traces and copies; see {@link OffHeapRecipeStore} for the alternative.
+ */
+public class HeapRecipeStore implements RecipeStore {
+
+    private final Map<Integer, RecipeEntity> recipes = new ConcurrentHashMap<>();
+
+    @Override
+    public RecipeEntity get(int id) {
+        var recipe = recipes.get(id);
+        return recipe == null ? null : copy(recipe, recipe.getIngredients());
+    }
+
+    @Override
+    public boolean put(RecipeEntity recipe) {
+        var ingredients = recipe.getIngredients() == null ? null : List.copyOf(recipe.getIngredients());
+        recipes.put(recipe.getId(), copy(recipe, ingredients));
+        return true;
+    }
+
+    @Override
+    public void remove(int id) {
+        recipes.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        recipes.clear();
+    }
+
+    @Override
+    public int size() {
+        return recipes.size();
+    }
+
+    private static RecipeEntity copy(RecipeEntity recipe, List<String> ingredients) {
+        return RecipeEntity.builder()
+                .id(recipe.getId())
+                .name(recipe.getName())
+                .isVegetarian(recipe.getIsVegetarian())
+                .servings(recipe.getServings())
+                .ingredients(ingredients)
+                .instructions(recipe.getInstructions())
+                .ingredientSignature(recipe.getIngredientSignature())
+                .build();
+    }
+}
@@ -0,0 +1,301 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link RecipeStore} keeping serialized recipes in direct memory, so the garbage collector neither traces nor
+ * copies them; only the few slab buffers and the two index arrays live on the heap.
+ * <p>
+ * Recipes are encoded by {@link RecipeCodec} and appended, prefixed by their length, to direct {@link ByteBuffer}
+ * slabs of {@code slabSize} bytes. An open-addressing table with linear probing maps each ID to the slab and
+ * offset of its record in parallel primitive arrays, so a lookup allocates nothing but the copied bytes and the
+ * decoded recipe. Replaced and removed records leave dead bytes behind; once all {@code capacity} bytes are in
+ * use and at least a slab's worth is dead, the live records are slid down in place. A recipe which still does
+ * not fit is not stored, and its lookups fall through to the database.
+ * <p>
+ * Reads share a read lock and writes take the write lock. Direct memory of dropped slabs is released when the
+ * garbage collector reclaims their buffers; size {@code -XX:MaxDirectMemorySize} above the capacity.
+ */
+public class OffHeapRecipeStore implements RecipeStore {
+
+    /** Marks a free slot in the index; recipe IDs start at 1. */
+    private static final int EMPTY = 0;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteBuffer[] slabs;
+    private int slabCount;
+    private int writeOffset;
+    private long liveBytes;
+    private int[] keys;
+    private long[] addresses;
+    private int size;
+
+    /**
+     * @param capacity maximum number of bytes held in direct memory, rounded down to whole slabs
+     * @param slabSize size of each direct buffer, which also bounds the size of a single serialized recipe
+     */
+    public OffHeapRecipeStore(long capacity, int slabSize) {
+        if (slabSize <= Integer.BYTES || capacity < slabSize) {
+            throw new IllegalArgumentException("Capacity " + capacity + " must hold at least one slab of " + slabSize
+                    + " bytes");
+        }
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.min(capacity / slabSize, Integer.MAX_VALUE);
+        reset();
+    }
+
+    @Override
+    public RecipeEntity get(int id) {
+        byte[] bytes;
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return null;
+            }
+            ByteBuffer slab = slabs[slab(addresses[slot])];
+            int offset = offset(addresses[slot]);
+            bytes = new byte[slab.getInt(offset)];
+            slab.get(offset + Integer.BYTES, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return RecipeCodec.decode(bytes);
+    }
+
+    @Override
+    public boolean put(RecipeEntity recipe) {
+        if (recipe.getId() == null || recipe.getId() < 1) {
+            throw new IllegalArgumentException("Only persisted recipes can be stored: " + recipe.getId());
+        }
+        byte[] bytes = RecipeCodec.encode(recipe);
+        int recordSize = Integer.BYTES + bytes.length;
+        lock.writeLock().lock();
+        try {
+            removeEntry(recipe.getId());
+            if (recordSize > slabSize) {
+                return false;
+            }
+            long address = allocate(recordSize);
+            if (address < 0) {
+                return false;
+            }
+            ByteBuffer slab = slabs[slab(address)];
+            slab.putInt(offset(address), bytes.length);
+            slab.put(offset(address) + Integer.BYTES, bytes);
+            liveBytes += recordSize;
+            insert(recipe.getId(), address);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of direct memory bytes currently allocated for slabs
+     */
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slabCount * slabSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset() {
+        slabs = new ByteBuffer[Math.min(maxSlabs, 16)];
+        slabCount = 0;
+        writeOffset = slabSize;
+        liveBytes = 0;
+        keys = new int[INITIAL_SLOTS];
+        addresses = new long[INITIAL_SLOTS];
+        size = 0;
+    }
+
+    /**
+     * @return the address of {@code recordSize} free bytes, or -1 if none are left even after compacting
+     */
+    private long allocate(int recordSize) {
+        if (slabSize - writeOffset < recordSize && slabCount == maxSlabs) {
+            long deadBytes = (long) slabCount * slabSize - (slabSize - writeOffset) - liveBytes;
+            if (deadBytes < slabSize) {
+                return -1;
+            }
+            compact();
+        }
+        if (slabSize - writeOffset < recordSize) {
+            if (slabCount == maxSlabs) {
+                return -1;
+            }
+            addSlab();
+        }
+        long address = address(slabCount - 1, writeOffset);
+        writeOffset += recordSize;
+        return address;
+    }
+
+    private void addSlab() {
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, Math.min(maxSlabs, slabs.length * 2));
+        }
+        slabs[slabCount++] = ByteBuffer.allocateDirect(slabSize);
+        writeOffset = 0;
+    }
+
+    /**
+     * Slides the live records down in address order, so the dead bytes end up as free space behind the last
+     * record. A record never moves to a later address, so no second copy of the slabs is needed.
+     */
+    private void compact() {
+        long[] live = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                live[count++] = addresses[slot];
+            }
+        }
+        Arrays.sort(live);
+
+        int targetSlab = 0;
+        int targetOffset = 0;
+        for (long address : live) {
+            ByteBuffer source = slabs[slab(address)];
+            int recordSize = Integer.BYTES + source.getInt(offset(address));
+            if (slabSize - targetOffset < recordSize) {
+                targetSlab++;
+                targetOffset = 0;
+            }
+            long target = address(targetSlab, targetOffset);
+            if (target != address) {
+                byte[] record = new byte[recordSize];
+                source.get(offset(address), record);
+                slabs[targetSlab].put(targetOffset, record);
+                addresses[slotOf(slabs[targetSlab].getInt(targetOffset + Integer.BYTES))] = target;
+            }
+            targetOffset += recordSize;
+        }
+        Arrays.fill(slabs, targetSlab + 1, slabCount, null);
+        slabCount = targetSlab + 1;
+        writeOffset = targetOffset;
+    }
+
+    private int slotOf(int id) {
+        int mask = keys.length - 1;
+        for (int slot = home(id, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int id, long address) {
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = home(id, mask);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        addresses[slot] = address;
+        size++;
+    }
+
+    /**
+     * Removes the entry and shifts the following entries of its probe run back, so lookups need no tombstones.
+     */
+    private void removeEntry(int id) {
+        int hole = slotOf(id);
+        if (hole < 0) {
+            return;
+        }
+        liveBytes -= Integer.BYTES + slabs[slab(addresses[hole])].getInt(offset(addresses[hole]));
+        int mask = keys.length - 1;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            if (((next - home(keys[next], mask)) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                addresses[hole] = addresses[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        addresses[hole] = 0;
+        size--;
+    }
+
+    private void resize(int slots) {
+        int[] oldKeys = keys;
+        long[] oldAddresses = addresses;
+        keys = new int[slots];
+        addresses = new long[slots];
+        int mask = slots - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = home(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                addresses[slot] = oldAddresses[i];
+            }
+        }
+    }
+
+    private static int home(int id, int mask) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static long address(int slab, int offset) {
+        return (long) slab << 32 | offset;
+    }
+
+    private static int slab(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,73 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.config.RecipeCacheProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Read cache of recipes by ID in front of the database, backed by a {@link HeapRecipeStore} or an
+ * {@link OffHeapRecipeStore} as configured by {@code recipe.cache.store}.
+ * <p>
+ * The cache is filled and invalidated only through the {@link RecipeIndex} callbacks, i.e. from the rebuild at
+ * startup and from every write flushed through JPA; a database read never populates it, so a lookup racing with
+ * a delete cannot put the deleted recipe back. While the cache is being rebuilt, or when it is disabled, lookups
+ * miss and fall through to the database.
+ * <p>
+ * Writes of other processes never reach the callbacks, so the cache is disabled by default and only meant for an
+ * instance which is the single writer of its database, see {@link RecipeCacheProperties}.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class RecipeCache implements RecipeIndex {
+
+    /** Size of the off-heap slabs, and so the largest serialized recipe the cache holds. */
+    private static final int MAX_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private final boolean enabled;
+    private final RecipeStore store;
+
+    public RecipeCache(RecipeCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.store = switch (properties.store()) {
+            case HEAP -> new HeapRecipeStore();
+            case OFF_HEAP -> new OffHeapRecipeStore(properties.capacity().toBytes(),
+                    (int) Math.min(MAX_SLAB_SIZE, properties.capacity().toBytes()));
+        };
+    }
+
+    /**
+     * @return the cached recipe, or empty if the recipe is not cached
+     */
+    public Optional<RecipeEntity> get(int id) {
+        return enabled ? Optional.ofNullable(store.get(id)) : Optional.empty();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (enabled && !store.put(recipe)) {
+            log.debug("Recipe cache is full; recipe with ID :{} will be read from the database.", recipe.getId());
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() != null) {
+            store.remove(recipe.getId());
+        }
+    }
+}
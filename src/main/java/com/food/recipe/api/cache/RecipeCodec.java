@@ -0,0 +1,116 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of a recipe used by {@link OffHeapRecipeStore}:
+ * <pre>
+ * int    id
+ * byte   vegetarian (0 false, 1 true, -1 null)
+ * int    servings (Integer.MIN_VALUE for null)
+ * bytes  name, instructions
+ * int    ingredient count (-1 for null), followed by that many bytes
+ * bytes  ingredient signature
+ * </pre>
+ * where {@code bytes} is an int length (-1 for null) followed by the UTF-8 encoded text or raw bytes.
+ */
+final class RecipeCodec {
+
+    private static final int NULL = -1;
+
+    private RecipeCodec() {
+    }
+
+    static byte[] encode(RecipeEntity recipe) {
+        byte[] name = utf8(recipe.getName());
+        byte[] instructions = utf8(recipe.getInstructions());
+        List<String> ingredients = recipe.getIngredients();
+        byte[][] encodedIngredients = new byte[ingredients == null ? 0 : ingredients.size()][];
+        int size = Integer.BYTES + 1 + Integer.BYTES + length(name) + length(instructions) + Integer.BYTES
+                + length(recipe.getIngredientSignature());
+        for (int i = 0; i < encodedIngredients.length; i++) {
+            encodedIngredients[i] = utf8(ingredients.get(i));
+            size += length(encodedIngredients[i]);
+        }
+
+        var buffer = ByteBuffer.allocate(size);
+        buffer.putInt(recipe.getId());
+        buffer.put(recipe.getIsVegetarian() == null ? (byte) NULL : (byte) (recipe.getIsVegetarian() ? 1 : 0));
+        buffer.putInt(recipe.getServings() == null ? Integer.MIN_VALUE : recipe.getServings());
+        putBytes(buffer, name);
+        putBytes(buffer, instructions);
+        buffer.putInt(ingredients == null ? NULL : encodedIngredients.length);
+        for (byte[] ingredient : encodedIngredients) {
+            putBytes(buffer, ingredient);
+        }
+        putBytes(buffer, recipe.getIngredientSignature());
+        return buffer.array();
+    }
+
+    static RecipeEntity decode(byte[] bytes) {
+        var buffer = ByteBuffer.wrap(bytes);
+        int id = buffer.getInt();
+        byte vegetarian = buffer.get();
+        int servings = buffer.getInt();
+        String name = string(buffer);
+        String instructions = string(buffer);
+        int count = buffer.getInt();
+        List<String> ingredients = null;
+        if (count != NULL) {
+            ingredients = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ingredients.add(string(buffer));
+            }
+        }
+        // The builder assigns the stored signature as is, unlike setIngredients which would recompute it.
+        return RecipeEntity.builder()
+                .id(id)
+                .name(name)
+                .isVegetarian(vegetarian == NULL ? null : vegetarian == 1)
+                .servings(servings == Integer.MIN_VALUE ? null : servings)
+                .ingredients(ingredients)
+                .instructions(instructions)
+                .ingredientSignature(bytes(buffer))
+                .build();
+    }
+
+    private static byte[] utf8(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes == null ? NULL : bytes.length);
+        if (bytes != null) {
+            buffer.put(bytes);
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL) {
+            return null;
+        }
+        var text = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return text;
+    }
+}
@@ -0,0 +1,31 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+/**
+ * Holds copies of recipes keyed by their ID, as the backing layer of the {@link RecipeCache}.
+ * <p>
+ * Implementations must be thread safe. A stored recipe is detached from the entity passed to {@link #put}, so
+ * later changes to that entity do not reach the store. The recipes returned by {@link #get} are read-only.
+ */
+public interface RecipeStore {
+
+    /**
+     * @return a copy of the stored recipe, or {@code null} if none is stored for the ID
+     */
+    RecipeEntity get(int id);
+
+    /**
+     * Stores a copy of the recipe, replacing the one with the same ID.
+     *
+     * @param recipe the recipe, with its ID assigned
+     * @return {@code false} if the store is full; any previous entry for the ID has been removed then
+     */
+    boolean put(RecipeEntity recipe);
+
+    void remove(int id);
+
+    void clear();
+
+    int size();
+}
@@ -0,0 +1,40 @@
+package com.food.recipe.api.catalog;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Admin endpoint exporting the recipe catalog with a {@code POST} to {@code /actuator/catalog}.
+ */
+@Component
+@Profile("!memory & !catalog & !sharded")
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    private final CatalogExporter catalogExporter;
+
+    /**
+     * @param recipes number of exported recipes
+     * @param file    the written catalog file
+     */
+    public record CatalogExport(int recipes, String file) {
+    }
+
+    public CatalogEndpoint(CatalogExporter catalogExporter) {
+        this.catalogExporter = catalogExporter;
+    }
+
+    @WriteOperation
+    public CatalogExport export() {
+        try {
+            return new CatalogExport(catalogExporter.export(), catalogExporter.file().toString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not export the recipe catalog", ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.food.recipe.api.catalog;
+
+import com.food.recipe.api.config.RecipeCatalogProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Exports every persisted recipe to the catalog file served by applications running with the {@code catalog}
+ * profile. Recipes are read in keyset pages of ascending ID and the persistence context is cleared in between, as
+ * in {@code RecipeIndexLoader}, so the export holds the encoded catalog but never more than one page of entities.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class CatalogExporter {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final EntityManager entityManager;
+    private final RecipeCatalogProperties properties;
+
+    public CatalogExporter(RecipeRepository recipeRepository,
+                           EntityManager entityManager,
+                           RecipeCatalogProperties properties) {
+        this.recipeRepository = recipeRepository;
+        this.entityManager = entityManager;
+        this.properties = properties;
+    }
+
+    public Path file() {
+        return properties.file();
+    }
+
+    /**
+     * @return the number of exported recipes
+     */
+    @Transactional(readOnly = true)
+    public int export() throws IOException {
+        var writer = new CatalogWriter();
+        int lastId = 0;
+        List<RecipeEntity> page;
+        do {
+            page = recipeRepository.findByIdGreaterThanOrderById(lastId, Limit.of(PAGE_SIZE));
+            page.forEach(writer::add);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+            entityManager.clear();
+        } while (page.size() == PAGE_SIZE);
+
+        writer.writeTo(properties.file());
+        log.info("Exported {} recipes to the catalog {}.", writer.size(), properties.file());
+        return writer.size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.food.recipe.api.catalog;
+
+/**
+ * Layout of a recipe catalog file, written by {@link CatalogWriter} and read in place by {@link MappedCatalog}.
+ * All numbers are big-endian {@code int}s and all offsets are absolute positions in the file.
+ * <pre>
+ * header        magic, version, recipe count, ingredient count,
+ *               dictionary offset, ingredient ID offset, heap offset, heap length
+ * records       one fixed-size record per recipe, in ascending ID order
+ * dictionary    heap offset and length of every distinct ingredient, in ascending UTF-8 byte order
+ * ingredients   dictionary IDs of the ingredients of every recipe, back to back in record order
+ * heap          UTF-8 bytes of the names, instructions and ingredients
+ * </pre>
+ * A record holds the ID, servings and vegetarian flag, heap offsets and lengths of the name and the instructions
+ * as given and lower-cased for case-insensitive matching, and the range of its ingredient IDs. Lower-cased text
+ * equal to the original is stored once.
+ */
+final class CatalogFormat {
+
+    static final int MAGIC = 0x52434154;
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECIPE_COUNT = 8;
+    static final int INGREDIENT_COUNT = 12;
+    static final int DICTIONARY_OFFSET = 16;
+    static final int INGREDIENT_IDS_OFFSET = 20;
+    static final int HEAP_OFFSET = 24;
+    static final int HEAP_LENGTH = 28;
+
+    static final int RECORD_SIZE = 52;
+    static final int ID = 0;
+    static final int SERVINGS = 4;
+    static final int VEGETARIAN = 8;
+    static final int NAME = 12;
+    static final int LOWER_NAME = 20;
+    static final int INSTRUCTIONS = 28;
+    static final int LOWER_INSTRUCTIONS = 36;
+    static final int INGREDIENTS_START = 44;
+    static final int INGREDIENTS_COUNT = 48;
+
+    /**
+     * Size of a dictionary entry, and of a text reference within a record: heap offset and length.
+     */
+    static final int TEXT_SIZE = 8;
+
+    private CatalogFormat() {
+    }
+}
@@ -0,0 +1,182 @@
+package com.food.recipe.api.catalog;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.food.recipe.api.catalog.CatalogFormat.HEADER_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.ID;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENTS_COUNT;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENTS_START;
+import static com.food.recipe.api.catalog.CatalogFormat.INSTRUCTIONS;
+import static com.food.recipe.api.catalog.CatalogFormat.LOWER_INSTRUCTIONS;
+import static com.food.recipe.api.catalog.CatalogFormat.LOWER_NAME;
+import static com.food.recipe.api.catalog.CatalogFormat.MAGIC;
+import static com.food.recipe.api.catalog.CatalogFormat.NAME;
+import static com.food.recipe.api.catalog.CatalogFormat.RECORD_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.SERVINGS;
+import static com.food.recipe.api.catalog.CatalogFormat.TEXT_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.VEGETARIAN;
+import static com.food.recipe.api.catalog.CatalogFormat.VERSION;
+
+/**
+ * Builds a catalog file in the {@link CatalogFormat} from recipes added in ascending ID order.
+ * <p>
+ * Only the encoded records and the string heap are kept while recipes are added, so a caller can stream the
+ * recipes page by page. Ingredients get provisional IDs in order of appearance and are renumbered in byte order
+ * when the file is written. Not thread safe.
+ */
+public class CatalogWriter {
+
+    private static final int INTS_PER_RECORD = RECORD_SIZE / Integer.BYTES;
+
+    private final ByteArrayOutputStream heap = new ByteArrayOutputStream();
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<byte[]> ingredients = new ArrayList<>();
+    private int[] records = new int[64 * INTS_PER_RECORD];
+    private int recipeCount;
+    private int[] recipeIngredients = new int[256];
+    private int recipeIngredientCount;
+
+    /**
+     * @throws IllegalArgumentException if the recipe's ID is not greater than the previous one
+     */
+    public void add(RecipeEntity recipe) {
+        if (recipeCount > 0 && recipe.getId() <= records[(recipeCount - 1) * INTS_PER_RECORD + ID / Integer.BYTES]) {
+            throw new IllegalArgumentException("Recipes must be added in ascending ID order: " + recipe.getId());
+        }
+        if ((recipeCount + 1) * INTS_PER_RECORD > records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+        int record = recipeCount * INTS_PER_RECORD;
+        records[record + ID / Integer.BYTES] = recipe.getId();
+        records[record + SERVINGS / Integer.BYTES] = recipe.getServings();
+        records[record + VEGETARIAN / Integer.BYTES] = Boolean.TRUE.equals(recipe.getIsVegetarian()) ? 1 : 0;
+        appendText(record + NAME / Integer.BYTES, recipe.getName());
+        appendText(record + INSTRUCTIONS / Integer.BYTES,
+                recipe.getInstructions() == null ? "" : recipe.getInstructions());
+
+        List<String> names = recipe.getIngredients() == null ? List.of() : recipe.getIngredients();
+        records[record + INGREDIENTS_START / Integer.BYTES] = recipeIngredientCount;
+        records[record + INGREDIENTS_COUNT / Integer.BYTES] = names.size();
+        for (String ingredient : names) {
+            if (recipeIngredientCount == recipeIngredients.length) {
+                recipeIngredients = Arrays.copyOf(recipeIngredients, recipeIngredients.length * 2);
+            }
+            recipeIngredients[recipeIngredientCount++] = ingredientIds.computeIfAbsent(ingredient, key -> {
+                ingredients.add(key.getBytes(StandardCharsets.UTF_8));
+                return ingredients.size() - 1;
+            });
+        }
+        recipeCount++;
+    }
+
+    public int size() {
+        return recipeCount;
+    }
+
+    /**
+     * Writes the catalog to a temporary file next to {@code file} and moves it into place, so a reader
+     * never maps a partly written catalog.
+     *
+     * @throws IOException if the file cannot be written or the catalog exceeds 2 GB
+     */
+    public void writeTo(Path file) throws IOException {
+        Integer[] order = new Integer[ingredients.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (left, right) -> Arrays.compareUnsigned(ingredients.get(left), ingredients.get(right)));
+        int[] sortedIds = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[order[i]] = i;
+        }
+
+        long dictionaryOffset = HEADER_SIZE + (long) recipeCount * RECORD_SIZE;
+        long ingredientIdsOffset = dictionaryOffset + (long) order.length * TEXT_SIZE;
+        long heapOffset = ingredientIdsOffset + (long) recipeIngredientCount * Integer.BYTES;
+        long ingredientHeapOffset = heap.size();
+        long heapLength = ingredientHeapOffset + ingredients.stream().mapToLong(bytes -> bytes.length).sum();
+        if (heapOffset + heapLength > Integer.MAX_VALUE) {
+            throw new IOException("Catalog of " + recipeCount + " recipes exceeds the maximum size of 2 GB");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(recipeCount);
+                out.writeInt(order.length);
+                out.writeInt((int) dictionaryOffset);
+                out.writeInt((int) ingredientIdsOffset);
+                out.writeInt((int) heapOffset);
+                out.writeInt((int) heapLength);
+                writeRecords(out, (int) heapOffset);
+                int position = (int) (heapOffset + ingredientHeapOffset);
+                for (Integer id : order) {
+                    out.writeInt(position);
+                    out.writeInt(ingredients.get(id).length);
+                    position += ingredients.get(id).length;
+                }
+                for (int i = 0; i < recipeIngredientCount; i++) {
+                    out.writeInt(sortedIds[recipeIngredients[i]]);
+                }
+                heap.writeTo(out);
+                for (Integer id : order) {
+                    out.write(ingredients.get(id));
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writeRecords(DataOutputStream out, int heapOffset) throws IOException {
+        for (int record = 0; record < recipeCount * INTS_PER_RECORD; record += INTS_PER_RECORD) {
+            for (int field = 0; field < INTS_PER_RECORD; field++) {
+                int value = records[record + field];
+                out.writeInt(isHeapOffset(field * Integer.BYTES) ? heapOffset + value : value);
+            }
+        }
+    }
+
+    private static boolean isHeapOffset(int field) {
+        return field == NAME || field == LOWER_NAME || field == INSTRUCTIONS || field == LOWER_INSTRUCTIONS;
+    }
+
+    /**
+     * Appends the text and its lower-cased form to the heap, storing the lower-cased form only if it differs.
+     */
+    private void appendText(int field, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        records[field] = heap.size();
+        records[field + 1] = bytes.length;
+        heap.writeBytes(bytes);
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.equals(text)) {
+            records[field + 2] = records[field];
+            records[field + 3] = bytes.length;
+        } else {
+            byte[] lowerBytes = lower.getBytes(StandardCharsets.UTF_8);
+            records[field + 2] = heap.size();
+            records[field + 3] = lowerBytes.length;
+            heap.writeBytes(lowerBytes);
+        }
+    }
+}
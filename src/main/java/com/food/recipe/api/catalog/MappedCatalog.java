@@ -0,0 +1,338 @@
+package com.food.recipe.api.catalog;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.food.recipe.api.catalog.CatalogFormat.DICTIONARY_OFFSET;
+import static com.food.recipe.api.catalog.CatalogFormat.HEADER_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.HEAP_LENGTH;
+import static com.food.recipe.api.catalog.CatalogFormat.HEAP_OFFSET;
+import static com.food.recipe.api.catalog.CatalogFormat.ID;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENTS_COUNT;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENTS_START;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENT_COUNT;
+import static com.food.recipe.api.catalog.CatalogFormat.INGREDIENT_IDS_OFFSET;
+import static com.food.recipe.api.catalog.CatalogFormat.INSTRUCTIONS;
+import static com.food.recipe.api.catalog.CatalogFormat.LOWER_INSTRUCTIONS;
+import static com.food.recipe.api.catalog.CatalogFormat.LOWER_NAME;
+import static com.food.recipe.api.catalog.CatalogFormat.MAGIC;
+import static com.food.recipe.api.catalog.CatalogFormat.NAME;
+import static com.food.recipe.api.catalog.CatalogFormat.RECIPE_COUNT;
+import static com.food.recipe.api.catalog.CatalogFormat.RECORD_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.SERVINGS;
+import static com.food.recipe.api.catalog.CatalogFormat.TEXT_SIZE;
+import static com.food.recipe.api.catalog.CatalogFormat.VEGETARIAN;
+import static com.food.recipe.api.catalog.CatalogFormat.VERSION;
+
+/**
+ * Read-only view of a catalog file in the {@link CatalogFormat}, memory-mapped so the operating system pages it in
+ * on demand and shares it between processes.
+ * <p>
+ * Lookups and filters read the fields in place: an ID is found by binary search over the records, an ingredient by
+ * binary search over the dictionary comparing UTF-8 bytes, and the instruction text is matched against the stored
+ * lower-cased bytes. Nothing is copied to the heap until {@link #recipe(int)} materializes a matching recipe.
+ * Recipes are addressed by their position in ID order. Immutable and safe for concurrent use; the mapping is
+ * released once the instance is garbage collected.
+ */
+public final class MappedCatalog {
+
+    private static final MappedCatalog EMPTY = new MappedCatalog(emptyCatalog());
+
+    private final ByteBuffer buffer;
+    private final int recipeCount;
+    private final int ingredientCount;
+    private final int dictionaryOffset;
+    private final int ingredientIdsOffset;
+
+    /**
+     * The recipe filters, resolved against the catalog once per search.
+     *
+     * @param includeIds dictionary IDs of the ingredients a recipe must contain
+     * @param excludeIds dictionary IDs of the ingredients a recipe must not contain, unknown ones left out
+     * @param text       lower-cased UTF-8 bytes of the instruction text, or null
+     */
+    public record Filter(Boolean isVegetarian, ServingsFilter servings, int[] includeIds, int[] excludeIds,
+                         byte[] text) {
+    }
+
+    private MappedCatalog(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.recipeCount = buffer.getInt(RECIPE_COUNT);
+        this.ingredientCount = buffer.getInt(INGREDIENT_COUNT);
+        this.dictionaryOffset = buffer.getInt(DICTIONARY_OFFSET);
+        this.ingredientIdsOffset = buffer.getInt(INGREDIENT_IDS_OFFSET);
+    }
+
+    /**
+     * Maps the catalog file; the mapping stays valid when the file is replaced or deleted afterwards.
+     *
+     * @throws IOException if the file cannot be read or is not a catalog of this version
+     */
+    public static MappedCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a recipe catalog: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || (long) buffer.getInt(HEAP_OFFSET) + buffer.getInt(HEAP_LENGTH) != size) {
+                throw new IOException("Not a recipe catalog of version " + VERSION + ": " + file);
+            }
+            return new MappedCatalog(buffer);
+        }
+    }
+
+    /**
+     * @return a catalog without recipes
+     */
+    public static MappedCatalog empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return recipeCount;
+    }
+
+    public int id(int index) {
+        return buffer.getInt(record(index) + ID);
+    }
+
+    /**
+     * @return the position of the recipe with the given ID, or -1 if there is none
+     */
+    public int indexOf(int id) {
+        int low = 0;
+        int high = recipeCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = id(middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the filter, or null if no recipe can match because an included ingredient is unknown
+     */
+    public Filter filter(Boolean isVegetarian,
+                         ServingsFilter servings,
+                         List<String> includeIngredients,
+                         List<String> excludeIngredients,
+                         String instructionText) {
+
+        int[] includeIds = ingredientIds(includeIngredients);
+        if (includeIds == null) {
+            return null;
+        }
+        int[] excludeIds = ingredientIds(excludeIngredients == null ? null
+                : excludeIngredients.stream().filter(ingredient -> ingredientId(ingredient) >= 0).toList());
+        byte[] text = StringUtils.hasText(instructionText)
+                ? instructionText.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8) : null;
+        return new Filter(isVegetarian, servings, includeIds, excludeIds, text);
+    }
+
+    /**
+     * @return whether the recipe at the position passes the filter, read without copying any field
+     */
+    public boolean matches(int index, Filter filter) {
+        int record = record(index);
+        if (filter.isVegetarian() != null && filter.isVegetarian() != (buffer.getInt(record + VEGETARIAN) != 0)) {
+            return false;
+        }
+        if (filter.servings() != null && !filter.servings().matches(buffer.getInt(record + SERVINGS))) {
+            return false;
+        }
+        for (int id : filter.includeIds()) {
+            if (!hasIngredient(record, id)) {
+                return false;
+            }
+        }
+        for (int id : filter.excludeIds()) {
+            if (hasIngredient(record, id)) {
+                return false;
+            }
+        }
+        return filter.text() == null || find(record + LOWER_INSTRUCTIONS, filter.text()) >= 0;
+    }
+
+    /**
+     * Scores the recipe with the positions of the search text in its name and instructions, counted in
+     * {@code char}s like {@link String#indexOf(String)}.
+     */
+    public double score(int index, RelevanceScorer scorer, Filter filter) {
+        int record = record(index);
+        int id = buffer.getInt(record + ID);
+        int ingredients = buffer.getInt(record + INGREDIENTS_COUNT);
+        if (filter.text() == null) {
+            return scorer.score(id, ingredients, 0, 0);
+        }
+        return scorer.score(id, ingredients, charPosition(record + LOWER_NAME, filter.text()),
+                charPosition(record + LOWER_INSTRUCTIONS, filter.text()));
+    }
+
+    /**
+     * Copies the recipe at the position to a new entity.
+     */
+    public RecipeEntity recipe(int index) {
+        int record = record(index);
+        int start = buffer.getInt(record + INGREDIENTS_START);
+        int count = buffer.getInt(record + INGREDIENTS_COUNT);
+        List<String> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ingredients.add(text(dictionaryOffset + ingredientId(start + i) * TEXT_SIZE));
+        }
+        return RecipeEntity.builder()
+                .id(buffer.getInt(record + ID))
+                .name(text(record + NAME))
+                .isVegetarian(buffer.getInt(record + VEGETARIAN) != 0)
+                .servings(buffer.getInt(record + SERVINGS))
+                .ingredients(ingredients)
+                .instructions(text(record + INSTRUCTIONS))
+                .ingredientSignature(MinHash.encode(MinHash.signature(ingredients)))
+                .build();
+    }
+
+    private int record(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private int ingredientId(int position) {
+        return buffer.getInt(ingredientIdsOffset + position * Integer.BYTES);
+    }
+
+    private boolean hasIngredient(int record, int id) {
+        int start = buffer.getInt(record + INGREDIENTS_START);
+        int end = start + buffer.getInt(record + INGREDIENTS_COUNT);
+        for (int i = start; i < end; i++) {
+            if (ingredientId(i) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the dictionary IDs of the ingredients, or null if one of them is unknown
+     */
+    private int[] ingredientIds(List<String> ingredients) {
+        if (ingredients == null) {
+            return new int[0];
+        }
+        int[] ids = new int[ingredients.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ingredientId(ingredients.get(i));
+            if (ids[i] < 0) {
+                return null;
+            }
+        }
+        return ids;
+    }
+
+    private int ingredientId(String ingredient) {
+        byte[] key = ingredient.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = ingredientCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(dictionaryOffset + middle * TEXT_SIZE, key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the text referenced at {@code reference} with the key as unsigned bytes.
+     */
+    private int compare(int reference, byte[] key) {
+        int offset = buffer.getInt(reference);
+        int length = buffer.getInt(reference + Integer.BYTES);
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int comparison = Byte.compareUnsigned(buffer.get(offset + i), key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    /**
+     * @return the byte offset of the first occurrence of the key in the referenced text, or -1
+     */
+    private int find(int reference, byte[] key) {
+        int offset = buffer.getInt(reference);
+        int last = buffer.getInt(reference + Integer.BYTES) - key.length;
+        outer:
+        for (int start = 0; start <= last; start++) {
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(offset + start + i) != key[i]) {
+                    continue outer;
+                }
+            }
+            return start;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the 1-based {@code char} position of the key in the referenced text, or 0 if absent
+     */
+    private int charPosition(int reference, byte[] key) {
+        int bytePosition = find(reference, key);
+        if (bytePosition < 0) {
+            return 0;
+        }
+        int offset = buffer.getInt(reference);
+        int chars = 0;
+        for (int i = 0; i < bytePosition; i++) {
+            int value = buffer.get(offset + i) & 0xFF;
+            if (value >= 0xF0) {
+                chars += 2;
+            } else if ((value & 0xC0) != 0x80) {
+                chars++;
+            }
+        }
+        return chars + 1;
+    }
+
+    private String text(int reference) {
+        byte[] bytes = new byte[buffer.getInt(reference + Integer.BYTES)];
+        buffer.get(buffer.getInt(reference), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer emptyCatalog() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(DICTIONARY_OFFSET, HEADER_SIZE)
+                .putInt(INGREDIENT_IDS_OFFSET, HEADER_SIZE)
+                .putInt(HEAP_OFFSET, HEADER_SIZE);
+        return buffer;
+    }
+}
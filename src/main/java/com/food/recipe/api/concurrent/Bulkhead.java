@@ -0,0 +1,73 @@
+package com.food.recipe.api.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of concurrent executions of one class of work.
+ * <p>
+ * A caller first tries to take a permit without waiting. If none is free it joins a bounded queue
+ * and waits up to {@code maxWait}; when the queue itself is full the caller is rejected immediately.
+ * Every {@link Admission#ACQUIRED} result must be paired with a call to {@link #release()}.
+ */
+public class Bulkhead {
+
+    public enum Admission {
+        ACQUIRED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        if (maxConcurrent < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Invalid limits for bulkhead " + name
+                    + ": maxConcurrent=" + maxConcurrent + ", maxQueued=" + maxQueued);
+        }
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public Admission acquire() {
+        if (permits.tryAcquire()) {
+            return Admission.ACQUIRED;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return Admission.QUEUE_FULL;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? Admission.ACQUIRED : Admission.TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Admission.TIMED_OUT;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+}
@@ -0,0 +1,69 @@
+package com.food.recipe.api.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ * <p>
+ * The first caller for a key (the leader) runs the loader; every caller arriving while the
+ * leader is still running waits for and shares its result or exception. Once the leader finishes
+ * the key is released, so results are never cached beyond the in-flight window.
+ * <p>
+ * Calls are counted in {@code recipe.singleflight.calls}, tagged with the operation name and
+ * whether the call executed the loader ({@code leader}) or shared another call's result ({@code coalesced}).
+ *
+ * @param <K> the key type, which must implement {@code equals} and {@code hashCode}
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaderCalls = meterRegistry.counter("recipe.singleflight.calls", "operation", operation, "outcome", "leader");
+        this.coalescedCalls = meterRegistry.counter("recipe.singleflight.calls", "operation", operation, "outcome", "coalesced");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        var call = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        leaderCalls.increment();
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.food.recipe.api.config;
+
+import com.food.recipe.api.admission.AdmissionControlInterceptor;
+import com.food.recipe.api.admission.SearchCostEstimator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link AdmissionControlInterceptor} for the recipe API.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(prefix = "recipe.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlProperties properties;
+
+    public AdmissionControlConfig(AdmissionControlProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(properties, new SearchCostEstimator()))
+                .addPathPatterns("/api/v1/recipes/**");
+    }
+}
@@ -0,0 +1,39 @@
+package com.food.recipe.api.config;
+
+import com.food.recipe.api.admission.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for admission control, bound from the {@code recipe.admission} prefix.
+ *
+ * @param enabled             whether requests are admitted through bulkheads at all
+ * @param expensiveSearchCost estimated search cost from which a search counts as expensive
+ * @param bulkheads           limits per endpoint class; classes without an entry use {@link #DEFAULT_BULKHEAD}
+ */
+@ConfigurationProperties(prefix = "recipe.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int expensiveSearchCost,
+        Map<EndpointClass, BulkheadProperties> bulkheads
+) {
+
+    public static final BulkheadProperties DEFAULT_BULKHEAD =
+            new BulkheadProperties(16, 32, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+    public BulkheadProperties bulkhead(EndpointClass endpointClass) {
+        return bulkheads == null ? DEFAULT_BULKHEAD : bulkheads.getOrDefault(endpointClass, DEFAULT_BULKHEAD);
+    }
+
+    /**
+     * @param maxConcurrent requests of the class executing at the same time
+     * @param maxQueued     requests allowed to wait for a free slot; further requests get a 429
+     * @param maxWait       how long a queued request waits before it gets a 503
+     * @param retryAfter    value of the {@code Retry-After} header on rejected requests
+     */
+    public record BulkheadProperties(int maxConcurrent, int maxQueued, Duration maxWait, Duration retryAfter) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.food.recipe.api.config;
+
+import com.food.recipe.api.routing.ReadWriteRoutingDataSource;
+import com.food.recipe.api.routing.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Replaces the single data source with a {@link ReadWriteRoutingDataSource} over a primary and a replica pool,
+ * and registers the {@link ReadYourWritesInterceptor} for the recipe API.
+ * <p>
+ * The pools are not beans of their own, so the slow-query log times every statement once, through the routing
+ * data source. They report their metrics as {@code hikaricp.*} with the pool names {@code primary} and
+ * {@code replica}. The primary pool takes its settings from {@code spring.datasource.hikari}, as the single data
+ * source would.
+ */
+@Slf4j
+@Configuration
+@Profile("!memory & !catalog & !sharded")
+@ConditionalOnProperty(prefix = "recipe.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    private final RecipeReplicaProperties replicaProperties;
+
+    public ReadReplicaConfig(RecipeReplicaProperties replicaProperties) {
+        this.replicaProperties = replicaProperties;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties primaryProperties, Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        if (!StringUtils.hasText(replicaProperties.url())) {
+            throw new IllegalStateException("recipe.replica.url must be set when recipe.replica.enabled is true");
+        }
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricRegistry(meterRegistry);
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(replicaProperties.url())
+                .username(StringUtils.hasText(replicaProperties.username())
+                        ? replicaProperties.username() : primaryProperties.determineUsername())
+                .password(replicaProperties.password() != null
+                        ? replicaProperties.password() : primaryProperties.determinePassword())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(replicaProperties.maxPoolSize());
+        replica.setReadOnly(true);
+        replica.setMetricRegistry(meterRegistry);
+
+        log.info("Routing read-only transactions to the replica at {}.", replicaProperties.url());
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaProperties.readYourWritesWindow()))
+                .addPathPatterns("/api/v1/recipes/**");
+    }
+}
@@ -0,0 +1,33 @@
+package com.food.recipe.api.config;
+
+import com.food.recipe.api.admission.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the asynchronous recipe endpoints, bound from the {@code recipe.async} prefix.
+ *
+ * @param threads        number of threads running the recipe calls of the endpoints
+ * @param queueCapacity  calls waiting for a thread; further requests get a 503
+ * @param defaultTimeout deadline of endpoint classes without an entry in {@code timeouts}
+ * @param timeouts       deadline per endpoint class, from the submission of the call to the pool; a read still
+ *                       running at its deadline, or a write not started by then, is cancelled and the request
+ *                       answered with a 503
+ * @param retryAfter     value of the {@code Retry-After} header on requests rejected or timed out
+ */
+@ConfigurationProperties(prefix = "recipe.async")
+public record RecipeAsyncProperties(
+        @DefaultValue("32") int threads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("5s") Duration defaultTimeout,
+        Map<EndpointClass, Duration> timeouts,
+        @DefaultValue("1s") Duration retryAfter
+) {
+
+    public Duration timeout(EndpointClass endpointClass) {
+        return timeouts == null ? defaultTimeout : timeouts.getOrDefault(endpointClass, defaultTimeout);
+    }
+}
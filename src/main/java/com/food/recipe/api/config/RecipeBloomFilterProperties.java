@@ -0,0 +1,22 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the Bloom filters over recipe IDs and names, bound from the {@code recipe.bloom-filter} prefix.
+ * <p>
+ * A negative answer of the filters is only correct if every write goes through JPA in this application
+ * instance, so they are disabled by default. Enable them only for a single writer: a recipe written by another
+ * instance, by {@code ReactiveRecipeApplication} or by plain SQL would be answered as missing.
+ *
+ * @param enabled                  whether definite misses short-circuit lookups
+ * @param expectedInsertions       number of recipes the filters are sized for
+ * @param falsePositiveProbability wanted false-positive rate at the expected number of recipes
+ */
+@ConfigurationProperties(prefix = "recipe.bloom-filter")
+public record RecipeBloomFilterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveProbability
+) {}
@@ -0,0 +1,33 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the read cache in front of recipe lookups by ID, bound from the {@code recipe.cache} prefix.
+ * <p>
+ * Like the Bloom filters, the cache is only kept current by the JPA entity listeners of this instance, so it is
+ * disabled by default. Enable it only when this instance is the single writer of its database: a recipe updated or
+ * deleted by another instance, by {@code ReactiveRecipeApplication} or by plain SQL would be served stale from the
+ * cache until the next restart. The cache has no eviction either; once {@code capacity} is used up, recipes which
+ * do not fit are read from the database.
+ *
+ * @param enabled  whether lookups by ID are answered from the cache
+ * @param store    where the cached recipes are held
+ * @param capacity maximum size of the serialized recipes held off-heap; ignored by the heap store
+ */
+@ConfigurationProperties(prefix = "recipe.cache")
+public record RecipeCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("off-heap") Store store,
+        @DefaultValue("256MB") DataSize capacity
+) {
+
+    public enum Store {
+        /** Recipe objects on the Java heap, traced by every garbage collection. */
+        HEAP,
+        /** Serialized recipes in direct memory, invisible to the garbage collector. */
+        OFF_HEAP
+    }
+}
@@ -0,0 +1,21 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the memory-mapped recipe catalog, bound from the {@code recipe.catalog} prefix.
+ * The {@code catalog} actuator endpoint exports the catalog to {@code file}; an application running with the
+ * {@code catalog} profile serves it and swaps in a replaced file.
+ *
+ * @param file           catalog file to export to and to serve
+ * @param reloadInterval delay between two checks whether the file was replaced
+ */
+@ConfigurationProperties(prefix = "recipe.catalog")
+public record RecipeCatalogProperties(
+        @DefaultValue("catalog/recipes.catalog") Path file,
+        @DefaultValue("PT30S") Duration reloadInterval
+) {}
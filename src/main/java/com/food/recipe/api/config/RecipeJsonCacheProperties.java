@@ -0,0 +1,16 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the cache of JSON-encoded recipe responses, bound from the {@code recipe.json-cache} prefix.
+ *
+ * @param enabled    whether encoded recipes are kept and reused
+ * @param maxEntries number of encoded recipes kept; beyond it the least frequently served entries are evicted
+ */
+@ConfigurationProperties(prefix = "recipe.json-cache")
+public record RecipeJsonCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxEntries
+) {}
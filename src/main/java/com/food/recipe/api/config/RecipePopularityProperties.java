@@ -0,0 +1,22 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the recipe view counters, bound from the {@code recipe.popularity} prefix.
+ *
+ * @param flushInterval delay between two flushes of the counted views to the database
+ * @param halfLife      age at which a view counts half for the trending ranking
+ * @param trendingSize  number of trending recipes kept ranked, the maximum a query can return
+ * @param seedSize      number of the highest stored view counts the ranking is seeded with on startup, 0 for none
+ */
+@ConfigurationProperties(prefix = "recipe.popularity")
+public record RecipePopularityProperties(
+        @DefaultValue("5s") Duration flushInterval,
+        @DefaultValue("1h") Duration halfLife,
+        @DefaultValue("100") int trendingSize,
+        @DefaultValue("10000") int seedSize
+) {}
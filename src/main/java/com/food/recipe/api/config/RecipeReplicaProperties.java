@@ -0,0 +1,27 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the read replica pool, bound from the {@code recipe.replica} prefix. The primary keeps using the
+ * {@code spring.datasource} settings.
+ *
+ * @param enabled              whether read-only transactions are routed to the replica at all
+ * @param url                  JDBC URL of the replica
+ * @param username             user of the replica; the primary's user if not set
+ * @param password             password of the replica; the primary's password if not set
+ * @param maxPoolSize          maximum number of connections to the replica
+ * @param readYourWritesWindow how long after a write a client's reads go to the primary; at least the replica lag
+ */
+@ConfigurationProperties(prefix = "recipe.replica")
+public record RecipeReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("20") int maxPoolSize,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {}
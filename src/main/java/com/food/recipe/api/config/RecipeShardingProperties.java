@@ -0,0 +1,35 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the hash-sharded recipe storage of the {@code sharded} profile, bound from the
+ * {@code recipe.sharding} prefix.
+ * <p>
+ * A recipe's shard follows from its ID and the number of shards, so shards can only be added by moving the
+ * recipes to their new shards.
+ *
+ * @param shards       the databases holding the recipes, in a fixed order
+ * @param nameIndex    the database holding the recipe names and the ID sequence
+ * @param queryTimeout how long a statement may run on a shard before it is cancelled
+ */
+@ConfigurationProperties(prefix = "recipe.sharding")
+public record RecipeShardingProperties(
+        List<Database> shards,
+        Database nameIndex,
+        @DefaultValue("5s") Duration queryTimeout
+) {
+
+    /**
+     * @param url         JDBC URL of the database
+     * @param username    user of the database
+     * @param password    password of the database
+     * @param maxPoolSize maximum number of connections to the database
+     */
+    public record Database(String url, String username, String password, @DefaultValue("10") int maxPoolSize) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the index snapshots written on shutdown and restored at startup, bound from the
+ * {@code recipe.snapshot} prefix.
+ * <p>
+ * A snapshot is only trusted because every write goes through JPA in this application; disable them when
+ * other processes or several instances write to the same database.
+ *
+ * @param enabled   whether snapshots are written and restored
+ * @param directory directory holding the snapshot files
+ */
+@ConfigurationProperties(prefix = "recipe.snapshot")
+public record RecipeSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("snapshots") Path directory
+) {}
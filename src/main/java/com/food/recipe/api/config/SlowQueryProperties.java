@@ -0,0 +1,24 @@
+package com.food.recipe.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the slow-query log, bound from the {@code recipe.slow-query} prefix.
+ *
+ * @param enabled        whether statements are timed at all
+ * @param threshold      statements running longer than this are recorded
+ * @param capacity       number of entries kept in the ring buffer; the oldest entry is dropped first
+ * @param explain        whether a query plan is captured for every recorded statement
+ * @param explainTimeout statement timeout of the {@code EXPLAIN ANALYZE}, which runs the slow query a second time
+ */
+@ConfigurationProperties(prefix = "recipe.slow-query")
+public record SlowQueryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("500ms") Duration threshold,
+        @DefaultValue("100") int capacity,
+        @DefaultValue("true") boolean explain,
+        @DefaultValue("5s") Duration explainTimeout
+) {}
@@ -1,11 +1,33 @@
 package com.food.recipe.api.controller;
 
+import com.food.recipe.api.admission.AdmissionControlled;
+import com.food.recipe.api.admission.EndpointClass;
+import com.food.recipe.api.errorhandler.ErrorResponse;
+import com.food.recipe.api.mapper.RecipeJsonHttpMessageConverter;
+import com.food.recipe.api.model.CompletionResponse;
+import com.food.recipe.api.model.IngredientCooccurrenceResponse;
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
 import com.food.recipe.api.model.RecipeRequestDto;
 import com.food.recipe.api.model.RecipeSearchFilterRequest;
 import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.process.AsyncRecipeProcess;
 import com.food.recipe.api.process.RecipeProcess;
+import com.food.recipe.api.search.ServingsFilter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,13 +41,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
  * The below controller class handles the incoming HTTP request and delegates it to process layer method.
+ * Recipes and lists of recipes are written as JSON by the {@link RecipeJsonHttpMessageConverter} from cached
+ * encodings. Every response is also available as CBOR ({@code Accept: application/cbor}), which service-to-service
+ * callers decode with less CPU than JSON; a Protobuf schema of the responses is generated from {@code OpenAPI.yaml}.
+ * Responses from {@code server.compression.min-response-size} on are gzip-compressed by the container as they are
+ * written, except single recipes, whose compressed form is cached with their JSON.
+ * Endpoints which wait for the database return a {@link CompletableFuture} from the {@link AsyncRecipeProcess},
+ * so their request thread is released meanwhile; a call not done by the deadline of its endpoint class
+ * ({@code recipe.async.timeouts}) is answered with 503. The endpoints served from in-memory indexes stay synchronous.
  *
  * @author snehalata.arun.raut
  */
@@ -35,52 +67,225 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RecipeController {
 
+    static final int DEFAULT_SEARCH_LIMIT = 50;
+
     private final RecipeProcess recipeProcess;
+    private final AsyncRecipeProcess asyncRecipeProcess;
 
     @PostMapping
-    public ResponseEntity<RecipesResponse> createRecipe(@Valid @RequestBody RecipeRequestDto requestDto) {
-        var createdRecipe = recipeProcess.createRecipe(requestDto);
-        log.debug("Created recipe: {}", createdRecipe);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdRecipe);
+    @AdmissionControlled(EndpointClass.WRITE)
+    public CompletableFuture<ResponseEntity<RecipesResponse>> createRecipe(
+            @Valid @RequestBody RecipeRequestDto requestDto) {
+
+        return asyncRecipeProcess.createRecipe(requestDto).thenApply(createdRecipe -> {
+            log.debug("Created recipe: {}", createdRecipe);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdRecipe);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<RecipesResponse> updateRecipe(@PathVariable int id,
-                                                        @Valid @RequestBody RecipeRequestDto requestDto) {
+    @AdmissionControlled(EndpointClass.WRITE)
+    public CompletableFuture<ResponseEntity<RecipesResponse>> updateRecipe(
+            @PathVariable int id, @Valid @RequestBody RecipeRequestDto requestDto) {
 
-        var updatedRecipe = recipeProcess.updateRecipe(id, requestDto);
-        log.debug("Updated recipe with ID :{}, {}", updatedRecipe, id);
-        return ResponseEntity.ok(updatedRecipe);
+        return asyncRecipeProcess.updateRecipe(id, requestDto).thenApply(updatedRecipe -> {
+            log.debug("Updated recipe with ID :{}, {}", updatedRecipe, id);
+            return ResponseEntity.ok(updatedRecipe);
+        });
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteRecipe(@PathVariable int id) {
+    @AdmissionControlled(EndpointClass.WRITE)
+    public CompletableFuture<ResponseEntity<Void>> deleteRecipe(@PathVariable int id) {
 
-        boolean isRowDeleted = recipeProcess.deleteRecipe(id);
-        log.debug("Deleted status for id {}: {}", id, isRowDeleted);
-        return isRowDeleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        return asyncRecipeProcess.deleteRecipe(id).thenApply(isRowDeleted -> {
+            log.debug("Deleted status for id {}: {}", id, isRowDeleted);
+            return isRowDeleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        });
     }
 
     @GetMapping
-    public ResponseEntity<List<RecipesResponse>> getAllRecipes() {
-        var recipes = recipeProcess.getAllRecipes();
-        log.debug("List of recipes :{}", recipes);
-        return ResponseEntity.ok(recipes);
+    @AdmissionControlled(EndpointClass.LIST)
+    @ApiResponse(responseCode = "404", description = "No recipes found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public CompletableFuture<ResponseEntity<List<RecipesResponse>>> getAllRecipes() {
+        return asyncRecipeProcess.findAllRecipes().thenApply(recipes -> {
+            log.debug("List of recipes :{}", recipes);
+            return recipes.isEmpty() ? notFound("No recipes found") : ResponseEntity.ok(recipes);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RecipesResponse> getRecipeById(@PathVariable @Min(1) int id) {
-        var recipe = recipeProcess.getRecipeById(id);
-        log.debug("Fetching recipe by id: {} and corresponding entity :{}", id, recipe);
-        return ResponseEntity.ok(recipe);
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    @ApiResponse(responseCode = "404", description = "No recipe with the ID",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public CompletableFuture<ResponseEntity<RecipesResponse>> getRecipeById(@PathVariable @Min(1) int id) {
+        return asyncRecipeProcess.findRecipeById(id).thenApply(recipe -> {
+            log.debug("Fetching recipe by id: {} and corresponding entity :{}", id, recipe);
+            return recipe
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> notFound("Record not found for given ID. " + id));
+        });
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<RecipesResponse>> searchRecipes(@ModelAttribute RecipeSearchFilterRequest request) {
-        var filtered = recipeProcess.searchRecipes(request.isVegetarian(), request.servings(),
-                request.includeIngredients(), request.excludeIngredients(), request.instructionText());
+    @AdmissionControlled(EndpointClass.SEARCH)
+    public CompletableFuture<ResponseEntity<List<RecipesResponse>>> searchRecipes(
+            @ModelAttribute RecipeSearchFilterRequest request,
+            @RequestParam(required = false) @Min(1) @Max(1000) Integer limit,
+            @RequestParam(required = false) @Pattern(regexp = "relevance", flags = Pattern.Flag.CASE_INSENSITIVE)
+            String sort) {
+
+        CompletableFuture<List<RecipesResponse>> search;
+        if (limit == null && sort == null) {
+            search = asyncRecipeProcess.searchRecipes(request.isVegetarian(), servings(request),
+                    request.includeIngredients(), request.excludeIngredients(), request.instructionText());
+        } else {
+            search = asyncRecipeProcess.searchRecipes(request.isVegetarian(), servings(request),
+                    request.includeIngredients(), request.excludeIngredients(), request.instructionText(),
+                    limit == null ? DEFAULT_SEARCH_LIMIT : limit, sort != null);
+        }
+
+        return search.thenApply(filtered -> {
+            log.debug("Filtered recipes: {}", filtered);
+            return CollectionUtils.isEmpty(filtered) ? ResponseEntity.notFound().build() : ResponseEntity.ok(filtered);
+        });
+    }
+
+    @GetMapping("/search/facets")
+    @AdmissionControlled(EndpointClass.SEARCH)
+    public CompletableFuture<ResponseEntity<SearchFacetsResponse>> searchRecipeFacets(
+            @ModelAttribute RecipeSearchFilterRequest request,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int topIngredients) {
+
+        return asyncRecipeProcess.searchRecipeFacets(request.isVegetarian(), servings(request),
+                request.includeIngredients(), request.excludeIngredients(), request.instructionText(), topIngredients)
+                .thenApply(facets -> {
+                    log.debug("Search facets: {}", facets);
+                    return ResponseEntity.ok(facets);
+                });
+    }
+
+    @GetMapping("/search/count")
+    @AdmissionControlled(EndpointClass.SEARCH)
+    public CompletableFuture<ResponseEntity<SearchCountResponse>> countRecipes(
+            @ModelAttribute RecipeSearchFilterRequest request) {
+
+        return asyncRecipeProcess.countRecipes(request.isVegetarian(), servings(request),
+                request.includeIngredients(), request.excludeIngredients(), request.instructionText())
+                .thenApply(count -> {
+                    log.debug("Search count: {}", count);
+                    return ResponseEntity.ok(count);
+                });
+    }
+
+    @GetMapping("/search/exists")
+    @AdmissionControlled(EndpointClass.SEARCH)
+    public CompletableFuture<ResponseEntity<SearchExistsResponse>> recipesExist(
+            @ModelAttribute RecipeSearchFilterRequest request) {
+
+        return asyncRecipeProcess.recipesExist(request.isVegetarian(), servings(request),
+                request.includeIngredients(), request.excludeIngredients(), request.instructionText())
+                .thenApply(exists -> {
+                    log.debug("Search exists: {}", exists);
+                    return ResponseEntity.ok(exists);
+                });
+    }
+
+    @GetMapping("/pantry")
+    @AdmissionControlled(EndpointClass.SEARCH)
+    public CompletableFuture<ResponseEntity<List<PantryRecipeResponse>>> findPantryRecipes(
+            @RequestParam @NotEmpty List<String> ingredients,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(10) int maxMissing,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+
+        return asyncRecipeProcess.findPantryRecipes(ingredients, maxMissing, limit).thenApply(recipes -> {
+            log.debug("Recipes makeable from pantry {} with at most {} missing: {}", ingredients, maxMissing,
+                    recipes);
+            return recipes.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(recipes);
+        });
+    }
+
+    @GetMapping("/lookup")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public CompletableFuture<ResponseEntity<List<RecipeLookupResponse>>> lookupRecipes(
+            @RequestParam @NotBlank String name,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        return asyncRecipeProcess.lookupRecipes(name, limit).thenApply(recipes -> {
+            log.debug("Recipes with names similar to {}: {}", name, recipes);
+            return recipes.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(recipes);
+        });
+    }
+
+    @GetMapping("/{id}/similar")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public CompletableFuture<ResponseEntity<List<SimilarRecipeResponse>>> findSimilarRecipes(
+            @PathVariable int id,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+
+        return asyncRecipeProcess.findSimilarRecipes(id, limit).thenApply(recipes -> {
+            log.debug("Recipes similar to recipe with ID :{}: {}", id, recipes);
+            return recipes.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(recipes);
+        });
+    }
+
+    @GetMapping("/trending")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public CompletableFuture<ResponseEntity<List<TrendingRecipeResponse>>> findTrendingRecipes(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        return asyncRecipeProcess.findTrendingRecipes(limit).thenApply(recipes -> {
+            log.debug("Trending recipes: {}", recipes);
+            return recipes.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(recipes);
+        });
+    }
+
+    @GetMapping("/autocomplete/names")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public ResponseEntity<List<CompletionResponse>> completeRecipeNames(
+            @RequestParam @NotBlank String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limit) {
+
+        var completions = recipeProcess.completeRecipeNames(prefix, limit);
+        log.debug("Recipe name completions for {}: {}", prefix, completions);
+        return completions.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(completions);
+    }
+
+    @GetMapping("/autocomplete/ingredients")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public ResponseEntity<List<CompletionResponse>> completeIngredients(
+            @RequestParam @NotBlank String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limit) {
+
+        var completions = recipeProcess.completeIngredients(prefix, limit);
+        log.debug("Ingredient completions for {}: {}", prefix, completions);
+        return completions.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(completions);
+    }
+
+    @GetMapping("/ingredients/cooccurrences")
+    @AdmissionControlled(EndpointClass.POINT_READ)
+    public ResponseEntity<List<IngredientCooccurrenceResponse>> findCooccurringIngredients(
+            @RequestParam @NotBlank String ingredient,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        var cooccurrences = recipeProcess.findCooccurringIngredients(ingredient, limit);
+        log.debug("Ingredients used with {}: {}", ingredient, cooccurrences);
+        return cooccurrences.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(cooccurrences);
+    }
+
+    private static ServingsFilter servings(RecipeSearchFilterRequest request) {
+        return ServingsFilter.of(request.servings(), request.servingsMin(), request.servingsMax());
+    }
 
-        log.debug("Filtered recipes: {}", filtered);
-        return CollectionUtils.isEmpty(filtered) ? ResponseEntity.notFound().build() : ResponseEntity.ok(filtered);
+    /**
+     * Builds the 404 response for an expected not-found outcome directly, without throwing an exception. The
+     * response keeps the endpoint's success type, so the OpenAPI schema of its 200 response stays typed; the
+     * {@link ErrorResponse} body is declared with {@code @ApiResponse} on the endpoint.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> notFound(String message) {
+        return (ResponseEntity<T>) (ResponseEntity<?>) ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), message));
     }
 }
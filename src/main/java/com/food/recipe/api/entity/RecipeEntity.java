@@ -1,12 +1,15 @@
 package com.food.recipe.api.entity;
 
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.index.RecipeIndexEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Max;
@@ -15,7 +18,9 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.io.Serializable;
 import java.util.List;
@@ -27,7 +32,9 @@ import java.util.List;
  * @author snehalata.arun.raut
  */
 @Entity
-@Table(name = "recipes_table", uniqueConstraints = @UniqueConstraint(columnNames = "name"))
+@EntityListeners(RecipeIndexEntityListener.class)
+@Table(name = "recipes_table", uniqueConstraints = @UniqueConstraint(columnNames = "name"),
+        indexes = @Index(name = "idx_recipes_vegetarian_servings", columnList = "is_vegetarian, servings"))
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -55,7 +62,29 @@ public class RecipeEntity implements Serializable {
     @ElementCollection
     private List<String> ingredients;
 
-    @Column(nullable = false)
-    @Lob
+    /**
+     * Mapped as {@code text} rather than {@code @Lob}, which PostgreSQL stores as a large object {@code oid}
+     * that cannot be searched with {@code lower}/{@code like}. Existing {@code oid} columns are converted by
+     * {@code migration/recipe-instructions-to-text.sql}.
+     */
+    @Column(nullable = false, columnDefinition = "text")
     private String instructions;
+
+    /**
+     * {@link MinHash} signature of the ingredients, kept current by {@link #setIngredients} and
+     * {@link RecipeIndexEntityListener} so the similarity index is rebuilt without rehashing the ingredients.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Column(columnDefinition = "bytea")
+    private byte[] ingredientSignature;
+
+    /**
+     * Replaces the ingredients together with their signature. Hibernate skips {@code @PreUpdate} callbacks when
+     * only a collection changed, so the signature is refreshed here to get it written with the update.
+     */
+    public void setIngredients(List<String> ingredients) {
+        this.ingredients = ingredients;
+        this.ingredientSignature = MinHash.encode(MinHash.signature(ingredients));
+    }
 }
@@ -0,0 +1,28 @@
+package com.food.recipe.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total number of views of a recipe, written in batches by {@code RecipePopularity}.
+ */
+@Entity
+@Table(name = "recipe_view_counts")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipeViewCountEntity {
+
+    @Id
+    private Integer recipeId;
+
+    @Column(nullable = false)
+    private Long views;
+}
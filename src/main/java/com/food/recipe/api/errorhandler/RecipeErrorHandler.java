@@ -3,14 +3,19 @@
  */
 package com.food.recipe.api.errorhandler;
 
+import com.food.recipe.api.exception.AdmissionRejectedException;
 import com.food.recipe.api.exception.CustomRecipeException;
+import com.food.recipe.api.exception.DeadlineExceededException;
+import com.food.recipe.api.exception.DuplicateRecipeException;
 import com.food.recipe.api.exception.NoRecipesFoundException;
+import com.food.recipe.api.exception.ReadOnlyCatalogException;
 import com.food.recipe.api.exception.RecipeNotFoundException;
 import com.food.recipe.api.exception.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -43,6 +48,12 @@ public class RecipeErrorHandler extends ResponseEntityExceptionHandler {
 		return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
 	}
 
+	@ExceptionHandler(DuplicateRecipeException.class)
+	public ResponseEntity<Object> handleDuplicateRecipeException(DuplicateRecipeException exception) {
+		log.info("The DuplicateRecipeException Occurred: {}", exception.getMessage());
+		return createErrorResponse(HttpStatus.CONFLICT, exception.getMessage());
+	}
+
 	@ExceptionHandler(value = DataIntegrityViolationException.class)
 	public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
 		log.error("The data integrity exception Occurred.", exception);
@@ -50,25 +61,58 @@ public class RecipeErrorHandler extends ResponseEntityExceptionHandler {
 		return new ResponseEntity<>(errorResponse, null, HttpStatus.INTERNAL_SERVER_ERROR.value());
 	}
 
-	@ExceptionHandler(value ={EntityNotFoundException.class, ObjectOptimisticLockingFailureException.class})
-	public ResponseEntity<Object> handleNotFoundException(RuntimeException exception) {
-		log.error("The entity not found exception Occurred.", exception);
-		ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
-		return new ResponseEntity<>(errorResponse, null, HttpStatus.NOT_FOUND.value());
+	/*
+	 * Not-found outcomes are expected control flow: their exceptions carry no stack trace and are
+	 * logged at debug level only. Error logging with the full trace is reserved for real faults.
+	 */
+	@ExceptionHandler(EntityNotFoundException.class)
+	public ResponseEntity<Object> handleNotFoundException(EntityNotFoundException exception) {
+		log.debug("The entity not found exception Occurred: {}", exception.getMessage());
+		return createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
+	}
+
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<Object> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException exception) {
+		log.warn("The entity was changed or deleted concurrently: {}", exception.getMessage());
+		return createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
 	}
 
 	@ExceptionHandler(RecipeNotFoundException.class)
 	public ResponseEntity<Object> handleRecipeNotFoundException(RecipeNotFoundException exception) {
-		log.error("The DataNotFoundException Occurred.", exception);
+		log.debug("The DataNotFoundException Occurred: {}", exception.getMessage());
 		return createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
 	}
 
 	@ExceptionHandler(NoRecipesFoundException.class)
 	public ResponseEntity<Object> handleNoRecipesFoundException(NoRecipesFoundException exception) {
-		log.error("The NoRecipesFoundException Occurred.", exception);
+		log.debug("The NoRecipesFoundException Occurred: {}", exception.getMessage());
 		return createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
 	}
 
+	@ExceptionHandler(ReadOnlyCatalogException.class)
+	public ResponseEntity<Object> handleReadOnlyCatalogException(ReadOnlyCatalogException exception) {
+		log.debug("The ReadOnlyCatalogException Occurred: {}", exception.getMessage());
+		return createErrorResponse(HttpStatus.METHOD_NOT_ALLOWED, exception.getMessage());
+	}
+
+	@ExceptionHandler(AdmissionRejectedException.class)
+	public ResponseEntity<Object> handleAdmissionRejectedException(AdmissionRejectedException exception) {
+		log.debug("The request was rejected by admission control: {}", exception.getMessage());
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())));
+		ErrorResponse errorResponse = new ErrorResponse(exception.getStatus().value(), exception.getMessage());
+		return new ResponseEntity<>(errorResponse, headers, exception.getStatus().value());
+	}
+
+	@ExceptionHandler(DeadlineExceededException.class)
+	public ResponseEntity<Object> handleDeadlineExceededException(DeadlineExceededException exception) {
+		log.warn("The request did not complete in time: {}", exception.getMessage());
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())));
+		ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+		return new ResponseEntity<>(errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE.value());
+	}
+
 	public ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
 		List<String> errors = ex.getBindingResult()
 				.getFieldErrors()
@@ -0,0 +1,29 @@
+package com.food.recipe.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed by admission control; created without a stack trace because
+ * it is expected under load and mapped to a 429 or 503 response with a {@code Retry-After} header.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, HttpStatus status, Duration retryAfter) {
+        super(message, null, false, false);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,21 @@
+package com.food.recipe.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an asynchronous endpoint did not complete within its deadline; created without a stack trace
+ * because it is expected under load and mapped to a 503 response with a {@code Retry-After} header.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DeadlineExceededException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package com.food.recipe.api.exception;
+
+/**
+ * Thrown when a recipe with the same name already exists; created without a stack trace
+ * because it is mapped to a plain 409 response.
+ */
+public class DuplicateRecipeException extends RuntimeException {
+
+    public DuplicateRecipeException(String message) {
+        super(message, null, false, false);
+    }
+}
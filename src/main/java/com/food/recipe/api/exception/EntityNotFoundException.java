@@ -1,19 +1,21 @@
 package com.food.recipe.api.exception;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
 /**
+ * Thrown when no recipe exists for a requested ID.
+ * <p>
+ * A missing ID is an expected outcome rather than a fault, so the exception is created without
+ * a stack trace and without suppression support, which makes throwing it nearly as cheap as returning.
+ *
  * @author snehalata.arun.raut
  *
  */
-@Setter
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
 public class EntityNotFoundException extends RuntimeException {
 
-		private String message;
+	public EntityNotFoundException() {
+		this(null);
+	}
+
+	public EntityNotFoundException(String message) {
+		super(message, null, false, false);
+	}
 }
@@ -1,14 +1,16 @@
 package com.food.recipe.api.exception;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Setter
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * Thrown when a listing or search yields no recipes; created without a stack trace
+ * because an empty result is an expected outcome.
+ */
 public class NoRecipesFoundException extends RuntimeException {
-    private String message;
+
+    public NoRecipesFoundException() {
+        this(null);
+    }
+
+    public NoRecipesFoundException(String message) {
+        super(message, null, false, false);
+    }
 }
@@ -0,0 +1,12 @@
+package com.food.recipe.api.exception;
+
+/**
+ * Thrown when a recipe is to be changed on an application serving a read-only catalog; created without a stack
+ * trace because it is mapped to a plain 405 response.
+ */
+public class ReadOnlyCatalogException extends RuntimeException {
+
+    public ReadOnlyCatalogException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,14 +1,16 @@
 package com.food.recipe.api.exception;
 
-import lombok.NoArgsConstructor;
-
-@NoArgsConstructor
+/**
+ * Thrown when the service layer returns no recipe for a write; created without a stack trace
+ * because it is mapped to a plain 404 response.
+ */
 public class RecipeNotFoundException extends RuntimeException {
 
-    private String message;
+    public RecipeNotFoundException() {
+        this(null);
+    }
 
     public RecipeNotFoundException(String message) {
-        super(message);
-        this.message = message;
+        super(message, null, false, false);
     }
 }
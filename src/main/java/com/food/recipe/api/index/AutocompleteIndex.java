@@ -0,0 +1,232 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix completions for recipe names and ingredients, fast enough to be queried on every keystroke.
+ * <p>
+ * Names and ingredients are kept in {@link CompletionTrie}s keyed by their normalized form. An ingredient
+ * is weighted by the number of recipes using it, so common ingredients are suggested first; a recipe name is
+ * weighted by the recent views of its recipe, see {@link #weighRecipeNames(Map)}, and names of equal weight are
+ * suggested shortest first.
+ */
+@Component
+public class AutocompleteIndex implements RecipeIndex {
+
+    /**
+     * The maximum number of completions a query can return.
+     */
+    public static final int MAX_COMPLETIONS = 20;
+
+    /**
+     * Best completions first: highest weight, then shortest, then alphabetical.
+     */
+    public static final Comparator<Completion> RANKING = Comparator.comparingLong(Completion::weight).reversed()
+            .thenComparingInt(completion -> completion.text().length())
+            .thenComparing(Completion::text)
+            .thenComparing(Completion::recipeId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletionTrie names = new CompletionTrie(MAX_COMPLETIONS, RANKING);
+    private final CompletionTrie ingredients = new CompletionTrie(MAX_COMPLETIONS, RANKING);
+    private final Map<Integer, IndexedRecipe> recipes = new HashMap<>();
+    private final Map<String, Integer> ingredientUsage = new HashMap<>();
+    private final Map<Integer, Long> recipeWeights = new HashMap<>();
+
+    /**
+     * @param text     the completed recipe name or normalized ingredient
+     * @param recipeId the ID of the completed recipe, {@code null} for ingredients
+     * @param weight   the popularity of the completion
+     */
+    public record Completion(String text, Integer recipeId, long weight) {
+    }
+
+    /**
+     * What is indexed for a recipe, needed to unindex it on update or delete.
+     */
+    private record IndexedRecipe(String nameKey, Completion name, Set<String> ingredients) {
+    }
+
+    /**
+     * @param prefix the typed beginning of a recipe name, compared case-insensitively
+     * @param limit  maximum number of completions, at most {@link #MAX_COMPLETIONS}
+     * @return the best recipe names starting with the prefix
+     */
+    public List<Completion> completeRecipeNames(String prefix, int limit) {
+        return complete(names, prefix, limit);
+    }
+
+    /**
+     * @param prefix the typed beginning of an ingredient, compared case-insensitively
+     * @param limit  maximum number of completions, at most {@link #MAX_COMPLETIONS}
+     * @return the most used ingredients starting with the prefix
+     */
+    public List<Completion> completeIngredients(String prefix, int limit) {
+        return complete(ingredients, prefix, limit);
+    }
+
+    private List<Completion> complete(CompletionTrie trie, String prefix, int limit) {
+        if (prefix == null || limit < 1) {
+            return List.of();
+        }
+        String key = RecipeIndex.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            return List.copyOf(trie.complete(key, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Also defers ranking until {@link #rebuildCompleted()}, since a rebuild follows.
+     */
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            ingredients.clear();
+            recipes.clear();
+            ingredientUsage.clear();
+            names.deferRanking();
+            ingredients.deferRanking();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        Set<String> recipeIngredients = recipe.getIngredients() == null ? Set.of() : recipe.getIngredients().stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .collect(Collectors.toSet());
+        lock.writeLock().lock();
+        try {
+            IndexedRecipe previous = recipes.remove(recipe.getId());
+            Set<String> previousIngredients = Set.of();
+            if (previous != null) {
+                unindexName(previous);
+                previousIngredients = previous.ingredients();
+            }
+
+            String nameKey = null;
+            Completion name = null;
+            if (StringUtils.hasText(recipe.getName())) {
+                nameKey = RecipeIndex.normalize(recipe.getName());
+                name = new Completion(recipe.getName().strip(), recipe.getId(),
+                        recipeWeights.getOrDefault(recipe.getId(), 0L));
+                names.put(nameKey, name);
+            }
+            for (String ingredient : previousIngredients) {
+                if (!recipeIngredients.contains(ingredient)) {
+                    changeUsage(ingredient, -1);
+                }
+            }
+            for (String ingredient : recipeIngredients) {
+                if (!previousIngredients.contains(ingredient)) {
+                    changeUsage(ingredient, 1);
+                }
+            }
+            recipes.put(recipe.getId(), new IndexedRecipe(nameKey, name, recipeIngredients));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IndexedRecipe previous = recipes.remove(recipe.getId());
+            recipeWeights.remove(recipe.getId());
+            if (previous != null) {
+                unindexName(previous);
+                previous.ingredients().forEach(ingredient -> changeUsage(ingredient, -1));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-weights the names of the given recipes. The weights are kept across a rebuild and apply to recipes indexed
+     * later as well.
+     *
+     * @param weights the new weight by recipe ID, 0 to reset it
+     */
+    public void weighRecipeNames(Map<Integer, Long> weights) {
+        lock.writeLock().lock();
+        try {
+            weights.forEach((recipeId, weight) -> {
+                if (weight > 0) {
+                    recipeWeights.put(recipeId, weight);
+                } else {
+                    recipeWeights.remove(recipeId);
+                }
+                IndexedRecipe indexed = recipes.get(recipeId);
+                if (indexed == null || indexed.name() == null || indexed.name().weight() == weight) {
+                    return;
+                }
+                unindexName(indexed);
+                Completion name = new Completion(indexed.name().text(), recipeId, weight);
+                names.put(indexed.nameKey(), name);
+                recipes.put(recipeId, new IndexedRecipe(indexed.nameKey(), name, indexed.ingredients()));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildCompleted() {
+        lock.writeLock().lock();
+        try {
+            names.rankAll();
+            ingredients.rankAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindexName(IndexedRecipe indexed) {
+        if (indexed.name() != null) {
+            names.remove(indexed.nameKey(), indexed.name());
+        }
+    }
+
+    /**
+     * Re-weights the ingredient completion by the change in the number of recipes using it.
+     */
+    private void changeUsage(String ingredient, int delta) {
+        int previous = ingredientUsage.getOrDefault(ingredient, 0);
+        int usage = previous + delta;
+        if (previous > 0) {
+            ingredients.remove(ingredient, new Completion(ingredient, null, previous));
+        }
+        if (usage > 0) {
+            ingredients.put(ingredient, new Completion(ingredient, null, usage));
+            ingredientUsage.put(ingredient, usage);
+        } else {
+            ingredientUsage.remove(ingredient);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.index.AutocompleteIndex.Completion;
+import com.food.recipe.api.search.TopK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Radix trie from normalized keys to weighted completions.
+ * <p>
+ * Every node caches the best completions of its subtree, so completing a prefix costs a walk down the
+ * prefix regardless of how many keys share it. A write re-ranks the nodes on the path of its key, up to the
+ * first one whose best completions do not change. While ranking is deferred (during a bulk load) writes only
+ * change the structure and {@link #rankAll()} ranks the whole trie at once. Not thread safe; indexes guard it with their own lock.
+ */
+final class CompletionTrie {
+
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final int maxCompletions;
+    private final Comparator<Completion> ranking;
+    private Node root = new Node("");
+    private boolean rankingDeferred;
+
+    /**
+     * A node reached through {@code label}. The arrays are never modified in place, so the cached best
+     * completions of a leaf can share its values.
+     */
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Completion[] values = NO_COMPLETIONS;
+        private Completion[] best = NO_COMPLETIONS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * @param maxCompletions number of completions cached per node, the maximum a query can return
+     * @param ranking        best completions first
+     */
+    CompletionTrie(int maxCompletions, Comparator<Completion> ranking) {
+        this.maxCompletions = maxCompletions;
+        this.ranking = ranking;
+    }
+
+    /**
+     * @return up to {@code limit} of the best completions whose key starts with the prefix
+     */
+    List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = child(node, prefix.charAt(matched));
+            if (node == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(node.label, prefix, matched);
+            if (matched + common < prefix.length() && common < node.label.length()) {
+                return List.of();
+            }
+            matched += common;
+        }
+        return Arrays.asList(node.best).subList(0, Math.min(limit, node.best.length));
+    }
+
+    void put(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = child(node, key.charAt(matched));
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                addChild(node, child);
+                node = child;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, matched);
+            if (common < child.label.length()) {
+                var split = new Node(child.label.substring(0, common));
+                split.children = new Node[]{child};
+                split.best = child.best;
+                replaceChild(node, split);
+                child.label = child.label.substring(common);
+                child = split;
+            }
+            node = child;
+            path.add(node);
+            matched += common;
+        }
+        node.values = append(node.values, completion);
+        rank(path);
+    }
+
+    /**
+     * Removes the completion stored under the key; a no-op if it is absent.
+     */
+    void remove(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            node = child(node, key.charAt(matched));
+            if (node == null || !key.startsWith(node.label, matched)) {
+                return;
+            }
+            path.add(node);
+            matched += node.label.length();
+        }
+        int index = Arrays.asList(node.values).indexOf(completion);
+        if (index < 0) {
+            return;
+        }
+        Completion[] values = new Completion[node.values.length - 1];
+        System.arraycopy(node.values, 0, values, 0, index);
+        System.arraycopy(node.values, index + 1, values, index, values.length - index);
+        node.values = values;
+
+        // Drop nodes left without values or children, and merge a valueless node into its only child.
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.values.length > 0 || current.children.length > 1) {
+                break;
+            }
+            path.remove(depth);
+            if (current.children.length == 0) {
+                removeChild(parent, current);
+            } else {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                replaceChild(parent, only);
+                break;
+            }
+        }
+        rank(path);
+    }
+
+    void clear() {
+        root = new Node("");
+    }
+
+    /**
+     * Stops ranking on every write until the next {@link #rankAll()}, which is much cheaper for bulk loads.
+     */
+    void deferRanking() {
+        rankingDeferred = true;
+    }
+
+    /**
+     * Ranks every node and resumes ranking on writes.
+     */
+    void rankAll() {
+        rankSubtree(root);
+        rankingDeferred = false;
+    }
+
+    private void rankSubtree(Node node) {
+        for (Node child : node.children) {
+            rankSubtree(child);
+        }
+        rankNode(node);
+    }
+
+    /**
+     * Re-ranks the nodes of a path from the deepest towards the root. Structural changes only touch the deepest
+     * nodes of the path, so once a node's best completions are unchanged its ancestors' are as well.
+     */
+    private void rank(List<Node> path) {
+        if (rankingDeferred) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Completion[] previous = node.best;
+            rankNode(node);
+            if (Arrays.equals(previous, node.best)) {
+                return;
+            }
+        }
+    }
+
+    private void rankNode(Node node) {
+        if (node.children.length == 0 && node.values.length <= 1) {
+            node.best = node.values;
+            return;
+        }
+        var best = new TopK<>(maxCompletions, ranking);
+        for (Completion value : node.values) {
+            best.offer(value);
+        }
+        for (Node child : node.children) {
+            for (Completion completion : child.best) {
+                best.offer(completion);
+            }
+        }
+        node.best = best.toList().toArray(NO_COMPLETIONS);
+    }
+
+    /**
+     * @return the child whose label starts with the character, found by binary search over the sorted children
+     */
+    private static Node child(Node node, char first) {
+        int index = childIndex(node, first);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char candidate = node.children[middle].label.charAt(0);
+            if (candidate < first) {
+                low = middle + 1;
+            } else if (candidate > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void addChild(Node node, Node child) {
+        int insertion = -(childIndex(node, child.label.charAt(0)) + 1);
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, insertion);
+        children[insertion] = child;
+        System.arraycopy(node.children, insertion, children, insertion + 1, node.children.length - insertion);
+        node.children = children;
+    }
+
+    /**
+     * Replaces the child starting with the same character as {@code replacement}.
+     */
+    private static void replaceChild(Node node, Node replacement) {
+        Node[] children = node.children.clone();
+        children[childIndex(node, replacement.label.charAt(0))] = replacement;
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label.charAt(0));
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children;
+    }
+
+    private static Completion[] append(Completion[] values, Completion completion) {
+        Completion[] appended = Arrays.copyOf(values, values.length + 1);
+        appended[values.length] = completion;
+        return appended;
+    }
+
+    /**
+     * @return the length of the common prefix of the label and the key from {@code offset} on
+     */
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+}
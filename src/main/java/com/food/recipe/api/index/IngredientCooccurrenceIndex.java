@@ -0,0 +1,249 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.TopK;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse co-occurrence matrix of normalized ingredients: for every pair of ingredients, the number of recipes
+ * using both. Every ingredient has a row of {@link IntCounts} keyed by the IDs of the ingredients it occurs with,
+ * so the "ingredients frequently used with X" question is a scan of one row.
+ * <p>
+ * Every recipe keeps its distinct ingredient IDs, so an update or a delete first subtracts the pairs of the
+ * previous ingredients. A recipe with {@code k} ingredients costs {@code k * (k - 1)} counter updates.
+ */
+@Component
+public class IngredientCooccurrenceIndex implements SnapshotRecipeIndex {
+
+    /**
+     * Most co-occurrences first, then by ingredient.
+     */
+    public static final Comparator<Cooccurrence> RANKING = Comparator.comparingInt(Cooccurrence::recipes).reversed()
+            .thenComparing(Cooccurrence::ingredient);
+
+    private static final int SNAPSHOT_MAGIC = 0x52434F43;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Matrix matrix = new Matrix();
+
+    /**
+     * @param ingredient the co-occurring ingredient
+     * @param recipes    number of recipes using both ingredients
+     * @param share      fraction of the recipes using the queried ingredient which also use this one
+     */
+    public record Cooccurrence(String ingredient, int recipes, double share) {
+    }
+
+    /**
+     * The mutable state, swapped as a whole when a snapshot is restored.
+     */
+    private static final class Matrix {
+
+        private final Map<String, Integer> ingredientIds = new HashMap<>();
+        private final List<String> ingredients = new ArrayList<>();
+        private final List<IntCounts> rows = new ArrayList<>();
+        private int[] usage = new int[64];
+        private final RecipeSlots<int[]> slots = new RecipeSlots<>();
+
+        private int register(String ingredient, int usageCount, IntCounts row) {
+            ingredientIds.put(ingredient, ingredients.size());
+            ingredients.add(ingredient);
+            rows.add(row);
+            if (ingredients.size() > usage.length) {
+                usage = Arrays.copyOf(usage, usage.length * 2);
+            }
+            usage[ingredients.size() - 1] = usageCount;
+            return ingredients.size() - 1;
+        }
+
+        private void apply(int[] recipeIngredients, int delta) {
+            for (int ingredient : recipeIngredients) {
+                usage[ingredient] += delta;
+                IntCounts row = rows.get(ingredient);
+                for (int other : recipeIngredients) {
+                    if (other != ingredient) {
+                        row.add(other, delta);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the ingredients most often used together with the given one.
+     *
+     * @param ingredient the ingredient, compared like {@link RecipeIndex#normalize}
+     * @param limit      maximum number of ingredients to return
+     * @return the co-occurring ingredients ordered by {@link #RANKING}; empty if the ingredient is unknown
+     */
+    public List<Cooccurrence> find(String ingredient, int limit) {
+        if (!StringUtils.hasText(ingredient) || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer id = matrix.ingredientIds.get(RecipeIndex.normalize(ingredient));
+            if (id == null || matrix.usage[id] == 0) {
+                return List.of();
+            }
+            double recipes = matrix.usage[id];
+            var best = new TopK<>(limit, RANKING);
+            matrix.rows.get(id).forEach((other, count) ->
+                    best.offer(new Cooccurrence(matrix.ingredients.get(other), count, count / recipes)));
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            matrix = new Matrix();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = matrix.slots.slotOf(recipe.getId());
+            if (slot >= 0) {
+                matrix.apply(matrix.slots.payload(slot), -1);
+            } else {
+                slot = matrix.slots.allocate(recipe.getId());
+            }
+            int[] ingredients = ingredientIds(recipe.getIngredients());
+            matrix.apply(ingredients, 1);
+            matrix.slots.setPayload(slot, ingredients);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = matrix.slots.slotOf(recipe.getId());
+            if (slot >= 0) {
+                matrix.apply(matrix.slots.payload(slot), -1);
+                matrix.slots.release(recipe.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String snapshotName() {
+        return "ingredient-cooccurrence";
+    }
+
+    /**
+     * Writes the ingredients with their usage and rows, then the ingredient IDs of every recipe.
+     */
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(matrix.slots.size());
+            out.writeInt(matrix.ingredients.size());
+            for (int id = 0; id < matrix.ingredients.size(); id++) {
+                out.writeUTF(matrix.ingredients.get(id));
+                out.writeInt(matrix.usage[id]);
+                matrix.rows.get(id).writeTo(out);
+            }
+            for (int slot = 0; slot < matrix.slots.slotCount(); slot++) {
+                int[] ingredients = matrix.slots.payload(slot);
+                if (ingredients != null) {
+                    out.writeInt(matrix.slots.recipeId(slot));
+                    out.writeInt(ingredients.length);
+                    for (int ingredient : ingredients) {
+                        out.writeInt(ingredient);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean readSnapshot(DataInputStream in, long expectedRecipes) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            return false;
+        }
+        long recipes = in.readLong();
+        if (recipes != expectedRecipes) {
+            return false;
+        }
+        var restored = new Matrix();
+        int ingredientCount = in.readInt();
+        for (int id = 0; id < ingredientCount; id++) {
+            String ingredient = in.readUTF();
+            int usage = in.readInt();
+            restored.register(ingredient, usage, IntCounts.readFrom(in));
+        }
+        for (long i = 0; i < recipes; i++) {
+            int recipeId = in.readInt();
+            int[] ingredients = new int[in.readInt()];
+            for (int j = 0; j < ingredients.length; j++) {
+                ingredients[j] = in.readInt();
+            }
+            restored.slots.setPayload(restored.slots.allocate(recipeId), ingredients);
+        }
+
+        lock.writeLock().lock();
+        try {
+            matrix = restored;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Maps the ingredients of a recipe to distinct ingredient IDs, registering unseen ingredients.
+     */
+    private int[] ingredientIds(List<String> recipeIngredients) {
+        if (recipeIngredients == null) {
+            return NO_INGREDIENTS;
+        }
+        return recipeIngredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .distinct()
+                .mapToInt(ingredient -> {
+                    Integer id = matrix.ingredientIds.get(ingredient);
+                    return id != null ? id : matrix.register(ingredient, 0, new IntCounts());
+                })
+                .toArray();
+    }
+}
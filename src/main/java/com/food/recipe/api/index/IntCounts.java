@@ -0,0 +1,155 @@
+package com.food.recipe.api.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Hash map from non-negative {@code int} keys to positive {@code int} counts, stored in two parallel arrays with
+ * linear probing, so a sparse row of counts costs two ints per entry instead of boxed map entries. A key whose
+ * count drops to zero is removed. Not thread safe; indexes guard it with their own lock.
+ */
+final class IntCounts {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        void accept(int key, int count);
+    }
+
+    IntCounts() {
+        this(4);
+    }
+
+    /**
+     * @param expectedSize number of keys the map holds without growing
+     */
+    IntCounts(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(int key) {
+        int index = indexOf(key);
+        return keys[index] == key ? counts[index] : 0;
+    }
+
+    /**
+     * Adds {@code delta} to the count of the key, removing the key once its count is no longer positive.
+     */
+    void add(int key, int delta) {
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            counts[index] += delta;
+            if (counts[index] <= 0) {
+                removeAt(index);
+            }
+        } else if (delta > 0) {
+            keys[index] = key;
+            counts[index] = delta;
+            if (++size * 3 > keys.length * 2) {
+                grow();
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes the number of keys followed by every key and its count.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                out.writeInt(keys[i]);
+                out.writeInt(counts[i]);
+            }
+        }
+    }
+
+    static IntCounts readFrom(DataInput in) throws IOException {
+        int size = in.readInt();
+        var counts = new IntCounts(size);
+        for (int i = 0; i < size; i++) {
+            counts.add(in.readInt(), in.readInt());
+        }
+        return counts;
+    }
+
+    /**
+     * @return the slot holding the key, or the empty slot where it would be inserted
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = home(key, mask);
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Empties the slot and moves later entries of the same probe run back, so lookups never stop early at the gap.
+     */
+    private void removeAt(int gap) {
+        int mask = keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == EMPTY) {
+                break;
+            }
+            int home = home(keys[index], mask);
+            // The entry may fill the gap unless its home lies cyclically after the gap and up to its slot.
+            boolean homeBetween = gap <= index ? gap < home && home <= index : gap < home || home <= index;
+            if (!homeBetween) {
+                keys[gap] = keys[index];
+                counts[gap] = counts[index];
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+        counts[gap] = 0;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int home(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
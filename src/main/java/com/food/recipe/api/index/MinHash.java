@@ -0,0 +1,107 @@
+package com.food.recipe.api.index;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * MinHash signatures of ingredient sets. Two signatures agree at a position with a probability equal to the
+ * Jaccard similarity of the sets, so recipes with similar ingredients share whole runs of the signature.
+ * <p>
+ * The hash functions are derived from fixed seeds, so a signature persisted with a recipe stays valid across
+ * restarts; a persisted signature of another length is ignored and recomputed.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private static final int[] NO_SIGNATURE = new int[0];
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_LENGTH];
+    private static final long[] INCREMENTS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            MULTIPLIERS[i] = mix(seed) | 1;
+            seed += 0x9E3779B97F4A7C15L;
+            INCREMENTS[i] = mix(seed);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * @param ingredients the ingredients, compared like {@link RecipeIndex#normalize}; blank ones are ignored
+     * @return the signature, empty if there is no ingredient
+     */
+    public static int[] signature(Collection<String> ingredients) {
+        if (ingredients == null) {
+            return NO_SIGNATURE;
+        }
+        long[] hashes = ingredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .distinct()
+                .mapToLong(MinHash::hash)
+                .toArray();
+        if (hashes.length == 0) {
+            return NO_SIGNATURE;
+        }
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long hash : hashes) {
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                signature[i] = Math.min(signature[i], (int) ((MULTIPLIERS[i] * hash + INCREMENTS[i]) >>> 33));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * @return the signature as bytes for persisting, {@code null} for an empty signature
+     */
+    public static byte[] encode(int[] signature) {
+        if (signature.length == 0) {
+            return null;
+        }
+        var buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    /**
+     * @return the persisted signature, or {@code null} if there is none or it was computed with another length
+     */
+    public static int[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length != SIGNATURE_LENGTH * Integer.BYTES) {
+            return null;
+        }
+        int[] signature = new int[SIGNATURE_LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    /**
+     * 64-bit FNV-1a of the characters, finalized so that similar strings spread over all bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,208 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.TopK;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from normalized ingredient to the recipes using it, answering "what can I cook with
+ * what I have" queries.
+ * <p>
+ * Every recipe occupies a dense slot holding its distinct ingredient IDs, and every ingredient has a posting
+ * list of slots. A query walks the posting lists of the pantry ingredients and counts, per slot, how many of
+ * the recipe's ingredients are available; a recipe's missing count is its ingredient count minus that hit count.
+ * The work is proportional to the postings of the pantry ingredients rather than to the number of recipes.
+ * The counters are per-thread buffers reused across queries, so a query allocates nothing per slot.
+ */
+@Component
+public class PantryIndex implements RecipeIndex {
+
+    /**
+     * Best matches first: fewest missing ingredients, then most pantry ingredients used, then lowest ID.
+     */
+    public static final Comparator<PantryMatch> RANKING = Comparator.comparingInt(PantryMatch::missing)
+            .thenComparing(Comparator.comparingInt(PantryMatch::matched).reversed())
+            .thenComparingInt(PantryMatch::recipeId);
+
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final RecipeSlots<Entry> slots = new RecipeSlots<>();
+    private final ThreadLocal<SlotScratch> scratch = ThreadLocal.withInitial(SlotScratch::new);
+
+    /**
+     * A recipe that can be cooked from the pantry with {@code missing} additional ingredients.
+     *
+     * @param recipeId the recipe ID
+     * @param missing  number of distinct recipe ingredients not in the pantry
+     * @param matched  number of distinct recipe ingredients found in the pantry
+     */
+    public record PantryMatch(int recipeId, int missing, int matched) {
+    }
+
+    /**
+     * @param ingredients the distinct ingredient IDs
+     * @param positions   the position of the slot in the posting list of each ingredient
+     */
+    private record Entry(int[] ingredients, int[] positions) {
+    }
+
+    /**
+     * Finds the recipes whose ingredients are contained in the pantry, allowing up to {@code maxMissing}
+     * ingredients which are not. Recipes sharing no ingredient with the pantry are never returned.
+     *
+     * @param pantry     the available ingredients, compared case-insensitively
+     * @param maxMissing maximum number of recipe ingredients absent from the pantry
+     * @param limit      maximum number of matches to return
+     * @return the best matches ordered by {@link #RANKING}
+     */
+    public List<PantryMatch> find(Collection<String> pantry, int maxMissing, int limit) {
+        if (pantry == null || pantry.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] pantryIngredients = pantryIngredientIds(pantry);
+            int scannedPostings = 0;
+            for (int ingredientId : pantryIngredients) {
+                scannedPostings += postings.get(ingredientId).size();
+            }
+
+            SlotScratch buffers = scratch.get();
+            int[] hits = buffers.hits(slots.slotCount());
+            int[] touched = buffers.touched(scannedPostings);
+            int touchedCount = 0;
+            for (int ingredientId : pantryIngredients) {
+                PostingList ingredientPostings = postings.get(ingredientId);
+                for (int i = 0; i < ingredientPostings.size(); i++) {
+                    int slot = ingredientPostings.get(i);
+                    if (hits[slot]++ == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                }
+            }
+
+            var best = new TopK<>(limit, RANKING);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                int missing = slots.payload(slot).ingredients().length - hits[slot];
+                if (missing <= maxMissing) {
+                    best.offer(new PantryMatch(slots.recipeId(slot), missing, hits[slot]));
+                }
+            }
+            buffers.reset(touchedCount);
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ingredientIds.clear();
+            postings.clear();
+            slots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots.slotOf(recipe.getId());
+            if (slot < 0) {
+                slot = slots.allocate(recipe.getId());
+            } else {
+                unlinkPostings(slot);
+            }
+            int[] ingredients = ingredientIds(recipe.getIngredients());
+            int[] positions = new int[ingredients.length];
+            for (int i = 0; i < ingredients.length; i++) {
+                positions[i] = postings.get(ingredients[i]).add(slot, i);
+            }
+            slots.setPayload(slot, new Entry(ingredients, positions));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots.slotOf(recipe.getId());
+            if (slot >= 0) {
+                unlinkPostings(slot);
+                slots.release(recipe.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlinkPostings(int slot) {
+        Entry entry = slots.payload(slot);
+        for (int i = 0; i < entry.ingredients().length; i++) {
+            postings.get(entry.ingredients()[i]).removeAt(entry.positions()[i], this::moved);
+        }
+    }
+
+    private void moved(int slot, int keyIndex, int position) {
+        slots.payload(slot).positions()[keyIndex] = position;
+    }
+
+    /**
+     * Maps the ingredients of a recipe to distinct ingredient IDs, registering unseen ingredients.
+     */
+    private int[] ingredientIds(List<String> ingredients) {
+        if (ingredients == null) {
+            return NO_INGREDIENTS;
+        }
+        return ingredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .distinct()
+                .mapToInt(ingredient -> ingredientIds.computeIfAbsent(ingredient, key -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                }))
+                .toArray();
+    }
+
+    /**
+     * Maps the pantry to distinct ingredient IDs; ingredients no recipe uses are skipped.
+     */
+    private int[] pantryIngredientIds(Collection<String> pantry) {
+        return pantry.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .distinct()
+                .map(ingredientIds::get)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,66 @@
+package com.food.recipe.api.index;
+
+import java.util.Arrays;
+
+/**
+ * Unordered, growable list of the slots of the recipes sharing one index key. Not thread safe;
+ * indexes guard it with their own lock.
+ * <p>
+ * Every entry also stores the position of the key among its recipe's keys. An index keeps the position returned by
+ * {@link #add} for each of a recipe's keys, so a recipe is removed in constant time: the last entry is moved into
+ * the freed position, and the index is told where it went through a {@link Relocation}.
+ */
+final class PostingList {
+
+    /**
+     * Receives the new position of the entry moved by {@link #removeAt}.
+     */
+    @FunctionalInterface
+    interface Relocation {
+
+        /**
+         * @param slot     the slot of the moved entry
+         * @param keyIndex the position of this list's key among the keys of that slot
+         * @param position the entry's new position in this list
+         */
+        void moved(int slot, int keyIndex, int position);
+    }
+
+    private int[] slots = new int[4];
+    private int[] keyIndexes = new int[4];
+    private int size;
+
+    /**
+     * @param keyIndex the position of this list's key among the keys of the slot
+     * @return the position of the entry, valid until a {@link Relocation} reports another one
+     */
+    int add(int slot, int keyIndex) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+            keyIndexes = Arrays.copyOf(keyIndexes, size * 2);
+        }
+        slots[size] = slot;
+        keyIndexes[size] = keyIndex;
+        return size++;
+    }
+
+    /**
+     * Removes the entry at the position by moving the last entry into it.
+     */
+    void removeAt(int position, Relocation relocation) {
+        int last = --size;
+        if (position != last) {
+            slots[position] = slots[last];
+            keyIndexes[position] = keyIndexes[last];
+            relocation.moved(slots[position], keyIndexes[position], position);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return slots[index];
+    }
+}
@@ -0,0 +1,71 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.config.RecipeBloomFilterProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filters over the IDs and normalized names of all persisted recipes.
+ * <p>
+ * Until the first rebuild has completed, and whenever the filters are disabled, every lookup answers
+ * "might contain" so callers fall back to the database. Deleted recipes stay in the filters until the
+ * next rebuild, which only costs an occasional extra database round trip.
+ */
+@Component
+public class RecipeBloomIndex implements RecipeIndex {
+
+    private final RecipeBloomFilterProperties properties;
+    private volatile BloomFilter ids;
+    private volatile BloomFilter names;
+    private volatile boolean ready;
+
+    public RecipeBloomIndex(RecipeBloomFilterProperties properties) {
+        this.properties = properties;
+        clear();
+    }
+
+    /**
+     * @return {@code false} only if no recipe with the given ID exists
+     */
+    public boolean mightContainId(int id) {
+        return !isActive() || ids.mightContain(id);
+    }
+
+    /**
+     * @return {@code false} only if no recipe with the given name (compared case-insensitively) exists
+     */
+    public boolean mightContainName(String name) {
+        return !isActive() || name == null || names.mightContain(BloomFilter.hash(RecipeIndex.normalize(name)));
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        ids = BloomFilter.create(properties.expectedInsertions(), properties.falsePositiveProbability());
+        names = BloomFilter.create(properties.expectedInsertions(), properties.falsePositiveProbability());
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() != null) {
+            ids.put(recipe.getId());
+        }
+        if (recipe.getName() != null) {
+            names.put(BloomFilter.hash(RecipeIndex.normalize(recipe.getName())));
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        // Bloom filters cannot forget keys; stale entries are dropped by the next rebuild.
+    }
+
+    @Override
+    public void rebuildCompleted() {
+        ready = true;
+    }
+
+    private boolean isActive() {
+        return properties.enabled() && ready;
+    }
+}
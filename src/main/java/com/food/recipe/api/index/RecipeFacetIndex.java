@@ -0,0 +1,206 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.TopK;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The facet values of every recipe (vegetarian flag, servings and distinct normalized ingredients), so facet
+ * counts over a set of matching recipes are computed in a single pass over their IDs instead of one
+ * {@code GROUP BY} query per facet.
+ */
+@Component
+public class RecipeFacetIndex implements RecipeIndex {
+
+    /**
+     * Inclusive upper bounds of the servings buckets; larger servings fall into a last, open bucket.
+     */
+    private static final int[] SERVINGS_BOUNDS = {1, 2, 4, 6, 8, 12};
+    private static final List<String> SERVINGS_BUCKETS = servingsBuckets();
+
+    private static final Comparator<ValueCount> MOST_FREQUENT = Comparator.comparingInt(ValueCount::count).reversed()
+            .thenComparing(ValueCount::value);
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<String> ingredients = new ArrayList<>();
+    private final RecipeSlots<RecipeFacets> slots = new RecipeSlots<>();
+
+    /**
+     * @param total          number of counted recipes
+     * @param vegetarian     number of vegetarian recipes
+     * @param nonVegetarian  number of non-vegetarian recipes
+     * @param servings       recipe count per non-empty servings bucket, in ascending bucket order
+     * @param topIngredients the most used ingredients with their recipe counts, most used first
+     */
+    public record FacetCounts(int total, int vegetarian, int nonVegetarian, List<ValueCount> servings,
+                              List<ValueCount> topIngredients) {
+    }
+
+    public record ValueCount(String value, int count) {
+    }
+
+    private record RecipeFacets(Boolean vegetarian, int servingsBucket, int[] ingredients) {
+    }
+
+    /**
+     * Counts the facets of the given recipes; IDs unknown to the index are skipped.
+     *
+     * @param recipeIds      the IDs of the matching recipes
+     * @param topIngredients number of most used ingredients to return
+     * @return the facet counts
+     */
+    public FacetCounts count(int[] recipeIds, int topIngredients) {
+        lock.readLock().lock();
+        try {
+            int total = 0;
+            int vegetarian = 0;
+            int nonVegetarian = 0;
+            int[] servings = new int[SERVINGS_BUCKETS.size()];
+            int[] ingredientCounts = new int[ingredients.size()];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            for (int recipeId : recipeIds) {
+                int slot = slots.slotOf(recipeId);
+                if (slot < 0) {
+                    continue;
+                }
+                RecipeFacets facets = slots.payload(slot);
+                total++;
+                if (Boolean.TRUE.equals(facets.vegetarian())) {
+                    vegetarian++;
+                } else if (Boolean.FALSE.equals(facets.vegetarian())) {
+                    nonVegetarian++;
+                }
+                if (facets.servingsBucket() >= 0) {
+                    servings[facets.servingsBucket()]++;
+                }
+                for (int ingredientId : facets.ingredients()) {
+                    if (ingredientCounts[ingredientId]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = ingredientId;
+                    }
+                }
+            }
+
+            List<ValueCount> servingsCounts = new ArrayList<>();
+            for (int bucket = 0; bucket < servings.length; bucket++) {
+                if (servings[bucket] > 0) {
+                    servingsCounts.add(new ValueCount(SERVINGS_BUCKETS.get(bucket), servings[bucket]));
+                }
+            }
+            var mostUsed = new TopK<>(Math.max(1, topIngredients), MOST_FREQUENT);
+            for (int i = 0; i < touchedCount; i++) {
+                int ingredientId = touched[i];
+                mostUsed.offer(new ValueCount(ingredients.get(ingredientId), ingredientCounts[ingredientId]));
+            }
+            return new FacetCounts(total, vegetarian, nonVegetarian, servingsCounts,
+                    topIngredients < 1 ? List.of() : mostUsed.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ingredientIds.clear();
+            ingredients.clear();
+            slots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots.slotOf(recipe.getId());
+            if (slot < 0) {
+                slot = slots.allocate(recipe.getId());
+            }
+            slots.setPayload(slot, new RecipeFacets(recipe.getIsVegetarian(), servingsBucket(recipe.getServings()),
+                    ingredientIds(recipe.getIngredients())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            slots.release(recipe.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Maps the ingredients of a recipe to distinct ingredient IDs, registering unseen ingredients.
+     */
+    private int[] ingredientIds(List<String> recipeIngredients) {
+        if (recipeIngredients == null) {
+            return NO_INGREDIENTS;
+        }
+        return recipeIngredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .distinct()
+                .mapToInt(ingredient -> ingredientIds.computeIfAbsent(ingredient, key -> {
+                    ingredients.add(key);
+                    return ingredients.size() - 1;
+                }))
+                .toArray();
+    }
+
+    /**
+     * @return the index of the servings bucket, or -1 if the servings are unknown
+     */
+    private static int servingsBucket(Integer servings) {
+        if (servings == null) {
+            return -1;
+        }
+        int bucket = 0;
+        while (bucket < SERVINGS_BOUNDS.length && servings > SERVINGS_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * @return the bucket labels, such as {@code "3-4"} and {@code "13+"}
+     */
+    private static List<String> servingsBuckets() {
+        List<String> buckets = new ArrayList<>();
+        int lower = 1;
+        for (int upper : SERVINGS_BOUNDS) {
+            buckets.add(lower == upper ? String.valueOf(upper) : lower + "-" + upper);
+            lower = upper + 1;
+        }
+        buckets.add(lower + "+");
+        return List.copyOf(buckets);
+    }
+}
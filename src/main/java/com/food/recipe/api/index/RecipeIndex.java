@@ -0,0 +1,49 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+
+import java.util.Locale;
+
+/**
+ * An in-memory structure derived from the persisted recipes.
+ * <p>
+ * Every {@code RecipeIndex} bean is rebuilt from the repository at startup by {@link RecipeIndexLoader}
+ * and kept up to date afterwards by {@link RecipeIndexEntityListener}, which forwards each insert, update
+ * and delete flushed through JPA once its transaction has committed. Implementations must be thread safe and
+ * must treat {@link #add} as an upsert keyed by the recipe ID.
+ */
+public interface RecipeIndex {
+
+    /**
+     * Drops all content; called before the index is rebuilt from the repository.
+     */
+    void clear();
+
+    /**
+     * Adds the given recipe or replaces the entry with the same ID.
+     *
+     * @param recipe the persisted recipe, with its ID assigned
+     */
+    void add(RecipeEntity recipe);
+
+    /**
+     * Removes the given recipe; a no-op if the recipe is unknown to the index.
+     *
+     * @param recipe the deleted recipe
+     */
+    void remove(RecipeEntity recipe);
+
+    /**
+     * Called once every persisted recipe has been passed to {@link #add} after a {@link #clear()}.
+     */
+    default void rebuildCompleted() {
+    }
+
+    /**
+     * Normalizes a recipe name or ingredient into the form indexes use as key, so lookups are case-insensitive
+     * and ignore surrounding whitespace.
+     */
+    static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,65 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards changes of the ingredient collection to the registered {@link RecipeIndex} beans.
+ * <p>
+ * JPA does not call {@code @PostUpdate} when only an element collection of an entity changed, so
+ * {@link RecipeIndexEntityListener} alone would miss an update replacing just the ingredients. This
+ * registers Hibernate collection listeners which re-index the owning recipe instead, once the transaction commits.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class RecipeIndexCollectionListener implements PostCollectionUpdateEventListener,
+        PostCollectionRecreateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RecipeIndexUpdates recipeIndexUpdates;
+
+    public RecipeIndexCollectionListener(EntityManagerFactory entityManagerFactory,
+                                         RecipeIndexUpdates recipeIndexUpdates) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.recipeIndexUpdates = recipeIndexUpdates;
+    }
+
+    @PostConstruct
+    void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        reindexOwner(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        reindexOwner(event);
+    }
+
+    private void reindexOwner(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof RecipeEntity recipe) {
+            log.debug("Re-indexing recipe with ID :{} after its ingredients changed", recipe.getId());
+            recipeIndexUpdates.afterCommit(index -> index.add(recipe));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JPA entity listener forwarding every write of a {@link RecipeEntity} to the registered {@link RecipeIndex} beans,
+ * after refreshing the persisted {@link MinHash} signature of its ingredients. The indexes are changed once the
+ * transaction commits, see {@link RecipeIndexUpdates}.
+ * <p>
+ * Hibernate creates this listener through Spring, so the {@link RecipeIndexUpdates} are injected; they resolve the
+ * indexes lazily because the listener is created while the entity manager factory itself is still being built.
+ */
+@Slf4j
+public class RecipeIndexEntityListener {
+
+    private final RecipeIndexUpdates recipeIndexUpdates;
+
+    public RecipeIndexEntityListener(RecipeIndexUpdates recipeIndexUpdates) {
+        this.recipeIndexUpdates = recipeIndexUpdates;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void onSaving(RecipeEntity recipe) {
+        recipe.setIngredientSignature(MinHash.encode(MinHash.signature(recipe.getIngredients())));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(RecipeEntity recipe) {
+        log.debug("Indexing saved recipe with ID :{}", recipe.getId());
+        recipeIndexUpdates.afterCommit(index -> index.add(recipe));
+    }
+
+    @PostRemove
+    public void onRemoved(RecipeEntity recipe) {
+        log.debug("Removing deleted recipe with ID :{} from indexes", recipe.getId());
+        recipeIndexUpdates.afterCommit(index -> index.remove(recipe));
+    }
+}
@@ -0,0 +1,113 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.repository.RecipeRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Rebuilds every {@link RecipeIndex} from the repository once the application has started, except the
+ * indexes restored from a snapshot by {@link RecipeIndexSnapshots}, and writes the snapshots on shutdown.
+ * Recipes are read in keyset pages of ascending ID and the persistence context is cleared in between, so the
+ * rebuild never holds more than one page of entities. Changes committed during a rebuild are held back by
+ * {@link RecipeIndexUpdates} and applied once it is done.
+ * Not used with the {@code memory}, {@code catalog} and {@code sharded} profiles, whose services build the indexes
+ * themselves.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class RecipeIndexLoader {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final List<RecipeIndex> recipeIndexes;
+    private final EntityManager entityManager;
+    private final RecipeIndexSnapshots recipeIndexSnapshots;
+    private final RecipeIndexUpdates recipeIndexUpdates;
+
+    public RecipeIndexLoader(RecipeRepository recipeRepository,
+                             List<RecipeIndex> recipeIndexes,
+                             EntityManager entityManager,
+                             RecipeIndexSnapshots recipeIndexSnapshots,
+                             RecipeIndexUpdates recipeIndexUpdates) {
+        this.recipeRepository = recipeRepository;
+        this.recipeIndexes = recipeIndexes;
+        this.entityManager = entityManager;
+        this.recipeIndexSnapshots = recipeIndexSnapshots;
+        this.recipeIndexUpdates = recipeIndexUpdates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        var restored = recipeIndexSnapshots.restore(recipeRepository.watermark());
+        rebuild(recipeIndexes.stream().filter(index -> !restored.contains(index)).toList());
+    }
+
+    /**
+     * Writes the snapshots with the current watermark of the database; without a watermark none are written and
+     * the next start rebuilds every index.
+     */
+    @PreDestroy
+    public void saveSnapshots() {
+        RecipeWatermark watermark;
+        try {
+            watermark = recipeRepository.watermark();
+        } catch (DataAccessException ex) {
+            log.warn("Could not read the recipe watermark; not writing index snapshots.", ex);
+            return;
+        }
+        recipeIndexSnapshots.save(watermark);
+    }
+
+    /**
+     * Rebuilds every index, ignoring snapshots.
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuild(recipeIndexes);
+    }
+
+    private void rebuild(List<RecipeIndex> indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        log.info("Rebuilding {} recipe indexes from the database.", indexes.size());
+        recipeIndexUpdates.deferChanges();
+        try {
+            indexes.forEach(RecipeIndex::clear);
+
+            long count = 0;
+            int lastId = 0;
+            List<RecipeEntity> page;
+            do {
+                page = recipeRepository.findByIdGreaterThanOrderById(lastId, Limit.of(PAGE_SIZE));
+                for (RecipeEntity recipe : page) {
+                    indexes.forEach(index -> index.add(recipe));
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+                count += page.size();
+                entityManager.clear();
+            } while (page.size() == PAGE_SIZE);
+
+            indexes.forEach(RecipeIndex::rebuildCompleted);
+            log.info("Recipe indexes rebuilt from {} recipes.", count);
+        } finally {
+            recipeIndexUpdates.applyDeferredChanges();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.config.RecipeSnapshotProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every {@link SnapshotRecipeIndex} to a file on shutdown and restores it at startup.
+ * <p>
+ * Every file starts with the {@link RecipeWatermark} of the database at shutdown, and a snapshot is only restored
+ * if the database still has the same watermark; otherwise a change was made while the application was down, and
+ * the index is rebuilt. The watermark is taken from the database, so it describes the indexes only if this
+ * application is the single writer.
+ * <p>
+ * A snapshot is deleted once read, so it only ever describes the state at the last clean shutdown: after a
+ * crash there is no snapshot and the index is rebuilt from the repository. A snapshot is written to a temporary
+ * file first and moved into place, so a shutdown interrupted halfway never leaves a truncated snapshot.
+ */
+@Slf4j
+@Component
+public class RecipeIndexSnapshots {
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final RecipeSnapshotProperties properties;
+    private final List<SnapshotRecipeIndex> indexes;
+
+    public RecipeIndexSnapshots(RecipeSnapshotProperties properties, List<SnapshotRecipeIndex> indexes) {
+        this.properties = properties;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Restores the indexes with a snapshot of the current watermark and deletes all snapshots.
+     *
+     * @param watermark watermark of the persisted recipes
+     * @return the restored indexes, which need no rebuild
+     */
+    public List<RecipeIndex> restore(RecipeWatermark watermark) {
+        if (!properties.enabled()) {
+            return List.of();
+        }
+        List<RecipeIndex> restored = new ArrayList<>();
+        for (SnapshotRecipeIndex index : indexes) {
+            Path file = file(index);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (RecipeWatermark.readFrom(in).equals(watermark) && index.readSnapshot(in, watermark.recipes())) {
+                    restored.add(index);
+                    log.info("Restored index snapshot {}.", file);
+                } else {
+                    log.info("Ignoring stale index snapshot {}.", file);
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Could not read index snapshot {}; rebuilding the index instead.", file, ex);
+            }
+            delete(file);
+        }
+        return restored;
+    }
+
+    /**
+     * Writes the snapshots of all indexes.
+     *
+     * @param watermark watermark of the persisted recipes which the indexes hold
+     */
+    public void save(RecipeWatermark watermark) {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (SnapshotRecipeIndex index : indexes) {
+            Path file = file(index);
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(properties.directory());
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    watermark.writeTo(out);
+                    index.writeSnapshot(out);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Wrote index snapshot {}.", file);
+            } catch (IOException ex) {
+                log.warn("Could not write index snapshot {}.", file, ex);
+                delete(temporary);
+            }
+        }
+    }
+
+    private Path file(SnapshotRecipeIndex index) {
+        return properties.directory().resolve(index.snapshotName() + SUFFIX);
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}.", file, ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.food.recipe.api.index;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Applies a change to every registered {@link RecipeIndex} once the transaction which flushed it has committed.
+ * <p>
+ * JPA calls the entity and collection listeners on flush, before the commit. Applied right away, the change would
+ * let other requests see a recipe which is not committed yet, and a rollback after the flush would leave it in the
+ * indexes until the next restart. Outside a transaction the change is applied immediately.
+ * <p>
+ * While {@link RecipeIndexLoader} rebuilds the indexes, committed changes are held back and applied in commit order
+ * once the rebuild is done. Applied during the rebuild, they would be wiped by its {@link RecipeIndex#clear()}, or
+ * overwritten by an older version of the recipe read before the commit.
+ */
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class RecipeIndexUpdates {
+
+    private final ObjectProvider<RecipeIndex> recipeIndexes;
+    /** Changes held back during a rebuild, {@code null} when none runs; guarded by {@code this}. */
+    private List<Consumer<RecipeIndex>> deferred;
+
+    public RecipeIndexUpdates(ObjectProvider<RecipeIndex> recipeIndexes) {
+        this.recipeIndexes = recipeIndexes;
+    }
+
+    void afterCommit(Consumer<RecipeIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    /**
+     * Holds back the changes committed from now on, until {@link #applyDeferredChanges()}.
+     */
+    synchronized void deferChanges() {
+        if (deferred == null) {
+            deferred = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Applies the changes held back since {@link #deferChanges()}, then applies changes immediately again.
+     */
+    void applyDeferredChanges() {
+        while (true) {
+            List<Consumer<RecipeIndex>> changes;
+            synchronized (this) {
+                if (deferred == null || deferred.isEmpty()) {
+                    deferred = null;
+                    return;
+                }
+                changes = deferred;
+                // Changes committed while these are applied queue up behind them.
+                deferred = new ArrayList<>();
+            }
+            changes.forEach(change -> recipeIndexes.orderedStream().forEach(change));
+        }
+    }
+
+    private void apply(Consumer<RecipeIndex> change) {
+        synchronized (this) {
+            if (deferred != null) {
+                deferred.add(change);
+                return;
+            }
+        }
+        recipeIndexes.orderedStream().forEach(change);
+    }
+}
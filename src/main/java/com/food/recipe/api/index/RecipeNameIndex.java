@@ -0,0 +1,289 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.TopK;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * Trigram index over recipe names for typo-tolerant lookups.
+ * <p>
+ * Names are split into words, and every word padded as {@code "  word "} contributes its three-character
+ * substrings, the same scheme PostgreSQL's {@code pg_trgm} uses. Similarity is the Jaccard coefficient of the
+ * trigram sets.
+ * <p>
+ * A name reaching the minimum similarity {@code t} must share at least {@code m = ceil(t * |query trigrams|)}
+ * trigrams with the query, so it appears in one of the query's posting lists left after setting aside the
+ * {@code m - 1} longest. A lookup counts shared trigrams per name over those shorter lists only, bounds the
+ * similarity with a 64-bit signature kept per name, and verifies the few remaining candidates by
+ * intersecting sorted trigram arrays.
+ */
+@Component
+public class RecipeNameIndex implements RecipeIndex {
+
+    public static final double DEFAULT_MIN_SIMILARITY = 0.3;
+
+    private static final Comparator<NameMatch> RANKING = Comparator.comparingDouble(NameMatch::similarity).reversed()
+            .thenComparingInt(NameMatch::recipeId);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int TRIGRAM_BITS = 56;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> trigramIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final RecipeSlots<Name> slots = new RecipeSlots<>();
+    private long[] signatures = new long[INITIAL_CAPACITY];
+    private final ThreadLocal<SlotScratch> scratch = ThreadLocal.withInitial(SlotScratch::new);
+
+    /**
+     * @param recipeId   the recipe ID
+     * @param similarity trigram similarity between the query and the recipe name, from 0 to 1
+     */
+    public record NameMatch(int recipeId, double similarity) {
+    }
+
+    /**
+     * @param trigrams  the sorted trigram IDs of the name
+     * @param positions the position of the slot in the posting list of each trigram
+     */
+    private record Name(int[] trigrams, int[] positions) {
+    }
+
+    /**
+     * Finds the recipes whose names are most similar to the given name.
+     *
+     * @param name          the name to look up, possibly misspelled
+     * @param limit         maximum number of matches to return
+     * @param minSimilarity minimum similarity of a match, from 0 (exclusive) to 1
+     * @return the matches, most similar first
+     */
+    public List<NameMatch> find(String name, int limit, double minSimilarity) {
+        long[] queryTrigrams = trigrams(name);
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(minSimilarity * queryTrigrams.length));
+
+        lock.readLock().lock();
+        try {
+            int[] known = LongStream.of(queryTrigrams)
+                    .mapToObj(trigramIds::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            if (known.length < minShared) {
+                return List.of();
+            }
+
+            // Prefix filter: a name sharing minShared trigrams with the query appears in at least one of the
+            // posting lists left after skipping the minShared - 1 longest, so only those lists are scanned.
+            int[] longestFirst = Arrays.stream(known).boxed()
+                    .sorted(Comparator.comparingInt((Integer id) -> postings.get(id).size()).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int skipped = minShared - 1;
+            int scannedPostings = 0;
+            long skippedMask = 0;
+            for (int i = 0; i < longestFirst.length; i++) {
+                if (i < skipped) {
+                    skippedMask |= signatureBit(longestFirst[i]);
+                } else {
+                    scannedPostings += postings.get(longestFirst[i]).size();
+                }
+            }
+
+            SlotScratch buffers = scratch.get();
+            int[] hits = buffers.hits(slots.slotCount());
+            int[] touched = buffers.touched(scannedPostings);
+            int touchedCount = 0;
+            for (int i = skipped; i < longestFirst.length; i++) {
+                PostingList trigramPostings = postings.get(longestFirst[i]);
+                for (int j = 0; j < trigramPostings.size(); j++) {
+                    int slot = trigramPostings.get(j);
+                    if (hits[slot]++ == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                }
+            }
+
+            // The signature bits of the skipped trigrams bound how many of them a name may contain, and with the
+            // trigram count kept in the signature that bounds the similarity, so most names are discarded without
+            // reading their trigrams. Skipped trigrams sharing a bit are counted once by the popcount, hence the
+            // collisions are added back.
+            int collisions = skipped - Long.bitCount(skippedMask);
+            Arrays.sort(known);
+            var best = new TopK<>(limit, RANKING);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                long signature = signatures[slot];
+                int maxShared = Math.min(known.length, hits[slot] + Long.bitCount(signature & skippedMask) + collisions);
+                int trigramCount = (int) (signature >>> TRIGRAM_BITS);
+                if ((double) maxShared / (queryTrigrams.length + trigramCount - maxShared) < minSimilarity) {
+                    continue;
+                }
+                int[] nameTrigrams = slots.payload(slot).trigrams();
+                int shared = countShared(known, nameTrigrams);
+                double similarity = (double) shared / (queryTrigrams.length + nameTrigrams.length - shared);
+                if (similarity >= minSimilarity) {
+                    best.offer(new NameMatch(slots.recipeId(slot), similarity));
+                }
+            }
+            buffers.reset(touchedCount);
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the bit standing for the trigram in name signatures
+     */
+    private static long signatureBit(int trigramId) {
+        return 1L << (((trigramId * 0x9E3779B9L) & 0xFFFFFFFFL) * TRIGRAM_BITS >>> 32);
+    }
+
+    /**
+     * A name signature holds one bit per trigram hash in its low {@value #TRIGRAM_BITS} bits and the number of
+     * trigrams, capped at 255, in its high byte. Capping only underestimates the count, which keeps the similarity
+     * bound an upper bound.
+     */
+    private static long signature(int[] nameTrigrams) {
+        long signature = (long) Math.min(nameTrigrams.length, 255) << TRIGRAM_BITS;
+        for (int trigramId : nameTrigrams) {
+            signature |= signatureBit(trigramId);
+        }
+        return signature;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            trigramIds.clear();
+            postings.clear();
+            slots.clear();
+            signatures = new long[INITIAL_CAPACITY];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null || recipe.getName() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots.slotOf(recipe.getId());
+            if (slot < 0) {
+                slot = slots.allocate(recipe.getId());
+            } else {
+                unlinkPostings(slot);
+            }
+            int[] nameTrigrams = LongStream.of(trigrams(recipe.getName()))
+                    .mapToInt(trigram -> trigramIds.computeIfAbsent(trigram, key -> {
+                        postings.add(new PostingList());
+                        return postings.size() - 1;
+                    }))
+                    .sorted()
+                    .toArray();
+            int[] positions = new int[nameTrigrams.length];
+            for (int i = 0; i < nameTrigrams.length; i++) {
+                positions[i] = postings.get(nameTrigrams[i]).add(slot, i);
+            }
+            slots.setPayload(slot, new Name(nameTrigrams, positions));
+            if (slot >= signatures.length) {
+                signatures = Arrays.copyOf(signatures, Math.max(slot + 1, signatures.length * 2));
+            }
+            signatures[slot] = signature(nameTrigrams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots.slotOf(recipe.getId());
+            if (slot >= 0) {
+                unlinkPostings(slot);
+                slots.release(recipe.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlinkPostings(int slot) {
+        Name name = slots.payload(slot);
+        for (int i = 0; i < name.trigrams().length; i++) {
+            postings.get(name.trigrams()[i]).removeAt(name.positions()[i], this::moved);
+        }
+    }
+
+    private void moved(int slot, int keyIndex, int position) {
+        slots.payload(slot).positions()[keyIndex] = position;
+    }
+
+    /**
+     * @return the distinct trigrams of the normalized name, each packed into a long
+     */
+    static long[] trigrams(String name) {
+        if (name == null) {
+            return new long[0];
+        }
+        return WORD_SEPARATOR.splitAsStream(RecipeIndex.normalize(name))
+                .filter(word -> !word.isEmpty())
+                .flatMapToLong(word -> {
+                    String padded = "  " + word + " ";
+                    return LongStream.range(0, padded.length() - 2)
+                            .map(i -> pack(padded.charAt((int) i), padded.charAt((int) i + 1), padded.charAt((int) i + 2)));
+                })
+                .distinct()
+                .toArray();
+    }
+
+    private static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    /**
+     * Counts the values present in both sorted arrays.
+     */
+    private static int countShared(int[] sortedA, int[] sortedB) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sortedA.length && j < sortedB.length) {
+            if (sortedA[i] == sortedB[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (sortedA[i] < sortedB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+}
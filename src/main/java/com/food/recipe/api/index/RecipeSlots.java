@@ -0,0 +1,95 @@
+package com.food.recipe.api.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns every indexed recipe a dense slot number and stores one payload per slot, so indexes can
+ * keep their per-recipe data in arrays and count matches in {@code int[]} indexed by slot.
+ * Slots of removed recipes are reused. Not thread safe; indexes guard it with their own lock.
+ *
+ * @param <T> the per-recipe payload
+ */
+final class RecipeSlots<T> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Integer, Integer> slotsByRecipeId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int[] recipeIds = new int[INITIAL_CAPACITY];
+    private Object[] payloads = new Object[INITIAL_CAPACITY];
+    private int slotCount;
+
+    /**
+     * @return the slot of the recipe, or -1 if the recipe has none
+     */
+    int slotOf(int recipeId) {
+        return slotsByRecipeId.getOrDefault(recipeId, -1);
+    }
+
+    int allocate(int recipeId) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            if (slotCount == recipeIds.length) {
+                recipeIds = Arrays.copyOf(recipeIds, slotCount * 2);
+                payloads = Arrays.copyOf(payloads, slotCount * 2);
+            }
+            slot = slotCount++;
+        } else {
+            slot = freeSlots.pop();
+        }
+        recipeIds[slot] = recipeId;
+        slotsByRecipeId.put(recipeId, slot);
+        return slot;
+    }
+
+    /**
+     * Releases the slot of the recipe for reuse; its payload is cleared.
+     *
+     * @return the released slot, or -1 if the recipe had none
+     */
+    int release(int recipeId) {
+        Integer slot = slotsByRecipeId.remove(recipeId);
+        if (slot == null) {
+            return -1;
+        }
+        payloads[slot] = null;
+        freeSlots.push(slot);
+        return slot;
+    }
+
+    int recipeId(int slot) {
+        return recipeIds[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    T payload(int slot) {
+        return (T) payloads[slot];
+    }
+
+    void setPayload(int slot, T payload) {
+        payloads[slot] = payload;
+    }
+
+    /**
+     * @return one past the highest slot ever allocated; released slots below it have a {@code null} payload
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    int size() {
+        return slotsByRecipeId.size();
+    }
+
+    void clear() {
+        slotsByRecipeId.clear();
+        freeSlots.clear();
+        recipeIds = new int[INITIAL_CAPACITY];
+        payloads = new Object[INITIAL_CAPACITY];
+        slotCount = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.food.recipe.api.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Summary of the persisted recipes which an index snapshot was taken from. A snapshot is only restored if the
+ * database still has the same watermark, so a change made while the application was down is never missed: an
+ * update keeps the number of recipes but changes the checksum, and a delete plus a create changes the highest ID
+ * or the checksum as well.
+ *
+ * @param recipes  number of recipes
+ * @param maxId    highest recipe ID, 0 without recipes
+ * @param checksum order-independent checksum over the ID, name, flags, instructions and ingredients of every recipe
+ */
+public record RecipeWatermark(long recipes, int maxId, long checksum) {
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(recipes);
+        out.writeInt(maxId);
+        out.writeLong(checksum);
+    }
+
+    static RecipeWatermark readFrom(DataInputStream in) throws IOException {
+        return new RecipeWatermark(in.readLong(), in.readInt(), in.readLong());
+    }
+}
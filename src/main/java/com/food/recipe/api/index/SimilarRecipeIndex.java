@@ -0,0 +1,281 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.TopK;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over the {@link MinHash} signatures of the recipes' ingredient sets, answering
+ * "recipes like this one" without comparing a recipe with the whole catalog.
+ * <p>
+ * A signature is cut into {@value #BANDS} bands of {@value #ROWS} rows, and every band is hashed into a bucket.
+ * Recipes sharing at least one bucket are candidates; two recipes with Jaccard similarity {@code s} become
+ * candidates with probability {@code 1 - (1 - s^4)^16}, about 0.5 at {@code s = 0.5} and above 0.99 at
+ * {@code s = 0.8}. Candidates are ranked by their exact Jaccard similarity.
+ * <p>
+ * Signatures are computed on every write and persisted with the recipe by {@link RecipeIndexEntityListener},
+ * so a rebuild reads them instead of rehashing the ingredients of the whole catalog.
+ * <p>
+ * Ingredients get an ID while an indexed recipe uses them; the ID of an ingredient no recipe uses anymore is reused,
+ * so renamed and removed ingredients do not pile up.
+ */
+@Component
+public class SimilarRecipeIndex implements RecipeIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIGNATURE_LENGTH / BANDS;
+
+    /**
+     * Most similar first, then lowest ID.
+     */
+    public static final Comparator<SimilarRecipe> RANKING = Comparator.comparingDouble(SimilarRecipe::similarity)
+            .reversed()
+            .thenComparingInt(SimilarRecipe::recipeId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final Deque<Integer> freeIngredientIds = new ArrayDeque<>();
+    private IntCounts ingredientUses = new IntCounts();
+    private final Map<Long, PostingList> buckets = new HashMap<>();
+    private final RecipeSlots<Entry> slots = new RecipeSlots<>();
+
+    /**
+     * @param recipeId   the similar recipe
+     * @param similarity Jaccard similarity of the ingredient sets, in (0, 1]
+     */
+    public record SimilarRecipe(int recipeId, double similarity) {
+    }
+
+    /**
+     * @param buckets     the bucket key of every band
+     * @param positions   the position of the slot in the posting list of every bucket
+     * @param ingredients the sorted, distinct ingredient IDs
+     */
+    private record Entry(long[] buckets, int[] positions, int[] ingredients) {
+    }
+
+    /**
+     * Finds the recipes whose ingredients are most similar to those of the given recipe.
+     *
+     * @param recipeId the recipe to compare with; not part of the result
+     * @param limit    maximum number of recipes to return
+     * @return the most similar recipes ordered by {@link #RANKING}, empty if the recipe is unknown
+     */
+    public List<SimilarRecipe> find(int recipeId, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slots.slotOf(recipeId);
+            if (slot < 0) {
+                return List.of();
+            }
+            Entry entry = slots.payload(slot);
+            var seen = new BitSet();
+            seen.set(slot);
+            var best = new TopK<>(limit, RANKING);
+            for (long bucket : entry.buckets()) {
+                PostingList candidates = buckets.get(bucket);
+                for (int i = 0; i < candidates.size(); i++) {
+                    int candidate = candidates.get(i);
+                    if (seen.get(candidate)) {
+                        continue;
+                    }
+                    seen.set(candidate);
+                    double similarity = jaccard(entry.ingredients(), slots.payload(candidate).ingredients());
+                    if (similarity > 0) {
+                        best.offer(new SimilarRecipe(slots.recipeId(candidate), similarity));
+                    }
+                }
+            }
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ingredientIds.clear();
+            ingredientNames.clear();
+            freeIngredientIds.clear();
+            ingredientUses = new IntCounts();
+            buckets.clear();
+            slots.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        int[] signature = MinHash.decode(recipe.getIngredientSignature());
+        if (signature == null) {
+            signature = MinHash.signature(recipe.getIngredients());
+        }
+        lock.writeLock().lock();
+        try {
+            release(recipe.getId());
+            int[] ingredients = ingredientIds(recipe.getIngredients());
+            if (ingredients.length == 0 || signature.length == 0) {
+                releaseIngredients(ingredients);
+                return;
+            }
+            int slot = slots.allocate(recipe.getId());
+            long[] keys = bucketKeys(signature);
+            int[] positions = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                positions[i] = buckets.computeIfAbsent(keys[i], k -> new PostingList()).add(slot, i);
+            }
+            slots.setPayload(slot, new Entry(keys, positions, ingredients));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            release(recipe.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void release(int recipeId) {
+        int slot = slots.slotOf(recipeId);
+        if (slot < 0) {
+            return;
+        }
+        Entry entry = slots.payload(slot);
+        for (int i = 0; i < entry.buckets().length; i++) {
+            PostingList bucket = buckets.get(entry.buckets()[i]);
+            bucket.removeAt(entry.positions()[i], this::moved);
+            if (bucket.size() == 0) {
+                buckets.remove(entry.buckets()[i]);
+            }
+        }
+        releaseIngredients(entry.ingredients());
+        slots.release(recipeId);
+    }
+
+    private void moved(int slot, int keyIndex, int position) {
+        slots.payload(slot).positions()[keyIndex] = position;
+    }
+
+    /**
+     * Maps the ingredients of a recipe to sorted, distinct ingredient IDs, registering unseen ingredients and
+     * counting the recipe as a user of each.
+     */
+    private int[] ingredientIds(List<String> recipeIngredients) {
+        if (recipeIngredients == null) {
+            return new int[0];
+        }
+        int[] ids = recipeIngredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIndex::normalize)
+                .mapToInt(ingredient -> ingredientIds.computeIfAbsent(ingredient, this::registerIngredient))
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int id : ids) {
+            ingredientUses.add(id, 1);
+        }
+        return ids;
+    }
+
+    private int registerIngredient(String ingredient) {
+        if (freeIngredientIds.isEmpty()) {
+            ingredientNames.add(ingredient);
+            return ingredientNames.size() - 1;
+        }
+        int id = freeIngredientIds.pop();
+        ingredientNames.set(id, ingredient);
+        return id;
+    }
+
+    /**
+     * Drops a recipe's use of its ingredients; an ingredient no other recipe uses gives up its ID for reuse.
+     */
+    private void releaseIngredients(int[] ingredients) {
+        for (int id : ingredients) {
+            ingredientUses.add(id, -1);
+            if (ingredientUses.get(id) == 0) {
+                ingredientIds.remove(ingredientNames.get(id));
+                ingredientNames.set(id, null);
+                freeIngredientIds.push(id);
+            }
+        }
+    }
+
+    /**
+     * @return the number of ingredients holding an ID
+     */
+    int ingredientCount() {
+        lock.readLock().lock();
+        try {
+            return ingredientIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return one key per band, combining the band number with its rows so equal rows in different bands differ
+     */
+    static long[] bucketKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+                key = key * 0x9E3779B97F4A7C15L + signature[row];
+            }
+            keys[band] = MinHash.mix(key);
+        }
+        return keys;
+    }
+
+    /**
+     * @return the Jaccard similarity of two sorted sets of IDs
+     */
+    static double jaccard(int[] first, int[] second) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] == second[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (first.length + second.length - shared);
+    }
+}
@@ -0,0 +1,41 @@
+package com.food.recipe.api.index;
+
+/**
+ * Per-thread query buffers of an index counting hits per slot. They are reused across queries because allocating
+ * one counter per slot on every query dominates latency over large catalogs; a query resets the counters it
+ * touched before returning.
+ */
+final class SlotScratch {
+
+    private int[] hits = new int[0];
+    private int[] touched = new int[0];
+
+    /**
+     * @return zeroed counters for at least {@code slotCount} slots
+     */
+    int[] hits(int slotCount) {
+        if (hits.length < slotCount) {
+            hits = new int[slotCount + slotCount / 8];
+        }
+        return hits;
+    }
+
+    /**
+     * @return room for at least {@code capacity} touched slots
+     */
+    int[] touched(int capacity) {
+        if (touched.length < capacity) {
+            touched = new int[Math.max(capacity, touched.length * 2)];
+        }
+        return touched;
+    }
+
+    /**
+     * Zeroes the counters of the touched slots, so the next query finds them zeroed.
+     */
+    void reset(int touchedCount) {
+        for (int i = 0; i < touchedCount; i++) {
+            hits[touched[i]] = 0;
+        }
+    }
+}
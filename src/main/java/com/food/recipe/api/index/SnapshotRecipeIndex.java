@@ -0,0 +1,31 @@
+package com.food.recipe.api.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A {@link RecipeIndex} whose content can be written to and restored from a snapshot file, so a restart does not
+ * rebuild it from every persisted recipe. {@link RecipeIndexSnapshots} manages the files.
+ */
+public interface SnapshotRecipeIndex extends RecipeIndex {
+
+    /**
+     * @return the file name of the snapshot, unique among the indexes
+     */
+    String snapshotName();
+
+    /**
+     * Writes the whole content of the index.
+     */
+    void writeSnapshot(DataOutputStream out) throws IOException;
+
+    /**
+     * Replaces the content of the index with a snapshot written by {@link #writeSnapshot}. The content is left
+     * untouched if the snapshot is rejected or cannot be read.
+     *
+     * @param expectedRecipes number of recipes of the {@link RecipeWatermark} which the snapshot was taken at
+     * @return {@code true} if the snapshot was restored
+     */
+    boolean readSnapshot(DataInputStream in, long expectedRecipes) throws IOException;
+}
@@ -0,0 +1,183 @@
+package com.food.recipe.api.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.food.recipe.api.config.RecipeJsonCacheProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.model.RecipesResponse;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the UTF-8 JSON encoding of recently served {@link RecipesResponse}s, so a hot recipe is serialized
+ * by Jackson once rather than on every request. Lists are written by concatenating the cached encodings; the
+ * {@link RecipeJsonHttpMessageConverter} writes both to the response.
+ * <p>
+ * An entry is keyed by the recipe ID and holds a copy of the response it was encoded from, which serves as the
+ * entry's version: the encoding is only reused for a response with equal content, so a changed recipe is never
+ * answered with an outdated body, whichever path it was read through. Writes seen as {@link RecipeIndex} callbacks
+ * drop the entry early to free its memory. The encoding is produced by the application's {@link ObjectMapper},
+ * so it is byte for byte what the Jackson message converter would write.
+ * <p>
+ * The entries are held in a Caffeine cache bounded by {@code recipe.json-cache.max-entries}, so lookups from
+ * concurrent requests take no common lock. Its frequency-based admission keeps hot recipes when a long list passes
+ * through once, and list assembly reads entries without counting them as served, so it does not promote them.
+ * <p>
+ * With {@code server.compression} enabled, the gzip form of an encoding reaching the compression threshold is
+ * kept alongside it, so a hot recipe is not compressed again by the servlet container on every request.
+ */
+@Component
+public class RecipeJsonCache implements RecipeIndex {
+
+    private final ObjectMapper objectMapper;
+    private final RecipeJsonCacheProperties properties;
+    private final long gzipThreshold;
+    private final Cache<Integer, Entry> entries;
+
+    private static final class Entry {
+
+        private final RecipesResponse recipe;
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        Entry(RecipesResponse recipe, byte[] json) {
+            this.recipe = recipe;
+            this.json = json;
+        }
+
+        boolean encodes(RecipesResponse other) {
+            // The copy is compared from this side, as its list compares by element even against a Hibernate bag.
+            return other != null && recipe.equals(other);
+        }
+    }
+
+    public RecipeJsonCache(ObjectMapper objectMapper, RecipeJsonCacheProperties properties,
+                           ServerProperties serverProperties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        var compression = serverProperties.getCompression();
+        this.gzipThreshold = compression.getEnabled() ? compression.getMinResponseSize().toBytes() : -1;
+        this.entries = Caffeine.newBuilder().maximumSize(properties.maxEntries()).build();
+    }
+
+    /**
+     * @return the JSON encoding of the recipe, reused from the cache if it was encoded before
+     */
+    public byte[] toJson(RecipesResponse recipe) {
+        return entry(recipe, false).json;
+    }
+
+    /**
+     * @return the gzip-compressed JSON encoding of the recipe, reused from the cache if it was compressed before;
+     * or {@code null} if compression is disabled or the encoding is smaller than
+     * {@code server.compression.min-response-size}
+     */
+    public byte[] toGzippedJson(RecipesResponse recipe) {
+        var entry = entry(recipe, false);
+        if (gzipThreshold < 0 || entry.json.length < gzipThreshold) {
+            return null;
+        }
+        byte[] gzip = entry.gzip;
+        if (gzip == null) {
+            gzip = gzip(entry.json);
+            entry.gzip = gzip;
+        }
+        return gzip;
+    }
+
+    /**
+     * Writes the JSON array of the recipes' encodings, in list order, one encoding at a time.
+     */
+    public void writeJsonArray(List<RecipesResponse> recipes, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < recipes.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(entry(recipes.get(i), true).json);
+        }
+        out.write(']');
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    @Override
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    @Override
+    public void add(RecipeEntity recipe) {
+        // The stored encoding no longer matches the written recipe.
+        remove(recipe);
+    }
+
+    @Override
+    public void remove(RecipeEntity recipe) {
+        if (recipe.getId() != null) {
+            entries.invalidate(recipe.getId());
+        }
+    }
+
+    /**
+     * @param quietly whether to look the entry up without recording it as served, as for list assembly
+     */
+    private Entry entry(RecipesResponse recipe, boolean quietly) {
+        if (!properties.enabled() || recipe.getId() == null) {
+            return new Entry(recipe, encode(recipe));
+        }
+        var entry = quietly
+                ? entries.policy().getIfPresentQuietly(recipe.getId())
+                : entries.getIfPresent(recipe.getId());
+        if (entry != null && entry.encodes(recipe)) {
+            return entry;
+        }
+        entry = new Entry(copy(recipe), encode(recipe));
+        entries.put(recipe.getId(), entry);
+        return entry;
+    }
+
+    private byte[] encode(RecipesResponse recipe) {
+        try {
+            return objectMapper.writeValueAsBytes(recipe);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        var out = new ByteArrayOutputStream(bytes.length / 2);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static RecipesResponse copy(RecipesResponse recipe) {
+        return RecipesResponse.builder()
+                .id(recipe.getId())
+                .name(recipe.getName())
+                .isVegetarian(recipe.getIsVegetarian())
+                .servings(recipe.getServings())
+                .instructions(recipe.getInstructions())
+                .ingredients(recipe.getIngredients() == null ? null : new ArrayList<>(recipe.getIngredients()))
+                .build();
+    }
+}
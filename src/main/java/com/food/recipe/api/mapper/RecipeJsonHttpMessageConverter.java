@@ -0,0 +1,108 @@
+package com.food.recipe.api.mapper;
+
+import com.food.recipe.api.model.RecipesResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes {@link RecipesResponse}s, and lists of them, as JSON from the encodings kept by the {@link RecipeJsonCache}.
+ * Spring Boot registers it ahead of the Jackson converter; other types, other media types such as CBOR, and request
+ * bodies are left to the converters after it.
+ * <p>
+ * A list is written to the response one cached encoding at a time, so the container compresses and sends it while
+ * it is written rather than after it was assembled in memory. A single recipe is written from the gzip form cached
+ * with its JSON if the client accepts gzip and the JSON reaches the compression threshold; the container does not
+ * compress a response which already has a content encoding.
+ */
+@Component
+public class RecipeJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final RecipeJsonCache recipeJsonCache;
+
+    public RecipeJsonHttpMessageConverter(RecipeJsonCache recipeJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.recipeJsonCache = recipeJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RecipesResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        return supports(clazz) || List.class.isAssignableFrom(clazz) && type != null
+                && ResolvableType.forType(type).asCollection().resolveGeneric() == RecipesResponse.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (body instanceof RecipesResponse recipe) {
+            writeRecipe(recipe, outputMessage);
+        } else {
+            recipeJsonCache.writeJsonArray((List<RecipesResponse>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Recipes are only written by this converter", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Recipes are only written by this converter", inputMessage);
+    }
+
+    private void writeRecipe(RecipesResponse recipe, HttpOutputMessage outputMessage) throws IOException {
+        byte[] gzip = acceptsGzip() ? recipeJsonCache.toGzippedJson(recipe) : null;
+        if (gzip == null) {
+            outputMessage.getBody().write(recipeJsonCache.toJson(recipe));
+            return;
+        }
+        outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        outputMessage.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        outputMessage.getBody().write(gzip);
+    }
+
+    private static boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        return Collections.list(attributes.getRequest().getHeaders(HttpHeaders.ACCEPT_ENCODING)).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(coding -> coding.split(";", 2))
+                .anyMatch(coding -> "gzip".equalsIgnoreCase(coding[0].strip())
+                        && (coding.length == 1 || !coding[1].strip().matches("q=0(\\.0*)?")));
+    }
+}
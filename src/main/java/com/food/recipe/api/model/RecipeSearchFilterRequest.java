@@ -4,7 +4,9 @@ import java.util.List;
 
 public record RecipeSearchFilterRequest(
          Boolean isVegetarian,
-         Integer servings,
+         List<Integer> servings,
+         Integer servingsMin,
+         Integer servingsMax,
          List<String> includeIngredients,
          List<String> excludeIngredients,
          String instructionText
@@ -0,0 +1,55 @@
+package com.food.recipe.api.monitoring;
+
+import com.food.recipe.api.config.SlowQueryProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps every {@link DataSource} bean in a proxy which reports statement timings to a {@link SlowQueryListener}.
+ * The collaborators are looked up lazily because bean post-processors are instantiated before regular beans.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "recipe.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<SlowQueryProperties> properties;
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final List<SlowQueryListener> listeners = new CopyOnWriteArrayList<>();
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties,
+                                            ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        var listener = new SlowQueryListener(dataSource, slowQueryLog.getObject(), properties.getObject());
+        listeners.add(listener);
+        log.info("Timing statements of data source '{}' for the slow-query log.", beanName);
+
+        return ProxyDataSourceBuilder
+                .create(dataSource)
+                .name(beanName)
+                .listener(listener)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        listeners.forEach(SlowQueryListener::shutdown);
+    }
+}
@@ -0,0 +1,21 @@
+package com.food.recipe.api.monitoring;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A single statement which exceeded the slow-query threshold.
+ *
+ * @param recordedAt     when the statement finished
+ * @param elapsedMillis  execution time of the statement
+ * @param sql            the SQL as sent to the driver
+ * @param parameterTypes the java types bound to each parameter, one list per batch entry; values are never kept
+ * @param plan           the query plan reported by the database, or {@code null} if it was not captured
+ */
+public record SlowQueryEntry(
+        Instant recordedAt,
+        long elapsedMillis,
+        String sql,
+        List<List<String>> parameterTypes,
+        String plan
+) {}
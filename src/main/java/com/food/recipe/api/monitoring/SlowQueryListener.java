@@ -0,0 +1,145 @@
+package com.food.recipe.api.monitoring;
+
+import com.food.recipe.api.config.SlowQueryProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement executed through the proxied {@link DataSource} and records the ones
+ * exceeding {@link SlowQueryProperties#threshold()} into the {@link SlowQueryLog}.
+ * <p>
+ * The query plan is captured on a single background thread against the unproxied data source,
+ * so the slow request itself does not pay for the {@code EXPLAIN} and the plan query is never
+ * timed again. Only {@code SELECT} statements are run with {@code ANALYZE}; everything else gets a
+ * plain {@code EXPLAIN} so it is not executed a second time. The plan query runs with a {@code statement_timeout}
+ * of {@link SlowQueryProperties#explainTimeout()}, so a pathological query does not hold a pooled connection for as
+ * long again; a statement whose plan runs out of time is recorded without one.
+ */
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final int PLAN_QUEUE_SIZE = 16;
+
+    private final DataSource explainDataSource;
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdMillis;
+    private final boolean explain;
+    private final long explainTimeoutMillis;
+    private final ThreadPoolExecutor planExecutor;
+
+    public SlowQueryListener(DataSource explainDataSource, SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+        this.explainDataSource = explainDataSource;
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdMillis = properties.threshold().toMillis();
+        this.explain = properties.explain();
+        this.explainTimeoutMillis = properties.explainTimeout().toMillis();
+        this.planExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PLAN_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        // timing is done by the proxy itself
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        long elapsed = executionInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        for (QueryInfo query : queries) {
+            log.warn("Slow query took {} ms: {}", elapsed, query.getQuery());
+            if (explain) {
+                submitExplain(elapsed, query);
+            } else {
+                slowQueryLog.record(createEntry(elapsed, query, null));
+            }
+        }
+    }
+
+    private void submitExplain(long elapsed, QueryInfo query) {
+        try {
+            planExecutor.execute(() -> slowQueryLog.record(createEntry(elapsed, query, explain(query))));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Plan capture queue is full, recording slow query without a plan.");
+            slowQueryLog.record(createEntry(elapsed, query, null));
+        }
+    }
+
+    private SlowQueryEntry createEntry(long elapsed, QueryInfo query, String plan) {
+        List<List<String>> parameterTypes = query.getParametersList()
+                .stream()
+                .map(parameters -> parameters.stream().map(SlowQueryListener::describeParameter).toList())
+                .toList();
+        return new SlowQueryEntry(Instant.now(), elapsed, query.getQuery(), parameterTypes, plan);
+    }
+
+    String explain(QueryInfo query) {
+        String sql = query.getQuery();
+        boolean isSelect = sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+        String explainSql = (isSelect ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+
+        try (Connection connection = explainDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement timeout = connection.createStatement();
+                 PreparedStatement statement = connection.prepareStatement(explainSql)) {
+                // SET does not take bind parameters; the value is a number read from the properties.
+                timeout.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+                if (!query.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation operation : query.getParametersList().getFirst()) {
+                        operation.getMethod().invoke(statement, operation.getArgs());
+                    }
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | ReflectiveOperationException ex) {
+            log.debug("Could not capture query plan for slow query: {}", sql, ex);
+            return null;
+        }
+    }
+
+    private static String describeParameter(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object[] args = operation.getArgs();
+        if (args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+
+    public void shutdown() {
+        planExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.food.recipe.api.monitoring;
+
+import com.food.recipe.api.config.SlowQueryProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded in-memory ring buffer of the most recent slow statements.
+ * Once full, every new entry overwrites the oldest one.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final SlowQueryEntry[] entries;
+    private int next;
+    private int size;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        int capacity = properties.capacity();
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow-query log capacity must be positive: " + capacity);
+        }
+        this.entries = new SlowQueryEntry[capacity];
+    }
+
+    public synchronized void record(SlowQueryEntry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    /**
+     * Returns the recorded entries, newest first.
+     */
+    public synchronized List<SlowQueryEntry> entries() {
+        List<SlowQueryEntry> snapshot = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            snapshot.add(entries[Math.floorMod(next - i, entries.length)]);
+        }
+        return snapshot;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+}
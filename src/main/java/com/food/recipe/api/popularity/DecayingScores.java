@@ -0,0 +1,75 @@
+package com.food.recipe.api.popularity;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * View counts of recipes decayed exponentially by age, so recent views weigh more.
+ * <p>
+ * Uses forward decay: a view at time {@code t} adds {@code 2^((t - landmark) / halfLife)} to the score of its
+ * recipe, so stored scores never have to be decayed one by one; dividing a score by the weight of "now" gives
+ * the views decayed by their age. Before the weights grow too large the landmark is moved forward and all scores
+ * are rescaled once. Scores decayed below {@value #MIN_SCORE} views are dropped. Not thread safe.
+ */
+final class DecayingScores {
+
+    static final double MIN_SCORE = 0.01;
+    private static final double MAX_EXPONENT = 64;
+
+    private final double halfLifeMillis;
+    private final Map<Integer, Double> scores = new HashMap<>();
+    private long landmark;
+
+    DecayingScores(Duration halfLife, long now) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.landmark = now;
+    }
+
+    void add(int recipeId, long views, long now) {
+        if (exponent(now) > MAX_EXPONENT) {
+            rescale(now);
+        }
+        scores.merge(recipeId, views * Math.pow(2, exponent(now)), Double::sum);
+    }
+
+    void remove(int recipeId) {
+        scores.remove(recipeId);
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    /**
+     * Decays all scores, dropping the ones decayed to nothing.
+     *
+     * @return the views of every recipe decayed by their age, by recipe ID
+     */
+    Map<Integer, Double> decayed(long now) {
+        double weight = Math.pow(2, exponent(now));
+        Map<Integer, Double> decayed = new HashMap<>(scores.size() * 4 / 3 + 1);
+        for (Iterator<Map.Entry<Integer, Double>> it = scores.entrySet().iterator(); it.hasNext(); ) {
+            var entry = it.next();
+            double score = entry.getValue() / weight;
+            if (score < MIN_SCORE) {
+                it.remove();
+            } else {
+                decayed.put(entry.getKey(), score);
+            }
+        }
+        return decayed;
+    }
+
+    private double exponent(long now) {
+        return (now - landmark) / halfLifeMillis;
+    }
+
+    private void rescale(long now) {
+        double factor = Math.pow(2, -exponent(now));
+        scores.replaceAll((recipeId, score) -> score * factor);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        landmark = now;
+    }
+}
@@ -0,0 +1,242 @@
+package com.food.recipe.api.popularity;
+
+import com.food.recipe.api.config.RecipePopularityProperties;
+import com.food.recipe.api.index.AutocompleteIndex;
+import com.food.recipe.api.repository.RecipeViewCountRepository;
+import com.food.recipe.api.search.TopK;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts recipe views in memory and flushes them to the database in periodic batches, so a read never
+ * waits for a database write.
+ * <p>
+ * A view only increments a {@link LongAdder} per recipe, which spreads concurrent increments over striped cells.
+ * Every {@code recipe.popularity.flush-interval} the counters are drained into one batch of upserts and into the
+ * {@link DecayingScores} ranking the trending recipes. Views of the last interval are lost if the process dies,
+ * and a view racing with the removal of a counter idle for a whole interval may be lost as well; both are
+ * acceptable for popularity.
+ * <p>
+ * The decayed counts as of the last flush are also read back: {@link #popularity(int)} feeds them into the search
+ * relevance, and the recipe name completions of the {@link AutocompleteIndex} are weighted by them. On startup the
+ * ranking is seeded with the {@code recipe.popularity.seed-size} highest stored counts, which then decay like fresh
+ * views. Without a database ({@code memory} profile) the ranking starts empty after a restart.
+ */
+@Slf4j
+@Component
+public class RecipePopularity {
+
+    /**
+     * Highest score first, then lowest ID.
+     */
+    public static final Comparator<TrendingRecipe> RANKING = Comparator.comparingDouble(TrendingRecipe::score)
+            .reversed()
+            .thenComparingInt(TrendingRecipe::recipeId);
+
+    private final RecipeViewCountRepository recipeViewCountRepository;
+    private final AutocompleteIndex autocompleteIndex;
+    private final LongSupplier clock;
+    private final int trendingSize;
+    private final int seedSize;
+    private final ConcurrentHashMap<Integer, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final Set<Integer> forgottenRecipes = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Long> unflushedViews = new HashMap<>();
+    private final DecayingScores scores;
+    private Map<Integer, Long> recipeNameWeights = Map.of();
+    private volatile List<TrendingRecipe> trending = List.of();
+    private volatile Map<Integer, Double> popularities = Map.of();
+
+    /**
+     * @param recipeId the recipe
+     * @param score    its views decayed by their age
+     */
+    public record TrendingRecipe(int recipeId, double score) {
+    }
+
+    @Autowired
+    public RecipePopularity(RecipePopularityProperties properties,
+                            ObjectProvider<RecipeViewCountRepository> recipeViewCountRepository,
+                            ObjectProvider<AutocompleteIndex> autocompleteIndex) {
+        this(properties, recipeViewCountRepository.getIfAvailable(), autocompleteIndex.getIfAvailable(),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * @param recipeViewCountRepository the stored view counts, or null to keep none
+     * @param autocompleteIndex         the completions to weight by the views, or null to weight none
+     */
+    RecipePopularity(RecipePopularityProperties properties,
+                     RecipeViewCountRepository recipeViewCountRepository,
+                     AutocompleteIndex autocompleteIndex,
+                     LongSupplier clock) {
+        this.recipeViewCountRepository = recipeViewCountRepository;
+        this.autocompleteIndex = autocompleteIndex;
+        this.clock = clock;
+        this.trendingSize = properties.trendingSize();
+        this.seedSize = properties.seedSize();
+        this.scores = new DecayingScores(properties.halfLife(), clock.getAsLong());
+    }
+
+    public void recordView(int recipeId) {
+        LongAdder views = pendingViews.get(recipeId);
+        if (views == null) {
+            views = pendingViews.computeIfAbsent(recipeId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /**
+     * Stops tracking a deleted recipe; its stored view count is deleted with the next flush.
+     */
+    public void forget(int recipeId) {
+        forgottenRecipes.add(recipeId);
+        pendingViews.remove(recipeId);
+    }
+
+    /**
+     * @return up to {@code limit} recipes with the highest decayed view counts as of the last flush, highest first
+     */
+    public List<TrendingRecipe> trending(int limit) {
+        List<TrendingRecipe> current = trending;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    /**
+     * @return the decayed views of the recipe as of the last flush relative to the most viewed recipe, on a
+     * logarithmic scale so a few very popular recipes do not flatten all others; between 0 and 1
+     */
+    public double popularity(int recipeId) {
+        return popularities.getOrDefault(recipeId, 0.0);
+    }
+
+    /**
+     * Seeds the ranking with the highest stored view counts, so a restart does not forget what is popular.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        if (recipeViewCountRepository == null || seedSize < 1) {
+            return;
+        }
+        long now = clock.getAsLong();
+        try {
+            var stored = recipeViewCountRepository.findAll(
+                    PageRequest.of(0, seedSize, Sort.by(Sort.Direction.DESC, "views")));
+            stored.forEach(count -> scores.add(count.getRecipeId(), count.getViews(), now));
+            log.info("Seeded the popularity ranking with the stored views of {} recipes.",
+                    stored.getNumberOfElements());
+        } catch (DataAccessException ex) {
+            log.warn("Could not seed the popularity ranking from the stored views; starting empty.", ex);
+        }
+        publish(now);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${recipe.popularity.flush-interval:PT5S}")
+    public synchronized void flush() {
+        Map<Integer, Long> batch = new HashMap<>();
+        pendingViews.forEach((recipeId, views) -> {
+            long count = views.sumThenReset();
+            if (count > 0) {
+                batch.put(recipeId, count);
+            } else {
+                pendingViews.remove(recipeId, views);
+            }
+        });
+        List<Integer> forgotten = new ArrayList<>(forgottenRecipes);
+        forgottenRecipes.removeAll(forgotten);
+        forgotten.forEach(recipeId -> {
+            batch.remove(recipeId);
+            unflushedViews.remove(recipeId);
+            scores.remove(recipeId);
+        });
+
+        long now = clock.getAsLong();
+        batch.forEach((recipeId, count) -> scores.add(recipeId, count, now));
+        publish(now);
+
+        // Views of a failed flush are retried with the next one, without counting them again for trending.
+        unflushedViews.forEach((recipeId, count) -> batch.merge(recipeId, count, Long::sum));
+        unflushedViews.clear();
+        if (recipeViewCountRepository == null || batch.isEmpty() && forgotten.isEmpty()) {
+            return;
+        }
+        try {
+            if (!forgotten.isEmpty()) {
+                recipeViewCountRepository.deleteAllByIdInBatch(forgotten);
+            }
+            if (!batch.isEmpty()) {
+                recipeViewCountRepository.addViews(batch);
+            }
+            log.debug("Flushed views of {} recipes and removed {} deleted recipes.", batch.size(), forgotten.size());
+        } catch (DataAccessException ex) {
+            log.warn("Could not flush views of {} recipes; retrying with the next flush.", batch.size(), ex);
+            unflushedViews.putAll(batch);
+            forgottenRecipes.addAll(forgotten);
+        }
+    }
+
+    /**
+     * Publishes the trending ranking and the popularities decayed to {@code now}, and re-weights the recipe name
+     * completions whose rounded views changed.
+     */
+    private void publish(long now) {
+        Map<Integer, Double> decayed = scores.decayed(now);
+        var best = new TopK<>(trendingSize, RANKING);
+        double max = 0;
+        for (var entry : decayed.entrySet()) {
+            best.offer(new TrendingRecipe(entry.getKey(), entry.getValue()));
+            max = Math.max(max, entry.getValue());
+        }
+        trending = best.toList();
+
+        double scale = Math.log1p(max);
+        Map<Integer, Double> published = new HashMap<>(decayed.size() * 4 / 3 + 1);
+        Map<Integer, Long> weights = new HashMap<>();
+        decayed.forEach((recipeId, score) -> {
+            published.put(recipeId, Math.log1p(score) / scale);
+            long weight = Math.round(score);
+            if (weight > 0) {
+                weights.put(recipeId, weight);
+            }
+        });
+        popularities = published;
+
+        if (autocompleteIndex == null) {
+            return;
+        }
+        Map<Integer, Long> changed = new HashMap<>();
+        weights.forEach((recipeId, weight) -> {
+            if (!weight.equals(recipeNameWeights.get(recipeId))) {
+                changed.put(recipeId, weight);
+            }
+        });
+        recipeNameWeights.keySet().forEach(recipeId -> {
+            if (!weights.containsKey(recipeId)) {
+                changed.put(recipeId, 0L);
+            }
+        });
+        recipeNameWeights = weights;
+        if (!changed.isEmpty()) {
+            autocompleteIndex.weighRecipeNames(changed);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.food.recipe.api.process;
+
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
+import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.search.ServingsFilter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variants of the {@link RecipeProcess} operations which wait for the database, so the endpoints
+ * release their request thread while the database works.
+ * <p>
+ * Each call runs on a bounded pool and has the deadline of its endpoint class. A call which cannot be queued
+ * fails at once with {@link com.food.recipe.api.exception.AdmissionRejectedException}; a call not done by its
+ * deadline is cancelled, including its running statement, and its future fails with
+ * {@link com.food.recipe.api.exception.DeadlineExceededException}. Other failures complete the future with the
+ * exception {@link RecipeProcess} threw.
+ *
+ * @author snehalata.arun.raut
+ */
+public interface AsyncRecipeProcess {
+
+    /**
+     * @see RecipeProcess#createRecipe(RecipeRequestDto)
+     */
+    CompletableFuture<RecipesResponse> createRecipe(RecipeRequestDto requestDto);
+
+    /**
+     * @see RecipeProcess#updateRecipe(int, RecipeRequestDto)
+     */
+    CompletableFuture<RecipesResponse> updateRecipe(int id, RecipeRequestDto requestDto);
+
+    /**
+     * @see RecipeProcess#deleteRecipe(int)
+     */
+    CompletableFuture<Boolean> deleteRecipe(int id);
+
+    /**
+     * @see RecipeProcess#findAllRecipes()
+     */
+    CompletableFuture<List<RecipesResponse>> findAllRecipes();
+
+    /**
+     * @see RecipeProcess#findRecipeById(int)
+     */
+    CompletableFuture<Optional<RecipesResponse>> findRecipeById(int id);
+
+    /**
+     * @see RecipeProcess#searchRecipes(Boolean, ServingsFilter, List, List, String)
+     */
+    CompletableFuture<List<RecipesResponse>> searchRecipes(Boolean isVegetarian,
+                                                           ServingsFilter servings,
+                                                           List<String> includeIngredients,
+                                                           List<String> excludeIngredients,
+                                                           String instructionText);
+
+    /**
+     * @see RecipeProcess#searchRecipes(Boolean, ServingsFilter, List, List, String, int, boolean)
+     */
+    CompletableFuture<List<RecipesResponse>> searchRecipes(Boolean isVegetarian,
+                                                           ServingsFilter servings,
+                                                           List<String> includeIngredients,
+                                                           List<String> excludeIngredients,
+                                                           String instructionText,
+                                                           int limit,
+                                                           boolean rankByRelevance);
+
+    /**
+     * @see RecipeProcess#searchRecipeFacets(Boolean, ServingsFilter, List, List, String, int)
+     */
+    CompletableFuture<SearchFacetsResponse> searchRecipeFacets(Boolean isVegetarian,
+                                                               ServingsFilter servings,
+                                                               List<String> includeIngredients,
+                                                               List<String> excludeIngredients,
+                                                               String instructionText,
+                                                               int topIngredients);
+
+    /**
+     * @see RecipeProcess#countRecipes(Boolean, ServingsFilter, List, List, String)
+     */
+    CompletableFuture<SearchCountResponse> countRecipes(Boolean isVegetarian,
+                                                        ServingsFilter servings,
+                                                        List<String> includeIngredients,
+                                                        List<String> excludeIngredients,
+                                                        String instructionText);
+
+    /**
+     * @see RecipeProcess#recipesExist(Boolean, ServingsFilter, List, List, String)
+     */
+    CompletableFuture<SearchExistsResponse> recipesExist(Boolean isVegetarian,
+                                                         ServingsFilter servings,
+                                                         List<String> includeIngredients,
+                                                         List<String> excludeIngredients,
+                                                         String instructionText);
+
+    /**
+     * @see RecipeProcess#findPantryRecipes(List, int, int)
+     */
+    CompletableFuture<List<PantryRecipeResponse>> findPantryRecipes(List<String> ingredients, int maxMissing,
+                                                                    int limit);
+
+    /**
+     * @see RecipeProcess#lookupRecipes(String, int)
+     */
+    CompletableFuture<List<RecipeLookupResponse>> lookupRecipes(String name, int limit);
+
+    /**
+     * @see RecipeProcess#findSimilarRecipes(int, int)
+     */
+    CompletableFuture<List<SimilarRecipeResponse>> findSimilarRecipes(int id, int limit);
+
+    /**
+     * @see RecipeProcess#findTrendingRecipes(int)
+     */
+    CompletableFuture<List<TrendingRecipeResponse>> findTrendingRecipes(int limit);
+}
@@ -1,11 +1,22 @@
 package com.food.recipe.api.process;
 
 import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.model.CompletionResponse;
+import com.food.recipe.api.model.IngredientCooccurrenceResponse;
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
 import com.food.recipe.api.model.RecipeRequestDto;
 import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.search.ServingsFilter;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface defining business operations for food recipes.
@@ -50,6 +61,13 @@ public interface RecipeProcess {
      */
     List<RecipesResponse> getAllRecipes();
 
+    /**
+     * Retrieves all recipes from the database without treating an empty database as an error.
+     *
+     * @return a list of {@link RecipesResponse}; never null but may be empty
+     */
+    List<RecipesResponse> findAllRecipes();
+
     /**
      * Retrieves a recipe by its ID.
      *
@@ -59,12 +77,21 @@ public interface RecipeProcess {
      */
     RecipesResponse getRecipeById(int id);
 
+    /**
+     * Looks up a recipe by its ID without throwing for a missing ID, so the expected
+     * not-found outcome is cheap for the caller to handle.
+     *
+     * @param id the ID of the recipe
+     * @return the recipe as {@link RecipesResponse}, or empty if no recipe exists with the given ID
+     */
+    Optional<RecipesResponse> findRecipeById(int id);
+
 
     /**
      * Searches for recipes based on provided optional filters.
      *
      * @param isVegetarian       if true, only vegetarian recipes are included; if false, only non-vegetarian; if null, all
-     * @param servings           exact number of servings; if null, any servings
+     * @param servings           listed servings and/or inclusive servings bounds; if null, any servings
      * @param includeIngredients list of ingredients to include; if null or empty, no filter applied
      * @param excludeIngredients list of ingredients to exclude; if null or empty, no filter applied
      * @param instructionText    keyword/phrase in instructions; if null or empty, no filter applied
@@ -72,8 +99,124 @@ public interface RecipeProcess {
      */
     List<RecipesResponse> searchRecipes(
             Boolean isVegetarian,
-            int servings,
+            ServingsFilter servings,
             List<String> includeIngredients,
             List<String> excludeIngredients,
             String instructionText);
+
+    /**
+     * Searches like {@link #searchRecipes(Boolean, ServingsFilter, List, List, String)} but returns at most {@code limit}
+     * recipes, optionally ranked by relevance.
+     *
+     * @param limit           maximum number of recipes to return
+     * @param rankByRelevance if true, the most relevant recipes come first; otherwise the lowest IDs
+     * @return list of matching recipes; never null but may be empty
+     */
+    List<RecipesResponse> searchRecipes(
+            Boolean isVegetarian,
+            ServingsFilter servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instructionText,
+            int limit,
+            boolean rankByRelevance);
+
+    /**
+     * Counts the recipes matching the search filters per facet: vegetarian flag, servings bucket and the most
+     * used ingredients.
+     *
+     * @param topIngredients number of most used ingredients to count
+     * @return the facet counts; all zero if nothing matches
+     */
+    SearchFacetsResponse searchRecipeFacets(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText,
+                                            int topIngredients);
+
+    /**
+     * Counts the recipes matching the search filters without loading them.
+     *
+     * @return the number of matching recipes
+     */
+    SearchCountResponse countRecipes(Boolean isVegetarian,
+                                     ServingsFilter servings,
+                                     List<String> includeIngredients,
+                                     List<String> excludeIngredients,
+                                     String instructionText);
+
+    /**
+     * Checks whether any recipe matches the search filters without loading it.
+     *
+     * @return whether at least one recipe matches
+     */
+    SearchExistsResponse recipesExist(Boolean isVegetarian,
+                                      ServingsFilter servings,
+                                      List<String> includeIngredients,
+                                      List<String> excludeIngredients,
+                                      String instructionText);
+
+    /**
+     * Finds the recipes which can be cooked from the given pantry.
+     *
+     * @param ingredients the available ingredients, compared case-insensitively
+     * @param maxMissing  maximum number of recipe ingredients which may be absent from the pantry
+     * @param limit       maximum number of recipes to return
+     * @return the matching recipes ranked by fewest missing ingredients; never null but may be empty
+     */
+    List<PantryRecipeResponse> findPantryRecipes(List<String> ingredients, int maxMissing, int limit);
+
+    /**
+     * Looks up recipes by a possibly misspelled name.
+     *
+     * @param name  the name to look up
+     * @param limit maximum number of recipes to return
+     * @return the recipes with similar names, most similar first; never null but may be empty
+     */
+    List<RecipeLookupResponse> lookupRecipes(String name, int limit);
+
+    /**
+     * Finds the recipes whose ingredients are most similar to those of the given recipe.
+     *
+     * @param id    the ID of the recipe to compare with
+     * @param limit maximum number of recipes to return
+     * @return the similar recipes, most similar first; never null but empty if the recipe does not exist
+     */
+    List<SimilarRecipeResponse> findSimilarRecipes(int id, int limit);
+
+    /**
+     * Finds the recipes with the most recent views.
+     *
+     * @param limit maximum number of recipes to return
+     * @return the trending recipes, highest decayed view count first; never null but may be empty
+     */
+    List<TrendingRecipeResponse> findTrendingRecipes(int limit);
+
+    /**
+     * Completes a partially typed recipe name.
+     *
+     * @param prefix the typed beginning of the name
+     * @param limit  maximum number of completions to return
+     * @return the completions, best first; never null but may be empty
+     */
+    List<CompletionResponse> completeRecipeNames(String prefix, int limit);
+
+    /**
+     * Completes a partially typed ingredient.
+     *
+     * @param prefix the typed beginning of the ingredient
+     * @param limit  maximum number of completions to return
+     * @return the completions, most used ingredients first; never null but may be empty
+     */
+    List<CompletionResponse> completeIngredients(String prefix, int limit);
+
+    /**
+     * Finds the ingredients most often used together with the given ingredient.
+     *
+     * @param ingredient the ingredient
+     * @param limit      maximum number of ingredients to return
+     * @return the co-occurring ingredients, most frequent first; never null but may be empty
+     */
+    List<IngredientCooccurrenceResponse> findCooccurringIngredients(String ingredient, int limit);
 }
@@ -0,0 +1,281 @@
+package com.food.recipe.api.process.impl;
+
+import com.food.recipe.api.admission.EndpointClass;
+import com.food.recipe.api.config.RecipeAsyncProperties;
+import com.food.recipe.api.exception.AdmissionRejectedException;
+import com.food.recipe.api.exception.DeadlineExceededException;
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
+import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.process.AsyncRecipeProcess;
+import com.food.recipe.api.process.RecipeProcess;
+import com.food.recipe.api.routing.LazyConnectionDataSourcePostProcessor;
+import com.food.recipe.api.routing.ReadYourWrites;
+import com.food.recipe.api.search.ServingsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link RecipeProcess} calls on a fixed pool with a bounded queue, reported as {@code executor.*} metrics
+ * with the name {@code recipe.async}.
+ * <p>
+ * The deadline of a call starts when it is submitted to the pool. With a transaction manager a read runs in a
+ * read-only transaction whose timeout is the time left until the deadline, so the JDBC driver cancels a statement
+ * still running at the deadline on the database; interrupting the thread alone would not stop it. At the deadline
+ * the future of a read fails and the thread is interrupted, whether or not the statement was reached. The data
+ * source is wrapped by {@link LazyConnectionDataSourcePostProcessor}, so a transaction only takes a connection when
+ * its first statement runs, and calls answered from memory hold none.
+ * <p>
+ * A write only has a deadline until it starts: one still queued then is dropped and answered with a 503, which
+ * is safe to retry. Once started it runs to its end, since it may commit after any deadline and a 503 would make
+ * the client retry a write which took effect. The deadline timers run on one scheduler thread and are cancelled as
+ * soon as their call completes. A client pinned to the primary by {@link ReadYourWrites} stays pinned on the pool
+ * thread.
+ */
+@Slf4j
+@Service
+public class AsyncRecipeProcessImpl implements AsyncRecipeProcess, DisposableBean {
+
+    private final RecipeProcess recipeProcess;
+    private final RecipeAsyncProperties properties;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AsyncRecipeProcessImpl(RecipeProcess recipeProcess,
+                                  RecipeAsyncProperties properties,
+                                  ObjectProvider<PlatformTransactionManager> transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this(recipeProcess, properties, ExecutorServiceMetrics.monitor(meterRegistry,
+                        new ThreadPoolExecutor(properties.threads(), properties.threads(), 0, TimeUnit.MILLISECONDS,
+                                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                                new CustomizableThreadFactory("recipe-async-")),
+                        "recipe.async"),
+                transactionManager.getIfAvailable(), meterRegistry);
+    }
+
+    /**
+     * @param transactionManager the transaction manager, or null to run the calls without a transaction
+     */
+    public AsyncRecipeProcessImpl(RecipeProcess recipeProcess,
+                                  RecipeAsyncProperties properties,
+                                  ExecutorService executor,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.recipeProcess = recipeProcess;
+        this.properties = properties;
+        this.executor = executor;
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        var threadFactory = new CustomizableThreadFactory("recipe-async-deadline-");
+        threadFactory.setDaemon(true);
+        this.deadlines = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.deadlines.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public CompletableFuture<RecipesResponse> createRecipe(RecipeRequestDto requestDto) {
+        return submit(EndpointClass.WRITE, false, () -> recipeProcess.createRecipe(requestDto));
+    }
+
+    @Override
+    public CompletableFuture<RecipesResponse> updateRecipe(int id, RecipeRequestDto requestDto) {
+        return submit(EndpointClass.WRITE, false, () -> recipeProcess.updateRecipe(id, requestDto));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteRecipe(int id) {
+        return submit(EndpointClass.WRITE, false, () -> recipeProcess.deleteRecipe(id));
+    }
+
+    @Override
+    public CompletableFuture<List<RecipesResponse>> findAllRecipes() {
+        return submit(EndpointClass.LIST, true, recipeProcess::findAllRecipes);
+    }
+
+    @Override
+    public CompletableFuture<Optional<RecipesResponse>> findRecipeById(int id) {
+        return submit(EndpointClass.POINT_READ, true, () -> recipeProcess.findRecipeById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<RecipesResponse>> searchRecipes(Boolean isVegetarian,
+                                                                  ServingsFilter servings,
+                                                                  List<String> includeIngredients,
+                                                                  List<String> excludeIngredients,
+                                                                  String instructionText) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.searchRecipes(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    @Override
+    public CompletableFuture<List<RecipesResponse>> searchRecipes(Boolean isVegetarian,
+                                                                  ServingsFilter servings,
+                                                                  List<String> includeIngredients,
+                                                                  List<String> excludeIngredients,
+                                                                  String instructionText,
+                                                                  int limit,
+                                                                  boolean rankByRelevance) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.searchRecipes(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText, limit, rankByRelevance));
+    }
+
+    @Override
+    public CompletableFuture<SearchFacetsResponse> searchRecipeFacets(Boolean isVegetarian,
+                                                                      ServingsFilter servings,
+                                                                      List<String> includeIngredients,
+                                                                      List<String> excludeIngredients,
+                                                                      String instructionText,
+                                                                      int topIngredients) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.searchRecipeFacets(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText, topIngredients));
+    }
+
+    @Override
+    public CompletableFuture<SearchCountResponse> countRecipes(Boolean isVegetarian,
+                                                               ServingsFilter servings,
+                                                               List<String> includeIngredients,
+                                                               List<String> excludeIngredients,
+                                                               String instructionText) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.countRecipes(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    @Override
+    public CompletableFuture<SearchExistsResponse> recipesExist(Boolean isVegetarian,
+                                                                ServingsFilter servings,
+                                                                List<String> includeIngredients,
+                                                                List<String> excludeIngredients,
+                                                                String instructionText) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.recipesExist(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    @Override
+    public CompletableFuture<List<PantryRecipeResponse>> findPantryRecipes(List<String> ingredients, int maxMissing,
+                                                                           int limit) {
+        return submit(EndpointClass.SEARCH, true, () -> recipeProcess.findPantryRecipes(ingredients, maxMissing,
+                limit));
+    }
+
+    @Override
+    public CompletableFuture<List<RecipeLookupResponse>> lookupRecipes(String name, int limit) {
+        return submit(EndpointClass.POINT_READ, true, () -> recipeProcess.lookupRecipes(name, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<SimilarRecipeResponse>> findSimilarRecipes(int id, int limit) {
+        return submit(EndpointClass.POINT_READ, true, () -> recipeProcess.findSimilarRecipes(id, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<TrendingRecipeResponse>> findTrendingRecipes(int limit) {
+        return submit(EndpointClass.POINT_READ, true, () -> recipeProcess.findTrendingRecipes(limit));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * @return the number of deadline timers still waiting
+     */
+    int pendingDeadlines() {
+        return deadlines.getQueue().size();
+    }
+
+    private <T> CompletableFuture<T> submit(EndpointClass endpointClass, boolean readOnly, Supplier<T> call) {
+        Duration timeout = properties.timeout(endpointClass);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean pinned = ReadYourWrites.isPinnedToPrimary();
+        var result = new CompletableFuture<T>();
+        var started = new AtomicBoolean();
+
+        Future<?> task;
+        try {
+            task = executor.submit(() -> run(result, started, deadline, readOnly, pinned, call));
+        } catch (RejectedExecutionException ex) {
+            meterRegistry.counter("recipe.async.rejected", "endpoint", endpointClass.name()).increment();
+            log.warn("Rejecting {} request, the queue of the async executor is full.", endpointClass);
+            throw new AdmissionRejectedException("Too many queued " + endpointClass + " requests",
+                    HttpStatus.SERVICE_UNAVAILABLE, properties.retryAfter());
+        }
+
+        ScheduledFuture<?> timer = deadlines.schedule(() -> {
+            // A started write may still commit, so only reads and writes which never started are failed.
+            if (!started.compareAndSet(false, true) && !readOnly) {
+                return;
+            }
+            if (result.completeExceptionally(new DeadlineExceededException(
+                    endpointClass + " request did not complete within " + timeout, properties.retryAfter()))) {
+                meterRegistry.counter("recipe.async.timeouts", "endpoint", endpointClass.name()).increment();
+                task.cancel(true);
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, ex) -> timer.cancel(false));
+        return result;
+    }
+
+    private <T> void run(CompletableFuture<T> result, AtomicBoolean started, long deadline, boolean readOnly,
+                         boolean pinned, Supplier<T> call) {
+        long remaining = deadline - System.nanoTime();
+        if (result.isDone() || remaining <= 0 || !started.compareAndSet(false, true)) {
+            return;
+        }
+        if (pinned) {
+            ReadYourWrites.pinToPrimary();
+        }
+        try {
+            result.complete(transactionManager == null ? call.get()
+                    : transaction(readOnly, remaining).execute(status -> call.get()));
+        } catch (Throwable ex) {
+            result.completeExceptionally(ex);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private TransactionTemplate transaction(boolean readOnly, long remainingNanos) {
+        var template = new TransactionTemplate(transactionManager);
+        if (readOnly) {
+            template.setReadOnly(true);
+            // Transaction timeouts have a resolution of seconds; the future still fails at the exact deadline.
+            template.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999)));
+        }
+        return template;
+    }
+}
@@ -4,18 +4,42 @@ import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.exception.EntityNotFoundException;
 import com.food.recipe.api.exception.NoRecipesFoundException;
 import com.food.recipe.api.exception.RecipeNotFoundException;
+import com.food.recipe.api.index.AutocompleteIndex;
+import com.food.recipe.api.index.IngredientCooccurrenceIndex;
+import com.food.recipe.api.index.PantryIndex;
+import com.food.recipe.api.index.RecipeFacetIndex;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.index.RecipeNameIndex;
+import com.food.recipe.api.index.SimilarRecipeIndex;
 import com.food.recipe.api.mapper.RecipeRequestMapper;
 import com.food.recipe.api.mapper.RecipeResponseMapper;
+import com.food.recipe.api.model.CompletionResponse;
+import com.food.recipe.api.model.FacetCount;
+import com.food.recipe.api.model.IngredientCooccurrenceResponse;
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
 import com.food.recipe.api.model.RecipeRequestDto;
 import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.popularity.RecipePopularity;
 import com.food.recipe.api.process.RecipeProcess;
+import com.food.recipe.api.search.ServingsFilter;
 import com.food.recipe.api.service.RecipeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 /**
  * Handles recipe-related business logic for CRUD operations.
@@ -27,10 +51,28 @@ import java.util.Optional;
 public class RecipeProcessImpl implements RecipeProcess {
 
     private final RecipeService recipeService;
+    private final PantryIndex pantryIndex;
+    private final RecipeNameIndex recipeNameIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final RecipeFacetIndex recipeFacetIndex;
+    private final SimilarRecipeIndex similarRecipeIndex;
+    private final IngredientCooccurrenceIndex ingredientCooccurrenceIndex;
+    private final RecipePopularity recipePopularity;
 
-    public RecipeProcessImpl(RecipeService recipeService) {
+    public RecipeProcessImpl(RecipeService recipeService, PantryIndex pantryIndex, RecipeNameIndex recipeNameIndex,
+                             AutocompleteIndex autocompleteIndex, RecipeFacetIndex recipeFacetIndex,
+                             SimilarRecipeIndex similarRecipeIndex,
+                             IngredientCooccurrenceIndex ingredientCooccurrenceIndex,
+                             RecipePopularity recipePopularity) {
         super();
         this.recipeService = recipeService;
+        this.pantryIndex = pantryIndex;
+        this.recipeNameIndex = recipeNameIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.recipeFacetIndex = recipeFacetIndex;
+        this.similarRecipeIndex = similarRecipeIndex;
+        this.ingredientCooccurrenceIndex = ingredientCooccurrenceIndex;
+        this.recipePopularity = recipePopularity;
     }
 
     @Override
@@ -65,38 +107,58 @@ public class RecipeProcessImpl implements RecipeProcess {
 
     @Override
     public boolean deleteRecipe(int id) {
-        return recipeService.deleteRecipe(id);
+        boolean deleted = recipeService.deleteRecipe(id);
+        if (deleted) {
+            recipePopularity.forget(id);
+        }
+        return deleted;
     }
 
     @Override
     public List<RecipesResponse> getAllRecipes() {
 
+        return Optional.of(findAllRecipes())
+                .filter(list -> !list.isEmpty())
+                .orElseThrow(() -> new NoRecipesFoundException("No recipes found"));
+    }
+
+    @Override
+    public List<RecipesResponse> findAllRecipes() {
+
 		List<RecipeEntity> recipes = recipeService.getAllRecipes();
 		log.debug("Retrieved recipes from the service layer :{}", recipes);
 
 		return Optional.ofNullable(recipes)
-                .filter(list -> !list.isEmpty())
                 .map(list -> list.stream()
                         .map(RecipeResponseMapper::mapToResponseDto)
                         .toList())
-                .orElseThrow(() -> new NoRecipesFoundException("No recipes found"));
+                .orElseGet(List::of);
     }
 
     @Override
     public RecipesResponse getRecipeById(int id) {
 
+        return findRecipeById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Record not found for given ID. " + id));
+    }
+
+    @Override
+    public Optional<RecipesResponse> findRecipeById(int id) {
+
         var recipe = recipeService.getRecipeById(id);
 		log.debug("Retrieved recipe:{} for ID:{} from the service layer.", recipe, id);
 
         return recipe
                 .filter(recipeEntity -> !ObjectUtils.isEmpty(recipe))
-                .map(RecipeResponseMapper::mapToResponseDto)
-                .orElseThrow(() -> new EntityNotFoundException("Record not found for given ID. " + id));
+                .map(recipeEntity -> {
+                    recipePopularity.recordView(id);
+                    return RecipeResponseMapper.mapToResponseDto(recipeEntity);
+                });
     }
 
     @Override
     public List<RecipesResponse> searchRecipes(Boolean isVegetarian,
-                                               int servings,
+                                               ServingsFilter servings,
                                                List<String> includeIngredients,
                                                List<String> excludeIngredients,
                                                String instructionText) {
@@ -112,6 +174,206 @@ public class RecipeProcessImpl implements RecipeProcess {
 
 	}
 
+    @Override
+    public List<RecipesResponse> searchRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        List<RecipesResponse> topRecipes = recipeService.searchTopRecipes(isVegetarian, servings,
+                        includeIngredients, excludeIngredients, instructionText, limit, rankByRelevance)
+                .stream()
+                .map(RecipeResponseMapper::mapToResponseDto)
+                .toList();
+        log.debug("Retrieved top {} recipes:{} from the service layer.", limit, topRecipes);
+
+        return topRecipes;
+    }
+
+    @Override
+    public SearchFacetsResponse searchRecipeFacets(Boolean isVegetarian,
+                                                   ServingsFilter servings,
+                                                   List<String> includeIngredients,
+                                                   List<String> excludeIngredients,
+                                                   String instructionText,
+                                                   int topIngredients) {
+
+        int[] recipeIds = recipeService.searchRecipeIds(isVegetarian, servings, includeIngredients,
+                excludeIngredients, instructionText);
+        var counts = recipeFacetIndex.count(recipeIds, topIngredients);
+        log.debug("Facet counts over {} matching recipes: {}", recipeIds.length, counts);
+
+        return SearchFacetsResponse.builder()
+                .total(counts.total())
+                .vegetarian(counts.vegetarian())
+                .nonVegetarian(counts.nonVegetarian())
+                .servings(createFacetCounts(counts.servings()))
+                .ingredients(createFacetCounts(counts.topIngredients()))
+                .build();
+    }
+
+    @Override
+    public SearchCountResponse countRecipes(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText) {
+
+        long count = recipeService.countRecipes(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        log.debug("Counted {} matching recipes.", count);
+        return SearchCountResponse.builder().count(count).build();
+    }
+
+    @Override
+    public SearchExistsResponse recipesExist(Boolean isVegetarian,
+                                             ServingsFilter servings,
+                                             List<String> includeIngredients,
+                                             List<String> excludeIngredients,
+                                             String instructionText) {
+
+        boolean exists = recipeService.recipesExist(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        log.debug("Matching recipes exist: {}", exists);
+        return SearchExistsResponse.builder().exists(exists).build();
+    }
+
+    @Override
+    public List<PantryRecipeResponse> findPantryRecipes(List<String> ingredients, int maxMissing, int limit) {
+
+        var matches = pantryIndex.find(ingredients, maxMissing, limit);
+        log.debug("Pantry index matched {} recipes for pantry :{}", matches.size(), ingredients);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> pantry = ingredients.stream()
+                .map(RecipeIndex::normalize)
+                .collect(Collectors.toSet());
+        return loadInOrder(matches, PantryIndex.PantryMatch::recipeId,
+                (match, recipe) -> createPantryResponse(recipe, match, pantry));
+    }
+
+    @Override
+    public List<RecipeLookupResponse> lookupRecipes(String name, int limit) {
+
+        var matches = recipeNameIndex.find(name, limit, RecipeNameIndex.DEFAULT_MIN_SIMILARITY);
+        log.debug("Name index matched {} recipes for name :{}", matches.size(), name);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        return loadInOrder(matches, RecipeNameIndex.NameMatch::recipeId,
+                (match, recipe) -> RecipeLookupResponse.builder()
+                        .recipe(createResponseDto(recipe))
+                        .similarity(match.similarity())
+                        .build());
+    }
+
+    @Override
+    public List<SimilarRecipeResponse> findSimilarRecipes(int id, int limit) {
+
+        var matches = similarRecipeIndex.find(id, limit);
+        log.debug("Similarity index matched {} recipes for recipe with ID :{}", matches.size(), id);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        return loadInOrder(matches, SimilarRecipeIndex.SimilarRecipe::recipeId,
+                (match, recipe) -> SimilarRecipeResponse.builder()
+                        .recipe(createResponseDto(recipe))
+                        .similarity(match.similarity())
+                        .build());
+    }
+
+    @Override
+    public List<TrendingRecipeResponse> findTrendingRecipes(int limit) {
+
+        var trending = recipePopularity.trending(limit);
+        if (trending.isEmpty()) {
+            return List.of();
+        }
+
+        return loadInOrder(trending, RecipePopularity.TrendingRecipe::recipeId,
+                (ranked, recipe) -> TrendingRecipeResponse.builder()
+                        .recipe(createResponseDto(recipe))
+                        .score(ranked.score())
+                        .build());
+    }
+
+    @Override
+    public List<CompletionResponse> completeRecipeNames(String prefix, int limit) {
+        return autocompleteIndex.completeRecipeNames(prefix, limit).stream()
+                .map(this::createCompletionResponse)
+                .toList();
+    }
+
+    @Override
+    public List<CompletionResponse> completeIngredients(String prefix, int limit) {
+        return autocompleteIndex.completeIngredients(prefix, limit).stream()
+                .map(this::createCompletionResponse)
+                .toList();
+    }
+
+    @Override
+    public List<IngredientCooccurrenceResponse> findCooccurringIngredients(String ingredient, int limit) {
+        return ingredientCooccurrenceIndex.find(ingredient, limit).stream()
+                .map(cooccurrence -> IngredientCooccurrenceResponse.builder()
+                        .ingredient(cooccurrence.ingredient())
+                        .recipes(cooccurrence.recipes())
+                        .share(cooccurrence.share())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Loads the recipes of index matches with {@link RecipeService#loadInOrder} and pairs each with its match, in
+     * the order of the matches; a recipe deleted after the index lookup is left out.
+     */
+    private <M, R> List<R> loadInOrder(List<M> matches, ToIntFunction<M> recipeId,
+                                       BiFunction<M, RecipeEntity, R> response) {
+        var recipes = recipeService.loadInOrder(matches.stream().map(recipeId::applyAsInt).toList()).iterator();
+        var recipe = recipes.hasNext() ? recipes.next() : null;
+        List<R> responses = new ArrayList<>();
+        for (M match : matches) {
+            if (recipe != null && recipe.getId() == recipeId.applyAsInt(match)) {
+                responses.add(response.apply(match, recipe));
+                recipe = recipes.hasNext() ? recipes.next() : null;
+            }
+        }
+        return responses;
+    }
+
+    private static List<FacetCount> createFacetCounts(List<RecipeFacetIndex.ValueCount> counts) {
+        return counts.stream()
+                .map(count -> FacetCount.builder().value(count.value()).count(count.count()).build())
+                .toList();
+    }
+
+    private CompletionResponse createCompletionResponse(AutocompleteIndex.Completion completion) {
+        return CompletionResponse.builder()
+                .text(completion.text())
+                .recipeId(completion.recipeId())
+                .weight(completion.weight())
+                .build();
+    }
+
+    private PantryRecipeResponse createPantryResponse(RecipeEntity recipe, PantryIndex.PantryMatch match,
+                                                      Set<String> pantry) {
+        var missingIngredients = recipe.getIngredients().stream()
+                .filter(ingredient -> !pantry.contains(RecipeIndex.normalize(ingredient)))
+                .distinct()
+                .toList();
+        return PantryRecipeResponse.builder()
+                .recipe(createResponseDto(recipe))
+                .missingCount(match.missing())
+                .missingIngredients(missingIngredients)
+                .build();
+    }
+
     private RecipeEntity createRecipeEntity(RecipeRequestDto requestDto) {
         return RecipeRequestMapper.createRecipeEntity(requestDto);
     }
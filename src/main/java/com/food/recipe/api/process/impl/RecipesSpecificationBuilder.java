@@ -1,16 +1,24 @@
 package com.food.recipe.api.process.impl;
 
 import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.search.ServingsFilter;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
 
+/**
+ * Compiles the search filters into a {@link Specification}.
+ * <p>
+ * The vegetarian and servings filters become equality, {@code IN} and range predicates on the columns of the
+ * {@code (is_vegetarian, servings)} index of {@link RecipeEntity}, which the database can use directly.
+ */
 public class RecipesSpecificationBuilder {
 
     public static Specification<RecipeEntity> build(Boolean isVegetarian,
-                                                    Integer servings,
+                                                    ServingsFilter servings,
                                                     List<String> includeIngredients,
                                                     List<String> excludeIngredients,
                                                     String instructionText) {
@@ -19,10 +27,14 @@ public class RecipesSpecificationBuilder {
 
         if (isVegetarian != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("isVegetarian"), isVegetarian));
+        } else if (servings != null) {
+            // Always true for the non-null column, but it gives the index a condition on its leading column,
+            // so a servings filter alone is an index range scan per flag instead of a full scan.
+            spec = spec.and((root, query, cb) -> root.get("isVegetarian").in(true, false));
         }
 
         if (servings != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("servings"), servings));
+            spec = spec.and(buildServingsSpecification(servings));
         }
 
         Specification<RecipeEntity> includeIngredientSpec = buildIngredientSpecification(includeIngredients, false);
@@ -42,8 +54,28 @@ public class RecipesSpecificationBuilder {
         return spec;
     }
 
-    private static Specification<RecipeEntity> buildIngredientSpecification(List<String> ingredients, boolean exclude) {
+    private static Specification<RecipeEntity> buildServingsSpecification(ServingsFilter servings) {
+
+        return (root, query, cb) -> {
+            Path<Integer> path = root.get("servings");
+            if (servings.isListed()) {
+                List<Integer> values = servings.allowedValues();
+                if (values.isEmpty()) {
+                    return cb.disjunction();
+                }
+                return values.size() == 1 ? cb.equal(path, values.getFirst()) : path.in(values);
+            }
+            if (servings.min() != null && servings.max() != null) {
+                return cb.between(path, servings.min(), servings.max());
+            }
+            return servings.min() != null ? cb.ge(path, servings.min()) : cb.le(path, servings.max());
+        };
+    }
 
+    private static Specification<RecipeEntity> buildIngredientSpecification(List<String> ingredients, boolean exclude) {
+        if (ingredients == null) {
+            return null;
+        }
         return ingredients
                 .stream()
                 .map(ingredient -> (Specification<RecipeEntity>) (root, query, cb) -> {
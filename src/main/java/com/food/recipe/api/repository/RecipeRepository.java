@@ -1,14 +1,42 @@
 package com.food.recipe.api.repository;
 
 import com.food.recipe.api.entity.RecipeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * The below class acts as a repository for saving and accessing the data from database.
+ * <p>
+ * Query methods run in read-only transactions like the inherited finders, so they are served by the replica
+ * pool when one is configured; called from a read-write transaction they join it and stay on the primary.
  *
  * @author snehalata.arun.raut
  */
-public interface RecipeRepository extends JpaRepository<RecipeEntity, Integer>, JpaSpecificationExecutor<RecipeEntity> {
+@Transactional(readOnly = true)
+public interface RecipeRepository extends JpaRepository<RecipeEntity, Integer>, JpaSpecificationExecutor<RecipeEntity>,
+        RecipeSearchRepository {
+
+    boolean existsByName(String name);
+
+    @EntityGraph(attributePaths = "ingredients")
+    List<RecipeEntity> findAllByIdIn(Collection<Integer> ids);
+
+    /**
+     * Keyset page of all recipes: the next {@code limit} after the given ID, without the {@code count(*)} of a
+     * {@code Page} and without rescanning the recipes of earlier pages like an offset would.
+     */
+    List<RecipeEntity> findByIdGreaterThanOrderById(int id, Limit limit);
 
+    /**
+     * Loads the ingredients in the same query, so the recipe is complete without an open session.
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    Optional<RecipeEntity> findWithIngredientsById(int id);
 }
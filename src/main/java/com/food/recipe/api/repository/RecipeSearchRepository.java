@@ -0,0 +1,41 @@
+package com.food.recipe.api.repository;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeWatermark;
+import com.food.recipe.api.search.RelevanceScorer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for ranked searches and the watermark of index snapshots.
+ */
+public interface RecipeSearchRepository {
+
+    /**
+     * Finds the IDs of the most relevant recipes matching the given specification.
+     * <p>
+     * Only the relevance signals of each match are read from the database, as a stream, and the best
+     * {@code limit} are kept in a bounded heap; no matching entity is loaded.
+     *
+     * @param specification the search filters
+     * @param scorer        scores each match
+     * @param limit         maximum number of IDs to return
+     * @return the IDs ordered by descending relevance, ties broken by ascending ID
+     */
+    List<Integer> findMostRelevantIds(Specification<RecipeEntity> specification, RelevanceScorer scorer, int limit);
+
+    /**
+     * Finds the IDs of all recipes matching the given specification, streamed from the database without
+     * loading any entity.
+     *
+     * @param specification the search filters
+     * @return the IDs in ascending order
+     */
+    int[] findMatchingIds(Specification<RecipeEntity> specification);
+
+    /**
+     * Computes the watermark of all recipes in one scan, without loading any entity.
+     */
+    RecipeWatermark watermark();
+}
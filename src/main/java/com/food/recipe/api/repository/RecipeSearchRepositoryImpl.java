@@ -0,0 +1,114 @@
+package com.food.recipe.api.repository;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeWatermark;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.TopK;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementation of {@link RecipeSearchRepository}, picked up by Spring Data through its {@code Impl} suffix.
+ */
+public class RecipeSearchRepositoryImpl implements RecipeSearchRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final Comparator<ScoredId> RANKING = Comparator.comparingDouble(ScoredId::score).reversed()
+            .thenComparingInt(ScoredId::id);
+
+    private static final String WATERMARK_SQL = """
+            SELECT count(*), coalesce(max(r.id), 0),
+                   coalesce(bit_xor(hashtextextended(concat_ws('|', r.id, r.name, r.is_vegetarian, r.servings,
+                           r.instructions, (SELECT string_agg(i.ingredients, '|' ORDER BY i.ingredients)
+                                            FROM recipe_entity_ingredients i
+                                            WHERE i.recipe_entity_id = r.id)), 0)), 0)
+            FROM recipes_table r
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs in a read-only transaction so the JDBC driver can stream the rows through a cursor
+     * instead of buffering the whole result set.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findMostRelevantIds(Specification<RecipeEntity> specification,
+                                             RelevanceScorer scorer,
+                                             int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(RecipeEntity.class);
+
+        String searchText = scorer.getSearchText();
+        Expression<Integer> namePosition = searchText == null ? cb.literal(0)
+                : cb.locate(cb.lower(root.get("name")), searchText);
+        Expression<Integer> instructionPosition = searchText == null ? cb.literal(0)
+                : cb.locate(cb.lower(root.get("instructions")), searchText);
+
+        query.multiselect(root.get("id"), cb.size(root.get("ingredients")), namePosition, instructionPosition);
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        var topK = new TopK<>(limit, RANKING);
+        try (var rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(row -> topK.offer(score(row, scorer)));
+        }
+        return topK.toList().stream().map(ScoredId::id).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int[] findMatchingIds(Specification<RecipeEntity> specification) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Integer.class);
+        var root = query.from(RecipeEntity.class);
+        query.select(root.get("id")).orderBy(cb.asc(root.get("id")));
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        try (var ids = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream()) {
+            return ids.mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Hashes every recipe with its ingredients in a stable order and combines the hashes with XOR, so the
+     * checksum does not depend on the order of the rows.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeWatermark watermark() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(WATERMARK_SQL).getSingleResult();
+        return new RecipeWatermark(((Number) row[0]).longValue(), ((Number) row[1]).intValue(),
+                ((Number) row[2]).longValue());
+    }
+
+    private static ScoredId score(Tuple row, RelevanceScorer scorer) {
+        int id = row.get(0, Integer.class);
+        return new ScoredId(id,
+                scorer.score(id, row.get(1, Integer.class), row.get(2, Integer.class), row.get(3, Integer.class)));
+    }
+
+    private record ScoredId(int id, double score) {
+    }
+}
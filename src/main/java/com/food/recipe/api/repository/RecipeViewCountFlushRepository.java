@@ -0,0 +1,16 @@
+package com.food.recipe.api.repository;
+
+import java.util.Map;
+
+/**
+ * Batched writes of recipe view counts, which JPA cannot express without reading every row first.
+ */
+public interface RecipeViewCountFlushRepository {
+
+    /**
+     * Adds the views to the stored counts in a single batch of upserts, creating missing rows.
+     *
+     * @param viewsByRecipeId number of new views per recipe ID
+     */
+    void addViews(Map<Integer, Long> viewsByRecipeId);
+}
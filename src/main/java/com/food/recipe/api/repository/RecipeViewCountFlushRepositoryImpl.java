@@ -0,0 +1,37 @@
+package com.food.recipe.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link RecipeViewCountFlushRepository}, picked up by Spring Data through its {@code Impl} suffix.
+ */
+public class RecipeViewCountFlushRepositoryImpl implements RecipeViewCountFlushRepository {
+
+    private static final String ADD_VIEWS = """
+            INSERT INTO recipe_view_counts (recipe_id, views) VALUES (?, ?)
+            ON CONFLICT (recipe_id) DO UPDATE SET views = recipe_view_counts.views + EXCLUDED.views""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeViewCountFlushRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void addViews(Map<Integer, Long> viewsByRecipeId) {
+        if (viewsByRecipeId.isEmpty()) {
+            return;
+        }
+        // Locking rows in ID order keeps concurrent flushes of several instances from deadlocking.
+        List<Object[]> rows = viewsByRecipeId.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(ADD_VIEWS, rows);
+    }
+}
@@ -0,0 +1,11 @@
+package com.food.recipe.api.repository;
+
+import com.food.recipe.api.entity.RecipeViewCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository of the recipe view counts.
+ */
+public interface RecipeViewCountRepository extends JpaRepository<RecipeViewCountEntity, Integer>,
+        RecipeViewCountFlushRepository {
+}
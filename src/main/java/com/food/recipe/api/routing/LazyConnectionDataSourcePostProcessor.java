@@ -0,0 +1,50 @@
+package com.food.recipe.api.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wraps every {@link DataSource} bean in a {@link LazyConnectionDataSourceProxy}, unless it already is one such as
+ * the {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * The recipe calls of the async pool each run in a transaction, which would otherwise take a pooled connection when
+ * it begins. With the proxy the connection is only taken when the first statement runs, so calls answered without
+ * the database (a Bloom-filter miss, a cache hit, a follower of a coalesced read) hold no connection.
+ * The proxy is applied first, so that wrappers such as the slow-query proxy stay outermost and time the statements
+ * of the connection it eventually fetches.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !catalog & !sharded")
+public class LazyConnectionDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || isLazy(dataSource)) {
+            return bean;
+        }
+        log.info("Fetching connections of data source '{}' only when the first statement runs.", beanName);
+        return new LazyConnectionDataSourceProxy(dataSource);
+    }
+
+    private static boolean isLazy(DataSource dataSource) {
+        try {
+            return dataSource instanceof LazyConnectionDataSourceProxy
+                    || dataSource.isWrapperFor(LazyConnectionDataSourceProxy.class);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+}
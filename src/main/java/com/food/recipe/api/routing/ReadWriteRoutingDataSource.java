@@ -0,0 +1,69 @@
+package com.food.recipe.api.routing;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sends statements of read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * The transaction manager obtains its connection before it marks the transaction read-only, so the physical
+ * connection is only fetched, and the pool chosen, when the first statement runs. Statements outside a
+ * transaction and threads pinned by {@link ReadYourWrites} always use the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    public enum Role {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+
+        var router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return currentRole();
+            }
+        };
+        router.setTargetDataSources(Map.of(Role.PRIMARY, primary, Role.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /**
+     * The pool a connection fetched by the current thread comes from.
+     */
+    public static Role currentRole() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinnedToPrimary()
+                ? Role.REPLICA : Role.PRIMARY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeIfPossible(replica);
+        } finally {
+            closeIfPossible(primary);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.food.recipe.api.routing;
+
+/**
+ * Marks the current thread as serving a client which wrote recently, so its reads go to the primary
+ * even in read-only transactions and see the write before the replica has caught up.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+}
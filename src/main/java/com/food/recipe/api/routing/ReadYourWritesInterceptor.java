@@ -0,0 +1,64 @@
+package com.food.recipe.api.routing;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+
+/**
+ * Gives a client read-your-writes consistency across the primary and the replica pool.
+ * <p>
+ * Every write request sets a cookie which expires after the stickiness window; requests carrying it are
+ * {@link ReadYourWrites pinned} to the primary, so the client reads its own write even while the replica lags.
+ * The cookie is set before the handler runs, as the response is committed by the time it returns; a write which
+ * fails only costs the client a few reads from the primary. Being a cookie, the window holds across instances.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE_NAME = "recipe-primary";
+
+    private final int windowSeconds;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        // Max-Age has a resolution of seconds; rounding up never makes the window shorter than configured.
+        this.windowSeconds = (int) Math.max(1, (window.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (isWrite(request)) {
+            var cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setMaxAge(windowSeconds);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+            ReadYourWrites.pinToPrimary();
+        } else if (WebUtils.getCookie(request, COOKIE_NAME) != null) {
+            ReadYourWrites.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWrites.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.clear();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        var method = HttpMethod.valueOf(request.getMethod());
+        return !(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method));
+    }
+}
@@ -0,0 +1,92 @@
+package com.food.recipe.api.search;
+
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Scores how well a recipe matches a search, between 0 and 1.
+ * <p>
+ * Two signals contribute:
+ * <ul>
+ *     <li>ingredient overlap - the share of the recipe's ingredients which were asked for, so a recipe made
+ *     mostly of the included ingredients ranks above one where they are a small part</li>
+ *     <li>text match - a match of the search text in the recipe name, and how early it appears in the instructions</li>
+ * </ul>
+ * The signals are computed in the database as plain numbers, see {@code RecipeSearchRepository}, so scoring
+ * never needs the recipe entities themselves.
+ * <p>
+ * A scorer created with the popularity of the recipes, see {@code RecipePopularity#popularity(int)}, blends it in as
+ * a third signal with {@link #POPULARITY_WEIGHT}, so of two equally good matches the one viewed more often recently
+ * ranks first. Without it the score of a recipe is the match score alone.
+ */
+public class RelevanceScorer {
+
+    static final double INGREDIENT_WEIGHT = 0.6;
+    static final double TEXT_WEIGHT = 0.4;
+    static final double INSTRUCTION_POSITION_SCALE = 64.0;
+    static final double POPULARITY_WEIGHT = 0.2;
+
+    private final int includeCount;
+    private final String searchText;
+    private final IntToDoubleFunction popularity;
+
+    public RelevanceScorer(List<String> includeIngredients, String instructionText) {
+        this(includeIngredients, instructionText, null);
+    }
+
+    /**
+     * @param popularity popularity of a recipe by ID, between 0 and 1, or {@code null} to rank by the match alone
+     */
+    public RelevanceScorer(List<String> includeIngredients, String instructionText, IntToDoubleFunction popularity) {
+        this.popularity = popularity;
+        this.includeCount = includeIngredients == null ? 0
+                : (int) includeIngredients.stream().filter(StringUtils::hasText).distinct().count();
+        this.searchText = StringUtils.hasText(instructionText) ? instructionText.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * @return the lower-cased search text, or {@code null} if the search has none
+     */
+    public String getSearchText() {
+        return searchText;
+    }
+
+    /**
+     * @param recipeId            ID of the recipe
+     * @param ingredientCount     number of ingredients of the recipe
+     * @param namePosition        1-based position of the search text in the lower-cased name, 0 if absent
+     * @param instructionPosition 1-based position of the search text in the lower-cased instructions, 0 if absent
+     * @return the match score blended with the popularity of the recipe, higher is better
+     */
+    public double score(int recipeId, int ingredientCount, int namePosition, int instructionPosition) {
+        double match = score(ingredientCount, namePosition, instructionPosition);
+        if (popularity == null) {
+            return match;
+        }
+        return (1 - POPULARITY_WEIGHT) * match + POPULARITY_WEIGHT * popularity.applyAsDouble(recipeId);
+    }
+
+    /**
+     * @param ingredientCount     number of ingredients of the recipe
+     * @param namePosition        1-based position of the search text in the lower-cased name, 0 if absent
+     * @param instructionPosition 1-based position of the search text in the lower-cased instructions, 0 if absent
+     * @return the match score, higher is better
+     */
+    public double score(int ingredientCount, int namePosition, int instructionPosition) {
+        double score = 0;
+        if (includeCount > 0 && ingredientCount > 0) {
+            score += INGREDIENT_WEIGHT * Math.min(1.0, (double) includeCount / ingredientCount);
+        }
+        if (searchText != null) {
+            double textMatch = namePosition > 0 ? 0.5 : 0;
+            if (instructionPosition > 0) {
+                textMatch += 0.5 / (1 + (instructionPosition - 1) / INSTRUCTION_POSITION_SCALE);
+            }
+            score += TEXT_WEIGHT * textMatch;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,62 @@
+package com.food.recipe.api.search;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The servings condition of a recipe search: the servings must be one of {@code values}, unless it is empty,
+ * and lie within the optional inclusive bounds.
+ *
+ * @param values distinct listed servings in ascending order; empty if any servings are allowed
+ * @param min    lowest allowed servings, or null
+ * @param max    highest allowed servings, or null
+ */
+public record ServingsFilter(List<Integer> values, Integer min, Integer max) {
+
+    public ServingsFilter {
+        values = values == null ? List.of()
+                : values.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    /**
+     * @return the filter, or null if none of the conditions is given
+     */
+    public static ServingsFilter of(List<Integer> values, Integer min, Integer max) {
+        var filter = new ServingsFilter(values, min, max);
+        return filter.values().isEmpty() && min == null && max == null ? null : filter;
+    }
+
+    public static ServingsFilter exactly(int servings) {
+        return new ServingsFilter(List.of(servings), null, null);
+    }
+
+    public static ServingsFilter between(Integer min, Integer max) {
+        return new ServingsFilter(List.of(), min, max);
+    }
+
+    /**
+     * @return whether the filter only lists values, so the bounds need no predicate of their own
+     */
+    public boolean isListed() {
+        return !values.isEmpty();
+    }
+
+    /**
+     * @return whether a recipe with the given servings passes the filter
+     */
+    public boolean matches(Integer servings) {
+        return servings != null
+                && (values.isEmpty() || values.contains(servings))
+                && (min == null || servings >= min)
+                && (max == null || servings <= max);
+    }
+
+    /**
+     * @return the listed values within the bounds, in ascending order
+     */
+    public List<Integer> allowedValues() {
+        return values.stream()
+                .filter(value -> (min == null || value >= min) && (max == null || value <= max))
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.food.recipe.api.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} best of a stream of candidates in a bounded heap, so selecting the top results
+ * takes O(n log k) time and O(k) memory instead of sorting the whole input. Not thread safe.
+ *
+ * @param <T> the candidate type
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> ranking;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k       number of candidates to keep
+     * @param ranking orders the best candidate first
+     */
+    public TopK(int k, Comparator<? super T> ranking) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.ranking = ranking;
+        // The head of the heap is the worst candidate kept so far.
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, ranking.reversed());
+    }
+
+    public void offer(T candidate) {
+        if (heap.size() < k) {
+            heap.offer(candidate);
+        } else if (ranking.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.offer(candidate);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the kept candidates, best first
+     */
+    public List<T> toList() {
+        var result = new ArrayList<>(heap);
+        result.sort(ranking);
+        return result;
+    }
+}
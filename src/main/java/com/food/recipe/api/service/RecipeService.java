@@ -3,9 +3,15 @@ package com.food.recipe.api.service;
 import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.exception.CustomRecipeException;
 import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.search.ServingsFilter;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The below class acts as a service layer for calling the repository to access
@@ -57,6 +63,30 @@ public interface RecipeService {
      */
     Optional<RecipeEntity> getRecipeById(int id);
 
+    /**
+     * Retrieves the recipes with the given IDs, with their ingredients loaded, in a single query.
+     *
+     * @param ids the IDs of the recipes
+     * @return the recipes found, in no particular order; IDs without a recipe are skipped
+     */
+    List<RecipeEntity> getRecipesByIds(Collection<Integer> ids);
+
+    /**
+     * Retrieves the recipes with the given IDs like {@link #getRecipesByIds}, in the order of the IDs, e.g. of a
+     * ranking or of index matches.
+     *
+     * @param ids the IDs of the recipes, in the order wanted
+     * @return the recipes found, in the order of their IDs; a recipe deleted in between is skipped
+     */
+    default List<RecipeEntity> loadInOrder(List<Integer> ids) {
+        Map<Integer, RecipeEntity> recipesById = getRecipesByIds(ids).stream()
+                .collect(Collectors.toMap(RecipeEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Searches for {@link RecipeEntity} objects based on multiple optional filter criteria.
      * <p>
@@ -68,7 +98,8 @@ public interface RecipeService {
      *                           - If {@code false}, returns only non-vegetarian recipes.
      *                           - If {@code null}, includes both.
      * @param servings           Optional filter for the number of servings.
-     *                           - If specified, returns only recipes that exactly match this value.
+     *                           - If values are listed, returns only recipes with one of these values.
+     *                           - If bounds are given, returns only recipes within them, inclusive.
      *                           - If {@code null}, this filter is ignored.
      * @param includeIngredients Optional list of ingredient names that must be included in the recipe.
      *                           - Each ingredient in the list must be present in the recipe's ingredients.
@@ -83,9 +114,61 @@ public interface RecipeService {
      * Returns an empty list if no matches are found.
      */
     List<RecipeEntity> searchRecipes(Boolean isVegetarian,
-                                     int servings,
+                                     ServingsFilter servings,
                                      List<String> includeIngredients,
                                      List<String> excludeIngredients,
                                      String instructionText);
 
+    /**
+     * Searches like {@link #searchRecipes} but returns at most {@code limit} recipes.
+     * <p>
+     * With {@code rankByRelevance} the matches are scored by ingredient overlap and text match (see
+     * {@link com.food.recipe.api.search.RelevanceScorer}) and the best ones are selected with a bounded heap;
+     * otherwise the first matches in ID order are returned. In both cases no more than {@code limit}
+     * entities are loaded.
+     *
+     * @param limit           maximum number of recipes to return
+     * @param rankByRelevance whether to order by relevance instead of ID
+     * @return the selected recipes, best or lowest ID first
+     */
+    List<RecipeEntity> searchTopRecipes(Boolean isVegetarian,
+                                        ServingsFilter servings,
+                                        List<String> includeIngredients,
+                                        List<String> excludeIngredients,
+                                        String instructionText,
+                                        int limit,
+                                        boolean rankByRelevance);
+
+    /**
+     * Finds the IDs of all recipes matching the filters of {@link #searchRecipes} without loading them.
+     *
+     * @return the matching IDs in ascending order
+     */
+    int[] searchRecipeIds(Boolean isVegetarian,
+                          ServingsFilter servings,
+                          List<String> includeIngredients,
+                          List<String> excludeIngredients,
+                          String instructionText);
+
+    /**
+     * Counts the recipes matching the filters of {@link #searchRecipes} with a {@code count} query.
+     *
+     * @return the number of matching recipes
+     */
+    long countRecipes(Boolean isVegetarian,
+                      ServingsFilter servings,
+                      List<String> includeIngredients,
+                      List<String> excludeIngredients,
+                      String instructionText);
+
+    /**
+     * Checks whether any recipe matches the filters of {@link #searchRecipes}; the query stops at the first match.
+     *
+     * @return {@code true} if at least one recipe matches
+     */
+    boolean recipesExist(Boolean isVegetarian,
+                         ServingsFilter servings,
+                         List<String> includeIngredients,
+                         List<String> excludeIngredients,
+                         String instructionText);
 }
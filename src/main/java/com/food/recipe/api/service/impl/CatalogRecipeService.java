@@ -0,0 +1,276 @@
+package com.food.recipe.api.service.impl;
+
+import com.food.recipe.api.catalog.MappedCatalog;
+import com.food.recipe.api.config.RecipeCatalogProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.ReadOnlyCatalogException;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.api.search.TopK;
+import com.food.recipe.api.service.RecipeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only {@link RecipeService} answering from a {@link MappedCatalog} instead of a database, for edge nodes
+ * serving a catalog exported by the {@code catalog} actuator endpoint. Active with the {@code catalog} profile,
+ * which also switches off the data source and JPA; every write is rejected with a {@link ReadOnlyCatalogException}.
+ * <p>
+ * The catalog file is checked every {@code recipe.catalog.reload-interval}. A replaced file is mapped and swapped
+ * in with a single volatile write, so every call sees one complete catalog; calls still running on the previous
+ * catalog finish on it. The {@link RecipeIndex} beans are shared and updated in place, so they are never cleared
+ * once a catalog is served: only the recipes which differ between the two catalogs are added to or removed from
+ * them before the swap, and every other recipe stays indexed throughout. The indexes are only rebuilt from scratch
+ * for the first catalog. Until a catalog file exists the service serves an empty catalog.
+ */
+@Slf4j
+@Service
+@Profile("catalog")
+public class CatalogRecipeService implements RecipeService {
+
+    private static final String READ_ONLY = "The recipe catalog is read-only";
+    private static final Comparator<ScoredIndex> RANKING = Comparator.comparingDouble(ScoredIndex::score).reversed()
+            .thenComparingInt(ScoredIndex::id);
+
+    private final RecipeCatalogProperties properties;
+    private final ObjectProvider<RecipeIndex> recipeIndexes;
+    private final RecipePopularity recipePopularity;
+    private volatile MappedCatalog catalog = MappedCatalog.empty();
+    private FileVersion loadedVersion;
+
+    private record FileVersion(Object fileKey, FileTime lastModified, long size) {
+    }
+
+    private record ScoredIndex(int index, int id, double score) {
+    }
+
+    public CatalogRecipeService(RecipeCatalogProperties properties, ObjectProvider<RecipeIndex> recipeIndexes,
+                                RecipePopularity recipePopularity) {
+        this.properties = properties;
+        this.recipeIndexes = recipeIndexes;
+        this.recipePopularity = recipePopularity;
+    }
+
+    /**
+     * Maps the catalog on startup. A listener returning a value would have it published as an event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Maps the catalog file if it was replaced since the last call, and rebuilds the indexes from it.
+     *
+     * @return whether a new catalog was swapped in
+     */
+    @Scheduled(fixedDelayString = "${recipe.catalog.reload-interval:PT30S}")
+    public synchronized boolean reload() {
+        var file = properties.file();
+        try {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            var version = new FileVersion(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+            if (version.equals(loadedVersion)) {
+                return false;
+            }
+            var replacement = MappedCatalog.open(file);
+            var previous = catalog;
+            if (previous.size() == 0) {
+                rebuildIndexes(replacement);
+            } else {
+                updateIndexes(previous, replacement);
+            }
+            catalog = replacement;
+            loadedVersion = version;
+            log.info("Serving recipe catalog {} with {} recipes.", file, replacement.size());
+            return true;
+        } catch (NoSuchFileException ex) {
+            log.warn("Recipe catalog {} does not exist; serving {} recipes.", file, catalog.size());
+        } catch (IOException ex) {
+            log.warn("Could not load recipe catalog {}; serving the previous one.", file, ex);
+        }
+        return false;
+    }
+
+    @Override
+    public RecipeEntity createRecipe(RecipeEntity recipe) {
+        throw new ReadOnlyCatalogException(READ_ONLY);
+    }
+
+    @Override
+    public RecipeEntity updateRecipe(int id, RecipeEntity recipeEntity) {
+        throw new ReadOnlyCatalogException(READ_ONLY);
+    }
+
+    @Override
+    public boolean deleteRecipe(int id) {
+        throw new ReadOnlyCatalogException(READ_ONLY);
+    }
+
+    @Override
+    public List<RecipeEntity> getAllRecipes() {
+        var current = catalog;
+        return IntStream.range(0, current.size()).mapToObj(current::recipe).toList();
+    }
+
+    @Override
+    public Optional<RecipeEntity> getRecipeById(int id) {
+        log.debug("Retrieving Recipe for ID :{}", id);
+        var current = catalog;
+        int index = current.indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(current.recipe(index));
+    }
+
+    @Override
+    public List<RecipeEntity> getRecipesByIds(Collection<Integer> ids) {
+        var current = catalog;
+        return ids.stream()
+                .distinct()
+                .map(current::indexOf)
+                .filter(index -> index >= 0)
+                .map(current::recipe)
+                .toList();
+    }
+
+    @Override
+    public List<RecipeEntity> searchRecipes(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText) {
+
+        log.debug("Searching the recipe catalog with filters - Vegetarian: {}, Servings: {}, Includes: {}, " +
+                "Excludes: {}, Instructions: {}", isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+
+        var current = catalog;
+        var filter = current.filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+        return matching(current, filter).mapToObj(current::recipe).toList();
+    }
+
+    @Override
+    public List<RecipeEntity> searchTopRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        log.debug("Searching top {} recipes in the catalog, ranked by relevance: {}", limit, rankByRelevance);
+        var current = catalog;
+        var filter = current.filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+
+        if (!rankByRelevance) {
+            return matching(current, filter).limit(limit).mapToObj(current::recipe).toList();
+        }
+        var scorer = new RelevanceScorer(includeIngredients, instructionText, recipePopularity::popularity);
+        var topK = new TopK<>(limit, RANKING);
+        matching(current, filter).forEach(index ->
+                topK.offer(new ScoredIndex(index, current.id(index), current.score(index, scorer, filter))));
+        return topK.toList().stream().map(scored -> current.recipe(scored.index())).toList();
+    }
+
+    @Override
+    public int[] searchRecipeIds(Boolean isVegetarian,
+                                 ServingsFilter servings,
+                                 List<String> includeIngredients,
+                                 List<String> excludeIngredients,
+                                 String instructionText) {
+
+        var current = catalog;
+        var filter = current.filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+        return matching(current, filter).map(current::id).toArray();
+    }
+
+    @Override
+    public long countRecipes(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText) {
+
+        var current = catalog;
+        var filter = current.filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+        return matching(current, filter).count();
+    }
+
+    @Override
+    public boolean recipesExist(Boolean isVegetarian,
+                                ServingsFilter servings,
+                                List<String> includeIngredients,
+                                List<String> excludeIngredients,
+                                String instructionText) {
+
+        var current = catalog;
+        var filter = current.filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+        return matching(current, filter).findAny().isPresent();
+    }
+
+    /**
+     * @return the positions of the matching recipes, in ID order
+     */
+    private static IntStream matching(MappedCatalog catalog, MappedCatalog.Filter filter) {
+        if (filter == null) {
+            return IntStream.empty();
+        }
+        return IntStream.range(0, catalog.size()).filter(index -> catalog.matches(index, filter));
+    }
+
+    private void rebuildIndexes(MappedCatalog replacement) {
+        List<RecipeIndex> indexes = recipeIndexes.orderedStream().toList();
+        indexes.forEach(RecipeIndex::clear);
+        for (int i = 0; i < replacement.size(); i++) {
+            var recipe = replacement.recipe(i);
+            indexes.forEach(index -> index.add(recipe));
+        }
+        indexes.forEach(RecipeIndex::rebuildCompleted);
+        log.info("Recipe indexes rebuilt from {} catalog recipes.", replacement.size());
+    }
+
+    /**
+     * Applies the differences between the catalogs to the indexes, merging both by ID: recipes only in the previous
+     * catalog are removed, new and changed recipes are added, which replaces their previous entry.
+     */
+    private void updateIndexes(MappedCatalog previous, MappedCatalog replacement) {
+        List<RecipeIndex> indexes = recipeIndexes.orderedStream().toList();
+        int changes = 0;
+        int i = 0;
+        int j = 0;
+        while (i < previous.size() || j < replacement.size()) {
+            long previousId = i < previous.size() ? previous.id(i) : Long.MAX_VALUE;
+            long replacementId = j < replacement.size() ? replacement.id(j) : Long.MAX_VALUE;
+            if (previousId < replacementId) {
+                var removed = previous.recipe(i++);
+                indexes.forEach(index -> index.remove(removed));
+                changes++;
+                continue;
+            }
+            var recipe = replacement.recipe(j++);
+            if (previousId == replacementId && recipe.equals(previous.recipe(i++))) {
+                continue;
+            }
+            indexes.forEach(index -> index.add(recipe));
+            changes++;
+        }
+        log.info("Recipe indexes updated with {} changed catalog recipes.", changes);
+    }
+}
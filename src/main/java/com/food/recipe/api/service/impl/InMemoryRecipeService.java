@@ -0,0 +1,331 @@
+package com.food.recipe.api.service.impl;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.api.search.TopK;
+import com.food.recipe.api.service.RecipeService;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * {@link RecipeService} keeping every recipe in memory instead of a database, for edge deployments and
+ * integration tests without Docker. Active with the {@code memory} profile, which also switches off the
+ * data source and JPA; recipes are lost when the process stops.
+ * <p>
+ * Recipes live in a primary map by ID, next to a unique index of names and an index from every ingredient to the
+ * IDs of the recipes using it. Reads never lock: point reads hit the ID map and searches with included ingredients
+ * only visit the recipes of the rarest one. Writes are serialized so the maps stay consistent with each other; a
+ * search racing with a write re-checks every candidate against the stored recipe, so it never returns a recipe
+ * that does not match. Stored recipes are never handed out, callers always get copies.
+ * <p>
+ * Filters have the semantics of {@code RecipesSpecificationBuilder}: ingredients must match exactly and the
+ * instruction text is searched case-insensitively. The {@link RecipeIndex} beans are kept current by this service,
+ * as there are no JPA entity events to do it.
+ */
+@Slf4j
+@Service
+@Profile("memory")
+public class InMemoryRecipeService implements RecipeService {
+
+    private static final Comparator<ScoredRecipe> RANKING = Comparator.comparingDouble(ScoredRecipe::score).reversed()
+            .thenComparingInt(ScoredRecipe::id);
+
+    private final Map<Integer, RecipeEntity> recipesById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> idsByIngredient = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final Object writeLock = new Object();
+    private final ObjectProvider<RecipeIndex> recipeIndexes;
+    private final RecipePopularity recipePopularity;
+    private final Validator validator;
+
+    public InMemoryRecipeService(ObjectProvider<RecipeIndex> recipeIndexes, RecipePopularity recipePopularity,
+                                 Validator validator) {
+        this.recipeIndexes = recipeIndexes;
+        this.recipePopularity = recipePopularity;
+        this.validator = validator;
+    }
+
+    /**
+     * Rebuilds the indexes from the stored recipes, as {@code RecipeIndexLoader} does from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        synchronized (writeLock) {
+            recipeIndexes.orderedStream().forEach(index -> {
+                index.clear();
+                recipesById.values().forEach(index::add);
+                index.rebuildCompleted();
+            });
+        }
+    }
+
+    @Override
+    public RecipeEntity createRecipe(RecipeEntity recipe) {
+        var stored = copy(recipe);
+        validate(stored);
+        synchronized (writeLock) {
+            if (idsByName.containsKey(stored.getName())) {
+                log.warn("Recipe with name {} already exists.", stored.getName());
+                throw new DuplicateRecipeException("Recipe with name " + stored.getName() + " already exists");
+            }
+            stored.setId(nextId.getAndIncrement());
+            store(stored);
+        }
+        log.debug("Saved recipe in memory is : {}", stored);
+        recipe.setId(stored.getId());
+        return copy(stored);
+    }
+
+    @Override
+    public RecipeEntity updateRecipe(int id, RecipeEntity recipeEntity) {
+        log.info("Starting to update recipe entity.");
+        var updated = copy(recipeEntity);
+        updated.setId(id);
+        validate(updated);
+        synchronized (writeLock) {
+            var existing = recipesById.get(id);
+            if (existing == null) {
+                throw new EntityNotFoundException("Recipe with ID " + id + " not found");
+            }
+            // Fails like the unique constraint of the database, which the JPA service leaves to the database.
+            Integer owner = idsByName.get(updated.getName());
+            if (owner != null && owner != id) {
+                throw new DataIntegrityViolationException("Recipe with name " + updated.getName() + " already exists");
+            }
+            unstore(existing);
+            store(updated);
+        }
+        log.debug("Updated recipe: {}", updated);
+        return copy(updated);
+    }
+
+    @Override
+    public boolean deleteRecipe(int id) {
+        log.debug("The id to delete from memory :{}", id);
+        synchronized (writeLock) {
+            var existing = recipesById.get(id);
+            if (existing == null) {
+                throw new EntityNotFoundException("Recipe with ID " + id + " not found");
+            }
+            unstore(existing);
+            recipeIndexes.orderedStream().forEach(index -> index.remove(existing));
+        }
+        return true;
+    }
+
+    @Override
+    public List<RecipeEntity> getAllRecipes() {
+        log.info("Retrieving all recipes from memory.");
+        return sortedById(recipesById.values().stream()).map(InMemoryRecipeService::copy).toList();
+    }
+
+    @Override
+    public Optional<RecipeEntity> getRecipeById(int id) {
+        log.debug("Retrieving Recipe for ID :{}", id);
+        return Optional.ofNullable(recipesById.get(id)).map(InMemoryRecipeService::copy);
+    }
+
+    @Override
+    public List<RecipeEntity> getRecipesByIds(Collection<Integer> ids) {
+        return ids.stream()
+                .distinct()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryRecipeService::copy)
+                .toList();
+    }
+
+    @Override
+    public List<RecipeEntity> searchRecipes(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText) {
+
+        log.debug("Searching recipes in memory with filters - Vegetarian: {}, Servings: {}, Includes: {}, " +
+                "Excludes: {}, Instructions: {}", isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+
+        return sortedById(matching(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText))
+                .map(InMemoryRecipeService::copy)
+                .toList();
+    }
+
+    @Override
+    public List<RecipeEntity> searchTopRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        log.debug("Searching top {} recipes in memory, ranked by relevance: {}", limit, rankByRelevance);
+        var matches = matching(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+
+        if (!rankByRelevance) {
+            return sortedById(matches).limit(limit).map(InMemoryRecipeService::copy).toList();
+        }
+        var scorer = new RelevanceScorer(includeIngredients, instructionText, recipePopularity::popularity);
+        var topK = new TopK<>(limit, RANKING);
+        matches.forEach(recipe -> topK.offer(new ScoredRecipe(recipe, score(recipe, scorer))));
+        return topK.toList().stream().map(scored -> copy(scored.recipe())).toList();
+    }
+
+    @Override
+    public int[] searchRecipeIds(Boolean isVegetarian,
+                                 ServingsFilter servings,
+                                 List<String> includeIngredients,
+                                 List<String> excludeIngredients,
+                                 String instructionText) {
+
+        return matching(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText)
+                .mapToInt(RecipeEntity::getId)
+                .sorted()
+                .toArray();
+    }
+
+    @Override
+    public long countRecipes(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText) {
+
+        return matching(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText).count();
+    }
+
+    @Override
+    public boolean recipesExist(Boolean isVegetarian,
+                                ServingsFilter servings,
+                                List<String> includeIngredients,
+                                List<String> excludeIngredients,
+                                String instructionText) {
+
+        return matching(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText)
+                .findAny()
+                .isPresent();
+    }
+
+    /**
+     * @return the stored recipes matching all filters, in no particular order
+     */
+    private Stream<RecipeEntity> matching(Boolean isVegetarian,
+                                          ServingsFilter servings,
+                                          List<String> includeIngredients,
+                                          List<String> excludeIngredients,
+                                          String instructionText) {
+
+        List<String> includes = includeIngredients == null ? List.of() : includeIngredients;
+        List<String> excludes = excludeIngredients == null ? List.of() : excludeIngredients;
+        String text = StringUtils.hasText(instructionText) ? instructionText.toLowerCase(Locale.ROOT) : null;
+
+        Stream<RecipeEntity> candidates = includes.isEmpty() ? recipesById.values().stream()
+                : rarestIngredientRecipes(includes).stream().map(recipesById::get).filter(Objects::nonNull);
+
+        return candidates.filter(recipe -> (isVegetarian == null || isVegetarian.equals(recipe.getIsVegetarian()))
+                && (servings == null || servings.matches(recipe.getServings()))
+                && recipe.getIngredients().containsAll(includes)
+                && excludes.stream().noneMatch(recipe.getIngredients()::contains)
+                && (text == null || recipe.getInstructions().toLowerCase(Locale.ROOT).contains(text)));
+    }
+
+    private Set<Integer> rarestIngredientRecipes(List<String> ingredients) {
+        return ingredients.stream()
+                .map(ingredient -> idsByIngredient.getOrDefault(ingredient, Set.of()))
+                .min(Comparator.comparingInt(Set::size))
+                .orElseThrow();
+    }
+
+    private void store(RecipeEntity recipe) {
+        recipesById.put(recipe.getId(), recipe);
+        idsByName.put(recipe.getName(), recipe.getId());
+        for (String ingredient : recipe.getIngredients()) {
+            idsByIngredient.computeIfAbsent(ingredient, key -> ConcurrentHashMap.newKeySet()).add(recipe.getId());
+        }
+        recipeIndexes.orderedStream().forEach(index -> index.add(recipe));
+    }
+
+    private void unstore(RecipeEntity recipe) {
+        recipesById.remove(recipe.getId());
+        idsByName.remove(recipe.getName(), recipe.getId());
+        for (String ingredient : recipe.getIngredients()) {
+            idsByIngredient.computeIfPresent(ingredient, (key, ids) -> {
+                ids.remove(recipe.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private void validate(RecipeEntity recipe) {
+        var violations = validator.validate(recipe);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private static double score(RecipeEntity recipe, RelevanceScorer scorer) {
+        String text = scorer.getSearchText();
+        if (text == null) {
+            return scorer.score(recipe.getId(), recipe.getIngredients().size(), 0, 0);
+        }
+        return scorer.score(recipe.getId(), recipe.getIngredients().size(),
+                recipe.getName().toLowerCase(Locale.ROOT).indexOf(text) + 1,
+                recipe.getInstructions().toLowerCase(Locale.ROOT).indexOf(text) + 1);
+    }
+
+    private static Stream<RecipeEntity> sortedById(Stream<RecipeEntity> recipes) {
+        return recipes.sorted(Comparator.comparing(RecipeEntity::getId));
+    }
+
+    /**
+     * Copies a recipe with its own ingredient list and the signature the JPA entity listener would persist.
+     */
+    private static RecipeEntity copy(RecipeEntity recipe) {
+        List<String> ingredients = recipe.getIngredients() == null ? null : new ArrayList<>(recipe.getIngredients());
+        return RecipeEntity.builder()
+                .id(recipe.getId())
+                .name(recipe.getName())
+                .isVegetarian(recipe.getIsVegetarian())
+                .servings(recipe.getServings())
+                .ingredients(ingredients)
+                .instructions(recipe.getInstructions())
+                .ingredientSignature(MinHash.encode(MinHash.signature(ingredients)))
+                .build();
+    }
+
+    private record ScoredRecipe(RecipeEntity recipe, double score) {
+
+        int id() {
+            return recipe.getId();
+        }
+    }
+}
@@ -1,39 +1,85 @@
 package com.food.recipe.api.service.impl;
 
+import com.food.recipe.api.cache.RecipeCache;
+import com.food.recipe.api.concurrent.SingleFlight;
 import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.exception.CustomRecipeException;
+import com.food.recipe.api.exception.DuplicateRecipeException;
 import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.index.RecipeBloomIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
 import com.food.recipe.api.process.impl.RecipesSpecificationBuilder;
 import com.food.recipe.api.repository.RecipeRepository;
+import com.food.recipe.api.routing.ReadYourWrites;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
 import com.food.recipe.api.service.RecipeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Service implementation for managing Recipe entities.
  * Acts as a bridge between controllers and data persistence layer.
+ * <p>
+ * Concurrent identical reads ({@link #getRecipeById(int)} and {@link #searchRecipes}) are coalesced
+ * through a {@link SingleFlight}, so a burst of requests for the same key results in a single database call.
+ * Reads of a client {@link ReadYourWrites pinned to the primary} are never coalesced, as the shared call may be
+ * running on a replica which has not seen the client's write yet.
+ * IDs and names which the {@link RecipeBloomIndex} reports as definitely absent skip the database lookup,
+ * and recipes held by the {@link RecipeCache} are read by ID without one.
+ * Writes run in one read-write transaction, so the duplicate-name and existence checks they start with are made on
+ * the primary even when reads are routed to a replica.
+ * The {@code memory}, {@code catalog} and {@code sharded} profiles replace it with {@link InMemoryRecipeService},
+ * {@link CatalogRecipeService} and {@link ShardedRecipeService}.
  *
  * @author snehalata.arun.raut
  */
 @Service
 @Slf4j
+@Profile("!memory & !catalog & !sharded")
 public class RecipeServiceImpl implements RecipeService {
 
     private final RecipeRepository recipeRepository;
+    private final RecipeBloomIndex recipeBloomIndex;
+    private final RecipeCache recipeCache;
+    private final RecipePopularity recipePopularity;
+    private final SingleFlight<Integer, Optional<RecipeEntity>> recipeByIdFlight;
+    private final SingleFlight<SearchKey, List<RecipeEntity>> searchFlight;
 
-    public RecipeServiceImpl(RecipeRepository recipeRepository) {
+    public RecipeServiceImpl(RecipeRepository recipeRepository,
+                             RecipeBloomIndex recipeBloomIndex,
+                             RecipeCache recipeCache,
+                             RecipePopularity recipePopularity,
+                             MeterRegistry meterRegistry) {
         super();
         this.recipeRepository = recipeRepository;
+        this.recipeBloomIndex = recipeBloomIndex;
+        this.recipeCache = recipeCache;
+        this.recipePopularity = recipePopularity;
+        this.recipeByIdFlight = new SingleFlight<>("getRecipeById", meterRegistry);
+        this.searchFlight = new SingleFlight<>("searchRecipes", meterRegistry);
     }
 
     @Override
+    @Transactional
     public RecipeEntity createRecipe(RecipeEntity recipe) {
+        if (recipeBloomIndex.mightContainName(recipe.getName()) && recipeRepository.existsByName(recipe.getName())) {
+            log.warn("Recipe with name {} already exists.", recipe.getName());
+            throw new DuplicateRecipeException("Recipe with name " + recipe.getName() + " already exists");
+        }
         try {
             var savedRecipe = recipeRepository.save(recipe);
             log.debug("Saved recipe into DB is : {}", savedRecipe);
@@ -45,6 +91,7 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     @Override
+    @Transactional
     public RecipeEntity updateRecipe(int id, RecipeEntity recipeEntity) {
         log.info("Starting to update recipe entity.");
 
@@ -52,6 +99,7 @@ public class RecipeServiceImpl implements RecipeService {
                 .map(oldEntity -> {
                     oldEntity.setName(recipeEntity.getName());
                     oldEntity.setIsVegetarian(recipeEntity.getIsVegetarian());
+                    oldEntity.setServings(recipeEntity.getServings());
                     oldEntity.setIngredients(recipeEntity.getIngredients());
                     oldEntity.setInstructions(recipeEntity.getInstructions());
 
@@ -63,6 +111,7 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     @Override
+    @Transactional
     public boolean deleteRecipe(int id) {
         log.debug("The id to delete from database :{}", id);
 
@@ -82,12 +131,29 @@ public class RecipeServiceImpl implements RecipeService {
     @Override
     public Optional<RecipeEntity> getRecipeById(int id) {
         log.debug("Retrieving Recipe for ID :{}", id);
-        return recipeRepository.findById((id));
+        if (!recipeBloomIndex.mightContainId(id)) {
+            log.debug("Recipe ID :{} is not present according to the bloom filter.", id);
+            return Optional.empty();
+        }
+        var cached = recipeCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return coalesced(recipeByIdFlight, id, () -> recipeRepository.findWithIngredientsById(id));
+    }
+
+    @Override
+    public List<RecipeEntity> getRecipesByIds(Collection<Integer> ids) {
+        log.debug("Retrieving recipes for IDs :{}", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return recipeRepository.findAllByIdIn(ids);
     }
 
     @Override
     public List<RecipeEntity> searchRecipes(Boolean isVegetarian,
-                                            int servings,
+                                            ServingsFilter servings,
                                             List<String> includeIngredients,
                                             List<String> excludeIngredients,
                                             String instructionText) {
@@ -96,9 +162,109 @@ public class RecipeServiceImpl implements RecipeService {
                         "Instructions: {}", isVegetarian, servings, includeIngredients,
                 excludeIngredients, instructionText);
 
-        Specification<RecipeEntity> specification = RecipesSpecificationBuilder.build(isVegetarian, servings,
-                includeIngredients, excludeIngredients, instructionText);
+        var key = new SearchKey(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText,
+                0, false);
+
+        return coalesced(searchFlight, key, () -> {
+            Specification<RecipeEntity> specification = RecipesSpecificationBuilder.build(isVegetarian, servings,
+                    includeIngredients, excludeIngredients, instructionText);
+
+            List<RecipeEntity> recipes = recipeRepository.findAll(specification);
+            recipes.forEach(RecipeServiceImpl::initializeIngredients);
+            return recipes;
+        });
+    }
+
+    @Override
+    public List<RecipeEntity> searchTopRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        log.debug("Searching top {} recipes, ranked by relevance: {}", limit, rankByRelevance);
+
+        var key = new SearchKey(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText,
+                limit, rankByRelevance);
+
+        return coalesced(searchFlight, key, () -> {
+            Specification<RecipeEntity> specification = RecipesSpecificationBuilder.build(isVegetarian, servings,
+                    includeIngredients, excludeIngredients, instructionText);
+
+            if (!rankByRelevance) {
+                List<RecipeEntity> recipes = recipeRepository.findBy(specification,
+                        query -> query.sortBy(Sort.by("id")).limit(limit).all());
+                recipes.forEach(RecipeServiceImpl::initializeIngredients);
+                return recipes;
+            }
+
+            var ids = recipeRepository.findMostRelevantIds(specification,
+                    new RelevanceScorer(includeIngredients, instructionText, recipePopularity::popularity), limit);
+            return loadInOrder(ids);
+        });
+    }
+
+    @Override
+    public int[] searchRecipeIds(Boolean isVegetarian,
+                                 ServingsFilter servings,
+                                 List<String> includeIngredients,
+                                 List<String> excludeIngredients,
+                                 String instructionText) {
+
+        log.debug("Searching recipe IDs with filters - Vegetarian: {}, Servings: {}, Includes: {}, Excludes: {}," +
+                        "Instructions: {}", isVegetarian, servings, includeIngredients,
+                excludeIngredients, instructionText);
+
+        return recipeRepository.findMatchingIds(RecipesSpecificationBuilder.build(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    @Override
+    public long countRecipes(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText) {
+
+        return recipeRepository.count(RecipesSpecificationBuilder.build(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    @Override
+    public boolean recipesExist(Boolean isVegetarian,
+                                ServingsFilter servings,
+                                List<String> includeIngredients,
+                                List<String> excludeIngredients,
+                                String instructionText) {
+
+        return recipeRepository.exists(RecipesSpecificationBuilder.build(isVegetarian, servings,
+                includeIngredients, excludeIngredients, instructionText));
+    }
+
+    /**
+     * Coalesced results are handed to other request threads, so the lazy ingredient collection is loaded
+     * while the leader's session is still open.
+     */
+    private static void initializeIngredients(RecipeEntity recipe) {
+        Hibernate.initialize(recipe.getIngredients());
+    }
+
+    /**
+     * Runs the read through the flight, unless the client is pinned to the primary and must not share a call which
+     * may read from a replica.
+     */
+    private static <K, V> V coalesced(SingleFlight<K, V> flight, K key, Supplier<V> loader) {
+        return ReadYourWrites.isPinnedToPrimary() ? loader.get() : flight.execute(key, loader);
+    }
 
-        return recipeRepository.findAll(specification);
+    private record SearchKey(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText,
+                             int limit,
+                             boolean rankByRelevance) {
     }
 }
@@ -0,0 +1,302 @@
+package com.food.recipe.api.service.impl;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.CustomRecipeException;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.api.search.TopK;
+import com.food.recipe.api.service.RecipeService;
+import com.food.recipe.api.sharding.RecipeShard;
+import com.food.recipe.api.sharding.RecipeShardFilter;
+import com.food.recipe.api.sharding.RecipeShards;
+import com.food.recipe.api.sharding.ScoredRecipeId;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RecipeService} partitioning the recipes by a hash of their ID across the databases of
+ * {@link RecipeShards}, for write throughput beyond a single PostgreSQL. Active with the {@code sharded} profile,
+ * which switches off the single data source and JPA.
+ * <p>
+ * Reads and writes by ID go to the one shard holding the recipe. Lists and searches are scattered to all shards in
+ * parallel and the results merged in ID order; limited searches push the limit down, so each shard returns at
+ * most {@code limit} recipes, or its best {@code limit} IDs when ranked by relevance. Names are kept unique, and
+ * IDs allocated, by the name-index shard; see {@link com.food.recipe.api.sharding.RecipeNameRegistry}.
+ * <p>
+ * Filters have the semantics of {@code RecipesSpecificationBuilder}. The {@link RecipeIndex} beans are kept
+ * current by this service, as there are no JPA entity events to do it.
+ */
+@Slf4j
+@Service
+@Profile("sharded")
+public class ShardedRecipeService implements RecipeService {
+
+    private static final Comparator<RecipeEntity> BY_ID = Comparator.comparing(RecipeEntity::getId);
+
+    private final RecipeShards shards;
+    private final ObjectProvider<RecipeIndex> recipeIndexes;
+    private final RecipePopularity recipePopularity;
+    private final Validator validator;
+
+    public ShardedRecipeService(RecipeShards shards, ObjectProvider<RecipeIndex> recipeIndexes,
+                                RecipePopularity recipePopularity, Validator validator) {
+        this.shards = shards;
+        this.recipeIndexes = recipeIndexes;
+        this.recipePopularity = recipePopularity;
+        this.validator = validator;
+    }
+
+    /**
+     * Rebuilds the indexes from all shards in parallel, as {@code RecipeIndexLoader} does from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        List<RecipeIndex> indexes = recipeIndexes.orderedStream().toList();
+        log.info("Rebuilding {} recipe indexes from {} shards.", indexes.size(), shards.size());
+        indexes.forEach(RecipeIndex::clear);
+        shards.scatter(shard -> {
+            shard.forEach(recipe -> indexes.forEach(index -> index.add(recipe)));
+            return null;
+        });
+        indexes.forEach(RecipeIndex::rebuildCompleted);
+    }
+
+    @Override
+    public RecipeEntity createRecipe(RecipeEntity recipe) {
+        var stored = copy(recipe);
+        validate(stored);
+
+        int id = shards.names().reserveWithNewId(stored.getName()).orElseThrow(() -> {
+            log.warn("Recipe with name {} already exists.", stored.getName());
+            return new DuplicateRecipeException("Recipe with name " + stored.getName() + " already exists");
+        });
+        stored.setId(id);
+
+        try {
+            shards.shardFor(id).insert(stored);
+        } catch (DataAccessException ex) {
+            shards.names().release(stored.getName(), id);
+            log.error("Failed to persist recipe entity to shard {}", shards.shardFor(id).number(), ex);
+            throw new CustomRecipeException("Could not save recipe to the database", ex);
+        }
+        log.debug("Saved recipe into shard {} is : {}", shards.shardFor(id).number(), stored);
+        recipeIndexes.orderedStream().forEach(index -> index.add(stored));
+        recipe.setId(id);
+        return stored;
+    }
+
+    @Override
+    public RecipeEntity updateRecipe(int id, RecipeEntity recipeEntity) {
+        log.info("Starting to update recipe entity.");
+        var updated = copy(recipeEntity);
+        updated.setId(id);
+        validate(updated);
+
+        var shard = shards.shardFor(id);
+        var existing = shard.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe with ID " + id + " not found"));
+
+        boolean renamed = !existing.getName().equals(updated.getName());
+        // Fails like the unique constraint of the database, which the JPA service leaves to the database.
+        if (renamed && !shards.names().reserve(updated.getName(), id)) {
+            throw new DataIntegrityViolationException("Recipe with name " + updated.getName() + " already exists");
+        }
+
+        boolean stored;
+        try {
+            stored = shard.update(updated);
+        } catch (DataAccessException ex) {
+            if (renamed) {
+                shards.names().release(updated.getName(), id);
+            }
+            throw ex;
+        }
+        if (!stored) {
+            if (renamed) {
+                shards.names().release(updated.getName(), id);
+            }
+            throw new EntityNotFoundException("Recipe with ID " + id + " not found");
+        }
+        if (renamed) {
+            shards.names().release(existing.getName(), id);
+        }
+
+        log.debug("Updated recipe: {}", updated);
+        recipeIndexes.orderedStream().forEach(index -> index.add(updated));
+        return updated;
+    }
+
+    @Override
+    public boolean deleteRecipe(int id) {
+        log.debug("The id to delete from shard :{}", id);
+        var shard = shards.shardFor(id);
+        var existing = shard.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe with ID " + id + " not found"));
+        if (!shard.delete(id)) {
+            throw new EntityNotFoundException("Recipe with ID " + id + " not found");
+        }
+        shards.names().release(existing.getName(), id);
+        recipeIndexes.orderedStream().forEach(index -> index.remove(existing));
+        return true;
+    }
+
+    @Override
+    public List<RecipeEntity> getAllRecipes() {
+        log.info("Retrieving all recipes from {} shards.", shards.size());
+        var all = new RecipeShardFilter(null, null, null, null, null);
+        return mergeById(shards.scatter(shard -> shard.findAll(all, 0)));
+    }
+
+    @Override
+    public Optional<RecipeEntity> getRecipeById(int id) {
+        log.debug("Retrieving Recipe for ID :{}", id);
+        return shards.shardFor(id).findById(id);
+    }
+
+    @Override
+    public List<RecipeEntity> getRecipesByIds(Collection<Integer> ids) {
+        log.debug("Retrieving recipes for IDs :{}", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<RecipeShard, List<Integer>> idsByShard = ids.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(shards::shardFor));
+        return mergeById(shards.scatter(shard -> shard.findAllByIdIn(idsByShard.getOrDefault(shard, List.of()))));
+    }
+
+    @Override
+    public List<RecipeEntity> searchRecipes(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText) {
+
+        log.debug("Searching recipes in shards with filters - Vegetarian: {}, Servings: {}, Includes: {}, " +
+                "Excludes: {}, Instructions: {}", isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+
+        var filter = new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        return mergeById(shards.scatter(shard -> shard.findAll(filter, 0)));
+    }
+
+    @Override
+    public List<RecipeEntity> searchTopRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        log.debug("Searching top {} recipes in shards, ranked by relevance: {}", limit, rankByRelevance);
+        var filter = new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+
+        if (!rankByRelevance) {
+            return mergeById(shards.scatter(shard -> shard.findAll(filter, limit))).stream().limit(limit).toList();
+        }
+
+        var scorer = new RelevanceScorer(includeIngredients, instructionText, recipePopularity::popularity);
+        var topK = new TopK<>(limit, ScoredRecipeId.RANKING);
+        shards.scatter(shard -> shard.findMostRelevantIds(filter, scorer, limit))
+                .forEach(best -> best.forEach(topK::offer));
+        var ids = topK.toList().stream().map(ScoredRecipeId::id).toList();
+        return loadInOrder(ids);
+    }
+
+    @Override
+    public int[] searchRecipeIds(Boolean isVegetarian,
+                                 ServingsFilter servings,
+                                 List<String> includeIngredients,
+                                 List<String> excludeIngredients,
+                                 String instructionText) {
+
+        var filter = new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        return shards.scatter(shard -> shard.findIds(filter)).stream()
+                .flatMapToInt(Arrays::stream)
+                .sorted()
+                .toArray();
+    }
+
+    @Override
+    public long countRecipes(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText) {
+
+        var filter = new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        return shards.scatter(shard -> shard.count(filter)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public boolean recipesExist(Boolean isVegetarian,
+                                ServingsFilter servings,
+                                List<String> includeIngredients,
+                                List<String> excludeIngredients,
+                                String instructionText) {
+
+        var filter = new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                instructionText);
+        return shards.scatter(shard -> shard.exists(filter)).contains(Boolean.TRUE);
+    }
+
+    /**
+     * Merges the results of the shards, each in ID order, into one list in ID order.
+     */
+    private static List<RecipeEntity> mergeById(List<List<RecipeEntity>> results) {
+        List<RecipeEntity> merged = new ArrayList<>(results.stream().mapToInt(List::size).sum());
+        results.forEach(merged::addAll);
+        merged.sort(BY_ID);
+        return merged;
+    }
+
+    private void validate(RecipeEntity recipe) {
+        var violations = validator.validate(recipe);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * Copies a recipe with its own ingredient list and the signature the JPA entity listener would persist.
+     */
+    private static RecipeEntity copy(RecipeEntity recipe) {
+        List<String> ingredients = recipe.getIngredients() == null ? null : new ArrayList<>(recipe.getIngredients());
+        return RecipeEntity.builder()
+                .id(recipe.getId())
+                .name(recipe.getName())
+                .isVegetarian(recipe.getIsVegetarian())
+                .servings(recipe.getServings())
+                .ingredients(ingredients)
+                .instructions(recipe.getInstructions())
+                .ingredientSignature(MinHash.encode(MinHash.signature(ingredients)))
+                .build();
+    }
+}
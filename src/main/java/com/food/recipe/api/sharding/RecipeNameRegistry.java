@@ -0,0 +1,79 @@
+package com.food.recipe.api.sharding;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.OptionalInt;
+
+/**
+ * The name-index shard: one table reserving every recipe name for the ID of its recipe, and the sequence handing
+ * out recipe IDs, so names stay unique and IDs are never reused across all shards.
+ * <p>
+ * A name is reserved before the recipe is written to its shard and released after the recipe is gone from it.
+ * A failure in between leaves at worst a stale reservation blocking the name, never two recipes with one name.
+ */
+public class RecipeNameRegistry implements Closeable {
+
+    private static final String RESERVE_WITH_NEW_ID = """
+            INSERT INTO recipe_names (name, recipe_id) VALUES (:name, nextval('recipe_id_seq'))
+            ON CONFLICT (name) DO NOTHING
+            RETURNING recipe_id""";
+
+    private static final String RESERVE = """
+            INSERT INTO recipe_names (name, recipe_id) VALUES (:name, :id)
+            ON CONFLICT (name) DO NOTHING""";
+
+    private static final String RELEASE = "DELETE FROM recipe_names WHERE name = :name AND recipe_id = :id";
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public RecipeNameRegistry(DataSource dataSource, Duration queryTimeout) {
+        this.dataSource = dataSource;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.jdbc.getJdbcTemplate().setQueryTimeout((int) Math.max(1, queryTimeout.toSeconds()));
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Reserves the name for a new recipe and allocates its ID in the same statement.
+     *
+     * @return the ID of the new recipe, or empty if the name is taken
+     */
+    public OptionalInt reserveWithNewId(String name) {
+        return jdbc.queryForList(RESERVE_WITH_NEW_ID, new MapSqlParameterSource("name", name), Integer.class)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .findFirst();
+    }
+
+    /**
+     * Reserves the name for an existing recipe which is renamed.
+     *
+     * @return {@code false} if the name is taken
+     */
+    public boolean reserve(String name, int id) {
+        return jdbc.update(RESERVE, new MapSqlParameterSource("name", name).addValue("id", id)) == 1;
+    }
+
+    /**
+     * Releases the name if it is reserved for the given recipe, so a late release never frees the name of another.
+     */
+    public void release(String name, int id) {
+        jdbc.update(RELEASE, new MapSqlParameterSource("name", name).addValue("id", id));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
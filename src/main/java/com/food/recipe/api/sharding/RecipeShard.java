@@ -0,0 +1,270 @@
+package com.food.recipe.api.sharding;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.TopK;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * One of the databases holding a share of the recipes, accessed with plain JDBC in the tables of the JPA mapping.
+ * <p>
+ * Recipes are read together with their ingredients in one query, joining the recipes selected by an inner query,
+ * so a limit applies to recipes rather than to ingredient rows. Writes of a recipe and its ingredients are atomic
+ * on the shard.
+ */
+public class RecipeShard implements Closeable {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_RECIPES = """
+            SELECT r.id, r.name, r.is_vegetarian, r.servings, r.instructions, r.ingredient_signature, i.ingredients
+            FROM recipes_table r LEFT JOIN recipe_entity_ingredients i ON i.recipe_entity_id = r.id
+            WHERE r.id IN (%s)
+            ORDER BY r.id""";
+
+    private static final String INSERT_RECIPE = """
+            INSERT INTO recipes_table (id, name, is_vegetarian, servings, instructions, ingredient_signature)
+            VALUES (:id, :name, :isVegetarian, :servings, :instructions, :ingredientSignature)""";
+
+    private static final String UPDATE_RECIPE = """
+            UPDATE recipes_table
+            SET name = :name, is_vegetarian = :isVegetarian, servings = :servings, instructions = :instructions,
+                ingredient_signature = :ingredientSignature
+            WHERE id = :id""";
+
+    private static final String INSERT_INGREDIENT =
+            "INSERT INTO recipe_entity_ingredients (recipe_entity_id, ingredients) VALUES (:id, :ingredient)";
+
+    private static final String DELETE_INGREDIENTS = "DELETE FROM recipe_entity_ingredients WHERE recipe_entity_id = :id";
+
+    private final int number;
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+
+    /**
+     * @param number       position of the shard in {@code recipe.sharding.shards}
+     * @param queryTimeout statements running longer are cancelled
+     */
+    public RecipeShard(int number, DataSource dataSource, Duration queryTimeout) {
+        this.number = number;
+        this.dataSource = dataSource;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.jdbc.getJdbcTemplate().setQueryTimeout((int) Math.max(1, queryTimeout.toSeconds()));
+        this.jdbc.getJdbcTemplate().setFetchSize(FETCH_SIZE);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public int number() {
+        return number;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public Optional<RecipeEntity> findById(int id) {
+        return findAllByIdIn(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * @return the recipes with the given IDs which are stored on this shard, in ID order
+     */
+    public List<RecipeEntity> findAllByIdIn(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return load(":ids", new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * @param limit maximum number of recipes, or 0 for all
+     * @return the matching recipes with the lowest IDs, in ID order
+     */
+    public List<RecipeEntity> findAll(RecipeShardFilter filter, int limit) {
+        String ids = "SELECT r.id FROM recipes_table r WHERE " + filter.condition()
+                + (limit > 0 ? " ORDER BY r.id LIMIT " + limit : "");
+        return load(ids, filter.parameters());
+    }
+
+    public int[] findIds(RecipeShardFilter filter) {
+        return jdbc.queryForList("SELECT r.id FROM recipes_table r WHERE " + filter.condition() + " ORDER BY r.id",
+                        filter.parameters(), Integer.class)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public long count(RecipeShardFilter filter) {
+        Long count = jdbc.queryForObject("SELECT count(*) FROM recipes_table r WHERE " + filter.condition(),
+                filter.parameters(), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public boolean exists(RecipeShardFilter filter) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM recipes_table r WHERE " + filter.condition() + ")",
+                filter.parameters(), Boolean.class));
+    }
+
+    /**
+     * Scores the matching recipes of this shard from plain numbers computed in the database, as
+     * {@code RecipeSearchRepository} does, and keeps the best {@code limit} in a bounded heap.
+     *
+     * @return the best matches of this shard, best first
+     */
+    public List<ScoredRecipeId> findMostRelevantIds(RecipeShardFilter filter, RelevanceScorer scorer, int limit) {
+        String positions = scorer.getSearchText() == null ? "0, 0"
+                : "strpos(lower(r.name), :searchText), strpos(lower(r.instructions), :searchText)";
+        String sql = "SELECT r.id, (SELECT count(*) FROM recipe_entity_ingredients i WHERE i.recipe_entity_id = r.id), "
+                + positions + " FROM recipes_table r WHERE " + filter.condition();
+        var parameters = filter.parameters();
+        if (scorer.getSearchText() != null) {
+            parameters = new MapSqlParameterSource(parameters.getValues()).addValue("searchText", scorer.getSearchText());
+        }
+
+        var topK = new TopK<>(limit, ScoredRecipeId.RANKING);
+        jdbc.query(sql, parameters, (RowCallbackHandler) row -> topK.offer(new ScoredRecipeId(row.getInt(1),
+                scorer.score(row.getInt(1), row.getInt(2), row.getInt(3), row.getInt(4)))));
+        return topK.toList();
+    }
+
+    /**
+     * Streams every recipe of the shard in ID order through a cursor, without holding them all.
+     */
+    public void forEach(Consumer<RecipeEntity> action) {
+        transactions.executeWithoutResult(status -> {
+            var folder = new RecipeFolder(action);
+            jdbc.query(SELECT_RECIPES.formatted("SELECT r.id FROM recipes_table r"), new MapSqlParameterSource(),
+                    folder);
+            folder.finish();
+        });
+    }
+
+    /**
+     * Inserts the recipe, which already has its ID, with its ingredients.
+     */
+    public void insert(RecipeEntity recipe) {
+        transactions.executeWithoutResult(status -> {
+            jdbc.update(INSERT_RECIPE, recipeParameters(recipe));
+            insertIngredients(recipe);
+        });
+    }
+
+    /**
+     * Replaces the stored recipe with the same ID and its ingredients.
+     *
+     * @return {@code false} if the recipe is not stored on this shard
+     */
+    public boolean update(RecipeEntity recipe) {
+        return Boolean.TRUE.equals(transactions.execute(status -> {
+            if (jdbc.update(UPDATE_RECIPE, recipeParameters(recipe)) == 0) {
+                return false;
+            }
+            jdbc.update(DELETE_INGREDIENTS, new MapSqlParameterSource("id", recipe.getId()));
+            insertIngredients(recipe);
+            return true;
+        }));
+    }
+
+    /**
+     * @return {@code false} if the recipe is not stored on this shard
+     */
+    public boolean delete(int id) {
+        var parameters = new MapSqlParameterSource("id", id);
+        return Boolean.TRUE.equals(transactions.execute(status -> {
+            jdbc.update(DELETE_INGREDIENTS, parameters);
+            return jdbc.update("DELETE FROM recipes_table WHERE id = :id", parameters) > 0;
+        }));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private List<RecipeEntity> load(String idQuery, SqlParameterSource parameters) {
+        List<RecipeEntity> recipes = new ArrayList<>();
+        var folder = new RecipeFolder(recipes::add);
+        jdbc.query(SELECT_RECIPES.formatted(idQuery), parameters, folder);
+        folder.finish();
+        return recipes;
+    }
+
+    private void insertIngredients(RecipeEntity recipe) {
+        SqlParameterSource[] rows = recipe.getIngredients().stream()
+                .map(ingredient -> new MapSqlParameterSource("id", recipe.getId()).addValue("ingredient", ingredient))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate(INSERT_INGREDIENT, rows);
+    }
+
+    private static MapSqlParameterSource recipeParameters(RecipeEntity recipe) {
+        return new MapSqlParameterSource("id", recipe.getId())
+                .addValue("name", recipe.getName())
+                .addValue("isVegetarian", recipe.getIsVegetarian())
+                .addValue("servings", recipe.getServings())
+                .addValue("instructions", recipe.getInstructions())
+                .addValue("ingredientSignature", MinHash.encode(MinHash.signature(recipe.getIngredients())));
+    }
+
+    /**
+     * Folds the joined rows, one per ingredient and ordered by recipe ID, into recipes.
+     */
+    private static final class RecipeFolder implements RowCallbackHandler {
+
+        private final Consumer<RecipeEntity> action;
+        private RecipeEntity current;
+
+        RecipeFolder(Consumer<RecipeEntity> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException {
+            int id = row.getInt("id");
+            if (current == null || current.getId() != id) {
+                finish();
+                current = RecipeEntity.builder()
+                        .id(id)
+                        .name(row.getString("name"))
+                        .isVegetarian(row.getBoolean("is_vegetarian"))
+                        .servings(row.getInt("servings"))
+                        .instructions(row.getString("instructions"))
+                        .ingredientSignature(row.getBytes("ingredient_signature"))
+                        .ingredients(new ArrayList<>())
+                        .build();
+            }
+            String ingredient = row.getString("ingredients");
+            if (ingredient != null) {
+                current.getIngredients().add(ingredient);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                action.accept(current);
+                current = null;
+            }
+        }
+    }
+}
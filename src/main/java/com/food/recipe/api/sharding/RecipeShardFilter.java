@@ -0,0 +1,104 @@
+package com.food.recipe.api.sharding;
+
+import com.food.recipe.api.search.ServingsFilter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The search filters as a SQL condition on {@code recipes_table r}, with the semantics of
+ * {@code RecipesSpecificationBuilder}: the vegetarian and servings filters are predicates on the
+ * {@code (is_vegetarian, servings)} index, ingredients must match exactly and the instruction text is searched
+ * case-insensitively. Every shard runs the same condition, and so does the R2DBC repository of
+ * {@code ReactiveRecipeApplication}.
+ */
+public class RecipeShardFilter {
+
+    private static final String HAS_INGREDIENT = "EXISTS (SELECT 1 FROM recipe_entity_ingredients i "
+            + "WHERE i.recipe_entity_id = r.id AND i.ingredients = :%s)";
+
+    private final String condition;
+    private final MapSqlParameterSource parameters = new MapSqlParameterSource();
+
+    public RecipeShardFilter(Boolean isVegetarian,
+                             ServingsFilter servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instructionText) {
+
+        List<String> predicates = new ArrayList<>();
+
+        if (isVegetarian != null) {
+            predicates.add("r.is_vegetarian = :vegetarian");
+            parameters.addValue("vegetarian", isVegetarian);
+        } else if (servings != null) {
+            // Gives the index a condition on its leading column, as the JPA search does.
+            predicates.add("r.is_vegetarian IN (true, false)");
+        }
+
+        if (servings != null) {
+            predicates.add(servingsPredicate(servings));
+        }
+
+        addIngredientPredicates(predicates, includeIngredients, "include", false);
+        addIngredientPredicates(predicates, excludeIngredients, "exclude", true);
+
+        if (StringUtils.hasText(instructionText)) {
+            predicates.add("lower(r.instructions) LIKE :instructionText");
+            parameters.addValue("instructionText", "%" + instructionText.toLowerCase(Locale.ROOT) + "%");
+        }
+
+        this.condition = predicates.isEmpty() ? "TRUE" : String.join(" AND ", predicates);
+    }
+
+    /**
+     * @return a condition on {@code recipes_table r} referring to the named {@link #parameters()}
+     */
+    public String condition() {
+        return condition;
+    }
+
+    /**
+     * @return the values of the condition; callers may add their own, which must not start with the names used
+     * here
+     */
+    public MapSqlParameterSource parameters() {
+        return parameters;
+    }
+
+    private String servingsPredicate(ServingsFilter servings) {
+        if (servings.isListed()) {
+            List<Integer> values = servings.allowedValues();
+            if (values.isEmpty()) {
+                return "FALSE";
+            }
+            parameters.addValue("servings", values);
+            return "r.servings IN (:servings)";
+        }
+        if (servings.min() != null) {
+            parameters.addValue("servingsMin", servings.min());
+        }
+        if (servings.max() != null) {
+            parameters.addValue("servingsMax", servings.max());
+        }
+        if (servings.min() != null && servings.max() != null) {
+            return "r.servings BETWEEN :servingsMin AND :servingsMax";
+        }
+        return servings.min() != null ? "r.servings >= :servingsMin" : "r.servings <= :servingsMax";
+    }
+
+    private void addIngredientPredicates(List<String> predicates, List<String> ingredients, String prefix,
+                                         boolean exclude) {
+        if (ingredients == null) {
+            return;
+        }
+        for (int i = 0; i < ingredients.size(); i++) {
+            String name = prefix + i;
+            parameters.addValue(name, ingredients.get(i));
+            predicates.add((exclude ? "NOT " : "") + HAS_INGREDIENT.formatted(name));
+        }
+    }
+}
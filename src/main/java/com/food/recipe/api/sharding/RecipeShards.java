@@ -0,0 +1,139 @@
+package com.food.recipe.api.sharding;
+
+import com.food.recipe.api.config.RecipeShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * The recipe shards of the {@code sharded} profile and the {@link RecipeNameRegistry} next to them.
+ * <p>
+ * A recipe lives on the shard selected by a hash of its ID, so point operations go to exactly one shard. Queries
+ * over all recipes are {@linkplain #scatter scattered} to every shard in parallel, on virtual threads since each
+ * of them only waits for its database; the connection pools bound the load on the databases. The pools are not
+ * beans, so the JPA auto-configuration stays off; they report their metrics as {@code hikaricp.*} with the pool
+ * names {@code shard-0}, {@code shard-1}, ... and {@code name-index}. The schemas are created when missing.
+ */
+@Slf4j
+@Component
+@Profile("sharded")
+public class RecipeShards implements DisposableBean {
+
+    private final List<RecipeShard> shards;
+    private final RecipeNameRegistry names;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RecipeShards(RecipeShardingProperties properties, MeterRegistry meterRegistry) {
+        if (CollectionUtils.isEmpty(properties.shards()) || properties.nameIndex() == null) {
+            throw new IllegalStateException("recipe.sharding.shards and recipe.sharding.name-index must be set");
+        }
+        List<RecipeShard> configured = new ArrayList<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            var dataSource = pool("shard-" + i, properties.shards().get(i), meterRegistry);
+            initialize(dataSource, "sharding/recipe-shard-schema.sql");
+            configured.add(new RecipeShard(i, dataSource, properties.queryTimeout()));
+        }
+        var nameIndex = pool("name-index", properties.nameIndex(), meterRegistry);
+        initialize(nameIndex, "sharding/name-index-schema.sql");
+
+        this.shards = List.copyOf(configured);
+        this.names = new RecipeNameRegistry(nameIndex, properties.queryTimeout());
+        log.info("Storing recipes in {} shards.", shards.size());
+    }
+
+    RecipeShards(List<RecipeShard> shards, RecipeNameRegistry names) {
+        this.shards = List.copyOf(shards);
+        this.names = names;
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public RecipeNameRegistry names() {
+        return names;
+    }
+
+    /**
+     * @return the shard storing the recipe with the given ID
+     */
+    public RecipeShard shardFor(int id) {
+        return shards.get(shardIndex(id, shards.size()));
+    }
+
+    /**
+     * Runs the query on every shard in parallel.
+     *
+     * @return the result of every shard, in shard order
+     */
+    public <T> List<T> scatter(Function<RecipeShard, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Spreads consecutive IDs evenly with the finalizer of MurmurHash3, which mixes every input bit into every
+     * output bit.
+     */
+    static int shardIndex(int id, int shardCount) {
+        int hash = id;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        executor.close();
+        for (RecipeShard shard : shards) {
+            shard.close();
+        }
+        names.close();
+    }
+
+    private static HikariDataSource pool(String name, RecipeShardingProperties.Database database,
+                                         MeterRegistry meterRegistry) {
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(database.url());
+        dataSource.setUsername(database.username());
+        dataSource.setPassword(database.password());
+        dataSource.setMaximumPoolSize(database.maxPoolSize());
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+
+    private static void initialize(DataSource dataSource, String schema) {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(schema)), dataSource);
+    }
+}
@@ -0,0 +1,16 @@
+package com.food.recipe.api.sharding;
+
+import java.util.Comparator;
+
+/**
+ * A recipe ID with its relevance score, as ranked on a shard and merged across shards.
+ */
+public record ScoredRecipeId(int id, double score) {
+
+    /**
+     * Best score first, lower ID first among equal scores, like the unsharded ranking.
+     */
+    public static final Comparator<ScoredRecipeId> RANKING = Comparator.comparingDouble(ScoredRecipeId::score)
+            .reversed()
+            .thenComparingInt(ScoredRecipeId::id);
+}
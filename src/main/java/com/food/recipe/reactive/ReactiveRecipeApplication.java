@@ -0,0 +1,29 @@
+package com.food.recipe.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Entry point of the non-blocking deployment of the recipe API: the CRUD and search endpoints of
+ * {@code /api/v1/recipes} as WebFlux handler functions on Netty, reading and writing the tables of the JPA mapping
+ * through R2DBC. It lives outside {@code com.food.recipe.api}, so it shares the models, mappers and search filters of
+ * {@code RecipeApplication} without picking up its servlet and JPA beans. Its settings are in
+ * {@code application-reactive.yml}.
+ * <p>
+ * The endpoints answered from the in-memory indexes of {@code RecipeApplication} (facets, pantry, lookup, similar,
+ * trending, autocomplete and co-occurrences) are not part of it. Its writes do not reach those indexes either, so
+ * it must not share a database with {@code RecipeApplication}.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveRecipeApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveRecipeApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
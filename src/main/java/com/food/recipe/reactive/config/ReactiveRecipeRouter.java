@@ -0,0 +1,35 @@
+package com.food.recipe.reactive.config;
+
+import com.food.recipe.reactive.handler.ReactiveRecipeErrorHandler;
+import com.food.recipe.reactive.handler.ReactiveRecipeHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes the {@code /api/v1/recipes} CRUD and search requests to the {@link ReactiveRecipeHandler}. The search
+ * routes come before {@code /{id}}, which would match them as well.
+ */
+@Configuration
+public class ReactiveRecipeRouter {
+
+    static final String RECIPES = "/api/v1/recipes";
+
+    @Bean
+    public RouterFunction<ServerResponse> recipeRoutes(ReactiveRecipeHandler handler,
+                                                       ReactiveRecipeErrorHandler errorHandler) {
+        return RouterFunctions.route()
+                .POST(RECIPES, handler::createRecipe)
+                .GET(RECIPES, handler::getAllRecipes)
+                .GET(RECIPES + "/search", handler::searchRecipes)
+                .GET(RECIPES + "/search/count", handler::countRecipes)
+                .GET(RECIPES + "/search/exists", handler::recipesExist)
+                .GET(RECIPES + "/{id}", handler::getRecipeById)
+                .PUT(RECIPES + "/{id}", handler::updateRecipe)
+                .DELETE(RECIPES + "/{id}", handler::deleteRecipe)
+                .onError(Throwable.class, errorHandler::handle)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.food.recipe.reactive.handler;
+
+import com.food.recipe.api.errorhandler.ErrorResponse;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.exception.NoRecipesFoundException;
+import com.food.recipe.api.exception.RecipeNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps the failures of the {@link ReactiveRecipeHandler} functions to the status codes and {@link ErrorResponse}
+ * bodies which {@code RecipeErrorHandler} gives for the same exceptions.
+ */
+@Slf4j
+@Component
+public class ReactiveRecipeErrorHandler {
+
+    public Mono<ServerResponse> handle(Throwable exception, ServerRequest request) {
+        if (exception instanceof DuplicateRecipeException) {
+            log.info("The DuplicateRecipeException Occurred: {}", exception.getMessage());
+            return createErrorResponse(HttpStatus.CONFLICT, exception.getMessage());
+        }
+        // Not-found outcomes are expected control flow and logged at debug level only.
+        if (exception instanceof EntityNotFoundException || exception instanceof RecipeNotFoundException
+                || exception instanceof NoRecipesFoundException) {
+            log.debug("The not found exception Occurred: {}", exception.getMessage());
+            return createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
+        }
+        if (exception instanceof BindingResult bindingResult) {
+            String errors = bindingResult.getFieldErrors()
+                    .stream()
+                    .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return createErrorResponse(HttpStatus.BAD_REQUEST, errors);
+        }
+        if (exception instanceof ResponseStatusException statusException) {
+            log.debug("The request was answered with {}: {}", statusException.getStatusCode(),
+                    statusException.getReason());
+            return createErrorResponse(statusException.getStatusCode(), statusException.getReason() != null
+                    ? statusException.getReason() : exception.getMessage());
+        }
+        if (exception instanceof DataIntegrityViolationException) {
+            log.error("The data integrity exception Occurred.", exception);
+            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
+        }
+        log.error("The request to {} failed.", request.path(), exception);
+        return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
+    }
+
+    private static Mono<ServerResponse> createErrorResponse(HttpStatusCode status, String message) {
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(status.value(), message));
+    }
+}
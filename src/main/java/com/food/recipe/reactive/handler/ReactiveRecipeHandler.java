@@ -0,0 +1,190 @@
+package com.food.recipe.reactive.handler;
+
+import com.food.recipe.api.errorhandler.ErrorResponse;
+import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.RecipeSearchFilterRequest;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.reactive.service.ReactiveRecipeService;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * Handler functions of the {@code /api/v1/recipes} CRUD and search endpoints, answering like
+ * {@code RecipeController}: request bodies are checked against the bean validation constraints of
+ * {@link RecipeRequestDto}, search parameters are bound to {@link RecipeSearchFilterRequest}, and expected not-found
+ * outcomes are built as responses directly. Failures are mapped by {@link ReactiveRecipeErrorHandler}.
+ * <p>
+ * Lists are collected before they are written, so an empty result can still be answered with 404.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveRecipeHandler {
+
+    /**
+     * Limit of a ranked search without one, as in {@code RecipeController}.
+     */
+    static final int DEFAULT_SEARCH_LIMIT = 50;
+    static final int MAX_SEARCH_LIMIT = 1000;
+
+    private final ReactiveRecipeService recipeService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createRecipe(ServerRequest request) {
+        return validBody(request)
+                .flatMap(recipeService::createRecipe)
+                .flatMap(createdRecipe -> {
+                    log.debug("Created recipe: {}", createdRecipe);
+                    return ServerResponse.status(HttpStatus.CREATED).bodyValue(createdRecipe);
+                });
+    }
+
+    public Mono<ServerResponse> updateRecipe(ServerRequest request) {
+        return Mono.defer(() -> {
+            int id = id(request);
+            return validBody(request)
+                    .flatMap(requestDto -> recipeService.updateRecipe(id, requestDto))
+                    .flatMap(updatedRecipe -> {
+                        log.debug("Updated recipe with ID :{}, {}", updatedRecipe, id);
+                        return ServerResponse.ok().bodyValue(updatedRecipe);
+                    });
+        });
+    }
+
+    public Mono<ServerResponse> deleteRecipe(ServerRequest request) {
+        return Mono.defer(() -> recipeService.deleteRecipe(id(request)))
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> getAllRecipes(ServerRequest request) {
+        return recipeService.findAllRecipes()
+                .collectList()
+                .flatMap(recipes -> recipes.isEmpty() ? notFound("No recipes found")
+                        : ServerResponse.ok().bodyValue(recipes));
+    }
+
+    public Mono<ServerResponse> getRecipeById(ServerRequest request) {
+        return Mono.defer(() -> {
+            int id = id(request);
+            if (id < 1) {
+                throw new ServerWebInputException("getRecipeById.id: must be greater than or equal to 1");
+            }
+            return recipeService.findRecipeById(id)
+                    .flatMap(recipe -> ServerResponse.ok().bodyValue(recipe))
+                    .switchIfEmpty(Mono.defer(() -> notFound("Record not found for given ID. " + id)));
+        });
+    }
+
+    public Mono<ServerResponse> searchRecipes(ServerRequest request) {
+        return Mono.defer(() -> {
+            Integer limit = limit(request);
+            boolean rankByRelevance = rankByRelevance(request);
+            // Without limit and sort every match is returned, as by RecipeController.
+            int effectiveLimit = limit != null ? limit : rankByRelevance ? DEFAULT_SEARCH_LIMIT : 0;
+
+            return request.bind(RecipeSearchFilterRequest.class)
+                    .flatMap(filter -> recipeService.searchRecipes(filter.isVegetarian(), servings(filter),
+                                    filter.includeIngredients(), filter.excludeIngredients(), filter.instructionText(),
+                                    effectiveLimit, rankByRelevance)
+                            .collectList())
+                    .flatMap(filtered -> {
+                        log.debug("Filtered recipes: {}", filtered);
+                        return filtered.isEmpty() ? ServerResponse.notFound().build()
+                                : ServerResponse.ok().bodyValue(filtered);
+                    });
+        });
+    }
+
+    public Mono<ServerResponse> countRecipes(ServerRequest request) {
+        return request.bind(RecipeSearchFilterRequest.class)
+                .flatMap(filter -> recipeService.countRecipes(filter.isVegetarian(), servings(filter),
+                        filter.includeIngredients(), filter.excludeIngredients(), filter.instructionText()))
+                .flatMap(count -> ServerResponse.ok().bodyValue(count));
+    }
+
+    public Mono<ServerResponse> recipesExist(ServerRequest request) {
+        return request.bind(RecipeSearchFilterRequest.class)
+                .flatMap(filter -> recipeService.recipesExist(filter.isVegetarian(), servings(filter),
+                        filter.includeIngredients(), filter.excludeIngredients(), filter.instructionText()))
+                .flatMap(exists -> ServerResponse.ok().bodyValue(exists));
+    }
+
+    /**
+     * Reads the request body and checks it against the constraints of {@link RecipeRequestDto}, reporting every
+     * violation as {@code field: message} like {@code RecipeErrorHandler}.
+     */
+    private Mono<RecipeRequestDto> validBody(ServerRequest request) {
+        return request.bodyToMono(RecipeRequestDto.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .<RecipeRequestDto>handle((requestDto, sink) -> {
+                    String violations = validator.validate(requestDto).stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", "));
+                    if (violations.isEmpty()) {
+                        sink.next(requestDto);
+                    } else {
+                        sink.error(new ServerWebInputException(violations));
+                    }
+                });
+    }
+
+    private static int id(ServerRequest request) {
+        String id = request.pathVariable("id");
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException ex) {
+            throw new ServerWebInputException("Invalid recipe ID: " + id);
+        }
+    }
+
+    private static Integer limit(ServerRequest request) {
+        return request.queryParam("limit")
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException ex) {
+                        throw new ServerWebInputException("limit: must be a number");
+                    }
+                })
+                .map(limit -> {
+                    if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+                        throw new ServerWebInputException("limit: must be between 1 and " + MAX_SEARCH_LIMIT);
+                    }
+                    return limit;
+                })
+                .orElse(null);
+    }
+
+    private static boolean rankByRelevance(ServerRequest request) {
+        return request.queryParam("sort")
+                .map(sort -> {
+                    if (!"relevance".equalsIgnoreCase(sort)) {
+                        throw new ServerWebInputException("sort: must be relevance");
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private static ServingsFilter servings(RecipeSearchFilterRequest filter) {
+        return ServingsFilter.of(filter.servings(), filter.servingsMin(), filter.servingsMax());
+    }
+
+    /**
+     * Builds the 404 response for an expected not-found outcome directly, without signalling an error.
+     */
+    private static Mono<ServerResponse> notFound(String message) {
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                .bodyValue(new ErrorResponse(HttpStatus.NOT_FOUND.value(), message));
+    }
+}
@@ -0,0 +1,237 @@
+package com.food.recipe.reactive.repository;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.TopK;
+import com.food.recipe.api.sharding.RecipeShardFilter;
+import com.food.recipe.api.sharding.ScoredRecipeId;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads and writes recipes in the tables of the JPA mapping of {@link RecipeEntity} through R2DBC, without blocking a
+ * thread while a statement runs.
+ * <p>
+ * A recipe is read in one row, its ingredients aggregated into an array by a correlated subquery, so a limit
+ * applies to recipes. The search conditions are those of {@link RecipeShardFilter}, which the sharded JDBC backend
+ * runs as well. Writes of a recipe and its ingredients run in one transaction.
+ */
+@Repository
+public class ReactiveRecipeRepository {
+
+    private static final String SELECT_RECIPES = """
+            SELECT r.id, r.name, r.is_vegetarian, r.servings, r.instructions,
+                   ARRAY(SELECT i.ingredients FROM recipe_entity_ingredients i WHERE i.recipe_entity_id = r.id)
+                       AS ingredients
+            FROM recipes_table r""";
+
+    private static final String INSERT_RECIPE = """
+            INSERT INTO recipes_table (name, is_vegetarian, servings, instructions, ingredient_signature)
+            VALUES (:name, :isVegetarian, :servings, :instructions, :ingredientSignature)
+            RETURNING id""";
+
+    private static final String UPDATE_RECIPE = """
+            UPDATE recipes_table
+            SET name = :name, is_vegetarian = :isVegetarian, servings = :servings, instructions = :instructions,
+                ingredient_signature = :ingredientSignature
+            WHERE id = :id""";
+
+    private static final String INSERT_INGREDIENTS = """
+            INSERT INTO recipe_entity_ingredients (recipe_entity_id, ingredients)
+            SELECT :id, unnest(CAST(:ingredients AS varchar[]))""";
+
+    private static final String DELETE_INGREDIENTS =
+            "DELETE FROM recipe_entity_ingredients WHERE recipe_entity_id = :id";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactions;
+
+    public ReactiveRecipeRepository(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.transactions = TransactionalOperator.create(transactionManager);
+    }
+
+    public Mono<RecipeEntity> findById(int id) {
+        return databaseClient.sql(SELECT_RECIPES + " WHERE r.id = :id")
+                .bind("id", id)
+                .map(ReactiveRecipeRepository::toRecipe)
+                .one();
+    }
+
+    /**
+     * @return the recipes with the given IDs, in ID order
+     */
+    public Flux<RecipeEntity> findAllByIdIn(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_RECIPES + " WHERE r.id IN (:ids) ORDER BY r.id")
+                .bind("ids", ids)
+                .map(ReactiveRecipeRepository::toRecipe)
+                .all();
+    }
+
+    /**
+     * @param limit maximum number of recipes, or 0 for all
+     * @return the matching recipes with the lowest IDs, in ID order
+     */
+    public Flux<RecipeEntity> findAll(RecipeShardFilter filter, int limit) {
+        String sql = SELECT_RECIPES + " WHERE " + filter.condition() + " ORDER BY r.id"
+                + (limit > 0 ? " LIMIT " + limit : "");
+        return databaseClient.sql(sql)
+                .bindValues(filter.parameters().getValues())
+                .map(ReactiveRecipeRepository::toRecipe)
+                .all();
+    }
+
+    public Mono<Long> count(RecipeShardFilter filter) {
+        return databaseClient.sql("SELECT count(*) FROM recipes_table r WHERE " + filter.condition())
+                .bindValues(filter.parameters().getValues())
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> exists(RecipeShardFilter filter) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM recipes_table r WHERE " + filter.condition() + ")")
+                .bindValues(filter.parameters().getValues())
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsByName(String name) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM recipes_table WHERE name = :name)")
+                .bind("name", name)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * Scores the matching recipes from plain numbers computed in the database, as {@code RecipeSearchRepository}
+     * does, and keeps the best {@code limit} in a bounded heap while the rows arrive.
+     *
+     * @return the best matches, best first
+     */
+    public Flux<RecipeEntity> findMostRelevant(RecipeShardFilter filter, RelevanceScorer scorer, int limit) {
+        String positions = scorer.getSearchText() == null ? "0, 0"
+                : "strpos(lower(r.name), :searchText), strpos(lower(r.instructions), :searchText)";
+        String sql = "SELECT r.id, (SELECT count(*) FROM recipe_entity_ingredients i WHERE i.recipe_entity_id = r.id), "
+                + positions + " FROM recipes_table r WHERE " + filter.condition();
+        Map<String, Object> parameters = new HashMap<>(filter.parameters().getValues());
+        if (scorer.getSearchText() != null) {
+            parameters.put("searchText", scorer.getSearchText());
+        }
+
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .map(row -> new ScoredRecipeId(row.get(0, Integer.class),
+                        scorer.score(row.get(1, Long.class).intValue(), row.get(2, Integer.class),
+                                row.get(3, Integer.class))))
+                .all()
+                .collect(() -> new TopK<ScoredRecipeId>(limit, ScoredRecipeId.RANKING), TopK::offer)
+                .flatMapMany(topK -> {
+                    List<Integer> ids = topK.toList().stream().map(ScoredRecipeId::id).toList();
+                    return findAllByIdIn(ids)
+                            .collectMap(RecipeEntity::getId)
+                            .flatMapIterable(byId -> ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+                });
+    }
+
+    /**
+     * Inserts the recipe with its ingredients.
+     *
+     * @return the recipe with the ID assigned by the database
+     */
+    public Mono<RecipeEntity> insert(RecipeEntity recipe) {
+        return databaseClient.sql(INSERT_RECIPE)
+                .bindValues(recipeParameters(recipe))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .flatMap(id -> insertIngredients(id, recipe.getIngredients()).thenReturn(withId(recipe, id)))
+                .as(transactions::transactional);
+    }
+
+    /**
+     * Replaces the stored recipe with the given ID and its ingredients.
+     *
+     * @return the updated recipe, or empty if there is no recipe with the ID
+     */
+    public Mono<RecipeEntity> update(int id, RecipeEntity recipe) {
+        return databaseClient.sql(UPDATE_RECIPE)
+                .bindValues(recipeParameters(recipe))
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> databaseClient.sql(DELETE_INGREDIENTS)
+                        .bind("id", id)
+                        .then()
+                        .then(insertIngredients(id, recipe.getIngredients()))
+                        .thenReturn(withId(recipe, id)))
+                .as(transactions::transactional);
+    }
+
+    /**
+     * @return {@code false} if there is no recipe with the ID
+     */
+    public Mono<Boolean> deleteById(int id) {
+        return databaseClient.sql(DELETE_INGREDIENTS)
+                .bind("id", id)
+                .then()
+                .then(databaseClient.sql("DELETE FROM recipes_table WHERE id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .map(deleted -> deleted > 0)
+                .as(transactions::transactional);
+    }
+
+    private Mono<Void> insertIngredients(int id, List<String> ingredients) {
+        return databaseClient.sql(INSERT_INGREDIENTS)
+                .bind("id", id)
+                .bind("ingredients", ingredients.toArray(String[]::new))
+                .then();
+    }
+
+    private static Map<String, Object> recipeParameters(RecipeEntity recipe) {
+        return Map.of(
+                "name", recipe.getName(),
+                "isVegetarian", recipe.getIsVegetarian(),
+                "servings", recipe.getServings(),
+                "instructions", recipe.getInstructions(),
+                "ingredientSignature", MinHash.encode(MinHash.signature(recipe.getIngredients())));
+    }
+
+    private static RecipeEntity withId(RecipeEntity recipe, int id) {
+        return RecipeEntity.builder()
+                .id(id)
+                .name(recipe.getName())
+                .isVegetarian(recipe.getIsVegetarian())
+                .servings(recipe.getServings())
+                .instructions(recipe.getInstructions())
+                .ingredients(recipe.getIngredients())
+                .build();
+    }
+
+    private static RecipeEntity toRecipe(Readable row) {
+        return RecipeEntity.builder()
+                .id(row.get("id", Integer.class))
+                .name(row.get("name", String.class))
+                .isVegetarian(row.get("is_vegetarian", Boolean.class))
+                .servings(row.get("servings", Integer.class))
+                .instructions(row.get("instructions", String.class))
+                .ingredients(List.of(row.get("ingredients", String[].class)))
+                .build();
+    }
+}
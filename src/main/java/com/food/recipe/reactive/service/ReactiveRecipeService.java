@@ -0,0 +1,138 @@
+package com.food.recipe.reactive.service;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.mapper.RecipeRequestMapper;
+import com.food.recipe.api.mapper.RecipeResponseMapper;
+import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.api.sharding.RecipeShardFilter;
+import com.food.recipe.reactive.repository.ReactiveRecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The recipe operations of {@code RecipeProcessImpl} and {@code RecipeServiceImpl} on the
+ * {@link ReactiveRecipeRepository}: requests and responses are mapped by {@link RecipeRequestMapper} and
+ * {@link RecipeResponseMapper}, and a duplicate name or an unknown ID fails with the same exceptions.
+ */
+@Slf4j
+@Service
+public class ReactiveRecipeService {
+
+    private final ReactiveRecipeRepository recipeRepository;
+
+    public ReactiveRecipeService(ReactiveRecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    public Mono<RecipesResponse> createRecipe(RecipeRequestDto requestDto) {
+        var recipe = RecipeRequestMapper.createRecipeEntity(requestDto);
+        log.debug("Persisting new recipe: {}", recipe);
+
+        return recipeRepository.existsByName(recipe.getName())
+                .flatMap(exists -> exists ? Mono.<RecipeEntity>error(duplicate(recipe.getName()))
+                        : recipeRepository.insert(recipe))
+                // Another request inserted the name between the check and the insert.
+                .onErrorMap(DuplicateKeyException.class, ex -> duplicate(recipe.getName()))
+                .map(RecipeResponseMapper::mapToResponseDto);
+    }
+
+    public Mono<RecipesResponse> updateRecipe(int id, RecipeRequestDto requestDto) {
+        var recipe = RecipeRequestMapper.createRecipeEntity(requestDto);
+        log.debug("Updating existing recipe: {}", recipe);
+
+        return recipeRepository.update(id, recipe)
+                .onErrorMap(DuplicateKeyException.class, ex -> duplicate(recipe.getName()))
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .map(RecipeResponseMapper::mapToResponseDto);
+    }
+
+    public Mono<Void> deleteRecipe(int id) {
+        log.debug("The id to delete from database :{}", id);
+        return recipeRepository.deleteById(id)
+                .flatMap(deleted -> deleted ? Mono.<Void>empty() : Mono.<Void>error(notFound(id)));
+    }
+
+    public Flux<RecipesResponse> findAllRecipes() {
+        return recipeRepository.findAll(filter(null, null, null, null, null), 0)
+                .map(RecipeResponseMapper::mapToResponseDto);
+    }
+
+    public Mono<RecipesResponse> findRecipeById(int id) {
+        return recipeRepository.findById(id).map(RecipeResponseMapper::mapToResponseDto);
+    }
+
+    /**
+     * @param limit           maximum number of recipes, or 0 for every match
+     * @param rankByRelevance whether to return the most relevant matches, best first, rather than those with the
+     *                        lowest IDs
+     */
+    public Flux<RecipesResponse> searchRecipes(Boolean isVegetarian,
+                                               ServingsFilter servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String instructionText,
+                                               int limit,
+                                               boolean rankByRelevance) {
+
+        log.debug("Searching recipes with filters - Vegetarian: {}, Servings: {}, Includes: {}, Excludes: {}," +
+                        "Instructions: {}", isVegetarian, servings, includeIngredients,
+                excludeIngredients, instructionText);
+
+        var filter = filter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+        var scorer = new RelevanceScorer(includeIngredients, instructionText);
+        var recipes = rankByRelevance ? recipeRepository.findMostRelevant(filter, scorer, limit)
+                : recipeRepository.findAll(filter, limit);
+        return recipes.map(RecipeResponseMapper::mapToResponseDto);
+    }
+
+    public Mono<SearchCountResponse> countRecipes(Boolean isVegetarian,
+                                                  ServingsFilter servings,
+                                                  List<String> includeIngredients,
+                                                  List<String> excludeIngredients,
+                                                  String instructionText) {
+
+        return recipeRepository.count(filter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                        instructionText))
+                .map(count -> SearchCountResponse.builder().count(count).build());
+    }
+
+    public Mono<SearchExistsResponse> recipesExist(Boolean isVegetarian,
+                                                   ServingsFilter servings,
+                                                   List<String> includeIngredients,
+                                                   List<String> excludeIngredients,
+                                                   String instructionText) {
+
+        return recipeRepository.exists(filter(isVegetarian, servings, includeIngredients, excludeIngredients,
+                        instructionText))
+                .map(exists -> SearchExistsResponse.builder().exists(exists).build());
+    }
+
+    private static RecipeShardFilter filter(Boolean isVegetarian,
+                                            ServingsFilter servings,
+                                            List<String> includeIngredients,
+                                            List<String> excludeIngredients,
+                                            String instructionText) {
+        return new RecipeShardFilter(isVegetarian, servings, includeIngredients, excludeIngredients, instructionText);
+    }
+
+    private static DuplicateRecipeException duplicate(String name) {
+        log.warn("Recipe with name {} already exists.", name);
+        return new DuplicateRecipeException("Recipe with name " + name + " already exists");
+    }
+
+    private static EntityNotFoundException notFound(int id) {
+        return new EntityNotFoundException("Recipe with ID " + id + " not found");
+    }
+}
@@ -0,0 +1,20 @@
+-- Converts recipes_table.instructions of a database created before the column was mapped as text. The former @Lob
+-- mapping stored the instructions as large objects referenced by an oid column, which searches by instruction text
+-- cannot lower or match, and ddl-auto: update never changes the type of an existing column.
+-- Run once with the application stopped, e.g. psql -d recipe_db -f recipe-instructions-to-text.sql. It does
+-- nothing when the column already is text, and unlinks the large objects once their text is copied.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'recipes_table'
+                 AND column_name = 'instructions' AND data_type = 'oid') THEN
+        CREATE TEMPORARY TABLE instruction_objects ON COMMIT DROP AS
+            SELECT instructions AS object_id FROM recipes_table WHERE instructions IS NOT NULL;
+
+        ALTER TABLE recipes_table
+            ALTER COLUMN instructions TYPE text USING convert_from(lo_get(instructions), 'UTF8');
+
+        PERFORM lo_unlink(object_id) FROM instruction_objects;
+    END IF;
+END
+$$;
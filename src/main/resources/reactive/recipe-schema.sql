@@ -0,0 +1,17 @@
+-- Same tables as the JPA mapping of RecipeEntity, so ReactiveRecipeApplication and RecipeApplication share a database.
+CREATE TABLE IF NOT EXISTS recipes_table (
+    id                   integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                 varchar(255) NOT NULL UNIQUE,
+    is_vegetarian        boolean      NOT NULL,
+    servings             integer      NOT NULL,
+    instructions         text         NOT NULL,
+    ingredient_signature bytea
+);
+CREATE INDEX IF NOT EXISTS idx_recipes_vegetarian_servings ON recipes_table (is_vegetarian, servings);
+
+CREATE TABLE IF NOT EXISTS recipe_entity_ingredients (
+    recipe_entity_id integer      NOT NULL REFERENCES recipes_table (id),
+    ingredients      varchar(255) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_recipe ON recipe_entity_ingredients (recipe_entity_id);
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_ingredient ON recipe_entity_ingredients (ingredients, recipe_entity_id);
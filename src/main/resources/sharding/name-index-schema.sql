@@ -0,0 +1,8 @@
+-- Global name uniqueness and ID allocation for all recipe shards. Starts empty; recipes copied into the shards
+-- must have their names added and the sequence moved past their highest ID before the first create.
+CREATE SEQUENCE IF NOT EXISTS recipe_id_seq;
+
+CREATE TABLE IF NOT EXISTS recipe_names (
+    name      varchar(255) PRIMARY KEY,
+    recipe_id integer      NOT NULL
+);
@@ -0,0 +1,18 @@
+-- Same tables as the JPA mapping of RecipeEntity. Recipes copied in from an unsharded database must also be
+-- registered in the name index, see "Moving an existing database to shards" in the README.
+CREATE TABLE IF NOT EXISTS recipes_table (
+    id                   integer PRIMARY KEY,
+    name                 varchar(255) NOT NULL UNIQUE,
+    is_vegetarian        boolean      NOT NULL,
+    servings             integer      NOT NULL,
+    instructions         text         NOT NULL,
+    ingredient_signature bytea
+);
+CREATE INDEX IF NOT EXISTS idx_recipes_vegetarian_servings ON recipes_table (is_vegetarian, servings);
+
+CREATE TABLE IF NOT EXISTS recipe_entity_ingredients (
+    recipe_entity_id integer      NOT NULL REFERENCES recipes_table (id),
+    ingredients      varchar(255) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_recipe ON recipe_entity_ingredients (recipe_entity_id);
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_ingredient ON recipe_entity_ingredients (ingredients, recipe_entity_id);
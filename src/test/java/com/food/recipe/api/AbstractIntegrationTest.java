@@ -1,32 +1,102 @@
 package com.food.recipe.api;
 
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.service.RecipeService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-@SpringBootTest
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Runs against PostgreSQL, or against the in-memory backend when started with
+ * {@code -Dspring.profiles.active=memory}, as the {@code memory-backend-test} execution of the pom does on every
+ * build. Fixtures go through the {@link RecipeService}, so the same tests cover both backends.
+ */
+// Snapshots would carry index state from one test context to the next.
+@SpringBootTest(properties = "recipe.snapshot.enabled=false")
 @Testcontainers
 public abstract class AbstractIntegrationTest {
 
+    protected static final boolean IN_MEMORY = System.getProperty("spring.profiles.active", "").contains("memory");
+
     private static final PostgreSQLContainer<?> POSTGRES;
     static   {
-        POSTGRES = new PostgreSQLContainer<>("postgres:17")
-                .withDatabaseName("recipe_db")
-                .withUsername("postgres")
-                .withPassword("root")
-                .withReuse(true);
-        POSTGRES.start();
+        if (IN_MEMORY) {
+            POSTGRES = null;
+        } else {
+            POSTGRES = new PostgreSQLContainer<>("postgres:17")
+                    .withDatabaseName("recipe_db")
+                    .withUsername("postgres")
+                    .withPassword("root")
+                    .withReuse(true);
+            POSTGRES.start();
 
-        Runtime.getRuntime().addShutdownHook(new Thread(POSTGRES::stop));
+            Runtime.getRuntime().addShutdownHook(new Thread(POSTGRES::stop));
+        }
     }
 
+    @Autowired
+    private RecipeService fixtureRecipeService;
+
     @DynamicPropertySource
     static void registerProperties(DynamicPropertyRegistry registry) {
+        if (IN_MEMORY) {
+            return;
+        }
         registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
         registry.add("spring.datasource.username", POSTGRES::getUsername);
         registry.add("spring.datasource.password", POSTGRES::getPassword);
     }
+
+    /**
+     * Performs the request and, for the asynchronous endpoints, the dispatch of their result.
+     */
+    protected static ResultActions perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    /**
+     * Creates a recipe without an ID, or updates the stored recipe with its ID.
+     */
+    protected RecipeEntity saveRecipe(RecipeEntity recipe) {
+        return recipe.getId() == null ? fixtureRecipeService.createRecipe(recipe)
+                : fixtureRecipeService.updateRecipe(recipe.getId(), recipe);
+    }
+
+    protected List<RecipeEntity> saveRecipes(List<RecipeEntity> recipes) {
+        return recipes.stream().map(this::saveRecipe).toList();
+    }
+
+    protected void deleteRecipe(RecipeEntity recipe) {
+        fixtureRecipeService.deleteRecipe(recipe.getId());
+    }
+
+    protected void deleteAllRecipes() {
+        fixtureRecipeService.getAllRecipes().forEach(this::deleteRecipe);
+    }
+
+    protected Optional<RecipeEntity> findRecipe(int id) {
+        return fixtureRecipeService.getRecipeById(id);
+    }
+
+    protected List<RecipeEntity> findAllRecipes() {
+        return fixtureRecipeService.getAllRecipes();
+    }
 }
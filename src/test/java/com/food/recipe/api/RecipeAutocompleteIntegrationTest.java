@@ -0,0 +1,76 @@
+package com.food.recipe.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeAutocompleteIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String NAMES_PATH = "/api/v1/recipes/autocomplete/names";
+    public static final String INGREDIENTS_PATH = "/api/v1/recipes/autocomplete/ingredients";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldCompleteRecipeName() throws Exception {
+        var vadaPav = saveRecipes(createRecipeEntities()).getFirst();
+
+        perform(mockMvc, get(NAMES_PATH)
+                        .param("prefix", "vad")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].text").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].recipeId").value(vadaPav.getId()));
+    }
+
+    @Test
+    void shouldCompleteMostUsedIngredientFirst_afterUpdate() throws Exception {
+        var ramen = saveRecipes(createRecipeEntities()).get(1);
+        ramen.setIngredients(List.of("Chicken", "Noodles", "Chilli"));
+        saveRecipe(ramen);
+
+        perform(mockMvc, get(INGREDIENTS_PATH)
+                        .param("prefix", "ch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].text").value("chilli"))
+                .andExpect(jsonPath("$[0].weight").value(2));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenRecipeIsDeleted() throws Exception {
+        var ramen = saveRecipes(createRecipeEntities()).get(1);
+        deleteRecipe(ramen);
+
+        perform(mockMvc, get(NAMES_PATH)
+                        .param("prefix", "🍜")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+        perform(mockMvc, get(INGREDIENTS_PATH)
+                        .param("prefix", "kim")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
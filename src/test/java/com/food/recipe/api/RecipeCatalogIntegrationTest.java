@@ -0,0 +1,62 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.catalog.MappedCatalog;
+import com.food.recipe.api.config.RecipeCatalogProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The catalog is exported from the database, so there is nothing to export with the in-memory backend.
+ */
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*memory.*")
+public class RecipeCatalogIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String CATALOG_PATH = "/actuator/catalog";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeCatalogProperties properties;
+
+    @AfterEach
+    void setup() throws Exception {
+        deleteAllRecipes();
+        Files.deleteIfExists(properties.file());
+    }
+
+    @Test
+    void shouldExportPersistedRecipes_toMappedCatalog() throws Exception {
+        var recipes = saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, post(CATALOG_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes").value(2));
+
+        var catalog = MappedCatalog.open(properties.file());
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.recipe(catalog.indexOf(recipes.get(1).getId())))
+                .usingRecursiveComparison()
+                .ignoringFields("ingredients")
+                .isEqualTo(recipes.get(1));
+        assertThat(catalog.recipe(catalog.indexOf(recipes.get(1).getId())).getIngredients())
+                .containsExactlyElementsOf(recipes.get(1).getIngredients());
+    }
+}
@@ -0,0 +1,87 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeCooccurrenceIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String COOCCURRENCES_PATH = "/api/v1/recipes/ingredients/cooccurrences";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldReturnMostFrequentlyCooccurringIngredients() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(COOCCURRENCES_PATH)
+                        .param("ingredient", "potato")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].ingredient").value("onion"))
+                .andExpect(jsonPath("$[0].recipes").value(2))
+                .andExpect(jsonPath("$[0].share").value(2 / 3.0))
+                .andExpect(jsonPath("$[1].ingredient").value("cheese"));
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() throws Exception {
+        var recipes = saveRecipes();
+        var bake = recipes.get(2);
+        bake.setIngredients(List.of("Potato", "Onion"));
+        saveRecipe(bake);
+        deleteRecipe(recipes.getFirst());
+
+        perform(mockMvc, get(COOCCURRENCES_PATH)
+                        .param("ingredient", "Potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].ingredient").value("onion"))
+                .andExpect(jsonPath("$[0].recipes").value(2))
+                .andExpect(jsonPath("$[0].share").value(1.0));
+        perform(mockMvc, get(COOCCURRENCES_PATH)
+                        .param("ingredient", "Chilli")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<RecipeEntity> saveRecipes() {
+        return saveRecipes(List.of(
+                recipe("Aloo Sabzi", List.of("Potato", "Onion", "Chilli")),
+                recipe("Potato Soup", List.of("Potato", "Onion")),
+                recipe("Potato Bake", List.of("Potato", "Cheese"))));
+    }
+
+    private static RecipeEntity recipe(String name, List<String> ingredients) {
+        return RecipeEntity.builder()
+                .name(name)
+                .isVegetarian(true)
+                .servings(2)
+                .ingredients(ingredients)
+                .instructions("Cook it.")
+                .build();
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.model.RecipeRequestDto;
-import com.food.recipe.api.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,12 +41,9 @@ public class RecipeCreateIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
-    private RecipeRepository recipeRepository;
-
     @AfterEach
     void setup() {
-        recipeRepository.deleteAll();
+        deleteAllRecipes();
     }
 
     @Test
@@ -121,7 +117,7 @@ public class RecipeCreateIntegrationTest extends AbstractIntegrationTest {
                 .toList();
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        assertEquals(threads, recipeRepository.count());
+        assertEquals(threads, findAllRecipes().size());
     }
 
     @Test
@@ -184,11 +180,11 @@ public class RecipeCreateIntegrationTest extends AbstractIntegrationTest {
         entity.setIngredients(List.of("Salt", "Pepper"));
         entity.setInstructions("Mix and cook.");
         entity.setServings(2);
-        return recipeRepository.save(entity).getId();
+        return saveRecipe(entity).getId();
     }
 
     private ResultActions postRecipe(String request) throws Exception {
-        return mockMvc.perform(post("/api/v1/recipes")
+        return perform(mockMvc, post("/api/v1/recipes")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(request)
                 .accept(MediaType.APPLICATION_JSON_VALUE));
@@ -1,7 +1,6 @@
 package com.food.recipe.api;
 
 import com.food.recipe.api.entity.RecipeEntity;
-import com.food.recipe.api.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,19 +31,16 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @Autowired
-    private RecipeRepository recipeRepository;
-
     @AfterEach
     void setup() {
-        recipeRepository.deleteAll();
+        deleteAllRecipes();
     }
 
     @Test
     void shouldDeleteRecipeSuccessfully() throws Exception {
         var id = createRecipe("Fungi Pizza", true);
 
-        mockMvc.perform(delete("/api/v1/recipes/{id}", id)
+        perform(mockMvc, delete("/api/v1/recipes/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk());
@@ -57,7 +53,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
     @Test
     void shouldReturnBadRequestWhenIdIsInvalid() throws Exception {
 
-        mockMvc.perform(delete("/api/v1/recipes/abc")
+        perform(mockMvc, delete("/api/v1/recipes/abc")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isBadRequest());
@@ -66,7 +62,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
     @Test
     void shouldReturnBadRequestWhenIdIsNull() throws Exception {
 
-        mockMvc.perform(delete("/api/v1/recipes/")
+        perform(mockMvc, delete("/api/v1/recipes/")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is4xxClientError());
@@ -77,7 +73,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
 
         createRecipe("Fungi Pizza", true);
 
-        mockMvc.perform(delete("/api/v1/recipes/999")
+        perform(mockMvc, delete("/api/v1/recipes/999")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is4xxClientError());
@@ -88,7 +84,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
 
         var id = createRecipe("Fungi Pizza", true);
 
-        mockMvc.perform(delete("/api/v1/recipes/{id}", id)
+        perform(mockMvc, delete("/api/v1/recipes/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -97,7 +93,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
 
         assertFalse(isIdExist);
 
-        mockMvc.perform(delete("/api/v1/recipes/{id}", id)
+        perform(mockMvc, delete("/api/v1/recipes/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
@@ -115,7 +111,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
         var secondId = createRecipe("Chicken Pizza", false);
         var thirdId = createRecipe("Salami Pizza", false);
 
-        mockMvc.perform(delete("/api/v1/recipes/{id}", secondId)
+        perform(mockMvc, delete("/api/v1/recipes/{id}", secondId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk());
@@ -135,7 +131,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
         var futures = IntStream.range(0, threads)
                 .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
                     try {
-                        MvcResult mvcResult = mockMvc.perform(delete("/api/v1/recipes/{id}", id)
+                        MvcResult mvcResult = perform(mockMvc, delete("/api/v1/recipes/{id}", id)
                                         .contentType(MediaType.APPLICATION_JSON)
                                         .accept(MediaType.APPLICATION_JSON_VALUE))
                                 .andReturn();
@@ -156,7 +152,7 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
         assertEquals(1, okCount, "Exactly one thread should delete successfully");
         assertEquals(threads - 1, notFoundCount, "Remaining threads should get 404");
 
-        assertEquals(0, recipeRepository.count(), "Recipe must be deleted");
+        assertEquals(0, findAllRecipes().size(), "Recipe must be deleted");
     }
 
     private Integer createRecipe(String name, boolean isVegetarian) {
@@ -166,10 +162,10 @@ public class RecipeDeleteIntegrationTest extends AbstractIntegrationTest {
         entity.setIngredients(List.of("Salt", "Pepper"));
         entity.setInstructions("Mix and cook.");
         entity.setServings(2);
-        return recipeRepository.save(entity).getId();
+        return saveRecipe(entity).getId();
     }
 
     private boolean isIdPresent(Integer secondId) {
-        return recipeRepository.existsById(secondId);
+        return findRecipe(secondId).isPresent();
     }
 }
@@ -3,7 +3,6 @@ package com.food.recipe.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.recipe.api.entity.RecipeEntity;
-import com.food.recipe.api.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,12 +34,9 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
-    private RecipeRepository recipeRepository;
-
     @AfterEach
     void setup() {
-        recipeRepository.deleteAll();
+        deleteAllRecipes();
     }
 
     @Test
@@ -70,7 +66,7 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
     void shouldReturn400_whenGivenIdIsInvalidType() throws Exception {
         saveRecipeEntity();
 
-        mockMvc.perform(get("/api/v1/recipes/abc")
+        perform(mockMvc, get("/api/v1/recipes/abc")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
@@ -80,7 +76,7 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
     void shouldReturn400_whenGivenIdIsNegativeOrZero() throws Exception {
         saveRecipeEntity();
 
-        mockMvc.perform(get("/api/v1/recipes/-1")
+        perform(mockMvc, get("/api/v1/recipes/-1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
@@ -90,7 +86,7 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
     void shouldReturnCorrectContentType() throws Exception {
         var savedRecipeEntity = saveRecipeEntity();
 
-        mockMvc.perform(get(GET_PATH, savedRecipeEntity.getId())
+        perform(mockMvc, get(GET_PATH, savedRecipeEntity.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -100,7 +96,7 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
     @Test
     void shouldReturnBadRequestWhenIdIsNull() throws Exception {
 
-        mockMvc.perform(get("/api/v1/recipes/")
+        perform(mockMvc, get("/api/v1/recipes/")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().is4xxClientError());
@@ -109,11 +105,11 @@ public class RecipeGetByIDIntegrationTest extends AbstractIntegrationTest {
 
     private RecipeEntity saveRecipeEntity() {
         var entity = createRecipeEntity();
-        return recipeRepository.save(entity);
+        return saveRecipe(entity);
     }
 
     private ResultActions performGetRecipeByIdRequest(int id) throws Exception {
-        return mockMvc.perform(get(GET_PATH, id)
+        return perform(mockMvc, get(GET_PATH, id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON));
     }
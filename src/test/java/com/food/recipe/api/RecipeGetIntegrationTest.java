@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.recipe.api.entity.RecipeEntity;
-import com.food.recipe.api.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -41,12 +40,9 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
-    private RecipeRepository recipeRepository;
-
     @AfterEach
     void setup() {
-        recipeRepository.deleteAll();
+        deleteAllRecipes();
     }
 
     @Test
@@ -109,7 +105,7 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
 
     @Test
     void repositoryNeverReturnsNullInRealDb() {
-        var recipes = recipeRepository.findAll();
+        var recipes = findAllRecipes();
         assertThat(recipes).isNotNull();
     }
 
@@ -120,7 +116,7 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
         recipeEntity.setInstructions("");
         recipeEntity.setIngredients(List.of());
 
-        var savedEntity = recipeRepository.save(recipeEntity);
+        var savedEntity = saveRecipe(recipeEntity);
 
        performGetRecipesRequest()
                .andExpect(status().isOk())
@@ -134,7 +130,7 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
     void shouldReturnServerErrorWhenDatabaseIsUnavailable() throws Exception {
         // Stop the PostgreSQL Testcontainer manually or misconfigure the connection
 
-        mockMvc.perform(get(GET_PATH).accept(MediaType.APPLICATION_JSON))
+        perform(mockMvc, get(GET_PATH).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().is5xxServerError());
     }
 
@@ -146,13 +142,14 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
             var futures = IntStream.range(0, total)
                     .mapToObj(i -> executor.submit(() -> {
                         try {
-                            recipeRepository.save(new RecipeEntity(
+                            saveRecipe(new RecipeEntity(
                                     null,
                                     "Recipe" + i,
                                     (i % 2 == 0),
                                     (i % 10) + 1,
                                     List.of("Ingredient" + i, "Salt", "Water"),
-                                    "Instructions for Recipe " + i));
+                                    "Instructions for Recipe " + i,
+                                    null));
                         } catch (Exception e) {
                             throw new RuntimeException("Failed to insert Recipe" + i + ": " + e.getMessage(), e);
                         }
@@ -161,7 +158,7 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
                 f.get();
             }
         }
-        mockMvc.perform(get(GET_PATH).accept(MediaType.APPLICATION_JSON))
+        perform(mockMvc, get(GET_PATH).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(total));
     }
@@ -171,8 +168,8 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
 
         saveRecipeEntities();
 
-        var result1 = mockMvc.perform(get(GET_PATH)).andReturn().getResponse().getContentAsString();
-        var result2 = mockMvc.perform(get(GET_PATH)).andReturn().getResponse().getContentAsString();
+        var result1 = perform(mockMvc, get(GET_PATH)).andReturn().getResponse().getContentAsString();
+        var result2 = perform(mockMvc, get(GET_PATH)).andReturn().getResponse().getContentAsString();
 
         assertThat(result1).isEqualTo(result2);
     }
@@ -195,11 +192,11 @@ public class RecipeGetIntegrationTest extends AbstractIntegrationTest {
 
     private List<RecipeEntity> saveRecipeEntities() {
         var entities = createRecipeEntities();
-        return recipeRepository.saveAll(entities);
+        return saveRecipes(entities);
     }
 
     private ResultActions performGetRecipesRequest() throws Exception {
-        return mockMvc.perform(get(GET_PATH)
+        return perform(mockMvc, get(GET_PATH)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON));
     }
@@ -0,0 +1,66 @@
+package com.food.recipe.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeLookupIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String LOOKUP_PATH = "/api/v1/recipes/lookup";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldFindRecipe_whenNameIsMisspelled() throws Exception {
+        saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, get(LOOKUP_PATH)
+                        .param("name", "vada paw")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].recipe.ingredients[0]").value("Chutney"));
+    }
+
+    @Test
+    void shouldFindRenamedRecipe() throws Exception {
+        var ramen = saveRecipes(createRecipeEntities()).get(1);
+        ramen.setName("Miso Ramen");
+        saveRecipe(ramen);
+
+        perform(mockMvc, get(LOOKUP_PATH)
+                        .param("name", "miso ramne")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Miso Ramen"));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenNoNameIsSimilar() throws Exception {
+        saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, get(LOOKUP_PATH)
+                        .param("name", "Lasagne")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
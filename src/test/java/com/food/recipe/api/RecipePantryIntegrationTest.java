@@ -0,0 +1,87 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipePantryIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String PANTRY_PATH = "/api/v1/recipes/pantry";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldReturnRecipesMakeableFromPantry() throws Exception {
+        saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, get(PANTRY_PATH)
+                        .param("ingredients", "chicken", "noodles", "kimchi", "sauce", "potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recipe.name").value("🍜 Ramen"))
+                .andExpect(jsonPath("$[0].missingCount").value(0))
+                .andExpect(jsonPath("$[0].missingIngredients").isEmpty());
+    }
+
+    @Test
+    void shouldRankByFewestMissingIngredients_whenIngredientsMayBeMissing() throws Exception {
+        saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, get(PANTRY_PATH)
+                        .param("ingredients", "Chutney", "Potato", "Spices", "Pav", "Flour", "Onion", "Chicken", "Noodles")
+                        .param("maxMissing", "2")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].missingIngredients[0]").value("Chilli"))
+                .andExpect(jsonPath("$[1].recipe.name").value("🍜 Ramen"))
+                .andExpect(jsonPath("$[1].missingCount").value(2));
+    }
+
+    @Test
+    void shouldReflectUpdatedIngredients() throws Exception {
+        var saved = saveRecipes(createRecipeEntities());
+        RecipeEntity ramen = saved.get(1);
+        ramen.setIngredients(List.of("Rice", "Egg"));
+        saveRecipe(ramen);
+
+        perform(mockMvc, get(PANTRY_PATH)
+                        .param("ingredients", "Rice", "Egg")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("🍜 Ramen"));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenNothingCanBeMade() throws Exception {
+        saveRecipes(createRecipeEntities());
+
+        perform(mockMvc, get(PANTRY_PATH)
+                        .param("ingredients", "Potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
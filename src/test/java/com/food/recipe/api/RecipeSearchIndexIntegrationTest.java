@@ -0,0 +1,157 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.repository.RecipeRepository;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.api.service.RecipeService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with {@code EXPLAIN} that the vegetarian and servings filters can be answered from the
+ * {@code (is_vegetarian, servings)} index. Sequential scans are disabled for the plan, so the planner falls back
+ * to a full scan only if a predicate cannot use the index; a small test table would otherwise always be scanned.
+ * There is no query plan to check with the in-memory backend.
+ */
+@AutoConfigureMockMvc
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*memory.*")
+@ExtendWith(SpringExtension.class)
+public class RecipeSearchIndexIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String INDEX = "idx_recipes_vegetarian_servings";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @BeforeEach
+    void saveRecipes() {
+        recipeRepository.saveAll(IntStream.range(0, 200)
+                .mapToObj(i -> RecipeEntity.builder()
+                        .name("Recipe " + i)
+                        .isVegetarian(i % 2 == 0)
+                        .servings(1 + i % 12)
+                        .ingredients(List.of("Rice"))
+                        .instructions("Cook the rice.")
+                        .build())
+                .toList());
+        jdbcTemplate.execute("ANALYZE recipes_table");
+    }
+
+    @AfterEach
+    void setup() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void shouldUseIndex_forVegetarianAndServingsRange() throws Exception {
+        var plan = explain(() -> recipeService.countRecipes(true, ServingsFilter.between(2, 4), null, null, null));
+
+        assertIndexCondition(plan, "is_vegetarian", "servings");
+    }
+
+    @Test
+    void shouldUseIndex_forListedServingsAlone() throws Exception {
+        var plan = explain(() -> recipeService.countRecipes(null, ServingsFilter.of(List.of(2, 6), null, null),
+                null, null, null));
+
+        assertIndexCondition(plan, "servings");
+    }
+
+    @Test
+    void shouldUseIndex_forOpenServingsRangeAlone() throws Exception {
+        var plan = explain(() -> recipeService.countRecipes(null, ServingsFilter.between(10, null), null, null, null));
+
+        assertIndexCondition(plan, "servings");
+    }
+
+    /**
+     * Asserts that the plan reads {@value #INDEX} with the given columns in its {@code Index Cond}, so the filter is
+     * answered by the index rather than applied to every row it returns.
+     */
+    private static void assertIndexCondition(String plan, String... columns) {
+        assertThat(plan).contains(INDEX).doesNotContain("Seq Scan");
+        assertThat(plan.lines().map(String::strip).filter(line -> line.startsWith("Index Cond:")))
+                .as(plan)
+                .anySatisfy(condition -> assertThat(condition).contains(columns));
+    }
+
+    /**
+     * Runs the search, captures its statement and explains it with sequential scans disabled.
+     */
+    private String explain(Runnable search) throws Exception {
+        var recipeQueries = new CopyOnWriteArrayList<QueryInfo>();
+        QueryExecutionListener capture = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+                queries.stream().filter(query -> query.getQuery().contains("recipes_table")).forEach(recipeQueries::add);
+            }
+        };
+        ChainListener listeners = ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+        listeners.addListener(capture);
+        try {
+            search.run();
+        } finally {
+            listeners.getListeners().remove(capture);
+        }
+        assertThat(recipeQueries).hasSize(1);
+        QueryInfo query = recipeQueries.getFirst();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                for (ParameterSetOperation operation : query.getParametersList().getFirst()) {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    var plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}
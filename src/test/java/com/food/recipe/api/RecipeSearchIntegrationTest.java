@@ -0,0 +1,206 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeSearchIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String SEARCH_PATH = "/api/v1/recipes/search";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldRankRecipesByRelevance() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH)
+                        .param("servings", "2")
+                        .param("includeIngredients", "Potato")
+                        .param("excludeIngredients", "Fish")
+                        .param("instructionText", "boil")
+                        .param("sort", "relevance")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Boiled Potato"))
+                .andExpect(jsonPath("$[1].name").value("Potato Curry"))
+                .andExpect(jsonPath("$[2].name").value("Potato Bake"));
+    }
+
+    @Test
+    void shouldReturnOnlyTopRecipes_whenLimitIsGiven() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH)
+                        .param("servings", "2")
+                        .param("includeIngredients", "Potato")
+                        .param("excludeIngredients", "Fish")
+                        .param("instructionText", "boil")
+                        .param("sort", "relevance")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Boiled Potato"));
+    }
+
+    @Test
+    void shouldReturnFirstRecipesInIdOrder_whenOnlyLimitIsGiven() throws Exception {
+        var saved = saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH)
+                        .param("servings", "2")
+                        .param("includeIngredients", "Potato")
+                        .param("excludeIngredients", "Fish")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(saved.get(0).getId()))
+                .andExpect(jsonPath("$[1].id").value(saved.get(1).getId()));
+    }
+
+    @Test
+    void shouldCountFacetsOfMatchingRecipes() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH + "/facets")
+                        .param("includeIngredients", "Potato")
+                        .param("excludeIngredients", "Fish")
+                        .param("topIngredients", "2")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.vegetarian").value(3))
+                .andExpect(jsonPath("$.nonVegetarian").value(0))
+                .andExpect(jsonPath("$.servings[0].value").value("2"))
+                .andExpect(jsonPath("$.servings[0].count").value(3))
+                .andExpect(jsonPath("$.ingredients.length()").value(2))
+                .andExpect(jsonPath("$.ingredients[0].value").value("potato"))
+                .andExpect(jsonPath("$.ingredients[0].count").value(3))
+                .andExpect(jsonPath("$.ingredients[1].value").value("cheese"));
+    }
+
+    @Test
+    void shouldCountMatchingRecipes() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH + "/count")
+                        .param("includeIngredients", "Potato")
+                        .param("excludeIngredients", "Fish")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+    }
+
+    @Test
+    void shouldTellWhetherAnyRecipeMatches() throws Exception {
+        saveRecipes();
+
+        perform(mockMvc, get(SEARCH_PATH + "/exists")
+                        .param("includeIngredients", "Fish")
+                        .param("excludeIngredients", "Salt")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exists").value(true));
+        perform(mockMvc, get(SEARCH_PATH + "/exists")
+                        .param("includeIngredients", "Fish")
+                        .param("excludeIngredients", "Potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exists").value(false));
+    }
+
+    @Test
+    void shouldFilterByServingsRange_withoutOtherFilters() throws Exception {
+        saveRecipesServing(1, 2, 4, 8);
+
+        perform(mockMvc, get(SEARCH_PATH)
+                        .param("servingsMin", "2")
+                        .param("servingsMax", "4")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].servings").value(2))
+                .andExpect(jsonPath("$[1].servings").value(4));
+        perform(mockMvc, get(SEARCH_PATH + "/count")
+                        .param("servingsMin", "4")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    void shouldMatchAnyListedServings_withinBounds() throws Exception {
+        saveRecipesServing(1, 2, 4, 8);
+
+        perform(mockMvc, get(SEARCH_PATH)
+                        .param("servings", "1", "4", "8")
+                        .param("servingsMax", "4")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].servings").value(1))
+                .andExpect(jsonPath("$[1].servings").value(4));
+        perform(mockMvc, get(SEARCH_PATH + "/exists")
+                        .param("servings", "8")
+                        .param("servingsMax", "4")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exists").value(false));
+    }
+
+    private void saveRecipesServing(int... servings) {
+        saveRecipes(Arrays.stream(servings)
+                .mapToObj(count -> {
+                    var recipe = recipe("Serves " + count, List.of("Rice"), "Cook the rice.");
+                    recipe.setServings(count);
+                    return recipe;
+                })
+                .toList());
+    }
+
+    private List<RecipeEntity> saveRecipes() {
+        return saveRecipes(List.of(
+                recipe("Potato Bake", List.of("Potato", "Cheese", "Cream", "Garlic"),
+                        "Slice the potatoes, layer with cream and cheese, bake, then boil the leftover cream."),
+                recipe("Potato Curry", List.of("Potato", "Onion", "Spices"),
+                        "Boil the potatoes, fry the onion with spices and simmer."),
+                recipe("Boiled Potato", List.of("Potato", "Salt"),
+                        "Boil the potatoes in salted water."),
+                recipe("Fish and Potato", List.of("Potato", "Fish"),
+                        "Boil the potatoes and fry the fish.")));
+    }
+
+    private static RecipeEntity recipe(String name, List<String> ingredients, String instructions) {
+        return RecipeEntity.builder()
+                .name(name)
+                .isVegetarian(true)
+                .servings(2)
+                .ingredients(ingredients)
+                .instructions(instructions)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.index.RecipeIndexLoader;
+import com.food.recipe.api.service.impl.InMemoryRecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeSimilarIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String SIMILAR_PATH = "/api/v1/recipes/{id}/similar";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Optional<RecipeIndexLoader> recipeIndexLoader;
+
+    @Autowired
+    private Optional<InMemoryRecipeService> inMemoryRecipeService;
+
+    @AfterEach
+    void setup() {
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldFindSimilarRecipes_mostSimilarFirst() throws Exception {
+        var recipes = saveRecipes();
+
+        perform(mockMvc, get(SIMILAR_PATH, recipes.getFirst().getId())
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].recipe.name").value("Potato Curry with Garlic"))
+                .andExpect(jsonPath("$[0].similarity").value(0.8))
+                .andExpect(jsonPath("$[1].recipe.name").value("Spicy Potato Curry"));
+    }
+
+    @Test
+    void shouldPersistSignature_andReflectUpdates() throws Exception {
+        var recipes = saveRecipes();
+        var sushi = recipes.get(3);
+        sushi.setIngredients(List.of("Potato", "Onion", "Tomato", "Spices"));
+        saveRecipe(sushi);
+
+        assertThat(findRecipe(sushi.getId()).orElseThrow().getIngredientSignature())
+                .isEqualTo(MinHash.encode(MinHash.signature(sushi.getIngredients())));
+        perform(mockMvc, get(SIMILAR_PATH, recipes.getFirst().getId())
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recipe.name").value("Sushi"))
+                .andExpect(jsonPath("$[0].similarity").value(1.0));
+    }
+
+    @Test
+    void shouldFindSimilarRecipes_afterRebuildFromPersistedSignatures() throws Exception {
+        var recipes = saveRecipes();
+
+        recipeIndexLoader.ifPresentOrElse(RecipeIndexLoader::rebuild,
+                () -> inMemoryRecipeService.orElseThrow().rebuildIndexes());
+
+        perform(mockMvc, get(SIMILAR_PATH, recipes.get(1).getId())
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Potato Curry"));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenRecipeIsUnknownOrHasNoSimilarRecipe() throws Exception {
+        var recipes = saveRecipes();
+
+        perform(mockMvc, get(SIMILAR_PATH, recipes.get(3).getId())
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+        perform(mockMvc, get(SIMILAR_PATH, Integer.MAX_VALUE)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<RecipeEntity> saveRecipes() {
+        return saveRecipes(List.of(
+                recipe("Potato Curry", List.of("Potato", "Onion", "Tomato", "Spices")),
+                recipe("Potato Curry with Garlic", List.of("Potato", "Onion", "Tomato", "Spices", "Garlic")),
+                recipe("Spicy Potato Curry", List.of("Potato", "Onion", "Tomato", "Spices", "Chilli", "Ginger")),
+                recipe("Sushi", List.of("Rice", "Fish", "Seaweed", "Vinegar"))));
+    }
+
+    private static RecipeEntity recipe(String name, List<String> ingredients) {
+        return RecipeEntity.builder()
+                .name(name)
+                .isVegetarian(true)
+                .servings(2)
+                .ingredients(ingredients)
+                .instructions("Cook it.")
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.repository.RecipeViewCountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class RecipeTrendingIntegrationTest extends AbstractIntegrationTest {
+
+    public static final String RECIPES_PATH = "/api/v1/recipes/";
+    public static final String TRENDING_PATH = "/api/v1/recipes/trending";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Absent with the in-memory backend, which keeps no view counts.
+    @Autowired
+    private Optional<RecipeViewCountRepository> recipeViewCountRepository;
+
+    @Autowired
+    private RecipePopularity recipePopularity;
+
+    @AfterEach
+    void setup() {
+        findAllRecipes().forEach(recipe -> recipePopularity.forget(recipe.getId()));
+        recipePopularity.flush();
+        deleteAllRecipes();
+    }
+
+    @Test
+    void shouldCountViews_andRankMostViewedRecipeFirst() throws Exception {
+        var recipes = saveRecipes(createRecipeEntities());
+        int vadaPav = recipes.getFirst().getId();
+        int ramen = recipes.get(1).getId();
+        view(vadaPav, 1);
+        view(ramen, 3);
+        recipePopularity.flush();
+        view(ramen, 1);
+        recipePopularity.flush();
+
+        perform(mockMvc, get(TRENDING_PATH)
+                        .param("limit", "100")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].recipe.name").value(recipes.get(1).getName()))
+                .andExpect(jsonPath("$[1].recipe.name").value("Vada Pav"));
+        recipeViewCountRepository.ifPresent(repository -> {
+            assertThat(repository.findById(ramen)).get()
+                    .satisfies(count -> assertThat(count.getViews()).isEqualTo(4));
+            assertThat(repository.findById(vadaPav)).get()
+                    .satisfies(count -> assertThat(count.getViews()).isEqualTo(1));
+        });
+    }
+
+    @Test
+    void shouldDropDeletedRecipe() throws Exception {
+        int vadaPav = saveRecipes(createRecipeEntities()).getFirst().getId();
+        view(vadaPav, 2);
+        recipePopularity.flush();
+
+        perform(mockMvc, delete(RECIPES_PATH + vadaPav))
+                .andExpect(status().is2xxSuccessful());
+        recipePopularity.flush();
+
+        perform(mockMvc, get(TRENDING_PATH)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+        recipeViewCountRepository.ifPresent(repository -> assertThat(repository.existsById(vadaPav)).isFalse());
+    }
+
+    private void view(int recipeId, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            perform(mockMvc, get(RECIPES_PATH + recipeId)
+                            .accept(MediaType.APPLICATION_JSON_VALUE))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.model.RecipeRequestDto;
-import com.food.recipe.api.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,12 +42,9 @@ public class RecipeUpdateIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
-    private RecipeRepository recipeRepository;
-
     @AfterEach
     void setup() {
-        recipeRepository.deleteAll();
+        deleteAllRecipes();
     }
 
     @Test
@@ -164,7 +160,7 @@ public class RecipeUpdateIntegrationTest extends AbstractIntegrationTest {
                 }
             });
 
-            RecipeEntity finalEntity = recipeRepository.findById(id).orElseThrow();
+            RecipeEntity finalEntity = findRecipe(id).orElseThrow();
             assertTrue(finalEntity.getName().startsWith("Stew v"));
 
         } finally {
@@ -211,14 +207,14 @@ public class RecipeUpdateIntegrationTest extends AbstractIntegrationTest {
     }
 
     private ResultActions putRecipeWithId(String request, int id) throws Exception {
-        return mockMvc.perform(put("/api/v1/recipes/{id}", id)
+        return perform(mockMvc, put("/api/v1/recipes/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(request)
                 .accept(MediaType.APPLICATION_JSON_VALUE));
     }
 
     private ResultActions putRecipe(String url, String request) throws Exception {
-        return mockMvc.perform(put(url)
+        return perform(mockMvc, put(url)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(request));
     }
@@ -234,6 +230,6 @@ public class RecipeUpdateIntegrationTest extends AbstractIntegrationTest {
         entity.setIngredients(List.of("Salt", "Pepper"));
         entity.setInstructions("Mix and cook.");
         entity.setServings(2);
-        return recipeRepository.save(entity).getId();
+        return saveRecipe(entity).getId();
     }
 }
@@ -0,0 +1,82 @@
+package com.food.recipe.api;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.repository.RecipeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the watermark of the index snapshots changes with every kind of write, including the ones which keep
+ * the number of recipes. There is no watermark with the in-memory backend, which keeps no snapshots.
+ */
+@AutoConfigureMockMvc
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*memory.*")
+@ExtendWith(SpringExtension.class)
+public class RecipeWatermarkIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @AfterEach
+    void setup() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void shouldBeStable_whenNothingChanged() {
+        recipeRepository.save(recipe("Vada Pav", "Potato", "Pav"));
+
+        var watermark = recipeRepository.watermark();
+
+        assertThat(watermark.recipes()).isEqualTo(1);
+        assertThat(recipeRepository.watermark()).isEqualTo(watermark);
+    }
+
+    @Test
+    void shouldChange_whenIngredientsAreUpdated() {
+        var recipe = recipeRepository.save(recipe("Vada Pav", "Potato", "Pav"));
+        var before = recipeRepository.watermark();
+
+        recipe.setIngredients(new ArrayList<>(List.of("Potato", "Bread")));
+        recipeRepository.save(recipe);
+
+        var after = recipeRepository.watermark();
+        assertThat(after.recipes()).isEqualTo(before.recipes());
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void shouldChange_whenRecipeIsReplacedByAnother() {
+        recipeRepository.save(recipe("Vada Pav", "Potato", "Pav"));
+        var second = recipeRepository.save(recipe("Aloo Paratha", "Potato", "Flour"));
+        var before = recipeRepository.watermark();
+
+        recipeRepository.delete(second);
+        recipeRepository.save(recipe("Aloo Paratha", "Potato", "Flour"));
+
+        var after = recipeRepository.watermark();
+        assertThat(after.recipes()).isEqualTo(before.recipes());
+        assertThat(after.maxId()).isGreaterThan(before.maxId());
+        assertThat(after.checksum()).isNotEqualTo(before.checksum());
+    }
+
+    private static RecipeEntity recipe(String name, String... ingredients) {
+        return RecipeEntity.builder()
+                .name(name)
+                .isVegetarian(true)
+                .servings(2)
+                .ingredients(new ArrayList<>(List.of(ingredients)))
+                .instructions("Cook it.")
+                .build();
+    }
+}
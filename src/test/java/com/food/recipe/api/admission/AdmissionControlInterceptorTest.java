@@ -0,0 +1,104 @@
+package com.food.recipe.api.admission;
+
+import com.food.recipe.api.config.AdmissionControlProperties;
+import com.food.recipe.api.config.AdmissionControlProperties.BulkheadProperties;
+import com.food.recipe.api.controller.RecipeController;
+import com.food.recipe.api.errorhandler.RecipeErrorHandler;
+import com.food.recipe.api.exception.DeadlineExceededException;
+import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.process.AsyncRecipeProcess;
+import com.food.recipe.api.process.RecipeProcess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AdmissionControlInterceptorTest {
+
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+            new AdmissionControlProperties(true, 10, Map.of(
+                    EndpointClass.LIST, new BulkheadProperties(1, 0, Duration.ofSeconds(1), Duration.ofSeconds(5)),
+                    EndpointClass.POINT_READ,
+                    new BulkheadProperties(1, 1, Duration.ofMillis(50), Duration.ofSeconds(2)))),
+            new SearchCostEstimator());
+
+    private final AsyncRecipeProcess asyncRecipeProcess = mock(AsyncRecipeProcess.class);
+    private final CompletableFuture<List<RecipesResponse>> recipes = new CompletableFuture<>();
+    private final CompletableFuture<Optional<RecipesResponse>> recipe = new CompletableFuture<>();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(asyncRecipeProcess.findAllRecipes()).thenReturn(recipes);
+        when(asyncRecipeProcess.findRecipeById(anyInt())).thenReturn(recipe);
+        mockMvc = MockMvcBuilders.standaloneSetup(new RecipeController(mock(RecipeProcess.class), asyncRecipeProcess))
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new RecipeErrorHandler())
+                .build();
+    }
+
+    @Test
+    void shouldRejectWith429AndRetryAfter_whenQueueIsFull() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes")).andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/v1/recipes"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.statusCode").value(429));
+    }
+
+    @Test
+    void shouldRejectWith503AndRetryAfter_whenNoSlotFreesInTime() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes/1")).andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/v1/recipes/2"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.statusCode").value(503));
+        assertThat(interceptor.bulkhead(EndpointClass.POINT_READ).getQueued()).isZero();
+    }
+
+    @Test
+    void shouldHoldPermit_untilAsyncDispatchCompletes() throws Exception {
+        var bulkhead = interceptor.bulkhead(EndpointClass.LIST);
+        var started = mockMvc.perform(get("/api/v1/recipes")).andExpect(request().asyncStarted()).andReturn();
+
+        recipes.complete(List.of(createRecipeResponse()));
+
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+        mockMvc.perform(get("/api/v1/recipes")).andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldReleasePermit_whenAsyncCallFails() throws Exception {
+        var bulkhead = interceptor.bulkhead(EndpointClass.POINT_READ);
+        var started = mockMvc.perform(get("/api/v1/recipes/1")).andExpect(request().asyncStarted()).andReturn();
+
+        recipe.completeExceptionally(new DeadlineExceededException("Deadline exceeded", Duration.ofSeconds(1)));
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isServiceUnavailable());
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+}
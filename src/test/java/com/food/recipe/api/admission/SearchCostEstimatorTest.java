@@ -0,0 +1,43 @@
+package com.food.recipe.api.admission;
+
+import com.food.recipe.api.model.RecipeSearchFilterRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchCostEstimatorTest {
+
+    private final SearchCostEstimator estimator = new SearchCostEstimator();
+
+    @Test
+    void shouldReturnBaseCost_whenOnlyColumnFiltersAreSet() {
+        var request = new RecipeSearchFilterRequest(true, List.of(4), null, null, null, null, null);
+
+        assertThat(estimator.estimate(request)).isEqualTo(SearchCostEstimator.BASE_COST);
+    }
+
+    @Test
+    void shouldCountEveryIngredient_whenIngredientsAreIncludedAndExcluded() {
+        var request = new RecipeSearchFilterRequest(null, null, null, null, List.of("Potato", "Onion"), List.of("Salmon"), null);
+
+        assertThat(estimator.estimate(request)).isEqualTo(7);
+    }
+
+    @Test
+    void shouldIgnoreBlankValues() {
+        var request = new RecipeSearchFilterRequest(null, null, null, null, List.of(" "), List.of(""), "  ");
+
+        assertThat(estimator.estimate(request)).isEqualTo(SearchCostEstimator.BASE_COST);
+    }
+
+    @Test
+    void shouldGrowWithTextLength_whenInstructionTextIsSet() {
+        var shortText = new RecipeSearchFilterRequest(null, null, null, null, null, null, "oven");
+        var longText = new RecipeSearchFilterRequest(null, null, null, null, null, null, "bake".repeat(40));
+
+        assertThat(estimator.estimate(shortText)).isEqualTo(4);
+        assertThat(estimator.estimate(longText)).isEqualTo(9);
+    }
+}
@@ -0,0 +1,104 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.AutocompleteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures keystroke completions of one to four characters in {@link AutocompleteIndex} holding a million
+ * synthetic recipes, and the cost of re-indexing a recipe, which re-weights its ingredients.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class AutocompleteIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final AutocompleteIndex autocompleteIndex = new AutocompleteIndex();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private List<String> words;
+    private List<String> prefixes;
+    private List<RecipeEntity> updates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        words = IntStream.range(0, VOCABULARY).mapToObj(i -> randomWord()).toList();
+        autocompleteIndex.clear();
+        for (int id = 1; id <= RECIPES; id++) {
+            autocompleteIndex.add(randomRecipe(id));
+        }
+        autocompleteIndex.rebuildCompleted();
+        prefixes = IntStream.range(0, 1024)
+                .mapToObj(i -> words.get(random.nextInt(VOCABULARY)))
+                .map(word -> word.substring(0, 1 + random.nextInt(Math.min(4, word.length()))))
+                .toList();
+        updates = IntStream.range(0, 1024).mapToObj(i -> randomRecipe(1 + random.nextInt(RECIPES))).toList();
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeRecipeName() {
+        next = (next + 1) & 1023;
+        return autocompleteIndex.completeRecipeNames(prefixes.get(next), 10);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeIngredient() {
+        next = (next + 1) & 1023;
+        return autocompleteIndex.completeIngredients(prefixes.get(next), 10);
+    }
+
+    @Benchmark
+    public void updateRecipe() {
+        next = (next + 1) & 1023;
+        autocompleteIndex.add(updates.get(next));
+    }
+
+    private RecipeEntity randomRecipe(int id) {
+        var name = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            name.append(name.isEmpty() ? "" : " ").append(words.get(random.nextInt(VOCABULARY)));
+        }
+        var ingredients = IntStream.range(0, 3 + random.nextInt(8))
+                .mapToObj(i -> words.get((int) Math.pow(random.nextInt(VOCABULARY), 2) / VOCABULARY))
+                .toList();
+        return RecipeEntity.builder().id(id).name(name.toString()).ingredients(ingredients).build();
+    }
+
+    private String randomWord() {
+        var word = new StringBuilder();
+        int length = 3 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AutocompleteIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.IngredientCooccurrenceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures "ingredients frequently used with X" queries over the co-occurrence matrix of a million synthetic
+ * recipes held in the {@link IngredientCooccurrenceIndex}, for ingredients drawn like recipe ingredients (so
+ * mostly popular ones with long rows), and the cost of re-indexing a recipe.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class IngredientCooccurrenceIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+
+    private final IngredientCooccurrenceIndex cooccurrenceIndex = new IngredientCooccurrenceIndex();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private List<String> ingredients;
+    private List<RecipeEntity> updates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int id = 1; id <= RECIPES; id++) {
+            cooccurrenceIndex.add(randomRecipe(id));
+        }
+        ingredients = IntStream.range(0, 1024).mapToObj(i -> randomIngredient()).toList();
+        updates = IntStream.range(0, 1024).mapToObj(i -> randomRecipe(1 + random.nextInt(RECIPES))).toList();
+    }
+
+    @Benchmark
+    public List<IngredientCooccurrenceIndex.Cooccurrence> findCooccurring() {
+        next = (next + 1) & 1023;
+        return cooccurrenceIndex.find(ingredients.get(next), 10);
+    }
+
+    @Benchmark
+    public void updateRecipe() {
+        next = (next + 1) & 1023;
+        cooccurrenceIndex.add(updates.get(next));
+    }
+
+    private RecipeEntity randomRecipe(int id) {
+        var recipeIngredients = IntStream.range(0, 3 + random.nextInt(8)).mapToObj(i -> randomIngredient()).toList();
+        return RecipeEntity.builder().id(id).ingredients(recipeIngredients).build();
+    }
+
+    /**
+     * Skewed towards low numbers, so a few ingredients are used by most recipes.
+     */
+    private String randomIngredient() {
+        return "ingredient" + (int) Math.pow(random.nextInt(VOCABULARY), 2) / VOCABULARY;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IngredientCooccurrenceIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.controller.RecipeController;
+import com.food.recipe.api.errorhandler.RecipeErrorHandler;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.process.AsyncRecipeProcess;
+import com.food.recipe.api.process.RecipeProcess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the cost of the 404 path for a missing recipe ID, each request going through the real
+ * {@link RecipeController} and {@link RecipeErrorHandler} on a standalone {@link MockMvc}:
+ * <ul>
+ *     <li>{@code stackfulException} - the lookup failing with an exception which captures its stack trace</li>
+ *     <li>{@code stacklessException} - the lookup failing with the stackless {@link EntityNotFoundException}</li>
+ *     <li>{@code optionalResult} - the lookup returning an empty {@link Optional}, the path used by the controller</li>
+ * </ul>
+ * The process layer is a mock, so the benchmark does not change with the service and process interfaces.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    private static final String MESSAGE = "Record not found for given ID. 1";
+
+    private MockMvc stackful;
+    private MockMvc stackless;
+    private MockMvc optional;
+
+    @Setup
+    public void setUp() {
+        stackful = mockMvc(() -> CompletableFuture.failedFuture(
+                new ResponseStatusException(HttpStatus.NOT_FOUND, MESSAGE)));
+        stackless = mockMvc(() -> CompletableFuture.failedFuture(new EntityNotFoundException(MESSAGE)));
+        optional = mockMvc(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    @Benchmark
+    public MvcResult stackfulException() throws Exception {
+        return getRecipe(stackful);
+    }
+
+    @Benchmark
+    public MvcResult stacklessException() throws Exception {
+        return getRecipe(stackless);
+    }
+
+    @Benchmark
+    public MvcResult optionalResult() throws Exception {
+        return getRecipe(optional);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NotFoundBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static MvcResult getRecipe(MockMvc mockMvc) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/recipes/1").accept(MediaType.APPLICATION_JSON)).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isNotFound()).andReturn();
+    }
+
+    private static MockMvc mockMvc(Supplier<CompletableFuture<Optional<RecipesResponse>>> lookup) {
+        var asyncRecipeProcess = mock(AsyncRecipeProcess.class);
+        when(asyncRecipeProcess.findRecipeById(anyInt())).thenAnswer(invocation -> lookup.get());
+        return MockMvcBuilders.standaloneSetup(new RecipeController(mock(RecipeProcess.class), asyncRecipeProcess))
+                .setControllerAdvice(new RecipeErrorHandler())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.PantryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures a pantry query against {@link PantryIndex} filled with a million synthetic recipes.
+ * <p>
+ * Recipes use 4 to 12 ingredients out of a vocabulary of 5,000, skewed so that low-numbered ingredients
+ * ("salt", "onion") are far more common than the rest, as in real recipe collections.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PantryIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int VOCABULARY = 5_000;
+
+    @Param({"0", "2"})
+    private int maxMissing;
+
+    private final PantryIndex pantryIndex = new PantryIndex();
+    private List<String> pantry;
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        for (int id = 1; id <= RECIPES; id++) {
+            var ingredients = new ArrayList<String>();
+            int count = 4 + random.nextInt(9);
+            for (int i = 0; i < count; i++) {
+                ingredients.add(ingredient(random));
+            }
+            pantryIndex.add(RecipeEntity.builder().id(id).ingredients(ingredients).build());
+        }
+        pantry = IntStream.range(0, 40).mapToObj(i -> "ingredient-" + (i * 3)).toList();
+    }
+
+    @Benchmark
+    public List<PantryIndex.PantryMatch> find() {
+        return pantryIndex.find(pantry, maxMissing, 50);
+    }
+
+    private static String ingredient(SplittableRandom random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return "ingredient-" + (int) (skewed * VOCABULARY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PantryIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.cache.RecipeCache;
+import com.food.recipe.api.config.RecipeCacheProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the {@link RecipeCache} backed by the on-heap and the off-heap store with a million synthetic recipes
+ * cached: the throughput of lookups by ID, and of updates replacing a cached recipe. {@link #main(String[])} runs
+ * it with the {@link GCProfiler}, whose {@code gc.count} and {@code gc.time} lines show how often and how long the
+ * collector paused while the heap held the cached recipes or only their off-heap index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g", "-XX:MaxDirectMemorySize=1g"})
+public class RecipeCacheBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int VOCABULARY = 5_000;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private RecipeCacheProperties.Store store;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private RecipeCache recipeCache;
+    private int[] ids;
+    private List<RecipeEntity> updates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        recipeCache = new RecipeCache(new RecipeCacheProperties(true, store, DataSize.ofMegabytes(900)));
+        for (int id = 1; id <= RECIPES; id++) {
+            recipeCache.add(randomRecipe(id));
+        }
+        ids = IntStream.range(0, 1024).map(i -> 1 + random.nextInt(RECIPES)).toArray();
+        updates = IntStream.range(0, 1024).mapToObj(i -> randomRecipe(1 + random.nextInt(RECIPES))).toList();
+    }
+
+    @Benchmark
+    public Optional<RecipeEntity> getRecipe() {
+        next = (next + 1) & 1023;
+        return recipeCache.get(ids[next]);
+    }
+
+    @Benchmark
+    public void updateRecipe() {
+        next = (next + 1) & 1023;
+        recipeCache.add(updates.get(next));
+    }
+
+    private RecipeEntity randomRecipe(int id) {
+        var ingredients = IntStream.range(0, 5 + random.nextInt(10))
+                .mapToObj(i -> "ingredient" + random.nextInt(VOCABULARY))
+                .toList();
+        return RecipeEntity.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .isVegetarian(random.nextBoolean())
+                .servings(1 + random.nextInt(12))
+                .ingredients(ingredients)
+                .instructions("Mix the " + String.join(", ", ingredients) + " and cook for " + random.nextInt(60)
+                        + " minutes.")
+                .ingredientSignature(MinHash.encode(MinHash.signature(ingredients)))
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecipeCacheBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.food.recipe.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.food.recipe.api.model.RecipesResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares JSON and CBOR (`Accept: application/cbor`) encodings of a single recipe and of a list of 10,000
+ * recipes: the time to encode the responses, and the time for a caller to decode them into its own recipe type.
+ * {@link #main(String[])} prints the payload sizes before running the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class RecipeEncodingBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+
+    @Param({"JSON", "CBOR"})
+    private String format;
+
+    @Param({"1", "10000"})
+    private int recipes;
+
+    private ObjectMapper mapper;
+    private Object response;
+    private JavaType callerType;
+    private byte[] payload;
+
+    /**
+     * The recipe as a calling service would bind it.
+     */
+    public record Recipe(Integer id, String name, Boolean isVegetarian, Integer servings, List<String> ingredients,
+                         String instructions) {
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        mapper = mapper(format);
+        var random = new SplittableRandom(7);
+        var list = IntStream.rangeClosed(1, recipes).mapToObj(id -> randomRecipe(id, random)).toList();
+        response = recipes == 1 ? list.get(0) : list;
+        callerType = recipes == 1
+                ? mapper.constructType(Recipe.class)
+                : mapper.getTypeFactory().constructCollectionType(List.class, Recipe.class);
+        payload = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(payload, callerType);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return "CBOR".equals(format) ? new CBORMapper() : new ObjectMapper();
+    }
+
+    private static RecipesResponse randomRecipe(int id, SplittableRandom random) {
+        var ingredients = IntStream.range(0, 5 + random.nextInt(10))
+                .mapToObj(i -> "ingredient" + random.nextInt(VOCABULARY))
+                .toList();
+        return RecipesResponse.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .isVegetarian(random.nextBoolean())
+                .servings(1 + random.nextInt(12))
+                .ingredients(ingredients)
+                .instructions("Mix the " + String.join(", ", ingredients) + " and cook for " + random.nextInt(60)
+                        + " minutes.")
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException, JsonProcessingException {
+        for (String format : List.of("JSON", "CBOR")) {
+            for (int recipes : List.of(1, 10_000)) {
+                var benchmark = new RecipeEncodingBenchmark();
+                benchmark.format = format;
+                benchmark.recipes = recipes;
+                benchmark.setUp();
+                System.out.printf("Payload of %d recipes as %s: %,d bytes%n", recipes, format,
+                        benchmark.payload.length);
+            }
+        }
+        new Runner(new OptionsBuilder().include(RecipeEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
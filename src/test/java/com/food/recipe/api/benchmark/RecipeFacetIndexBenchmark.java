@@ -0,0 +1,70 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeFacetIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the facet counts of a search matching {@code matches} out of a million synthetic recipes held in
+ * the {@link RecipeFacetIndex}. Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class RecipeFacetIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int INGREDIENTS = 5_000;
+
+    @Param({"1000", "100000"})
+    private int matches;
+
+    private final RecipeFacetIndex recipeFacetIndex = new RecipeFacetIndex();
+    private int[] matchingIds;
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(7);
+        for (int id = 1; id <= RECIPES; id++) {
+            var ingredients = IntStream.range(0, 3 + random.nextInt(8))
+                    .mapToObj(i -> "ingredient " + (int) Math.pow(random.nextInt(INGREDIENTS), 2) / INGREDIENTS)
+                    .toList();
+            recipeFacetIndex.add(RecipeEntity.builder()
+                    .id(id)
+                    .isVegetarian(random.nextBoolean())
+                    .servings(1 + random.nextInt(16))
+                    .ingredients(ingredients)
+                    .build());
+        }
+        matchingIds = random.ints(matches, 1, RECIPES + 1).sorted().toArray();
+    }
+
+    @Benchmark
+    public RecipeFacetIndex.FacetCounts countFacets() {
+        return recipeFacetIndex.count(matchingIds, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecipeFacetIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the latency distribution (see the p0.99 line of the output) of misspelled name lookups in
+ * {@link RecipeNameIndex} holding a million synthetic recipe names of two to four words.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class RecipeNameIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final RecipeNameIndex recipeNameIndex = new RecipeNameIndex();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private List<String> words;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        words = IntStream.range(0, VOCABULARY).mapToObj(i -> randomWord()).toList();
+        var names = IntStream.rangeClosed(1, RECIPES).mapToObj(id -> randomName()).toList();
+        for (int id = 1; id <= RECIPES; id++) {
+            recipeNameIndex.add(RecipeEntity.builder().id(id).name(names.get(id - 1)).build());
+        }
+        queries = IntStream.range(0, 1024).mapToObj(i -> misspell(names.get(random.nextInt(RECIPES)))).toList();
+    }
+
+    @Benchmark
+    public List<RecipeNameIndex.NameMatch> lookup() {
+        next = (next + 1) & 1023;
+        return recipeNameIndex.find(queries.get(next), 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY);
+    }
+
+    private String randomName() {
+        int count = 2 + random.nextInt(3);
+        var name = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            name.append(i == 0 ? "" : " ").append(words.get(random.nextInt(VOCABULARY)));
+        }
+        return name.toString();
+    }
+
+    private String randomWord() {
+        var word = new StringBuilder();
+        int length = 3 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Replaces one character, the most common kind of typo.
+     */
+    private String misspell(String name) {
+        int position = random.nextInt(name.length());
+        return name.substring(0, position) + LETTERS.charAt(random.nextInt(LETTERS.length()))
+                + name.substring(position + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecipeNameIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,198 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.RecipeApplication;
+import com.food.recipe.reactive.ReactiveRecipeApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the servlet/JPA deployment ({@link RecipeApplication}) with the WebFlux/R2DBC deployment
+ * ({@link ReactiveRecipeApplication}) of the recipe API under 256 concurrent clients, both with a pool of 50
+ * database connections to the same 10,000 synthetic recipes in PostgreSQL:
+ * <ul>
+ *     <li>{@code getRecipeById} - {@code GET /api/v1/recipes/{id}} of a random recipe</li>
+ *     <li>{@code searchByIngredient} - {@code GET /api/v1/recipes/search} of the first 20 recipes with a random
+ *     ingredient</li>
+ * </ul>
+ * The recipe caches and the admission control of {@link RecipeApplication} are disabled, so every request of both
+ * stacks reaches the database. The {@code p0.99} lines of the sample time mode are the 99th percentile latencies.
+ * Needs Docker for the PostgreSQL Testcontainer. Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class ServletVsReactiveBenchmark {
+
+    private static final int RECIPES = 10_000;
+    private static final int INGREDIENTS = 200;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+    private static final int CONNECTIONS = 50;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext application;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        postgres = new PostgreSQLContainer<>("postgres:17")
+                .withDatabaseName("recipe_db")
+                .withUsername("postgres")
+                .withPassword("root");
+        postgres.start();
+        seedRecipes();
+
+        application = "servlet".equals(stack) ? startServlet() : startReactive();
+        baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port")
+                + "/api/v1/recipes";
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        application.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public String getRecipeById() throws IOException, InterruptedException {
+        return get(baseUrl + "/" + (1 + ThreadLocalRandom.current().nextInt(RECIPES)));
+    }
+
+    @Benchmark
+    public String searchByIngredient() throws IOException, InterruptedException {
+        String ingredient = ingredient(ThreadLocalRandom.current().nextInt(INGREDIENTS));
+        return get(baseUrl + "/search?includeIngredients=" + ingredient + "&limit=20");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ServletVsReactiveBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private String get(String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private ConfigurableApplicationContext startServlet() {
+        return new SpringApplicationBuilder(RecipeApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                        "spring.jpa.show-sql=false",
+                        "recipe.cache.enabled=false",
+                        "recipe.json-cache.enabled=false",
+                        "recipe.admission.enabled=false",
+                        "recipe.snapshot.enabled=false",
+                        "recipe.async.threads=" + CONNECTIONS,
+                        "recipe.async.queue-capacity=10000",
+                        "logging.level.root=warn")
+                .run();
+    }
+
+    private ConfigurableApplicationContext startReactive() {
+        return new SpringApplicationBuilder(ReactiveRecipeApplication.class)
+                .profiles(ReactiveRecipeApplication.PROFILE)
+                .properties("server.port=0",
+                        "spring.r2dbc.url=r2dbc:postgresql://%s:%d/%s".formatted(postgres.getHost(),
+                                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                                postgres.getDatabaseName()),
+                        "spring.r2dbc.username=" + postgres.getUsername(),
+                        "spring.r2dbc.password=" + postgres.getPassword(),
+                        "spring.r2dbc.pool.initial-size=" + CONNECTIONS,
+                        "spring.r2dbc.pool.max-size=" + CONNECTIONS,
+                        "logging.level.root=warn")
+                .run();
+    }
+
+    /**
+     * Creates the tables of both stacks with {@code reactive/recipe-schema.sql} and inserts the synthetic recipes,
+     * recipe {@code i} having the ingredients {@code i} to {@code i + 4} modulo {@value #INGREDIENTS}.
+     */
+    private void seedRecipes() throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword())) {
+            try (InputStream schema = getClass().getResourceAsStream("/reactive/recipe-schema.sql");
+                 Statement statement = connection.createStatement()) {
+                statement.execute(new String(schema.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement recipes = connection.prepareStatement("INSERT INTO recipes_table "
+                    + "(id, name, is_vegetarian, servings, instructions) VALUES (?, ?, ?, ?, ?)");
+                 PreparedStatement ingredients = connection.prepareStatement(
+                         "INSERT INTO recipe_entity_ingredients (recipe_entity_id, ingredients) VALUES (?, ?)")) {
+                for (int id = 1; id <= RECIPES; id++) {
+                    recipes.setInt(1, id);
+                    recipes.setString(2, "Recipe " + id);
+                    recipes.setBoolean(3, id % 2 == 0);
+                    recipes.setInt(4, 1 + id % 8);
+                    recipes.setString(5, "Mix everything of recipe " + id + " and bake it in the oven.");
+                    recipes.addBatch();
+                    for (int i = 0; i < INGREDIENTS_PER_RECIPE; i++) {
+                        ingredients.setInt(1, id);
+                        ingredients.setString(2, ingredient((id + i) % INGREDIENTS));
+                        ingredients.addBatch();
+                    }
+                }
+                recipes.executeBatch();
+                ingredients.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('recipes_table', 'id'), " + RECIPES + ")");
+            }
+            connection.commit();
+        }
+    }
+
+    private static String ingredient(int index) {
+        return "Ingredient" + index;
+    }
+}
@@ -0,0 +1,126 @@
+package com.food.recipe.api.benchmark;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.SimilarRecipeIndex;
+import com.food.recipe.api.search.TopK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures "recipes like this one" queries (`/api/v1/recipes/{id}/similar`) over 200,000 synthetic recipes,
+ * a quarter of which are variations of another recipe, through the LSH buckets of {@link SimilarRecipeIndex}
+ * and through a brute-force Jaccard comparison with every recipe; and the cost of re-indexing a recipe.
+ * Run the {@link #main(String[])} method to execute it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SimilarRecipeIndexBenchmark {
+
+    private static final int RECIPES = 200_000;
+    private static final int VOCABULARY = 5_000;
+
+    private final SimilarRecipeIndex similarRecipeIndex = new SimilarRecipeIndex();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final List<int[]> catalog = new ArrayList<>();
+    private int[] queries;
+    private List<RecipeEntity> updates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int id = 0; id < RECIPES; id++) {
+            int[] ingredients;
+            if (id > 0 && random.nextInt(4) == 0) {
+                ingredients = catalog.get(random.nextInt(id)).clone();
+                ingredients[random.nextInt(ingredients.length)] = random.nextInt(VOCABULARY);
+            } else {
+                ingredients = IntStream.range(0, 5 + random.nextInt(10)).map(i -> random.nextInt(VOCABULARY)).toArray();
+            }
+            ingredients = Arrays.stream(ingredients).distinct().sorted().toArray();
+            catalog.add(ingredients);
+            similarRecipeIndex.add(recipe(id, ingredients));
+        }
+        queries = IntStream.range(0, 1024).map(i -> random.nextInt(RECIPES)).toArray();
+        updates = IntStream.range(0, 1024)
+                .mapToObj(i -> {
+                    int id = random.nextInt(RECIPES);
+                    return recipe(id, catalog.get(id));
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<SimilarRecipeIndex.SimilarRecipe> findSimilar() {
+        next = (next + 1) & 1023;
+        return similarRecipeIndex.find(queries[next], 10);
+    }
+
+    @Benchmark
+    public List<SimilarRecipeIndex.SimilarRecipe> bruteForce() {
+        next = (next + 1) & 1023;
+        int query = queries[next];
+        var best = new TopK<>(10, SimilarRecipeIndex.RANKING);
+        for (int id = 0; id < RECIPES; id++) {
+            double similarity = jaccard(catalog.get(query), catalog.get(id));
+            if (id != query && similarity > 0) {
+                best.offer(new SimilarRecipeIndex.SimilarRecipe(id, similarity));
+            }
+        }
+        return best.toList();
+    }
+
+    @Benchmark
+    public void updateRecipe() {
+        next = (next + 1) & 1023;
+        similarRecipeIndex.add(updates.get(next));
+    }
+
+    private static double jaccard(int[] first, int[] second) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] == second[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (first.length + second.length - shared);
+    }
+
+    private static RecipeEntity recipe(int id, int[] ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .ingredients(Arrays.stream(ingredients).mapToObj(ingredient -> "ingredient" + ingredient).toList())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SimilarRecipeIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffHeapRecipeStoreTest {
+
+    private final OffHeapRecipeStore store = new OffHeapRecipeStore(64 * 1024, 4096);
+
+    @Test
+    void shouldReadRecipeBack_asStored() {
+        var recipe = recipe(8, "🍜 Ramen 東京", "Noodles", "Chicken");
+
+        assertThat(store.put(recipe)).isTrue();
+        recipe.setName("Changed after caching");
+
+        assertThat(store.get(8)).usingRecursiveComparison().isEqualTo(recipe(8, "🍜 Ramen 東京", "Noodles", "Chicken"));
+        assertThat(store.get(8).getIngredientSignature())
+                .isEqualTo(MinHash.encode(MinHash.signature(List.of("Noodles", "Chicken"))));
+        assertThat(store.get(9)).isNull();
+    }
+
+    @Test
+    void shouldKeepNullFields() {
+        var recipe = new RecipeEntity();
+        recipe.setId(1);
+
+        store.put(recipe);
+
+        assertThat(store.get(1)).usingRecursiveComparison().isEqualTo(recipe);
+    }
+
+    @Test
+    void shouldReplaceAndRemove_acrossManyRecipes() {
+        var store = new OffHeapRecipeStore(4 * 1024 * 1024, 64 * 1024);
+        IntStream.rangeClosed(1, 5000).forEach(id -> store.put(recipe(id, "Recipe " + id, "Potato")));
+        IntStream.rangeClosed(1, 5000).filter(id -> id % 3 == 0).forEach(store::remove);
+        store.put(recipe(10, "Samosa", "Potato", "Pea"));
+
+        assertThat(store.size()).isEqualTo(5000 - 5000 / 3);
+        assertThat(store.get(10).getName()).isEqualTo("Samosa");
+        assertThat(IntStream.rangeClosed(1, 5000).filter(id -> store.get(id) == null))
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 5000).filter(id -> id % 3 == 0).boxed().toList());
+        assertThat(store.get(4999).getName()).isEqualTo("Recipe 4999");
+    }
+
+    @Test
+    void shouldCompactDeadRecords_whenCapacityIsReached() {
+        for (int round = 0; round < 20; round++) {
+            for (int id = 1; id <= 100; id++) {
+                assertThat(store.put(recipe(id, "Recipe " + id + " round " + round, "Potato"))).isTrue();
+            }
+        }
+
+        assertThat(store.allocatedBytes()).isLessThanOrEqualTo(64 * 1024);
+        assertThat(IntStream.rangeClosed(1, 100).mapToObj(id -> store.get(id).getName()))
+                .allMatch(name -> name.endsWith(" round 19"));
+    }
+
+    @Test
+    void shouldRejectRecipes_thatDoNotFit() {
+        var huge = recipe(1, "Huge", "Potato");
+        huge.setInstructions("x".repeat(5000));
+        store.put(recipe(1, "Small", "Potato"));
+
+        assertThat(store.put(huge)).isFalse();
+        assertThat(store.get(1)).isNull();
+
+        int id = 2;
+        while (store.put(recipe(id, "Recipe " + id, "Potato"))) {
+            id++;
+        }
+        assertThat(store.size()).isEqualTo(id - 2);
+        assertThat(store.get(id - 1)).isNotNull();
+    }
+
+    @Test
+    void shouldDropEverything_onClear() {
+        store.put(recipe(1, "Vada Pav", "Potato"));
+
+        store.clear();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.get(1)).isNull();
+        assertThat(store.allocatedBytes()).isZero();
+    }
+
+    @Test
+    void shouldRejectUnpersistedRecipes() {
+        assertThatThrownBy(() -> store.put(new RecipeEntity())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static RecipeEntity recipe(int id, String name, String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .name(name)
+                .isVegetarian(true)
+                .servings(4)
+                .instructions("Cook " + name + ".")
+                .ingredients(List.of(ingredients))
+                .ingredientSignature(MinHash.encode(MinHash.signature(List.of(ingredients))))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.food.recipe.api.cache;
+
+import com.food.recipe.api.config.RecipeCacheProperties;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.util.unit.DataSize;
+
+import static com.food.recipe.api.cache.OffHeapRecipeStoreTest.recipe;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeCacheTest {
+
+    @ParameterizedTest
+    @EnumSource(RecipeCacheProperties.Store.class)
+    void shouldFollowIndexCallbacks(RecipeCacheProperties.Store store) {
+        var cache = new RecipeCache(new RecipeCacheProperties(true, store, DataSize.ofMegabytes(1)));
+        var recipe = recipe(3, "Vada Pav", "Potato", "Pav");
+
+        cache.add(recipe);
+        assertThat(cache.get(3)).get().usingRecursiveComparison().isEqualTo(recipe);
+
+        cache.remove(recipe);
+        assertThat(cache.get(3)).isEmpty();
+
+        cache.add(recipe);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RecipeCacheProperties.Store.class)
+    void shouldMissEverything_whenDisabled(RecipeCacheProperties.Store store) {
+        var cache = new RecipeCache(new RecipeCacheProperties(false, store, DataSize.ofMegabytes(1)));
+
+        cache.add(recipe(3, "Vada Pav", "Potato"));
+
+        assertThat(cache.get(3)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.food.recipe.api.catalog;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.MinHash;
+import com.food.recipe.api.search.RelevanceScorer;
+import com.food.recipe.api.search.ServingsFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedCatalogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReadRecipesBack_asWritten() throws IOException {
+        var catalog = write(recipe(3, "Vada Pav", true, 4, "Boil Potato.", "Potato", "Pav"),
+                recipe(8, "🍜 Ramen 東京", false, 2, "Delicious 東京 style.", "Noodles", "Chicken", "Potato"));
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.indexOf(8)).isEqualTo(1);
+        assertThat(catalog.indexOf(5)).isEqualTo(-1);
+        assertThat(catalog.recipe(1)).usingRecursiveComparison()
+                .isEqualTo(recipe(8, "🍜 Ramen 東京", false, 2, "Delicious 東京 style.", "Noodles", "Chicken", "Potato"));
+        assertThat(catalog.recipe(1).getIngredientSignature())
+                .isEqualTo(MinHash.encode(MinHash.signature(List.of("Noodles", "Chicken", "Potato"))));
+    }
+
+    @Test
+    void shouldFilterInPlace_likeTheSearchSpecification() throws IOException {
+        var catalog = write(recipe(1, "Vada Pav", true, 4, "Boil Potato and fry.", "Potato", "Pav"),
+                recipe(2, "Aloo Curry", true, 2, "Cook the POTATO curry.", "Potato", "Onion"),
+                recipe(3, "Chicken Curry", false, 6, "Cook the chicken.", "Chicken", "Onion"));
+
+        assertThat(matchingIds(catalog, catalog.filter(true, null, List.of("Potato"), List.of("Onion"), null)))
+                .containsExactly(1);
+        assertThat(matchingIds(catalog, catalog.filter(null, ServingsFilter.between(2, 4), null, null, "potato")))
+                .containsExactly(1, 2);
+        assertThat(matchingIds(catalog, catalog.filter(null, null, null, List.of("Garlic"), "CURRY")))
+                .containsExactly(2);
+        assertThat(catalog.filter(null, null, List.of("potato"), null, null)).isNull();
+    }
+
+    @Test
+    void shouldScoreTextPositions_inChars() throws IOException {
+        var catalog = write(recipe(1, "東京 curry", true, 4, "Curry.", "Rice"),
+                recipe(2, "Curry", true, 4, "🍜 curry.", "Rice"));
+        var filter = catalog.filter(null, null, null, null, "curry");
+        var scorer = new RelevanceScorer(null, "curry");
+
+        assertThat(catalog.score(0, scorer, filter)).isEqualTo(scorer.score(1, "東京 curry".indexOf("curry") + 1, 1));
+        assertThat(catalog.score(1, scorer, filter)).isEqualTo(scorer.score(1, 1, "🍜 curry.".indexOf("curry") + 1));
+    }
+
+    @Test
+    void shouldRejectRecipes_outOfIdOrder() {
+        var writer = new CatalogWriter();
+        writer.add(recipe(2, "Vada Pav", true, 4, "Fry.", "Pav"));
+
+        assertThatThrownBy(() -> writer.add(recipe(2, "Samosa", true, 4, "Fry.", "Potato")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectFile_thatIsNoCatalog() throws IOException {
+        var file = Files.write(directory.resolve("recipes.catalog"), new byte[64]);
+
+        assertThatThrownBy(() -> MappedCatalog.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldServeNothing_fromEmptyCatalog() {
+        var catalog = MappedCatalog.empty();
+
+        assertThat(catalog.size()).isZero();
+        assertThat(catalog.indexOf(1)).isEqualTo(-1);
+        assertThat(catalog.filter(null, null, List.of("Potato"), null, null)).isNull();
+    }
+
+    private MappedCatalog write(RecipeEntity... recipes) throws IOException {
+        var writer = new CatalogWriter();
+        for (RecipeEntity recipe : recipes) {
+            writer.add(recipe);
+        }
+        var file = directory.resolve("recipes.catalog");
+        writer.writeTo(file);
+        return MappedCatalog.open(file);
+    }
+
+    private static List<Integer> matchingIds(MappedCatalog catalog, MappedCatalog.Filter filter) {
+        return IntStream.range(0, catalog.size())
+                .filter(index -> catalog.matches(index, filter))
+                .mapToObj(catalog::id)
+                .toList();
+    }
+
+    static RecipeEntity recipe(int id, String name, boolean vegetarian, int servings, String instructions,
+                               String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .name(name)
+                .isVegetarian(vegetarian)
+                .servings(servings)
+                .instructions(instructions)
+                .ingredients(List.of(ingredients))
+                .ingredientSignature(MinHash.encode(MinHash.signature(List.of(ingredients))))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.food.recipe.api.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkheadTest {
+
+    @Test
+    void shouldAcquire_whenPermitIsFree() {
+        var bulkhead = new Bulkhead("test", 1, 0, Duration.ZERO);
+
+        assertThat(bulkhead.acquire()).isEqualTo(Bulkhead.Admission.ACQUIRED);
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+
+        bulkhead.release();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectImmediately_whenQueueIsFull() {
+        var bulkhead = new Bulkhead("test", 1, 0, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.acquire()).isEqualTo(Bulkhead.Admission.QUEUE_FULL);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(bulkhead.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldTimeOut_whenNoPermitIsReleasedWhileQueued() {
+        var bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(20));
+        bulkhead.acquire();
+
+        assertThat(bulkhead.acquire()).isEqualTo(Bulkhead.Admission.TIMED_OUT);
+        assertThat(bulkhead.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldAcquire_whenPermitIsReleasedWhileQueued() throws Exception {
+        var bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        var queued = CompletableFuture.supplyAsync(bulkhead::acquire);
+        waitUntilQueued(bulkhead);
+        bulkhead.release();
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(Bulkhead.Admission.ACQUIRED);
+    }
+
+    @Test
+    void shouldFail_whenLimitsAreInvalid() {
+        assertThatThrownBy(() -> new Bulkhead("test", 0, 1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void waitUntilQueued(Bulkhead bulkhead) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueued() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
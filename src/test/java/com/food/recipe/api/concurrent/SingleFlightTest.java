@@ -0,0 +1,86 @@
+package com.food.recipe.api.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void shouldShareOneExecution_whenCallsForSameKeyOverlap() throws Exception {
+        int threads = 8;
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = IntStream.range(0, threads)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> singleFlight.execute(1, () -> {
+                        loads.incrementAndGet();
+                        await(release);
+                        return "Vada Pav";
+                    }), executor))
+                    .toList();
+
+            waitUntilCoalesced(threads - 1);
+            release.countDown();
+
+            assertThat(futures).allSatisfy(future -> assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("Vada Pav"));
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(threads - 1);
+    }
+
+    @Test
+    void shouldExecuteAgain_whenPreviousCallHasFinished() {
+        var loads = new AtomicInteger();
+
+        singleFlight.execute(1, () -> "Pizza " + loads.incrementAndGet());
+        var second = singleFlight.execute(1, () -> "Pizza " + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("Pizza 2");
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderException() {
+        assertThatThrownBy(() -> singleFlight.execute(1, () -> {
+            throw new IllegalStateException("DB is down.");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("DB is down.");
+
+        assertThat(singleFlight.execute(1, () -> "Recovered")).isEqualTo("Recovered");
+    }
+
+    private void waitUntilCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("recipe.singleflight.calls", "operation", "test", "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
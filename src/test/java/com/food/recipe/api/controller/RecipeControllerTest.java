@@ -2,22 +2,56 @@ package com.food.recipe.api.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.food.recipe.api.admission.EndpointClass;
+import com.food.recipe.api.config.RecipeAsyncProperties;
+import com.food.recipe.api.config.RecipeJsonCacheProperties;
+import com.food.recipe.api.exception.ReadOnlyCatalogException;
+import com.food.recipe.api.mapper.RecipeJsonCache;
+import com.food.recipe.api.model.CompletionResponse;
+import com.food.recipe.api.model.FacetCount;
+import com.food.recipe.api.model.IngredientCooccurrenceResponse;
+import com.food.recipe.api.model.PantryRecipeResponse;
+import com.food.recipe.api.model.RecipeLookupResponse;
 import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.model.SearchExistsResponse;
+import com.food.recipe.api.model.SearchFacetsResponse;
+import com.food.recipe.api.model.SimilarRecipeResponse;
+import com.food.recipe.api.model.TrendingRecipeResponse;
+import com.food.recipe.api.process.AsyncRecipeProcess;
 import com.food.recipe.api.process.RecipeProcess;
+import com.food.recipe.api.process.impl.AsyncRecipeProcessImpl;
+import com.food.recipe.api.search.ServingsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static com.food.recipe.api.util.RecipeTestUtil.buildInstructions;
 import static com.food.recipe.api.util.RecipeTestUtil.buildListOfIngredients;
@@ -25,15 +59,21 @@ import static com.food.recipe.api.util.RecipeTestUtil.createRecipeRequestDto;
 import static com.food.recipe.api.util.RecipeTestUtil.createRecipeResponse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RecipeController.class)
+@Import(RecipeJsonCache.class)
+@EnableConfigurationProperties({RecipeJsonCacheProperties.class, ServerProperties.class})
 public class RecipeControllerTest {
 
     @Autowired
@@ -48,6 +88,18 @@ public class RecipeControllerTest {
     @InjectMocks
     private RecipeController recipeController;
 
+    @TestConfiguration
+    static class AsyncRecipeProcessConfig {
+
+        @Bean
+        AsyncRecipeProcess asyncRecipeProcess(RecipeProcess recipeProcess) {
+            var properties = new RecipeAsyncProperties(4, 16, Duration.ofSeconds(5),
+                    Map.of(EndpointClass.POINT_READ, Duration.ofMillis(200)), Duration.ofSeconds(2));
+            return new AsyncRecipeProcessImpl(recipeProcess, properties, Executors.newFixedThreadPool(4), null,
+                    new SimpleMeterRegistry());
+        }
+    }
+
     @Test
     void testCreateRecipe() throws Exception {
 
@@ -55,7 +107,7 @@ public class RecipeControllerTest {
 
         when(recipeProcess.createRecipe(any())).thenReturn(createRecipeResponse());
 
-        ResultActions response = mockMvc.perform(post("/api/v1/recipes")
+        ResultActions response = perform(post("/api/v1/recipes")
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(getContent(request))
                 .accept(MediaType.APPLICATION_JSON_VALUE));
@@ -67,7 +119,7 @@ public class RecipeControllerTest {
     @MethodSource("invalidRecipeRequest")
     void testMissingFieldsInRequest_shouldFailValidation(RecipeRequestDto invalidRecipeRequests) throws Exception {
 
-        mockMvc.perform(post("/api/v1/recipes")
+        perform(post("/api/v1/recipes")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(getContent(invalidRecipeRequests)))
                 .andExpect(status().isBadRequest());
@@ -80,7 +132,7 @@ public class RecipeControllerTest {
 
         when(recipeProcess.updateRecipe(anyInt(), any())).thenReturn(createRecipeResponse());
 
-        ResultActions response = mockMvc.perform(put("/api/v1/recipes/1")
+        ResultActions response = perform(put("/api/v1/recipes/1")
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(getContent(request))
                 .accept(MediaType.APPLICATION_JSON_VALUE));
@@ -93,7 +145,7 @@ public class RecipeControllerTest {
     void testUpdateRecipe_whenMissingFieldsInRequest_returnBadRequestException(
             RecipeRequestDto invalidRecipeRequests) throws Exception {
 
-        mockMvc.perform(put("/api/v1/recipes/1")
+        perform(put("/api/v1/recipes/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(getContent(invalidRecipeRequests)))
                 .andExpect(status().isBadRequest());
@@ -104,17 +156,29 @@ public class RecipeControllerTest {
 
         when(recipeProcess.deleteRecipe(anyInt())).thenReturn(true);
 
-        mockMvc.perform(delete("/api/v1/recipes/1")
+        perform(delete("/api/v1/recipes/1")
                         .accept(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testDeleteRecipe_whenCatalogIsReadOnly_returnMethodNotAllowed() throws Exception {
+
+        when(recipeProcess.deleteRecipe(anyInt()))
+                .thenThrow(new ReadOnlyCatalogException("The recipe catalog is read-only"));
+
+        perform(delete("/api/v1/recipes/1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(jsonPath("$.message").value("The recipe catalog is read-only"));
+    }
+
     @Test
     void testGetAllRecipes() throws Exception {
 
-        when(recipeProcess.getAllRecipes()).thenReturn(List.of(createRecipeResponse()));
+        when(recipeProcess.findAllRecipes()).thenReturn(List.of(createRecipeResponse()));
 
-        ResultActions response = mockMvc.perform(get("/api/v1/recipes")
+        ResultActions response = perform(get("/api/v1/recipes")
                 .accept(MediaType.APPLICATION_JSON_VALUE));
 
         assertListOfSuccessResponse(response);
@@ -123,22 +187,110 @@ public class RecipeControllerTest {
     @Test
     void testGetRecipesById() throws Exception {
 
-        when(recipeProcess.getRecipeById(anyInt())).thenReturn(createRecipeResponse());
+        when(recipeProcess.findRecipeById(anyInt())).thenReturn(Optional.of(createRecipeResponse()));
 
-        ResultActions response = mockMvc.perform(get("/api/v1/recipes/1")
+        ResultActions response = perform(get("/api/v1/recipes/1")
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .accept(MediaType.APPLICATION_JSON_VALUE));
 
         assertSuccessResponse(status().isOk(), response);
     }
 
+    @Test
+    void testGetRecipesById_whenIdNotFound_returnNotFoundResponse() throws Exception {
+
+        when(recipeProcess.findRecipeById(anyInt())).thenReturn(Optional.empty());
+
+        perform(get("/api/v1/recipes/7")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.statusCode").value(404))
+                .andExpect(jsonPath("$.message").value("Record not found for given ID. 7"));
+    }
+
+    @Test
+    void testGetRecipesById_whenCborIsAccepted_returnCbor() throws Exception {
+
+        when(recipeProcess.findRecipeById(anyInt())).thenReturn(Optional.of(createRecipeResponse()));
+
+        byte[] body = perform(get("/api/v1/recipes/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var cborMapper = new CBORMapper();
+        assertThat(cborMapper.readTree(body)).isEqualTo(cborMapper.valueToTree(createRecipeResponse()));
+    }
+
+    @Test
+    void testSearchRecipes_whenCborIsAccepted_returnCbor() throws Exception {
+
+        when(recipeProcess.searchRecipes(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(createRecipeResponse()));
+
+        byte[] body = perform(get("/api/v1/recipes/search")
+                        .param("isVegetarian", "true")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var cborMapper = new CBORMapper();
+        assertThat(cborMapper.readTree(body)).isEqualTo(cborMapper.valueToTree(List.of(createRecipeResponse())));
+    }
+
+    @Test
+    void testGetRecipesById_whenGzipIsAccepted_returnCompressedJson() throws Exception {
+
+        var recipe = createRecipeResponse();
+        recipe.setInstructions("Fry the vada until golden. ".repeat(100));
+        when(recipeProcess.findRecipeById(anyInt())).thenReturn(Optional.of(recipe));
+
+        byte[] body = perform(get("/api/v1/recipes/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(objectMapper.readTree(in)).isEqualTo(objectMapper.valueToTree(recipe));
+        }
+    }
+
+    @Test
+    void testGetRecipesById_whenGzipIsRefused_returnPlainJson() throws Exception {
+
+        var recipe = createRecipeResponse();
+        recipe.setInstructions("Fry the vada until golden. ".repeat(100));
+        when(recipeProcess.findRecipeById(anyInt())).thenReturn(Optional.of(recipe));
+
+        perform(get("/api/v1/recipes/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.instructions").value(recipe.getInstructions()));
+    }
+
+    @Test
+    void testGetAllRecipes_whenNoRecipes_returnNotFoundResponse() throws Exception {
+
+        when(recipeProcess.findAllRecipes()).thenReturn(List.of());
+
+        perform(get("/api/v1/recipes")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No recipes found"));
+    }
+
     @Test
     void testSearchRecipes() throws Exception {
 
-        when(recipeProcess.searchRecipes(any(), anyInt(), any(), any(), any()))
+        when(recipeProcess.searchRecipes(any(), any(), any(), any(), any()))
                 .thenReturn(List.of(createRecipeResponse()));
 
-        ResultActions response = mockMvc.perform(get("/api/v1/recipes/search")
+        ResultActions response = perform(get("/api/v1/recipes/search")
                 .param("isVegetarian", "true")
                 .param("servings", "4")
                 .param("includeIngredients", "Potato, Spices")
@@ -153,10 +305,10 @@ public class RecipeControllerTest {
     @Test
     void testSearchRecipes_whenFilterParaNotFound_returnNotFoundResponse() throws Exception {
 
-        when(recipeProcess.searchRecipes(any(), anyInt(), any(), any(), any()))
+        when(recipeProcess.searchRecipes(any(), any(), any(), any(), any()))
                 .thenReturn(List.of());
 
-        mockMvc.perform(get("/api/v1/recipes/search")
+        perform(get("/api/v1/recipes/search")
                         .param("isVegetarian", "true")
                         .param("servings", "2")
                         .param("includeIngredients", "Onion, Tomato")
@@ -167,6 +319,348 @@ public class RecipeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testSearchRecipes_withServingsRangeAndValues() throws Exception {
+
+        when(recipeProcess.searchRecipes(null, new ServingsFilter(List.of(2, 6), 2, 4), null, null, null))
+                .thenReturn(List.of(createRecipeResponse()));
+
+        ResultActions response = perform(get("/api/v1/recipes/search")
+                .param("servings", "6", "2")
+                .param("servingsMin", "2")
+                .param("servingsMax", "4")
+                .accept(MediaType.APPLICATION_JSON_VALUE));
+
+        assertListOfSuccessResponse(response);
+    }
+
+    @Test
+    void testSearchRecipes_withoutServings() throws Exception {
+
+        when(recipeProcess.searchRecipes(true, null, null, null, null))
+                .thenReturn(List.of(createRecipeResponse()));
+
+        ResultActions response = perform(get("/api/v1/recipes/search")
+                .param("isVegetarian", "true")
+                .accept(MediaType.APPLICATION_JSON_VALUE));
+
+        assertListOfSuccessResponse(response);
+    }
+
+    @Test
+    void testSearchRecipes_whenSortedByRelevance_useDefaultLimit() throws Exception {
+
+        when(recipeProcess.searchRecipes(true, ServingsFilter.exactly(4), List.of("Potato"), List.of("bake"), "Boil", 50, true))
+                .thenReturn(List.of(createRecipeResponse()));
+
+        ResultActions response = perform(get("/api/v1/recipes/search")
+                .param("isVegetarian", "true")
+                .param("servings", "4")
+                .param("includeIngredients", "Potato")
+                .param("excludeIngredients", "bake")
+                .param("instructionText", "Boil")
+                .param("sort", "relevance")
+                .accept(MediaType.APPLICATION_JSON_VALUE));
+
+        assertListOfSuccessResponse(response);
+    }
+
+    @Test
+    void testSearchRecipes_whenOnlyLimitIsGiven_returnFirstRecipes() throws Exception {
+
+        when(recipeProcess.searchRecipes(true, ServingsFilter.exactly(4), List.of("Potato"), List.of("bake"), "Boil", 1, false))
+                .thenReturn(List.of(createRecipeResponse()));
+
+        ResultActions response = perform(get("/api/v1/recipes/search")
+                .param("isVegetarian", "true")
+                .param("servings", "4")
+                .param("includeIngredients", "Potato")
+                .param("excludeIngredients", "bake")
+                .param("instructionText", "Boil")
+                .param("limit", "1")
+                .accept(MediaType.APPLICATION_JSON_VALUE));
+
+        assertListOfSuccessResponse(response);
+    }
+
+    @Test
+    void testSearchRecipes_whenSortIsUnknown_returnBadRequest() throws Exception {
+
+        perform(get("/api/v1/recipes/search")
+                        .param("servings", "4")
+                        .param("sort", "popularity")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindPantryRecipes() throws Exception {
+
+        var match = PantryRecipeResponse.builder()
+                .recipe(createRecipeResponse())
+                .missingCount(1)
+                .missingIngredients(List.of("Chilli"))
+                .build();
+        when(recipeProcess.findPantryRecipes(List.of("Potato", "Pav"), 1, 50)).thenReturn(List.of(match));
+
+        perform(get("/api/v1/recipes/pantry")
+                        .param("ingredients", "Potato, Pav")
+                        .param("maxMissing", "1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].missingCount").value(1))
+                .andExpect(jsonPath("$[0].missingIngredients[0]").value("Chilli"));
+    }
+
+    @Test
+    void testFindPantryRecipes_whenMaxMissingIsOutOfRange_returnBadRequest() throws Exception {
+
+        perform(get("/api/v1/recipes/pantry")
+                        .param("ingredients", "Potato")
+                        .param("maxMissing", "-1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindPantryRecipes_whenNothingMatches_returnNotFoundResponse() throws Exception {
+
+        when(recipeProcess.findPantryRecipes(any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        perform(get("/api/v1/recipes/pantry")
+                        .param("ingredients", "Saffron")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testLookupRecipes() throws Exception {
+
+        var match = RecipeLookupResponse.builder()
+                .recipe(createRecipeResponse())
+                .similarity(0.75)
+                .build();
+        when(recipeProcess.lookupRecipes("Vada Paw", 10)).thenReturn(List.of(match));
+
+        perform(get("/api/v1/recipes/lookup")
+                        .param("name", "Vada Paw")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].similarity").value(0.75));
+    }
+
+    @Test
+    void testLookupRecipes_whenNameIsBlank_returnBadRequest() throws Exception {
+
+        perform(get("/api/v1/recipes/lookup")
+                        .param("name", " ")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindSimilarRecipes() throws Exception {
+
+        var match = SimilarRecipeResponse.builder()
+                .recipe(createRecipeResponse())
+                .similarity(0.5)
+                .build();
+        when(recipeProcess.findSimilarRecipes(3, 10)).thenReturn(List.of(match));
+
+        perform(get("/api/v1/recipes/3/similar")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].similarity").value(0.5));
+    }
+
+    @Test
+    void testFindSimilarRecipes_whenNoneIsSimilar_returnNotFound() throws Exception {
+
+        when(recipeProcess.findSimilarRecipes(3, 5)).thenReturn(List.of());
+
+        perform(get("/api/v1/recipes/3/similar")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindTrendingRecipes() throws Exception {
+
+        var trending = TrendingRecipeResponse.builder()
+                .recipe(createRecipeResponse())
+                .score(12.5)
+                .build();
+        when(recipeProcess.findTrendingRecipes(10)).thenReturn(List.of(trending));
+
+        perform(get("/api/v1/recipes/trending")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.name").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].score").value(12.5));
+    }
+
+    @Test
+    void testFindTrendingRecipes_whenNothingWasViewed_returnNotFound() throws Exception {
+
+        when(recipeProcess.findTrendingRecipes(10)).thenReturn(List.of());
+
+        perform(get("/api/v1/recipes/trending")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindCooccurringIngredients() throws Exception {
+
+        var cooccurrence = IngredientCooccurrenceResponse.builder().ingredient("onion").recipes(4).share(0.5).build();
+        when(recipeProcess.findCooccurringIngredients("Potato", 10)).thenReturn(List.of(cooccurrence));
+
+        perform(get("/api/v1/recipes/ingredients/cooccurrences")
+                        .param("ingredient", "Potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ingredient").value("onion"))
+                .andExpect(jsonPath("$[0].recipes").value(4))
+                .andExpect(jsonPath("$[0].share").value(0.5));
+    }
+
+    @Test
+    void testFindCooccurringIngredients_whenLimitIsTooLarge_returnBadRequest() throws Exception {
+
+        perform(get("/api/v1/recipes/ingredients/cooccurrences")
+                        .param("ingredient", "Potato")
+                        .param("limit", "101")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchRecipeFacets() throws Exception {
+
+        var facets = SearchFacetsResponse.builder()
+                .total(4)
+                .vegetarian(3)
+                .nonVegetarian(1)
+                .servings(List.of(FacetCount.builder().value("3-4").count(4).build()))
+                .ingredients(List.of(FacetCount.builder().value("potato").count(2).build()))
+                .build();
+        when(recipeProcess.searchRecipeFacets(true, null, List.of("Potato"), null, null, 10)).thenReturn(facets);
+
+        perform(get("/api/v1/recipes/search/facets")
+                        .param("isVegetarian", "true")
+                        .param("includeIngredients", "Potato")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.servings[0].value").value("3-4"))
+                .andExpect(jsonPath("$.ingredients[0].value").value("potato"));
+    }
+
+    @Test
+    void testCountRecipes() throws Exception {
+
+        when(recipeProcess.countRecipes(null, ServingsFilter.exactly(4), null, List.of("Fish"), null))
+                .thenReturn(SearchCountResponse.builder().count(7L).build());
+
+        perform(get("/api/v1/recipes/search/count")
+                        .param("servings", "4")
+                        .param("excludeIngredients", "Fish")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(7));
+    }
+
+    @Test
+    void testRecipesExist() throws Exception {
+
+        when(recipeProcess.recipesExist(true, null, null, null, "oven"))
+                .thenReturn(SearchExistsResponse.builder().exists(false).build());
+
+        perform(get("/api/v1/recipes/search/exists")
+                        .param("isVegetarian", "true")
+                        .param("instructionText", "oven")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exists").value(false));
+    }
+
+    @Test
+    void testCompleteRecipeNames() throws Exception {
+
+        var completion = CompletionResponse.builder().text("Vada Pav").recipeId(1).weight(0L).build();
+        when(recipeProcess.completeRecipeNames("va", 10)).thenReturn(List.of(completion));
+
+        perform(get("/api/v1/recipes/autocomplete/names")
+                        .param("prefix", "va")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Vada Pav"))
+                .andExpect(jsonPath("$[0].recipeId").value(1));
+    }
+
+    @Test
+    void testCompleteIngredients_whenNothingMatches_returnNotFound() throws Exception {
+
+        when(recipeProcess.completeIngredients("xyz", 5)).thenReturn(List.of());
+
+        perform(get("/api/v1/recipes/autocomplete/ingredients")
+                        .param("prefix", "xyz")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCompleteIngredients_whenLimitIsTooLarge_returnBadRequest() throws Exception {
+
+        perform(get("/api/v1/recipes/autocomplete/ingredients")
+                        .param("prefix", "po")
+                        .param("limit", "21")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetRecipeById_whenDeadlineExceeded_returnServiceUnavailable() throws Exception {
+        when(recipeProcess.findRecipeById(7)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Optional.of(createRecipeResponse());
+        });
+
+        perform(get("/api/v1/recipes/7"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    void testFindSimilarRecipes_whenDeadlineExceeded_returnServiceUnavailable() throws Exception {
+        when(recipeProcess.findSimilarRecipes(3, 10)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        perform(get("/api/v1/recipes/3/similar"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    /**
+     * Performs the request and, for the asynchronous endpoints, the dispatch of their result.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return actions;
+        }
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private void assertSuccessResponse(ResultMatcher status, ResultActions response) throws Exception {
         response
                 .andExpect(status)
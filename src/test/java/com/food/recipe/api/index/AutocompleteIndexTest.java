@@ -0,0 +1,142 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AutocompleteIndexTest {
+
+    private final AutocompleteIndex autocompleteIndex = new AutocompleteIndex();
+
+    @BeforeEach
+    void setUp() {
+        autocompleteIndex.clear();
+        autocompleteIndex.add(recipe(1, "Pav Bhaji", "Potato", "Butter", "Pav"));
+        autocompleteIndex.add(recipe(2, "Paneer Tikka", "Paneer", "Pepper"));
+        autocompleteIndex.add(recipe(3, "Pasta", "Pasta", "Pepper", "Potato"));
+        autocompleteIndex.rebuildCompleted();
+    }
+
+    @Test
+    void shouldCompleteRecipeNames_caseInsensitivelyShortestFirst() {
+        assertThat(autocompleteIndex.completeRecipeNames("PA", 10))
+                .extracting(AutocompleteIndex.Completion::text)
+                .containsExactly("Pasta", "Pav Bhaji", "Paneer Tikka");
+        assertThat(autocompleteIndex.completeRecipeNames("pav b", 10))
+                .extracting(AutocompleteIndex.Completion::recipeId)
+                .containsExactly(1);
+        assertThat(autocompleteIndex.completeRecipeNames("pan", 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldCompleteIngredients_mostUsedFirst() {
+        assertThat(autocompleteIndex.completeIngredients("p", 10))
+                .containsExactly(
+                        new AutocompleteIndex.Completion("pepper", null, 2),
+                        new AutocompleteIndex.Completion("potato", null, 2),
+                        new AutocompleteIndex.Completion("pav", null, 1),
+                        new AutocompleteIndex.Completion("pasta", null, 1),
+                        new AutocompleteIndex.Completion("paneer", null, 1));
+    }
+
+    @Test
+    void shouldNotComplete_whenNothingStartsWithPrefix() {
+        assertThat(autocompleteIndex.completeRecipeNames("pizza", 10)).isEmpty();
+        assertThat(autocompleteIndex.completeRecipeNames("pasta al forno", 10)).isEmpty();
+        assertThat(autocompleteIndex.completeIngredients("x", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReweightIngredients_whenRecipesChange() {
+        autocompleteIndex.add(recipe(3, "Pasta Arrabbiata", "Pasta", "Chilli"));
+        autocompleteIndex.remove(recipe(2, "Paneer Tikka"));
+
+        assertThat(autocompleteIndex.completeRecipeNames("pa", 10))
+                .extracting(AutocompleteIndex.Completion::text)
+                .containsExactly("Pav Bhaji", "Pasta Arrabbiata");
+        assertThat(autocompleteIndex.completeIngredients("p", 10))
+                .containsExactly(
+                        new AutocompleteIndex.Completion("pav", null, 1),
+                        new AutocompleteIndex.Completion("pasta", null, 1),
+                        new AutocompleteIndex.Completion("potato", null, 1));
+        assertThat(autocompleteIndex.completeIngredients("ch", 10))
+                .containsExactly(new AutocompleteIndex.Completion("chilli", null, 1));
+    }
+
+    @Test
+    void shouldCompleteMostViewedRecipeNamesFirst_andKeepWeightsAcrossRebuild() {
+        autocompleteIndex.weighRecipeNames(Map.of(2, 5L, 1, 3L));
+
+        assertThat(autocompleteIndex.completeRecipeNames("pa", 10))
+                .extracting(AutocompleteIndex.Completion::text)
+                .containsExactly("Paneer Tikka", "Pav Bhaji", "Pasta");
+
+        autocompleteIndex.weighRecipeNames(Map.of(2, 0L));
+        autocompleteIndex.clear();
+        autocompleteIndex.add(recipe(1, "Pav Bhaji"));
+        autocompleteIndex.add(recipe(2, "Paneer Tikka"));
+        autocompleteIndex.add(recipe(3, "Pasta"));
+        autocompleteIndex.rebuildCompleted();
+
+        assertThat(autocompleteIndex.completeRecipeNames("pa", 10))
+                .containsExactly(
+                        new AutocompleteIndex.Completion("Pav Bhaji", 1, 3),
+                        new AutocompleteIndex.Completion("Pasta", 3, 0),
+                        new AutocompleteIndex.Completion("Paneer Tikka", 2, 0));
+    }
+
+    @Test
+    void shouldCompleteLikeSortedScan_afterManyWrites() {
+        var random = new SplittableRandom(5);
+        var names = new ArrayList<String>();
+        for (int id = 1; id <= 2_000; id++) {
+            names.add(randomName(random));
+            autocompleteIndex.add(recipe(id + 10, names.getLast()));
+        }
+        for (int id = 1; id <= 2_000; id += 3) {
+            autocompleteIndex.remove(recipe(id + 10, null));
+            names.set(id - 1, null);
+        }
+
+        for (String prefix : List.of("a", "ab", "bca", "cab c", "ccc")) {
+            var expected = new ArrayList<String>();
+            for (String name : names) {
+                if (name != null && name.startsWith(prefix)) {
+                    expected.add(name);
+                }
+            }
+            expected.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+
+            assertThat(autocompleteIndex.completeRecipeNames(prefix, 5))
+                    .extracting(AutocompleteIndex.Completion::text)
+                    .as(prefix)
+                    .containsExactlyElementsOf(expected.subList(0, Math.min(5, expected.size())));
+        }
+    }
+
+    /**
+     * Lowercase names over a small alphabet, so that many of them share prefixes.
+     */
+    private static String randomName(SplittableRandom random) {
+        var name = new StringBuilder();
+        for (int i = 3 + random.nextInt(6); i > 0; i--) {
+            name.append((char) ('a' + random.nextInt(3)));
+            if (i > 1 && random.nextInt(5) == 0) {
+                name.append(' ');
+            }
+        }
+        return name.toString();
+    }
+
+    private static RecipeEntity recipe(int id, String name, String... ingredients) {
+        return RecipeEntity.builder().id(id).name(name).ingredients(List.of(ingredients)).build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.food.recipe.api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BloomFilterTest {
+
+    @Test
+    void shouldNeverReportFalseNegatives() {
+        var filter = BloomFilter.create(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(filter::put);
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredProbability() {
+        var filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(filter::put);
+
+        long falsePositives = IntStream.range(10_000, 110_000).filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void shouldHashStringsConsistently() {
+        var filter = BloomFilter.create(100, 0.01);
+
+        filter.put(BloomFilter.hash("vada pav"));
+
+        assertThat(filter.mightContain(BloomFilter.hash("vada pav"))).isTrue();
+        assertThat(BloomFilter.hash("vada pav")).isNotEqualTo(BloomFilter.hash("pav vada"));
+    }
+
+    @Test
+    void shouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
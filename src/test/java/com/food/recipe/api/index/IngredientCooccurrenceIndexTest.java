@@ -0,0 +1,96 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.IngredientCooccurrenceIndex.Cooccurrence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IngredientCooccurrenceIndexTest {
+
+    private final IngredientCooccurrenceIndex cooccurrenceIndex = new IngredientCooccurrenceIndex();
+
+    @BeforeEach
+    void setUp() {
+        cooccurrenceIndex.add(recipe(1, "Potato", "Onion", "Chilli"));
+        cooccurrenceIndex.add(recipe(2, "potato ", "Onion", "Onion"));
+        cooccurrenceIndex.add(recipe(3, "Potato", "Cheese"));
+        cooccurrenceIndex.add(recipe(4, "Rice", "Fish"));
+    }
+
+    @Test
+    void shouldFindMostFrequentlyCooccurringIngredients() {
+        assertThat(cooccurrenceIndex.find(" POTATO", 10)).containsExactly(
+                new Cooccurrence("onion", 2, 2 / 3.0),
+                new Cooccurrence("cheese", 1, 1 / 3.0),
+                new Cooccurrence("chilli", 1, 1 / 3.0));
+        assertThat(cooccurrenceIndex.find("onion", 1)).containsExactly(new Cooccurrence("potato", 2, 1.0));
+        assertThat(cooccurrenceIndex.find("saffron", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        cooccurrenceIndex.add(recipe(2, "Potato", "Cheese"));
+        cooccurrenceIndex.remove(recipe(4));
+
+        assertThat(cooccurrenceIndex.find("potato", 10)).containsExactly(
+                new Cooccurrence("cheese", 2, 2 / 3.0),
+                new Cooccurrence("chilli", 1, 1 / 3.0),
+                new Cooccurrence("onion", 1, 1 / 3.0));
+        assertThat(cooccurrenceIndex.find("rice", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRestoreSnapshot_whenRecipeCountMatches() throws IOException {
+        byte[] snapshot = snapshot(cooccurrenceIndex);
+        var restored = new IngredientCooccurrenceIndex();
+
+        assertThat(restored.readSnapshot(input(snapshot), 4)).isTrue();
+        assertThat(restored.find("potato", 10)).isEqualTo(cooccurrenceIndex.find("potato", 10));
+
+        restored.remove(recipe(1));
+        restored.add(recipe(5, "Rice", "Fish", "Chilli"));
+
+        assertThat(restored.find("potato", 10)).containsExactly(
+                new Cooccurrence("cheese", 1, 0.5), new Cooccurrence("onion", 1, 0.5));
+        assertThat(restored.find("fish", 10)).containsExactly(
+                new Cooccurrence("rice", 2, 1.0), new Cooccurrence("chilli", 1, 0.5));
+    }
+
+    @Test
+    void shouldRejectStaleSnapshot_andKeepContent() throws IOException {
+        var other = new IngredientCooccurrenceIndex();
+        other.add(recipe(9, "Salt", "Pepper"));
+
+        assertThat(cooccurrenceIndex.readSnapshot(input(snapshot(other)), 2)).isFalse();
+        assertThat(cooccurrenceIndex.find("salt", 10)).isEmpty();
+        assertThat(cooccurrenceIndex.find("rice", 10)).containsExactly(new Cooccurrence("fish", 1, 1.0));
+    }
+
+    private static byte[] snapshot(IngredientCooccurrenceIndex index) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            index.writeSnapshot(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] snapshot) {
+        return new DataInputStream(new ByteArrayInputStream(snapshot));
+    }
+
+    private static RecipeEntity recipe(int id, String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .ingredients(List.of(ingredients))
+                .build();
+    }
+}
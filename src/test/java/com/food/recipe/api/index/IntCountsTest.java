@@ -0,0 +1,48 @@
+package com.food.recipe.api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntCountsTest {
+
+    @Test
+    void shouldMatchHashMap_underRandomIncrementsAndDecrements() throws IOException {
+        var counts = new IntCounts();
+        Map<Integer, Integer> expected = new HashMap<>();
+        var random = new SplittableRandom(3);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Few distinct keys, so counts often drop to zero and removals shift probe runs.
+            int key = random.nextInt(300);
+            int delta = random.nextBoolean() ? 1 : -1;
+            counts.add(key, delta);
+            expected.merge(key, delta, Integer::sum);
+            expected.remove(key, 0);
+            if (expected.getOrDefault(key, 0) < 0) {
+                expected.remove(key);
+            }
+        }
+
+        Map<Integer, Integer> actual = new HashMap<>();
+        counts.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        assertThat(counts.size()).isEqualTo(expected.size());
+        expected.forEach((key, count) -> assertThat(counts.get(key)).isEqualTo(count));
+
+        var bytes = new ByteArrayOutputStream();
+        counts.writeTo(new DataOutputStream(bytes));
+        Map<Integer, Integer> restored = new HashMap<>();
+        IntCounts.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).forEach(restored::put);
+        assertThat(restored).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,114 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PantryIndexTest {
+
+    private final PantryIndex pantryIndex = new PantryIndex();
+
+    @BeforeEach
+    void setUp() {
+        pantryIndex.add(recipe(1, "Potato", "Onion", "Pav"));
+        pantryIndex.add(recipe(2, "Potato", "Onion"));
+        pantryIndex.add(recipe(3, "Chicken", "Noodles", "Kimchi", "Sauce"));
+        pantryIndex.add(recipe(4, "Potato", "Flour", "Chilli", "Spices"));
+    }
+
+    @Test
+    void shouldReturnOnlyFullyCoveredRecipes_whenNoIngredientMayBeMissing() {
+        var matches = pantryIndex.find(List.of("potato", " ONION ", "Pav", "Salt"), 0, 10);
+
+        assertThat(matches).extracting(PantryIndex.PantryMatch::recipeId).containsExactly(1, 2);
+        assertThat(matches).extracting(PantryIndex.PantryMatch::missing).containsOnly(0);
+    }
+
+    @Test
+    void shouldRankByFewestMissing_whenIngredientsMayBeMissing() {
+        var matches = pantryIndex.find(List.of("Potato", "Onion", "Flour"), 2, 10);
+
+        assertThat(matches).extracting(PantryIndex.PantryMatch::recipeId).containsExactly(2, 1, 4);
+        assertThat(matches).extracting(PantryIndex.PantryMatch::missing).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void shouldKeepBestMatches_whenLimitIsReached() {
+        var matches = pantryIndex.find(List.of("Potato", "Onion", "Flour"), 2, 2);
+
+        assertThat(matches).extracting(PantryIndex.PantryMatch::recipeId).containsExactly(2, 1);
+    }
+
+    @Test
+    void shouldIgnoreRecipesSharingNoIngredient() {
+        assertThat(pantryIndex.find(List.of("Chicken"), 1, 10)).isEmpty();
+        assertThat(pantryIndex.find(List.of("Saffron"), 5, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldUseNewIngredients_whenRecipeIsUpdated() {
+        pantryIndex.add(recipe(3, "Rice", "Egg"));
+
+        assertThat(pantryIndex.find(List.of("Rice", "Egg"), 0, 10))
+                .extracting(PantryIndex.PantryMatch::recipeId).containsExactly(3);
+        assertThat(pantryIndex.find(List.of("Chicken", "Noodles", "Kimchi", "Sauce"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReuseSlot_whenRecipeIsRemovedAndAnotherAdded() {
+        pantryIndex.remove(recipe(2));
+        pantryIndex.add(recipe(5, "Onion"));
+
+        assertThat(pantryIndex.find(List.of("Potato", "Onion"), 0, 10))
+                .extracting(PantryIndex.PantryMatch::recipeId).containsExactly(5);
+    }
+
+    @Test
+    void shouldKeepOtherPostings_whenRecipesAreRemovedFromTheMiddleOfTheirLists() {
+        IntStream.rangeClosed(10, 20).forEach(id -> pantryIndex.add(recipe(id, "Potato", "Onion")));
+
+        IntStream.rangeClosed(10, 20).filter(id -> id % 3 == 0).forEach(id -> pantryIndex.remove(recipe(id)));
+        pantryIndex.remove(recipe(2));
+        pantryIndex.add(recipe(14, "Onion"));
+
+        assertThat(pantryIndex.find(List.of("Potato", "Onion"), 0, 20))
+                .extracting(PantryIndex.PantryMatch::recipeId)
+                .containsExactly(10, 11, 13, 16, 17, 19, 20, 14);
+    }
+
+    @Test
+    void shouldStartFromZeroCounts_onEveryQuery() {
+        var first = pantryIndex.find(List.of("Potato", "Onion"), 2, 10);
+
+        assertThat(pantryIndex.find(List.of("Potato", "Onion"), 2, 10)).isEqualTo(first);
+        assertThat(pantryIndex.find(List.of("Potato"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldCountDuplicateIngredientsOnce() {
+        pantryIndex.add(recipe(6, "Rice", "rice", "Egg"));
+
+        assertThat(pantryIndex.find(List.of("Rice"), 1, 10))
+                .containsExactly(new PantryIndex.PantryMatch(6, 1, 1));
+    }
+
+    @Test
+    void shouldReturnNothing_whenCleared() {
+        pantryIndex.clear();
+
+        assertThat(pantryIndex.find(List.of("Potato", "Onion"), 0, 10)).isEmpty();
+    }
+
+    private static RecipeEntity recipe(int id, String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .ingredients(List.of(ingredients))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.RecipeFacetIndex.ValueCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeFacetIndexTest {
+
+    private final RecipeFacetIndex recipeFacetIndex = new RecipeFacetIndex();
+
+    @BeforeEach
+    void setUp() {
+        recipeFacetIndex.add(recipe(1, true, 4, "Potato", "Pav", "Chilli"));
+        recipeFacetIndex.add(recipe(2, true, 2, "potato ", "Onion"));
+        recipeFacetIndex.add(recipe(3, false, 20, "Chicken", "Onion", "Potato"));
+        recipeFacetIndex.add(recipe(4, false, 1, "Fish"));
+    }
+
+    @Test
+    void shouldCountFacetsOfGivenRecipesOnly() {
+        var counts = recipeFacetIndex.count(new int[]{1, 2, 3}, 2);
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.vegetarian()).isEqualTo(2);
+        assertThat(counts.nonVegetarian()).isEqualTo(1);
+        assertThat(counts.servings()).containsExactly(
+                new ValueCount("2", 1), new ValueCount("3-4", 1), new ValueCount("13+", 1));
+        assertThat(counts.topIngredients()).containsExactly(
+                new ValueCount("potato", 3), new ValueCount("onion", 2));
+    }
+
+    @Test
+    void shouldSkipUnknownIds_andReflectUpdates() {
+        recipeFacetIndex.add(recipe(4, true, 6, "Fish", "Rice"));
+        recipeFacetIndex.remove(recipe(1, true, 4));
+
+        var counts = recipeFacetIndex.count(new int[]{1, 4, 99}, 10);
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.vegetarian()).isEqualTo(1);
+        assertThat(counts.servings()).containsExactly(new ValueCount("5-6", 1));
+        assertThat(counts.topIngredients()).containsExactly(new ValueCount("fish", 1), new ValueCount("rice", 1));
+    }
+
+    @Test
+    void shouldCountNothing_whenNoRecipeMatches() {
+        var counts = recipeFacetIndex.count(new int[0], 10);
+
+        assertThat(counts.total()).isZero();
+        assertThat(counts.servings()).isEmpty();
+        assertThat(counts.topIngredients()).isEmpty();
+    }
+
+    private static RecipeEntity recipe(int id, boolean vegetarian, int servings, String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .isVegetarian(vegetarian)
+                .servings(servings)
+                .ingredients(List.of(ingredients))
+                .build();
+    }
+}
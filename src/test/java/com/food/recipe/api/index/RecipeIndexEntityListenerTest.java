@@ -0,0 +1,82 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class RecipeIndexEntityListenerTest {
+
+    private final RecipeIndex recipeIndex = mock(RecipeIndex.class);
+    private final RecipeIndexUpdates recipeIndexUpdates = new RecipeIndexUpdates(
+            new StaticListableBeanFactory(Map.of("recipeIndex", recipeIndex)).getBeanProvider(RecipeIndex.class));
+    private final RecipeIndexEntityListener listener = new RecipeIndexEntityListener(recipeIndexUpdates);
+    private final RecipeEntity recipe = RecipeEntity.builder().id(1).name("Vada Pav").ingredients(List.of("Potato"))
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldIndexImmediately_whenNoTransactionIsActive() {
+        listener.onSaved(recipe);
+
+        verify(recipeIndex).add(recipe);
+    }
+
+    @Test
+    void shouldIndexAfterCommit_whenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onSaved(recipe);
+        listener.onRemoved(recipe);
+        verifyNoInteractions(recipeIndex);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(recipeIndex).add(recipe);
+        verify(recipeIndex).remove(recipe);
+    }
+
+    @Test
+    void shouldNotIndex_whenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onSaved(recipe);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(recipeIndex);
+    }
+
+    @Test
+    void shouldHoldBackChanges_untilRebuildIsDone() {
+        var renamed = RecipeEntity.builder().id(1).name("Pav Bhaji").ingredients(List.of("Potato")).build();
+        recipeIndexUpdates.deferChanges();
+
+        listener.onSaved(recipe);
+        listener.onSaved(renamed);
+        verifyNoInteractions(recipeIndex);
+
+        recipeIndexUpdates.applyDeferredChanges();
+        var inOrder = inOrder(recipeIndex);
+        inOrder.verify(recipeIndex).add(recipe);
+        inOrder.verify(recipeIndex).add(renamed);
+
+        listener.onRemoved(recipe);
+        verify(recipeIndex).remove(recipe);
+    }
+}
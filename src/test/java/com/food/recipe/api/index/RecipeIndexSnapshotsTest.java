@@ -0,0 +1,68 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.config.RecipeSnapshotProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeIndexSnapshotsTest {
+
+    @TempDir
+    private Path directory;
+
+    private static final RecipeWatermark ONE_RECIPE = new RecipeWatermark(1, 1, 42);
+    private static final RecipeWatermark EMPTY = new RecipeWatermark(0, 0, 0);
+
+    private final IngredientCooccurrenceIndex cooccurrenceIndex = new IngredientCooccurrenceIndex();
+
+    @Test
+    void shouldRestoreSavedSnapshotOnce() {
+        cooccurrenceIndex.add(RecipeEntity.builder().id(1).ingredients(List.of("Potato", "Onion")).build());
+        snapshots(true).save(ONE_RECIPE);
+        cooccurrenceIndex.clear();
+
+        assertThat(snapshots(true).restore(ONE_RECIPE)).containsExactly(cooccurrenceIndex);
+        assertThat(cooccurrenceIndex.find("potato", 10)).hasSize(1);
+        assertThat(snapshots(true).restore(ONE_RECIPE)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteStaleSnapshot() {
+        snapshots(true).save(EMPTY);
+
+        assertThat(snapshots(true).restore(new RecipeWatermark(5, 5, 7))).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldRejectSnapshot_whenRecipeCountMatchesButChecksumDiffers() {
+        cooccurrenceIndex.add(RecipeEntity.builder().id(1).ingredients(List.of("Potato", "Onion")).build());
+        snapshots(true).save(ONE_RECIPE);
+        cooccurrenceIndex.clear();
+
+        assertThat(snapshots(true).restore(new RecipeWatermark(1, 1, 43))).isEmpty();
+        assertThat(cooccurrenceIndex.find("potato", 10)).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldNeitherSaveNorRestore_whenDisabled() throws Exception {
+        snapshots(false).save(EMPTY);
+        Files.write(directory.resolve(cooccurrenceIndex.snapshotName() + ".snapshot"), new byte[]{1, 2});
+
+        assertThat(snapshots(false).restore(EMPTY)).isEmpty();
+        assertThat(directory).isNotEmptyDirectory();
+        assertThat(snapshots(true).restore(EMPTY)).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    private RecipeIndexSnapshots snapshots(boolean enabled) {
+        return new RecipeIndexSnapshots(new RecipeSnapshotProperties(enabled, directory), List.of(cooccurrenceIndex));
+    }
+}
@@ -0,0 +1,132 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeNameIndexTest {
+
+    private final RecipeNameIndex recipeNameIndex = new RecipeNameIndex();
+
+    @BeforeEach
+    void setUp() {
+        recipeNameIndex.add(recipe(1, "Vada Pav"));
+        recipeNameIndex.add(recipe(2, "Pav Bhaji"));
+        recipeNameIndex.add(recipe(3, "🍜 Ramen"));
+        recipeNameIndex.add(recipe(4, "Chicken Tikka Masala"));
+    }
+
+    @Test
+    void shouldFindExactNameWithFullSimilarity() {
+        var matches = recipeNameIndex.find("vada pav", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY);
+
+        assertThat(matches.getFirst()).isEqualTo(new RecipeNameIndex.NameMatch(1, 1.0));
+    }
+
+    @Test
+    void shouldFindName_whenMisspelled() {
+        assertThat(recipeNameIndex.find("Chiken Tika Masala", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY))
+                .extracting(RecipeNameIndex.NameMatch::recipeId).containsExactly(4);
+        assertThat(recipeNameIndex.find("ramne", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY))
+                .extracting(RecipeNameIndex.NameMatch::recipeId).containsExactly(3);
+    }
+
+    @Test
+    void shouldRankMoreSimilarNamesFirst() {
+        var matches = recipeNameIndex.find("Pav Bhaji", 10, 0.1);
+
+        assertThat(matches).extracting(RecipeNameIndex.NameMatch::recipeId).containsExactly(2, 1);
+        assertThat(matches.get(0).similarity()).isGreaterThan(matches.get(1).similarity());
+    }
+
+    @Test
+    void shouldNotMatch_whenNamesAreUnrelated() {
+        assertThat(recipeNameIndex.find("Lasagne", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY)).isEmpty();
+        assertThat(recipeNameIndex.find(" ", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY)).isEmpty();
+    }
+
+    @Test
+    void shouldFindNewName_whenRecipeIsRenamed() {
+        recipeNameIndex.add(recipe(3, "Miso Soup"));
+
+        assertThat(recipeNameIndex.find("Ramen", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY)).isEmpty();
+        assertThat(recipeNameIndex.find("miso soop", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY))
+                .extracting(RecipeNameIndex.NameMatch::recipeId).containsExactly(3);
+    }
+
+    @Test
+    void shouldNotFindName_whenRecipeIsRemoved() {
+        recipeNameIndex.remove(recipe(1, "Vada Pav"));
+
+        assertThat(recipeNameIndex.find("Vada Pav", 10, RecipeNameIndex.DEFAULT_MIN_SIMILARITY))
+                .extracting(RecipeNameIndex.NameMatch::recipeId).doesNotContain(1);
+    }
+
+    @Test
+    void shouldFindSameMatchesAsFullScan_whenCatalogIsLarge() {
+        var random = new SplittableRandom(11);
+        var index = new RecipeNameIndex();
+        var names = new ArrayList<String>();
+        for (int id = 1; id <= 2_000; id++) {
+            String name = randomWord(random) + " " + randomWord(random) + (random.nextBoolean() ? " " + randomWord(random) : "");
+            names.add(name);
+            index.add(recipe(id, name));
+        }
+
+        var nameTrigrams = names.stream().map(RecipeNameIndexTest::trigramSet).toList();
+
+        for (int i = 0; i < 100; i++) {
+            String query = names.get(random.nextInt(names.size())).substring(1);
+            Set<Long> queryTrigrams = trigramSet(query);
+            var expected = IntStream.range(0, names.size())
+                    .mapToObj(slot -> new RecipeNameIndex.NameMatch(slot + 1, similarity(queryTrigrams, nameTrigrams.get(slot))))
+                    .filter(match -> match.similarity() >= 0.3)
+                    .sorted(Comparator.comparingDouble(RecipeNameIndex.NameMatch::similarity).reversed()
+                            .thenComparingInt(RecipeNameIndex.NameMatch::recipeId))
+                    .limit(5)
+                    .toList();
+
+            assertThat(index.find(query, 5, 0.3)).as(query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldPadEveryWord_whenExtractingTrigrams() {
+        assertThat(RecipeNameIndex.trigrams("Pav")).hasSize(4);
+        assertThat(RecipeNameIndex.trigrams("Vada  Pav!")).hasSize(9);
+    }
+
+    private static Set<Long> trigramSet(String name) {
+        return LongStream.of(RecipeNameIndex.trigrams(name)).boxed().collect(Collectors.toSet());
+    }
+
+    private static double similarity(Set<Long> firstTrigrams, Set<Long> secondTrigrams) {
+        long shared = firstTrigrams.stream().filter(secondTrigrams::contains).count();
+        return (double) shared / (firstTrigrams.size() + secondTrigrams.size() - shared);
+    }
+
+    /**
+     * Short words over a small alphabet, so that names share many trigrams.
+     */
+    private static String randomWord(SplittableRandom random) {
+        var word = new StringBuilder();
+        for (int i = 2 + random.nextInt(5); i > 0; i--) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+
+    private static RecipeEntity recipe(int id, String name) {
+        return RecipeEntity.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.food.recipe.api.index;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.index.SimilarRecipeIndex.SimilarRecipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimilarRecipeIndexTest {
+
+    private final SimilarRecipeIndex similarRecipeIndex = new SimilarRecipeIndex();
+
+    @BeforeEach
+    void setUp() {
+        similarRecipeIndex.add(recipe(1, "Potato", "Onion", "Tomato", "Chilli", "Salt"));
+        similarRecipeIndex.add(recipe(2, "potato ", "Onion", "Tomato", "Chilli", "Salt", "Garlic"));
+        similarRecipeIndex.add(recipe(3, "Potato", "Onion", "Tomato", "Chilli", "Salt", "Garlic", "Ginger"));
+        similarRecipeIndex.add(recipe(4, "Rice", "Fish", "Seaweed", "Vinegar"));
+    }
+
+    @Test
+    void shouldFindRecipesWithSimilarIngredients_mostSimilarFirst() {
+        assertThat(similarRecipeIndex.find(1, 10)).containsExactly(
+                new SimilarRecipe(2, 5 / 6.0), new SimilarRecipe(3, 5 / 7.0));
+        assertThat(similarRecipeIndex.find(1, 1)).containsExactly(new SimilarRecipe(2, 5 / 6.0));
+        assertThat(similarRecipeIndex.find(4, 10)).isEmpty();
+        assertThat(similarRecipeIndex.find(99, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        similarRecipeIndex.add(recipe(4, "Potato", "Onion", "Tomato", "Chilli", "Salt"));
+        similarRecipeIndex.remove(recipe(2));
+
+        assertThat(similarRecipeIndex.find(1, 10)).containsExactly(
+                new SimilarRecipe(4, 1.0), new SimilarRecipe(3, 5 / 7.0));
+        assertThat(similarRecipeIndex.find(2, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseIngredientIds_whenNoRecipeUsesThemAnymore() {
+        assertThat(similarRecipeIndex.ingredientCount()).isEqualTo(11);
+
+        similarRecipeIndex.add(recipe(4, "Rice", "Fish"));
+        similarRecipeIndex.remove(recipe(3));
+        similarRecipeIndex.add(recipe(5, "Potato", "Onion", "Tomato", "Chilli", "Salt", "Saffron"));
+
+        assertThat(similarRecipeIndex.ingredientCount()).isEqualTo(9);
+        assertThat(similarRecipeIndex.find(1, 10)).containsExactly(
+                new SimilarRecipe(2, 5 / 6.0), new SimilarRecipe(5, 5 / 6.0));
+    }
+
+    @Test
+    void shouldBucketByPersistedSignature_insteadOfRehashing() {
+        var recipe = recipe(5, "Potato", "Onion", "Tomato", "Chilli", "Salt");
+        recipe.setIngredientSignature(MinHash.encode(MinHash.signature(List.of("Rice", "Fish", "Seaweed", "Vinegar"))));
+        similarRecipeIndex.add(recipe);
+
+        assertThat(similarRecipeIndex.find(1, 10)).doesNotContain(new SimilarRecipe(5, 1.0));
+
+        recipe.setIngredientSignature(null);
+        similarRecipeIndex.add(recipe);
+
+        assertThat(similarRecipeIndex.find(1, 10)).startsWith(new SimilarRecipe(5, 1.0));
+    }
+
+    @Test
+    void shouldRoundTripSignatures_andIgnoreSignaturesOfAnotherLength() {
+        int[] signature = MinHash.signature(List.of("Potato", "Onion"));
+
+        assertThat(MinHash.decode(MinHash.encode(signature))).containsExactly(signature);
+        assertThat(MinHash.signature(List.of("onion ", "POTATO", "Onion"))).containsExactly(signature);
+        assertThat(MinHash.decode(new byte[8])).isNull();
+        assertThat(MinHash.encode(MinHash.signature(List.of(" ")))).isNull();
+    }
+
+    @Test
+    void shouldFindNearlyAllHighlySimilarPairs_comparedToBruteForce() {
+        var random = new SplittableRandom(11);
+        List<Set<String>> catalog = new ArrayList<>();
+        for (int id = 0; id < 2000; id++) {
+            Set<String> ingredients = new HashSet<>();
+            if (id > 0 && random.nextInt(4) == 0) {
+                // A variation of an earlier recipe: one ingredient swapped for another.
+                ingredients.addAll(catalog.get(random.nextInt(id)));
+                ingredients.remove(ingredients.iterator().next());
+                ingredients.add("ingredient" + random.nextInt(500));
+            } else {
+                IntStream.range(0, 8 + random.nextInt(8)).forEach(i -> ingredients.add("ingredient" + random.nextInt(500)));
+            }
+            catalog.add(ingredients);
+            similarRecipeIndex.add(recipe(100 + id, ingredients.toArray(String[]::new)));
+        }
+
+        int expected = 0;
+        int found = 0;
+        for (int id = 0; id < catalog.size(); id++) {
+            var similar = similarRecipeIndex.find(100 + id, catalog.size()).stream()
+                    .map(SimilarRecipe::recipeId)
+                    .toList();
+            for (int other = 0; other < catalog.size(); other++) {
+                if (other != id && jaccard(catalog.get(id), catalog.get(other)) >= 0.8) {
+                    expected++;
+                    found += similar.contains(100 + other) ? 1 : 0;
+                }
+            }
+        }
+
+        assertThat(expected).isPositive();
+        assertThat((double) found / expected).isGreaterThan(0.95);
+    }
+
+    private static double jaccard(Set<String> first, Set<String> second) {
+        long shared = first.stream().filter(second::contains).count();
+        return (double) shared / (first.size() + second.size() - shared);
+    }
+
+    private static RecipeEntity recipe(int id, String... ingredients) {
+        return RecipeEntity.builder()
+                .id(id)
+                .ingredients(List.of(ingredients))
+                .build();
+    }
+}
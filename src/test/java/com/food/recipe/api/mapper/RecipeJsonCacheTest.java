@@ -0,0 +1,141 @@
+package com.food.recipe.api.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.recipe.api.config.RecipeJsonCacheProperties;
+import com.food.recipe.api.model.RecipesResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntity;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ServerProperties serverProperties = new ServerProperties();
+
+    private final RecipeJsonCache recipeJsonCache = new RecipeJsonCache(objectMapper,
+            new RecipeJsonCacheProperties(true, 2), serverProperties);
+
+    @Test
+    void shouldReuseEncoding_forUnchangedRecipe() throws Exception {
+        var recipe = createRecipeResponse();
+
+        byte[] json = recipeJsonCache.toJson(recipe);
+
+        assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(recipe));
+        assertThat(recipeJsonCache.toJson(createRecipeResponse())).isSameAs(json);
+    }
+
+    @Test
+    void shouldReencode_whenRecipeChanged() throws Exception {
+        var recipe = createRecipeResponse();
+        byte[] json = recipeJsonCache.toJson(recipe);
+        recipe.setIngredients(new ArrayList<>(recipe.getIngredients()));
+        recipe.getIngredients().add("Butter");
+
+        byte[] changed = recipeJsonCache.toJson(recipe);
+
+        assertThat(changed).isNotSameAs(json).isEqualTo(objectMapper.writeValueAsBytes(recipe));
+    }
+
+    @Test
+    void shouldDropEntry_whenRecipeIsWritten() {
+        var recipe = createRecipeResponse();
+        byte[] json = recipeJsonCache.toJson(recipe);
+        var entity = createRecipeEntity();
+        entity.setId(recipe.getId());
+
+        recipeJsonCache.add(entity);
+
+        assertThat(recipeJsonCache.size()).isZero();
+        assertThat(recipeJsonCache.toJson(recipe)).isNotSameAs(json).isEqualTo(json);
+    }
+
+    @Test
+    void shouldReuseGzippedEncoding_fromCompressionThreshold() throws Exception {
+        serverProperties.getCompression().setEnabled(true);
+        serverProperties.getCompression().setMinResponseSize(DataSize.ofBytes(400));
+        var cache = new RecipeJsonCache(objectMapper, new RecipeJsonCacheProperties(true, 2), serverProperties);
+        var small = createRecipeResponse();
+        var large = recipe(2, "Samosa");
+        large.setInstructions("Fold the pastry around the filling. ".repeat(20));
+
+        byte[] gzip = cache.toGzippedJson(large);
+
+        assertThat(cache.toGzippedJson(small)).isNull();
+        assertThat(cache.toGzippedJson(large)).isSameAs(gzip);
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(cache.toJson(large));
+        }
+    }
+
+    @Test
+    void shouldNotCompress_whenCompressionIsDisabled() {
+        var large = createRecipeResponse();
+        large.setInstructions("x".repeat(10_000));
+
+        assertThat(recipeJsonCache.toGzippedJson(large)).isNull();
+    }
+
+    @Test
+    void shouldEvictEntries_beyondMaxEntries() {
+        recipeJsonCache.toJson(recipe(1, "Vada Pav"));
+        recipeJsonCache.toJson(recipe(2, "Samosa"));
+
+        recipeJsonCache.toJson(recipe(3, "Ramen"));
+
+        assertThat(recipeJsonCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepHotEntry_whenLongListIsWritten() throws Exception {
+        var cache = new RecipeJsonCache(objectMapper, new RecipeJsonCacheProperties(true, 10), serverProperties);
+        IntStream.rangeClosed(1, 5).forEach(id -> cache.toJson(recipe(id, "Recipe " + id)));
+        cache.size();
+        byte[] hot = null;
+        for (int i = 0; i < 10; i++) {
+            hot = cache.toJson(recipe(1, "Recipe 1"));
+        }
+        cache.size();
+
+        cache.writeJsonArray(IntStream.range(100, 200).mapToObj(id -> recipe(id, "Recipe " + id)).toList(),
+                OutputStream.nullOutputStream());
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.toJson(recipe(1, "Recipe 1"))).isSameAs(hot);
+    }
+
+    @Test
+    void shouldConcatenateEncodings_intoJsonArray() throws Exception {
+        var recipes = List.of(recipe(1, "Vada Pav"), recipe(2, "Samosa"), recipe(3, "Ramen"));
+
+        var json = new ByteArrayOutputStream();
+        recipeJsonCache.writeJsonArray(recipes, json);
+        var empty = new ByteArrayOutputStream();
+        recipeJsonCache.writeJsonArray(List.of(), empty);
+
+        assertThat(json.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(recipes));
+        assertThat(empty.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+        assertThat(recipeJsonCache.size()).isEqualTo(2);
+    }
+
+    private static RecipesResponse recipe(int id, String name) {
+        var recipe = createRecipeResponse();
+        recipe.setId(id);
+        recipe.setName(name);
+        return recipe;
+    }
+}
@@ -0,0 +1,63 @@
+package com.food.recipe.api.monitoring;
+
+import com.food.recipe.api.config.SlowQueryProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SlowQueryLogTest {
+
+    @Test
+    void shouldReturnEntriesNewestFirst() {
+        var slowQueryLog = createLog(3);
+
+        slowQueryLog.record(entry("select 1"));
+        slowQueryLog.record(entry("select 2"));
+
+        assertThat(slowQueryLog.entries())
+                .extracting(SlowQueryEntry::sql)
+                .containsExactly("select 2", "select 1");
+    }
+
+    @Test
+    void shouldOverwriteOldestEntry_whenCapacityIsExceeded() {
+        var slowQueryLog = createLog(2);
+
+        slowQueryLog.record(entry("select 1"));
+        slowQueryLog.record(entry("select 2"));
+        slowQueryLog.record(entry("select 3"));
+
+        assertThat(slowQueryLog.entries())
+                .extracting(SlowQueryEntry::sql)
+                .containsExactly("select 3", "select 2");
+    }
+
+    @Test
+    void shouldBeEmpty_whenCleared() {
+        var slowQueryLog = createLog(2);
+        slowQueryLog.record(entry("select 1"));
+
+        slowQueryLog.clear();
+
+        assertThat(slowQueryLog.entries()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThatThrownBy(() -> createLog(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SlowQueryLog createLog(int capacity) {
+        return new SlowQueryLog(new SlowQueryProperties(true, Duration.ofMillis(500), capacity, false,
+                Duration.ofSeconds(5)));
+    }
+
+    private SlowQueryEntry entry(String sql) {
+        return new SlowQueryEntry(Instant.now(), 600, sql, List.of(List.of("Integer")), null);
+    }
+}
@@ -0,0 +1,183 @@
+package com.food.recipe.api.popularity;
+
+import com.food.recipe.api.config.RecipePopularityProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.entity.RecipeViewCountEntity;
+import com.food.recipe.api.index.AutocompleteIndex;
+import com.food.recipe.api.popularity.RecipePopularity.TrendingRecipe;
+import com.food.recipe.api.repository.RecipeViewCountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipePopularityTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    @Mock
+    private RecipeViewCountRepository recipeViewCountRepository;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final AutocompleteIndex autocompleteIndex = new AutocompleteIndex();
+
+    private RecipePopularity recipePopularity(int trendingSize) {
+        return new RecipePopularity(
+                new RecipePopularityProperties(Duration.ofSeconds(5), HALF_LIFE, trendingSize, 2),
+                recipeViewCountRepository, autocompleteIndex, clock::get);
+    }
+
+    @Test
+    void shouldFlushViewsAsOneBatch_andRankTrendingRecipes() {
+        var popularity = recipePopularity(10);
+        IntStream.range(0, 3).forEach(i -> popularity.recordView(1));
+        popularity.recordView(2);
+        IntStream.range(0, 3).parallel().forEach(i -> popularity.recordView(3));
+
+        assertThat(popularity.trending(10)).isEmpty();
+        popularity.flush();
+
+        verify(recipeViewCountRepository).addViews(Map.of(1, 3L, 2, 1L, 3, 3L));
+        assertThat(popularity.trending(10)).containsExactly(
+                new TrendingRecipe(1, 3), new TrendingRecipe(3, 3), new TrendingRecipe(2, 1));
+        assertThat(popularity.trending(1)).containsExactly(new TrendingRecipe(1, 3));
+    }
+
+    @Test
+    void shouldDecayOlderViews() {
+        var popularity = recipePopularity(10);
+        IntStream.range(0, 4).forEach(i -> popularity.recordView(1));
+        popularity.flush();
+
+        clock.addAndGet(HALF_LIFE.toMillis());
+        IntStream.range(0, 3).forEach(i -> popularity.recordView(2));
+        popularity.flush();
+
+        assertThat(popularity.trending(10)).containsExactly(new TrendingRecipe(2, 3), new TrendingRecipe(1, 2));
+    }
+
+    @Test
+    void shouldDropScoresDecayedToNothing_andKeepRankingAfterRescaling() {
+        var popularity = recipePopularity(10);
+        popularity.recordView(1);
+        popularity.flush();
+
+        clock.addAndGet(HALF_LIFE.multipliedBy(100).toMillis());
+        popularity.recordView(2);
+        popularity.flush();
+
+        assertThat(popularity.trending(10)).containsExactly(new TrendingRecipe(2, 1));
+    }
+
+    @Test
+    void shouldNotTouchDatabase_whenNothingWasViewed() {
+        recipePopularity(10).flush();
+
+        verifyNoInteractions(recipeViewCountRepository);
+    }
+
+    @Test
+    void shouldRetryFailedFlush_withoutCountingViewsTwiceForTrending() {
+        var popularity = recipePopularity(10);
+        var unavailable = new DataAccessResourceFailureException("Connection refused");
+        doThrow(unavailable).doThrow(unavailable).doNothing().when(recipeViewCountRepository).addViews(any());
+
+        popularity.recordView(1);
+        popularity.recordView(1);
+        popularity.flush();
+        popularity.recordView(1);
+        popularity.flush();
+        popularity.flush();
+
+        verify(recipeViewCountRepository).addViews(Map.of(1, 2L));
+        verify(recipeViewCountRepository, times(2)).addViews(Map.of(1, 3L));
+        assertThat(popularity.trending(10)).containsExactly(new TrendingRecipe(1, 3));
+    }
+
+    @Test
+    void shouldForgetDeletedRecipe_andDeleteItsCountWithNextFlush() {
+        var popularity = recipePopularity(10);
+        popularity.recordView(1);
+        popularity.recordView(2);
+        popularity.flush();
+
+        popularity.recordView(1);
+        popularity.forget(1);
+        popularity.flush();
+
+        var order = inOrder(recipeViewCountRepository);
+        order.verify(recipeViewCountRepository).addViews(Map.of(1, 1L, 2, 1L));
+        order.verify(recipeViewCountRepository).deleteAllByIdInBatch(List.of(1));
+        order.verifyNoMoreInteractions();
+        assertThat(popularity.trending(10)).containsExactly(new TrendingRecipe(2, 1));
+    }
+
+    @Test
+    void shouldReadBackDecayedViews_asPopularityAndRecipeNameWeights() {
+        autocompleteIndex.add(RecipeEntity.builder().id(1).name("Pasta").ingredients(List.of()).build());
+        autocompleteIndex.add(RecipeEntity.builder().id(2).name("Pav Bhaji").ingredients(List.of()).build());
+        var popularity = recipePopularity(10);
+        IntStream.range(0, 7).forEach(i -> popularity.recordView(2));
+        popularity.recordView(1);
+        popularity.flush();
+
+        assertThat(popularity.popularity(2)).isEqualTo(1.0);
+        assertThat(popularity.popularity(1)).isCloseTo(Math.log(2) / Math.log(8), within(1e-9));
+        assertThat(popularity.popularity(3)).isZero();
+        assertThat(autocompleteIndex.completeRecipeNames("pa", 10)).containsExactly(
+                new AutocompleteIndex.Completion("Pav Bhaji", 2, 7), new AutocompleteIndex.Completion("Pasta", 1, 1));
+
+        popularity.forget(2);
+        popularity.flush();
+
+        assertThat(popularity.popularity(2)).isZero();
+        assertThat(autocompleteIndex.completeRecipeNames("pa", 10)).containsExactly(
+                new AutocompleteIndex.Completion("Pasta", 1, 1), new AutocompleteIndex.Completion("Pav Bhaji", 2, 0));
+    }
+
+    @Test
+    void shouldSeedRankingWithHighestStoredViews() {
+        var pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "views"));
+        when(recipeViewCountRepository.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(
+                new RecipeViewCountEntity(4, 40L), new RecipeViewCountEntity(5, 10L))));
+        var popularity = recipePopularity(10);
+
+        popularity.seed();
+
+        assertThat(popularity.trending(10)).containsExactly(new TrendingRecipe(4, 40), new TrendingRecipe(5, 10));
+        assertThat(popularity.popularity(4)).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldStartEmpty_whenStoredViewsCannotBeRead() {
+        when(recipeViewCountRepository.findAll(any(PageRequest.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        var popularity = recipePopularity(10);
+
+        popularity.seed();
+
+        assertThat(popularity.trending(10)).isEmpty();
+    }
+}
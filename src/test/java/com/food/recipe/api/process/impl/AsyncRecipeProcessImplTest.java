@@ -0,0 +1,198 @@
+package com.food.recipe.api.process.impl;
+
+import com.food.recipe.api.admission.EndpointClass;
+import com.food.recipe.api.config.RecipeAsyncProperties;
+import com.food.recipe.api.exception.AdmissionRejectedException;
+import com.food.recipe.api.exception.DeadlineExceededException;
+import com.food.recipe.api.exception.RecipeNotFoundException;
+import com.food.recipe.api.process.RecipeProcess;
+import com.food.recipe.api.routing.LazyConnectionDataSourcePostProcessor;
+import com.food.recipe.api.routing.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeRequestDto;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncRecipeProcessImplTest {
+
+    private static final RecipeAsyncProperties PROPERTIES = new RecipeAsyncProperties(1, 1, Duration.ofSeconds(5),
+            Map.of(EndpointClass.POINT_READ, Duration.ofMillis(100), EndpointClass.WRITE, Duration.ofMillis(100)),
+            Duration.ofSeconds(3));
+
+    private final RecipeProcess recipeProcess = mock(RecipeProcess.class);
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AsyncRecipeProcessImpl asyncRecipeProcess =
+            new AsyncRecipeProcessImpl(recipeProcess, PROPERTIES, executor, null, meterRegistry);
+
+    @AfterEach
+    void shutDown() {
+        asyncRecipeProcess.destroy();
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void shouldCompleteWithResult_whenCallFinishesBeforeDeadline() throws Exception {
+        var response = createRecipeResponse();
+        when(recipeProcess.findAllRecipes()).thenReturn(List.of(response));
+
+        assertThat(asyncRecipeProcess.findAllRecipes().get(1, TimeUnit.SECONDS)).containsExactly(response);
+    }
+
+    @Test
+    void shouldFailWithCallException_whenCallThrows() {
+        when(recipeProcess.deleteRecipe(7)).thenThrow(new RecipeNotFoundException("Recipe not found"));
+
+        assertThatThrownBy(() -> asyncRecipeProcess.deleteRecipe(7).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RecipeNotFoundException.class);
+    }
+
+    @Test
+    void shouldFailAndInterruptCall_whenDeadlineOfEndpointClassPasses() throws Exception {
+        var interrupted = new CountDownLatch(1);
+        when(recipeProcess.findRecipeById(1)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return Optional.empty();
+        });
+
+        assertThatThrownBy(() -> asyncRecipeProcess.findRecipeById(1).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(DeadlineExceededException.class)
+                .extracting(ex -> ((DeadlineExceededException) ex).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.counter("recipe.async.timeouts", "endpoint", "POINT_READ").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFinishStartedWrite_pastItsDeadline() throws Exception {
+        var response = createRecipeResponse();
+        var request = createRecipeRequestDto();
+        when(recipeProcess.createRecipe(request)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return response;
+        });
+
+        assertThat(asyncRecipeProcess.createRecipe(request).get(1, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(meterRegistry.counter("recipe.async.timeouts", "endpoint", "WRITE").count()).isZero();
+    }
+
+    @Test
+    void shouldFailQueuedWrite_whenDeadlinePassesBeforeItStarts() throws Exception {
+        var release = new CountDownLatch(1);
+        when(recipeProcess.findAllRecipes()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        var running = asyncRecipeProcess.findAllRecipes();
+
+        assertThatThrownBy(() -> asyncRecipeProcess.deleteRecipe(1).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEmpty();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        verify(recipeProcess, never()).deleteRecipe(anyInt());
+    }
+
+    @Test
+    void shouldCancelDeadlineTimer_whenCallCompletes() throws Exception {
+        when(recipeProcess.findAllRecipes()).thenReturn(List.of());
+
+        asyncRecipeProcess.findAllRecipes().get(1, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (asyncRecipeProcess.pendingDeadlines() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(asyncRecipeProcess.pendingDeadlines()).isZero();
+    }
+
+    @Test
+    void shouldNotTakeConnection_whenReadIsAnsweredWithoutDatabase() throws Exception {
+        var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        var lazyDataSource = (DataSource) new LazyConnectionDataSourcePostProcessor()
+                .postProcessAfterInitialization(dataSource, "dataSource");
+        var transactional = new AsyncRecipeProcessImpl(recipeProcess, PROPERTIES, executor,
+                new DataSourceTransactionManager(lazyDataSource), meterRegistry);
+        var response = createRecipeResponse();
+        when(recipeProcess.findRecipeById(1)).thenReturn(Optional.of(response));
+        clearInvocations(dataSource);
+
+        assertThat(transactional.findRecipeById(1).get(1, TimeUnit.SECONDS)).contains(response);
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void shouldRejectRequest_whenQueueIsFull() throws Exception {
+        var release = new CountDownLatch(1);
+        when(recipeProcess.findAllRecipes()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        var running = asyncRecipeProcess.findAllRecipes();
+        var queued = asyncRecipeProcess.findAllRecipes();
+
+        assertThatThrownBy(asyncRecipeProcess::findAllRecipes)
+                .isInstanceOf(AdmissionRejectedException.class)
+                .satisfies(ex -> {
+                    assertThat(((AdmissionRejectedException) ex).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(((AdmissionRejectedException) ex).getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+                });
+        assertThat(meterRegistry.counter("recipe.async.rejected", "endpoint", "LIST").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepClientPinnedToPrimary_onPoolThread() throws Exception {
+        when(recipeProcess.findAllRecipes()).thenAnswer(invocation ->
+                ReadYourWrites.isPinnedToPrimary() ? List.of(createRecipeResponse()) : List.of());
+
+        ReadYourWrites.pinToPrimary();
+        var pinned = asyncRecipeProcess.findAllRecipes().get(1, TimeUnit.SECONDS);
+        ReadYourWrites.clear();
+        var unpinned = asyncRecipeProcess.findAllRecipes().get(1, TimeUnit.SECONDS);
+
+        assertThat(pinned).hasSize(1);
+        assertThat(unpinned).isEmpty();
+    }
+}
@@ -4,10 +4,19 @@ import com.food.recipe.api.entity.RecipeEntity;
 import com.food.recipe.api.exception.EntityNotFoundException;
 import com.food.recipe.api.exception.NoRecipesFoundException;
 import com.food.recipe.api.exception.RecipeNotFoundException;
+import com.food.recipe.api.index.AutocompleteIndex;
+import com.food.recipe.api.index.IngredientCooccurrenceIndex;
+import com.food.recipe.api.index.PantryIndex;
+import com.food.recipe.api.index.RecipeFacetIndex;
+import com.food.recipe.api.index.RecipeNameIndex;
+import com.food.recipe.api.index.SimilarRecipeIndex;
 import com.food.recipe.api.model.RecipesResponse;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.ServingsFilter;
 import com.food.recipe.api.service.RecipeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,6 +27,7 @@ import java.util.Optional;
 
 import static com.food.recipe.api.util.RecipeTestUtil.buildInstructions;
 import static com.food.recipe.api.util.RecipeTestUtil.buildListOfIngredients;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
 import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntity;
 import static com.food.recipe.api.util.RecipeTestUtil.createRecipeRequestDto;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,15 +35,39 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
 public class RecipeProcessImplTest {
 
-    @Mock
+    // Runs the default RecipeService#loadInOrder over the stubbed getRecipesByIds.
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private RecipeService recipeService;
 
+    @Mock
+    private PantryIndex pantryIndex;
+
+    @Mock
+    private RecipeNameIndex recipeNameIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private RecipeFacetIndex recipeFacetIndex;
+
+    @Mock
+    private SimilarRecipeIndex similarRecipeIndex;
+
+    @Mock
+    private IngredientCooccurrenceIndex ingredientCooccurrenceIndex;
+
+    @Mock
+    private RecipePopularity recipePopularity;
+
     @InjectMocks
     private RecipeProcessImpl recipeProcess;
 
@@ -90,6 +124,7 @@ public class RecipeProcessImplTest {
         var response = recipeProcess.deleteRecipe(1);
 
         assertThat(response).isTrue();
+        verify(recipePopularity).forget(1);
     }
 
     @Test
@@ -99,6 +134,7 @@ public class RecipeProcessImplTest {
         var response = recipeProcess.deleteRecipe(1);
 
         assertThat(response).isFalse();
+        verifyNoInteractions(recipePopularity);
     }
 
     @Test
@@ -110,6 +146,23 @@ public class RecipeProcessImplTest {
                 .hasMessage("Record not found for given ID. " + 1L);
     }
 
+    @Test
+    void testFindRecipeById_whenResponseEntityIsEmpty_shouldReturnEmpty() {
+        when(recipeService.getRecipeById(anyInt())).thenReturn(Optional.empty());
+
+        assertThat(recipeProcess.findRecipeById(1)).isEmpty();
+        verifyNoInteractions(recipePopularity);
+    }
+
+    @Test
+    void testGetRecipeById_whenResponseEntityIsEmpty_shouldThrowWithoutStackTrace() {
+        when(recipeService.getRecipeById(anyInt())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> recipeProcess.getRecipeById(1))
+                .isInstanceOfSatisfying(EntityNotFoundException.class,
+                        exception -> assertThat(exception.getStackTrace()).isEmpty());
+    }
+
     @Test
     void testGetRecipeById_whenRequestBodyIsValid_shouldReturnRecipeEntity() {
         when(recipeService.getRecipeById(anyInt())).thenReturn(Optional.of(createRecipeEntity()));
@@ -119,6 +172,7 @@ public class RecipeProcessImplTest {
         assertResponse(response, "Vada Pav", 4);
         assertThat(response.getIngredients()).isEqualTo(buildListOfIngredients());
         assertThat(response.getInstructions()).isEqualTo(buildInstructions());
+        verify(recipePopularity).recordView(1);
     }
 
     @Test
@@ -139,6 +193,13 @@ public class RecipeProcessImplTest {
                 .hasMessage("No recipes found");
     }
 
+    @Test
+    void testFindAllRecipes_whenReturnListOfEntityIsEmpty_shouldReturnEmptyList() {
+        when(recipeService.getAllRecipes()).thenReturn(Collections.emptyList());
+
+        assertThat(recipeProcess.findAllRecipes()).isEmpty();
+    }
+
     @Test
     void testGetAllRecipes_whenResponseReturnNull_shouldReturnNotFoundException() {
         when(recipeService.getAllRecipes()).thenReturn(null);
@@ -150,15 +211,175 @@ public class RecipeProcessImplTest {
 
     @Test
     void testSearchRecipes_whenRequestBodyIsValid_shouldReturnRecipeEntities() {
-        when(recipeService.searchRecipes(anyBoolean(), anyInt(), any(), any(), any()))
+        when(recipeService.searchRecipes(anyBoolean(), any(), any(), any(), any()))
                 .thenReturn(List.of(createRecipeEntity()));
 
-        var response = recipeProcess.searchRecipes(true, 4,
+        var response = recipeProcess.searchRecipes(true, ServingsFilter.exactly(4),
                 List.of("Potato", "Chutney"), List.of("Tomato"), "Boil Potato and Smash it.");
 
         assertListOfResponse(response);
     }
 
+    @Test
+    void testSearchRecipes_whenLimited_shouldReturnTopRecipesInServiceOrder() {
+        var ramen = createRecipeEntities().get(1);
+        when(recipeService.searchTopRecipes(null, ServingsFilter.exactly(3), List.of("Noodles"), List.of(), null, 2, true))
+                .thenReturn(List.of(ramen, createRecipeEntity()));
+
+        var response = recipeProcess.searchRecipes(null, ServingsFilter.exactly(3), List.of("Noodles"), List.of(), null, 2, true);
+
+        assertThat(response).extracting(RecipesResponse::getName).containsExactly("🍜 Ramen", "Vada Pav");
+    }
+
+    @Test
+    void testFindPantryRecipes_whenRecipesMatch_shouldReturnRankedRecipesWithMissingIngredients() {
+        var ramen = createRecipeEntities().get(1);
+        ramen.setId(2);
+        var vadaPav = createRecipeEntity();
+        vadaPav.setId(1);
+        var pantry = List.of("chicken", "Noodles", "Sauce", "Potato", "Pav", "Chutney", "Spices", "Flour", "Onion");
+
+        when(pantryIndex.find(pantry, 1, 10)).thenReturn(List.of(
+                new PantryIndex.PantryMatch(1, 1, 6), new PantryIndex.PantryMatch(2, 1, 3)));
+        when(recipeService.getRecipesByIds(List.of(1, 2))).thenReturn(List.of(ramen, vadaPav));
+
+        var response = recipeProcess.findPantryRecipes(pantry, 1, 10);
+
+        assertThat(response).extracting(match -> match.getRecipe().getName()).containsExactly("Vada Pav", "🍜 Ramen");
+        assertThat(response.getFirst().getMissingCount()).isEqualTo(1);
+        assertThat(response.getFirst().getMissingIngredients()).containsExactly("Chilli");
+        assertThat(response.get(1).getMissingIngredients()).containsExactly("Kimchi");
+    }
+
+    @Test
+    void testFindPantryRecipes_whenNothingMatches_shouldReturnEmptyListWithoutLoadingRecipes() {
+        when(pantryIndex.find(List.of("Saffron"), 0, 10)).thenReturn(List.of());
+
+        assertThat(recipeProcess.findPantryRecipes(List.of("Saffron"), 0, 10)).isEmpty();
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void testLookupRecipes_whenNamesAreSimilar_shouldReturnRecipesWithSimilarity() {
+        var vadaPav = createRecipeEntity();
+        vadaPav.setId(1);
+
+        when(recipeNameIndex.find("Vada Paw", 5, RecipeNameIndex.DEFAULT_MIN_SIMILARITY))
+                .thenReturn(List.of(new RecipeNameIndex.NameMatch(1, 0.6)));
+        when(recipeService.getRecipesByIds(List.of(1))).thenReturn(List.of(vadaPav));
+
+        var response = recipeProcess.lookupRecipes("Vada Paw", 5);
+
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getRecipe().getName()).isEqualTo("Vada Pav");
+        assertThat(response.getFirst().getSimilarity()).isEqualTo(0.6);
+    }
+
+    @Test
+    void testFindSimilarRecipes_shouldSkipRecipesDeletedSinceLookup() {
+        var vadaPav = createRecipeEntity();
+        vadaPav.setId(1);
+
+        when(similarRecipeIndex.find(7, 5)).thenReturn(List.of(
+                new SimilarRecipeIndex.SimilarRecipe(1, 0.75), new SimilarRecipeIndex.SimilarRecipe(2, 0.5)));
+        when(recipeService.getRecipesByIds(List.of(1, 2))).thenReturn(List.of(vadaPav));
+
+        var response = recipeProcess.findSimilarRecipes(7, 5);
+
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getRecipe().getName()).isEqualTo("Vada Pav");
+        assertThat(response.getFirst().getSimilarity()).isEqualTo(0.75);
+    }
+
+    @Test
+    void testFindTrendingRecipes_shouldKeepRankingAndSkipDeletedRecipes() {
+        var vadaPav = createRecipeEntity();
+        vadaPav.setId(1);
+
+        when(recipePopularity.trending(5)).thenReturn(List.of(
+                new RecipePopularity.TrendingRecipe(2, 8.5), new RecipePopularity.TrendingRecipe(1, 3.0)));
+        when(recipeService.getRecipesByIds(List.of(2, 1))).thenReturn(List.of(vadaPav));
+
+        var response = recipeProcess.findTrendingRecipes(5);
+
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getRecipe().getName()).isEqualTo("Vada Pav");
+        assertThat(response.getFirst().getScore()).isEqualTo(3.0);
+    }
+
+    @Test
+    void testFindTrendingRecipes_whenNothingWasViewed_shouldNotLoadRecipes() {
+        when(recipePopularity.trending(5)).thenReturn(List.of());
+
+        assertThat(recipeProcess.findTrendingRecipes(5)).isEmpty();
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void testCompleteIngredients_shouldMapCompletions() {
+
+        when(autocompleteIndex.completeIngredients("po", 3))
+                .thenReturn(List.of(new AutocompleteIndex.Completion("potato", null, 12)));
+
+        var response = recipeProcess.completeIngredients("po", 3);
+
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getText()).isEqualTo("potato");
+        assertThat(response.getFirst().getRecipeId()).isNull();
+        assertThat(response.getFirst().getWeight()).isEqualTo(12);
+    }
+
+    @Test
+    void testFindCooccurringIngredients_shouldMapCooccurrences() {
+
+        when(ingredientCooccurrenceIndex.find("Potato", 3))
+                .thenReturn(List.of(new IngredientCooccurrenceIndex.Cooccurrence("onion", 4, 0.5)));
+
+        var response = recipeProcess.findCooccurringIngredients("Potato", 3);
+
+        assertThat(response).hasSize(1);
+        assertThat(response.getFirst().getIngredient()).isEqualTo("onion");
+        assertThat(response.getFirst().getRecipes()).isEqualTo(4);
+        assertThat(response.getFirst().getShare()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testSearchRecipeFacets_shouldCountFacetsOfMatchingIds() {
+
+        int[] ids = {1, 2};
+        when(recipeService.searchRecipeIds(true, null, List.of("Potato"), List.of(), null)).thenReturn(ids);
+        when(recipeFacetIndex.count(ids, 5)).thenReturn(new RecipeFacetIndex.FacetCounts(2, 2, 0,
+                List.of(new RecipeFacetIndex.ValueCount("3-4", 2)),
+                List.of(new RecipeFacetIndex.ValueCount("potato", 2))));
+
+        var response = recipeProcess.searchRecipeFacets(true, null, List.of("Potato"), List.of(), null, 5);
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getVegetarian()).isEqualTo(2);
+        assertThat(response.getServings().getFirst().getValue()).isEqualTo("3-4");
+        assertThat(response.getIngredients().getFirst().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testCountRecipes_shouldReturnCount() {
+
+        when(recipeService.countRecipes(true, null, List.of("Potato"), List.of(), null)).thenReturn(3L);
+
+        var response = recipeProcess.countRecipes(true, null, List.of("Potato"), List.of(), null);
+
+        assertThat(response.getCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void testRecipesExist_shouldReturnWhetherAnyMatches() {
+
+        when(recipeService.recipesExist(null, null, List.of(), List.of("Fish"), "bake")).thenReturn(false);
+
+        var response = recipeProcess.recipesExist(null, null, List.of(), List.of("Fish"), "bake");
+
+        assertThat(response.getExists()).isFalse();
+    }
+
     private void assertListOfResponse(List<RecipesResponse> response) {
         assertThat(response).isNotNull();
         assertThat(response.getFirst()).isNotNull();
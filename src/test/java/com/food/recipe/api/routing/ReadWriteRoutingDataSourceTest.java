@@ -0,0 +1,80 @@
+package com.food.recipe.api.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+    private final DataSource replica = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void shouldUsePrimary_outsideReadOnlyTransaction() throws Exception {
+        assertThat(targetConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldUseReplica_inReadOnlyTransaction() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(targetConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldChoosePool_whenFirstStatementRuns() throws Exception {
+        var connection = dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldUsePrimary_inReadOnlyTransaction_whenPinnedAfterWrite() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWrites.pinToPrimary();
+
+        assertThat(targetConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldCloseBothPools() throws Exception {
+        dataSource.close();
+
+        verify((Closeable) primary).close();
+        verify((Closeable) replica).close();
+    }
+
+    private Connection targetConnection() throws Exception {
+        return ((ConnectionProxy) dataSource.getConnection()).getTargetConnection();
+    }
+}
@@ -0,0 +1,62 @@
+package com.food.recipe.api.routing;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesInterceptorTest {
+
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMillis(2500));
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void shouldPinAndSetCookie_whenClientWrites() {
+        var request = new MockHttpServletRequest("POST", "/api/v1/recipes");
+
+        interceptor.preHandle(request, response, new Object());
+
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isTrue();
+        var cookie = response.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPin_whenReadCarriesCookie() {
+        var request = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+        request.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, "1"));
+
+        interceptor.preHandle(request, response, new Object());
+
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isTrue();
+        assertThat(response.getCookies()).isEmpty();
+    }
+
+    @Test
+    void shouldNotPin_whenReadHasNoCookie() {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/recipes/search"), response, new Object());
+
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void shouldUnpin_whenRequestCompletes() {
+        var request = new MockHttpServletRequest("DELETE", "/api/v1/recipes/1");
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+}
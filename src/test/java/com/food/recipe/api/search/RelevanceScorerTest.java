@@ -0,0 +1,46 @@
+package com.food.recipe.api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RelevanceScorerTest {
+
+    @Test
+    void shouldScoreZero_whenSearchHasNoRankingSignals() {
+        var scorer = new RelevanceScorer(List.of(), " ");
+
+        assertThat(scorer.getSearchText()).isNull();
+        assertThat(scorer.score(5, 0, 0)).isZero();
+    }
+
+    @Test
+    void shouldPreferRecipesMadeMostlyOfIncludedIngredients() {
+        var scorer = new RelevanceScorer(List.of("Potato", "Onion"), null);
+
+        assertThat(scorer.score(2, 0, 0)).isGreaterThan(scorer.score(8, 0, 0));
+        assertThat(scorer.score(2, 0, 0)).isEqualTo(RelevanceScorer.INGREDIENT_WEIGHT);
+    }
+
+    @Test
+    void shouldPreferNameMatchesAndEarlyInstructionMatches() {
+        var scorer = new RelevanceScorer(null, "Boil");
+
+        assertThat(scorer.getSearchText()).isEqualTo("boil");
+        assertThat(scorer.score(3, 1, 1)).isEqualTo(RelevanceScorer.TEXT_WEIGHT);
+        assertThat(scorer.score(3, 1, 200)).isGreaterThan(scorer.score(3, 0, 1));
+        assertThat(scorer.score(3, 0, 1)).isGreaterThan(scorer.score(3, 0, 200));
+    }
+
+    @Test
+    void shouldBreakTiesByPopularity_whenCreatedWithIt() {
+        var scorer = new RelevanceScorer(List.of("Potato"), null, recipeId -> recipeId == 7 ? 1.0 : 0.0);
+
+        assertThat(scorer.score(7, 2, 0, 0)).isGreaterThan(scorer.score(3, 2, 0, 0));
+        assertThat(scorer.score(3, 1, 0, 0)).isGreaterThan(scorer.score(7, 4, 0, 0));
+        assertThat(scorer.score(3, 2, 0, 0)).isEqualTo((1 - RelevanceScorer.POPULARITY_WEIGHT) * scorer.score(2, 0, 0));
+        assertThat(new RelevanceScorer(List.of("Potato"), null).score(7, 2, 0, 0)).isEqualTo(scorer.score(2, 0, 0));
+    }
+}
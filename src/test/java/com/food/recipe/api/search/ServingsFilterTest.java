@@ -0,0 +1,41 @@
+package com.food.recipe.api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServingsFilterTest {
+
+    @Test
+    void shouldBeAbsent_whenNoConditionIsGiven() {
+        assertThat(ServingsFilter.of(null, null, null)).isNull();
+        assertThat(ServingsFilter.of(Arrays.asList(null, null), null, null)).isNull();
+    }
+
+    @Test
+    void shouldNormalizeValues_soEqualFiltersShareSearchKeys() {
+        var filter = ServingsFilter.of(List.of(4, 2, 4), null, 6);
+
+        assertThat(filter.values()).containsExactly(2, 4);
+        assertThat(filter).isEqualTo(ServingsFilter.of(List.of(2, 4), null, 6));
+    }
+
+    @Test
+    void shouldAllowOnlyListedValuesWithinBounds() {
+        assertThat(ServingsFilter.of(List.of(1, 2, 4, 8), 2, 4).allowedValues()).containsExactly(2, 4);
+        assertThat(ServingsFilter.of(List.of(8), null, 4).allowedValues()).isEmpty();
+        assertThat(ServingsFilter.between(2, 4).isListed()).isFalse();
+    }
+
+    @Test
+    void shouldMatchServings_likeTheCompiledPredicates() {
+        var filter = ServingsFilter.of(List.of(1, 2, 4, 8), 2, 4);
+
+        assertThat(List.of(1, 2, 3, 4, 8)).filteredOn(filter::matches).containsExactly(2, 4);
+        assertThat(ServingsFilter.between(null, 3).matches(3)).isTrue();
+        assertThat(ServingsFilter.between(null, 3).matches(null)).isFalse();
+    }
+}
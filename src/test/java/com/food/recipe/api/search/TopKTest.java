@@ -0,0 +1,37 @@
+package com.food.recipe.api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TopKTest {
+
+    @Test
+    void shouldKeepBestCandidatesInRankingOrder() {
+        var topK = new TopK<Integer>(3, Comparator.reverseOrder());
+
+        IntStream.of(5, 1, 9, 7, 3, 8).forEach(topK::offer);
+
+        assertThat(topK.size()).isEqualTo(3);
+        assertThat(topK.toList()).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    void shouldReturnAllCandidates_whenFewerThanK() {
+        var topK = new TopK<Integer>(10, Comparator.naturalOrder());
+
+        IntStream.of(4, 2).forEach(topK::offer);
+
+        assertThat(topK.toList()).containsExactly(2, 4);
+    }
+
+    @Test
+    void shouldFail_whenKIsNotPositive() {
+        assertThatThrownBy(() -> new TopK<Integer>(0, Comparator.naturalOrder()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.food.recipe.api.service.impl;
+
+import com.food.recipe.api.catalog.CatalogWriter;
+import com.food.recipe.api.config.RecipeCatalogProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.ReadOnlyCatalogException;
+import com.food.recipe.api.index.PantryIndex;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.ServingsFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class CatalogRecipeServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private final PantryIndex pantryIndex = new PantryIndex();
+
+    private final RecipeIndex recipeIndex = mock(RecipeIndex.class);
+
+    private Path file;
+
+    private CatalogRecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("recipes.catalog");
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("pantryIndex", pantryIndex);
+        beanFactory.addBean("recipeIndex", recipeIndex);
+        recipeService = new CatalogRecipeService(new RecipeCatalogProperties(file, Duration.ofSeconds(30)),
+                beanFactory.getBeanProvider(RecipeIndex.class), mock(RecipePopularity.class));
+    }
+
+    @Test
+    void shouldServeEmptyCatalog_untilFileExists() throws IOException {
+        assertThat(recipeService.reload()).isFalse();
+        assertThat(recipeService.getAllRecipes()).isEmpty();
+
+        writeCatalog(createRecipeEntities());
+
+        assertThat(recipeService.reload()).isTrue();
+        assertThat(recipeService.reload()).isFalse();
+        assertThat(recipeService.getAllRecipes()).extracting(RecipeEntity::getName)
+                .containsExactly("Vada Pav", "🍜 Ramen");
+    }
+
+    @Test
+    void shouldSwapInReplacedCatalog_andRebuildIndexes() throws IOException {
+        writeCatalog(createRecipeEntities());
+        recipeService.reload();
+        var replacement = createRecipeEntity();
+        replacement.setName("Samosa");
+
+        writeCatalog(List.of(replacement));
+
+        assertThat(recipeService.reload()).isTrue();
+        assertThat(recipeService.getRecipeById(1)).get().extracting(RecipeEntity::getName).isEqualTo("Samosa");
+        assertThat(recipeService.getRecipeById(2)).isEmpty();
+        assertThat(pantryIndex.find(List.of("Chicken", "Noodles", "Kimchi", "Sauce"), 0, 10)).isEmpty();
+        assertThat(pantryIndex.find(List.of("Potato"), 10, 10)).hasSize(1);
+    }
+
+    @Test
+    void shouldOnlyReindexChangedRecipes_whenCatalogIsReplaced() throws IOException {
+        writeCatalog(createRecipeEntities());
+        recipeService.reload();
+        clearInvocations(recipeIndex);
+        var recipes = createRecipeEntities();
+        recipes.get(1).setName("Tonkotsu Ramen");
+        var samosa = createRecipeEntity();
+        samosa.setName("Samosa");
+
+        writeCatalog(List.of(recipes.get(0), recipes.get(1), samosa));
+
+        assertThat(recipeService.reload()).isTrue();
+        verify(recipeIndex).add(argThat(recipe -> recipe.getName().equals("Tonkotsu Ramen")));
+        verify(recipeIndex).add(argThat(recipe -> recipe.getName().equals("Samosa")));
+        verifyNoMoreInteractions(recipeIndex);
+        assertThat(pantryIndex.find(List.of("Potato"), 10, 10)).hasSize(2);
+    }
+
+    @Test
+    void shouldSearchCatalog() throws IOException {
+        writeCatalog(createRecipeEntities());
+        recipeService.reload();
+
+        assertThat(recipeService.searchRecipes(true, ServingsFilter.between(4, null), List.of("Potato"), null,
+                "deep fry")).extracting(RecipeEntity::getName).containsExactly("Vada Pav");
+        assertThat(recipeService.searchRecipeIds(null, null, null, List.of("Kimchi"), null)).containsExactly(1);
+        assertThat(recipeService.countRecipes(false, null, null, null, null)).isEqualTo(1);
+        assertThat(recipeService.recipesExist(null, null, List.of("Unknown"), null, null)).isFalse();
+        assertThat(recipeService.searchTopRecipes(null, null, null, null, "e", 2, true))
+                .extracting(RecipeEntity::getName).containsExactly("🍜 Ramen", "Vada Pav");
+        assertThat(recipeService.getRecipesByIds(List.of(2, 7, 2))).extracting(RecipeEntity::getId)
+                .containsExactly(2);
+    }
+
+    @Test
+    void shouldRejectWrites() {
+        assertThatThrownBy(() -> recipeService.createRecipe(createRecipeEntity()))
+                .isInstanceOf(ReadOnlyCatalogException.class);
+        assertThatThrownBy(() -> recipeService.updateRecipe(1, createRecipeEntity()))
+                .isInstanceOf(ReadOnlyCatalogException.class);
+        assertThatThrownBy(() -> recipeService.deleteRecipe(1))
+                .isInstanceOf(ReadOnlyCatalogException.class);
+    }
+
+    private void writeCatalog(List<RecipeEntity> recipes) throws IOException {
+        var writer = new CatalogWriter();
+        for (int i = 0; i < recipes.size(); i++) {
+            recipes.get(i).setId(i + 1);
+            writer.add(recipes.get(i));
+        }
+        writer.writeTo(file);
+    }
+}
@@ -0,0 +1,130 @@
+package com.food.recipe.api.service.impl;
+
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.index.PantryIndex;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.search.ServingsFilter;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntities;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class InMemoryRecipeServiceTest {
+
+    private final PantryIndex pantryIndex = new PantryIndex();
+
+    private InMemoryRecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("pantryIndex", pantryIndex);
+        recipeService = new InMemoryRecipeService(beanFactory.getBeanProvider(RecipeIndex.class),
+                mock(RecipePopularity.class), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void shouldAssignIds_andReturnCopies() {
+        var vadaPav = recipeService.createRecipe(createRecipeEntity());
+        vadaPav.setName("Changed");
+
+        var stored = recipeService.getRecipeById(vadaPav.getId()).orElseThrow();
+
+        assertThat(vadaPav.getId()).isEqualTo(1);
+        assertThat(stored.getName()).isEqualTo("Vada Pav");
+        assertThat(stored.getIngredientSignature()).isNotEmpty();
+        assertThat(pantryIndex.find(List.of("Potato"), 10, 10)).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectDuplicateName_onCreateAndUpdate() {
+        var recipes = createRecipeEntities().stream().map(recipeService::createRecipe).toList();
+        var ramen = recipes.get(1);
+        ramen.setName("Vada Pav");
+
+        assertThatThrownBy(() -> recipeService.createRecipe(createRecipeEntity()))
+                .isInstanceOf(DuplicateRecipeException.class);
+        assertThatThrownBy(() -> recipeService.updateRecipe(ramen.getId(), ramen))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidRecipe() {
+        var recipe = createRecipeEntity();
+        recipe.setServings(0);
+
+        assertThatThrownBy(() -> recipeService.createRecipe(recipe))
+                .isInstanceOf(ConstraintViolationException.class);
+        assertThat(recipeService.getAllRecipes()).isEmpty();
+    }
+
+    @Test
+    void shouldReindexIngredients_onUpdateAndDelete() {
+        var ramen = recipeService.createRecipe(createRecipeEntities().get(1));
+        ramen.setIngredients(List.of("Tofu", "Noodles"));
+        recipeService.updateRecipe(ramen.getId(), ramen);
+
+        assertThat(recipeService.searchRecipes(null, null, List.of("Chicken"), null, null)).isEmpty();
+        assertThat(recipeService.searchRecipes(null, null, List.of("Tofu"), null, null)).hasSize(1);
+
+        recipeService.deleteRecipe(ramen.getId());
+
+        assertThat(recipeService.searchRecipes(null, null, List.of("Tofu"), null, null)).isEmpty();
+        assertThat(pantryIndex.find(List.of("Tofu"), 10, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldThrowNotFound_forMissingRecipe() {
+        var recipe = createRecipeEntity();
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(7, recipe)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> recipeService.deleteRecipe(7)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void shouldSearchWithAllFilters() {
+        createRecipeEntities().forEach(recipeService::createRecipe);
+
+        assertThat(recipeService.searchRecipes(true, ServingsFilter.between(4, 6), List.of("Potato"),
+                List.of("Chicken"), "DEEP FRY")).extracting(RecipeEntity::getName).containsExactly("Vada Pav");
+        assertThat(recipeService.searchRecipes(null, null, List.of("potato"), null, null)).isEmpty();
+        assertThat(recipeService.searchRecipeIds(null, ServingsFilter.of(List.of(3, 4), null, null), null,
+                null, null)).containsExactly(1, 2);
+        assertThat(recipeService.countRecipes(false, null, null, List.of("Kimchi"), null)).isZero();
+        assertThat(recipeService.recipesExist(false, ServingsFilter.exactly(3), null, null, null)).isTrue();
+    }
+
+    @Test
+    void shouldRankTopRecipes_byRelevanceOrId() {
+        createRecipeEntities().forEach(recipeService::createRecipe);
+
+        assertThat(recipeService.searchTopRecipes(null, null, null, null, null, 1, false))
+                .extracting(RecipeEntity::getName).containsExactly("Vada Pav");
+        assertThat(recipeService.searchTopRecipes(null, null, null, null, "e", 2, true))
+                .extracting(RecipeEntity::getName).containsExactly("🍜 Ramen", "Vada Pav");
+    }
+
+    @Test
+    void shouldLoadRecipesInOrderOfIds_skippingMissingOnes() {
+        var recipes = createRecipeEntities().stream().map(recipeService::createRecipe).toList();
+        var ids = List.of(recipes.get(1).getId(), 99, recipes.get(0).getId());
+
+        assertThat(recipeService.loadInOrder(ids)).extracting(RecipeEntity::getName)
+                .containsExactly("🍜 Ramen", "Vada Pav");
+        recipeService.deleteRecipe(recipes.get(0).getId());
+        assertThat(recipeService.loadInOrder(ids)).extracting(RecipeEntity::getName).containsExactly("🍜 Ramen");
+    }
+}
@@ -1,30 +1,47 @@
 package com.food.recipe.api.service.impl;
 
+import com.food.recipe.api.cache.RecipeCache;
 import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.config.RecipeBloomFilterProperties;
+import com.food.recipe.api.config.RecipeCacheProperties;
 import com.food.recipe.api.exception.CustomRecipeException;
+import com.food.recipe.api.exception.DuplicateRecipeException;
 import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.index.RecipeBloomIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
 import com.food.recipe.api.process.impl.RecipesSpecificationBuilder;
 import com.food.recipe.api.repository.RecipeRepository;
+import com.food.recipe.api.routing.ReadYourWrites;
+import com.food.recipe.api.search.ServingsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.unit.DataSize;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.food.recipe.api.util.RecipeTestUtil.createRecipeEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,9 +51,23 @@ public class RecipeServiceImplTest {
     @Mock
     private RecipeRepository recipeRepository;
 
-    @InjectMocks
+    @Mock
+    private RecipePopularity recipePopularity;
+
+    private RecipeBloomIndex recipeBloomIndex;
+
+    private RecipeCache recipeCache;
+
     private RecipeServiceImpl recipeService;
 
+    @BeforeEach
+    void setUp() {
+        recipeBloomIndex = new RecipeBloomIndex(new RecipeBloomFilterProperties(true, 1000, 0.01));
+        recipeCache = new RecipeCache(new RecipeCacheProperties(true, RecipeCacheProperties.Store.OFF_HEAP,
+                DataSize.ofMegabytes(1)));
+        recipeService = new RecipeServiceImpl(recipeRepository, recipeBloomIndex, recipeCache, recipePopularity,
+                new SimpleMeterRegistry());
+    }
 
     @Test
    void shouldCreateRecipe_whenInputIsValid() {
@@ -73,6 +104,45 @@ public class RecipeServiceImplTest {
                 .hasCauseInstanceOf(PersistenceException.class);
     }
 
+    @Test
+    void shouldThrowDuplicateException_whenNameAlreadyExists() {
+        when(recipeRepository.existsByName("Vada Pav")).thenReturn(true);
+
+        assertThatThrownBy(() -> recipeService.createRecipe(createRecipeEntity()))
+                .isInstanceOf(DuplicateRecipeException.class)
+                .hasMessage("Recipe with name Vada Pav already exists");
+        verify(recipeRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldSkipNameLookup_whenBloomFilterHasNotSeenName() {
+        recipeBloomIndex.rebuildCompleted();
+        RecipeEntity recipeEntity = createRecipeEntity();
+        when(recipeRepository.save(any())).thenReturn(recipeEntity);
+
+        recipeService.createRecipe(recipeEntity);
+
+        verify(recipeRepository, never()).existsByName(anyString());
+    }
+
+    @Test
+    void shouldReturnEmpty_whenBloomFilterHasNotSeenId() {
+        recipeBloomIndex.rebuildCompleted();
+
+        assertThat(recipeService.getRecipeById(42)).isEmpty();
+        verify(recipeRepository, never()).findWithIngredientsById(anyInt());
+    }
+
+    @Test
+    void shouldReturnCachedRecipe_withoutDatabaseLookup() {
+        RecipeEntity recipeEntity = createRecipeEntity();
+        recipeEntity.setId(7);
+        recipeCache.add(recipeEntity);
+
+        assertThat(recipeService.getRecipeById(7)).get().usingRecursiveComparison().isEqualTo(recipeEntity);
+        verify(recipeRepository, never()).findWithIngredientsById(anyInt());
+    }
+
     @Test
     void shouldUpdateRecipe_whenInputIsValid() {
         when(recipeRepository.findById(any())).thenReturn(Optional.of( createRecipeEntity()));
@@ -92,6 +162,20 @@ public class RecipeServiceImplTest {
         assertResponseMatchesExpected(response, updatedRecipeEntity);
     }
 
+    @Test
+    void shouldUpdateServings_ofStoredRecipe() {
+        var storedRecipe = createRecipeEntity();
+        when(recipeRepository.findById(any())).thenReturn(Optional.of(storedRecipe));
+        when(recipeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var update = createRecipeEntity();
+        update.setServings(storedRecipe.getServings() + 2);
+        RecipeEntity response = recipeService.updateRecipe(1, update);
+
+        assertThat(response).isSameAs(storedRecipe);
+        assertThat(response.getServings()).isEqualTo(update.getServings());
+    }
+
     @Test
     void shouldThrowNotFoundException_whenUpdateIdNotFound() {
         int id = 2;
@@ -145,7 +229,7 @@ public class RecipeServiceImplTest {
     void shouldReturnRecipe_whenGetRecipeById() {
 
         RecipeEntity expectedRecipe = createRecipeEntity();
-        when(recipeRepository.findById(any())).thenReturn(Optional.of(expectedRecipe));
+        when(recipeRepository.findWithIngredientsById(anyInt())).thenReturn(Optional.of(expectedRecipe));
 
         Optional<RecipeEntity> actualResponse = recipeService.getRecipeById(1);
 
@@ -156,6 +240,36 @@ public class RecipeServiceImplTest {
                 .isEqualTo(expectedRecipe);
     }
 
+    @Test
+    void shouldNotCoalescePinnedFollower_withLeaderReadingFromReplica() throws Exception {
+        var fromReplica = createRecipeEntity();
+        var fromPrimary = createRecipeEntity();
+        fromPrimary.setServings(6);
+        var leaderReading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(recipeRepository.findWithIngredientsById(1)).thenAnswer(invocation -> {
+            if (ReadYourWrites.isPinnedToPrimary()) {
+                return Optional.of(fromPrimary);
+            }
+            leaderReading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(fromReplica);
+        });
+
+        var leader = CompletableFuture.supplyAsync(() -> recipeService.getRecipeById(1));
+        assertThat(leaderReading.await(5, TimeUnit.SECONDS)).isTrue();
+        ReadYourWrites.pinToPrimary();
+        try {
+            assertThat(recipeService.getRecipeById(1)).get().isSameAs(fromPrimary);
+        } finally {
+            ReadYourWrites.clear();
+            release.countDown();
+        }
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).get().isSameAs(fromReplica);
+        verify(recipeRepository, times(2)).findWithIngredientsById(1);
+    }
+
     @Test
     void searchRecipes_withAllFilters_shouldCallRepositoryWithSpecification() {
 
@@ -165,17 +279,68 @@ public class RecipeServiceImplTest {
 
         try (MockedStatic<RecipesSpecificationBuilder> mockedBuilder = Mockito.mockStatic(RecipesSpecificationBuilder.class)) {
             mockedBuilder.when(() -> RecipesSpecificationBuilder.build(
-                    true, 2, includes, excludes, "boil")).thenReturn(spec);
+                    true, ServingsFilter.exactly(2), includes, excludes, "boil")).thenReturn(spec);
 
             when(recipeRepository.findAll(any(Specification.class))).thenReturn(List.of(createRecipeEntity()));
 
-            List<RecipeEntity> result = recipeService.searchRecipes(true, 2, includes, excludes, "boil");
+            List<RecipeEntity> result = recipeService.searchRecipes(true, ServingsFilter.exactly(2), includes, excludes, "boil");
 
             assertThat(result).hasSize(1);
             verify(recipeRepository).findAll(any(Specification.class));
         }
     }
 
+    @Test
+    void searchTopRecipes_rankedByRelevance_shouldLoadOnlyRankedIdsInRankOrder() {
+
+        var first = createRecipeEntity();
+        first.setId(7);
+        var second = createRecipeEntity();
+        second.setId(3);
+
+        when(recipeRepository.findMostRelevantIds(any(), any(), eq(2))).thenReturn(List.of(7, 3));
+        when(recipeRepository.findAllByIdIn(List.of(7, 3))).thenReturn(List.of(second, first));
+
+        List<RecipeEntity> result = recipeService.searchTopRecipes(true, ServingsFilter.exactly(2), List.of("Potato"), List.of(),
+                "boil", 2, true);
+
+        assertThat(result).extracting(RecipeEntity::getId).containsExactly(7, 3);
+        verify(recipeRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void searchRecipeIds_shouldOnlyReadMatchingIds() {
+
+        when(recipeRepository.findMatchingIds(any())).thenReturn(new int[]{3, 7});
+
+        int[] result = recipeService.searchRecipeIds(true, null, List.of("Potato"), List.of(), null);
+
+        assertThat(result).containsExactly(3, 7);
+        verify(recipeRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void countRecipes_shouldCountWithoutLoadingRecipes() {
+
+        when(recipeRepository.count(any(Specification.class))).thenReturn(42L);
+
+        long result = recipeService.countRecipes(true, null, List.of("Potato"), List.of(), null);
+
+        assertThat(result).isEqualTo(42L);
+        verify(recipeRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void recipesExist_shouldCheckWithoutLoadingRecipes() {
+
+        when(recipeRepository.exists(any(Specification.class))).thenReturn(true);
+
+        boolean result = recipeService.recipesExist(null, ServingsFilter.exactly(4), List.of(), List.of("Fish"), "oven");
+
+        assertThat(result).isTrue();
+        verify(recipeRepository, never()).findAll(any(Specification.class));
+    }
+
     private void assertResponseMatchesExpected(RecipeEntity actual, RecipeEntity expected) {
         assertThat(actual)
                 .usingRecursiveComparison()
@@ -0,0 +1,48 @@
+package com.food.recipe.api.sharding;
+
+import com.food.recipe.api.search.ServingsFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeShardFilterTest {
+
+    @Test
+    void shouldMatchEverything_whenNoFilterIsGiven() {
+        var filter = new RecipeShardFilter(null, null, null, null, " ");
+
+        assertThat(filter.condition()).isEqualTo("TRUE");
+        assertThat(filter.parameters().getParameterNames()).isEmpty();
+    }
+
+    @Test
+    void shouldCombineAllFilters() {
+        var filter = new RecipeShardFilter(true, ServingsFilter.between(2, 4), List.of("Potato", "Pav"),
+                List.of("Egg"), "Fry");
+
+        assertThat(filter.condition())
+                .startsWith("r.is_vegetarian = :vegetarian AND r.servings BETWEEN :servingsMin AND :servingsMax")
+                .contains("i.ingredients = :include0", "i.ingredients = :include1", "NOT EXISTS",
+                        "i.ingredients = :exclude0")
+                .endsWith("lower(r.instructions) LIKE :instructionText");
+        assertThat(filter.parameters().getValue("include1")).isEqualTo("Pav");
+        assertThat(filter.parameters().getValue("instructionText")).isEqualTo("%fry%");
+    }
+
+    @Test
+    void shouldConstrainLeadingIndexColumn_whenOnlyServingsAreFiltered() {
+        var filter = new RecipeShardFilter(null, ServingsFilter.of(List.of(4, 2), null, 3), null, null, null);
+
+        assertThat(filter.condition()).isEqualTo("r.is_vegetarian IN (true, false) AND r.servings IN (:servings)");
+        assertThat(filter.parameters().getValue("servings")).isEqualTo(List.of(2));
+    }
+
+    @Test
+    void shouldMatchNothing_whenNoListedServingsIsWithinBounds() {
+        var filter = new RecipeShardFilter(false, ServingsFilter.of(List.of(8), 1, 4), null, null, null);
+
+        assertThat(filter.condition()).isEqualTo("r.is_vegetarian = :vegetarian AND FALSE");
+    }
+}
@@ -0,0 +1,62 @@
+package com.food.recipe.api.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class RecipeShardsTest {
+
+    private final RecipeShards shards = new RecipeShards(IntStream.range(0, 4)
+            .mapToObj(i -> new RecipeShard(i, mock(DataSource.class), Duration.ofSeconds(5)))
+            .toList(), mock(RecipeNameRegistry.class));
+
+    @Test
+    void shouldSpreadConsecutiveIdsEvenly() {
+        int[] counts = new int[4];
+        IntStream.rangeClosed(1, 40_000).forEach(id -> counts[RecipeShards.shardIndex(id, 4)]++);
+
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(9_500, 10_500));
+    }
+
+    @Test
+    void shouldRouteIdToSameShardEveryTime() {
+        assertThat(shards.shardFor(42)).isSameAs(shards.shardFor(42));
+        assertThat(shards.shardFor(42).number()).isEqualTo(RecipeShards.shardIndex(42, 4));
+    }
+
+    @Test
+    void shouldReturnResultsInShardOrder() {
+        List<Integer> numbers = shards.scatter(shard -> {
+            sleep(10L * (4 - shard.number()));
+            return shard.number();
+        });
+
+        assertThat(numbers).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void shouldRethrowShardFailure() {
+        assertThatThrownBy(() -> shards.scatter(shard -> {
+            if (shard.number() == 2) {
+                throw new QueryTimeoutException("Shard 2 is slow");
+            }
+            return shard.number();
+        })).isInstanceOf(QueryTimeoutException.class).hasMessage("Shard 2 is slow");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.food.recipe.api.sharding;
+
+import com.food.recipe.api.config.RecipeShardingProperties;
+import com.food.recipe.api.entity.RecipeEntity;
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.index.RecipeIndex;
+import com.food.recipe.api.popularity.RecipePopularity;
+import com.food.recipe.api.service.impl.ShardedRecipeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs {@link ShardedRecipeService} against two shard databases and a name-index database, all in one PostgreSQL
+ * Testcontainer. There is no in-memory backend for it.
+ */
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*memory.*")
+@Testcontainers
+public class ShardedRecipeServiceIntegrationTest {
+
+    private static final List<String> DATABASES = List.of("recipe_shard_0", "recipe_shard_1", "recipe_names");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("recipe_db")
+            .withUsername("postgres")
+            .withPassword("root");
+
+    private static RecipeShards shards;
+
+    private final RecipeIndex recipeIndex = mock(RecipeIndex.class);
+
+    private ShardedRecipeService recipeService;
+
+    @BeforeAll
+    static void createShards() throws SQLException {
+        try (var connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            for (String database : DATABASES) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        }
+        shards = new RecipeShards(new RecipeShardingProperties(
+                List.of(database("recipe_shard_0"), database("recipe_shard_1")), database("recipe_names"),
+                Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    }
+
+    @AfterAll
+    static void closeShards() throws IOException {
+        shards.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        shards.scatter(shard -> {
+            new JdbcTemplate(shard.dataSource()).execute("TRUNCATE recipe_entity_ingredients, recipes_table");
+            return null;
+        });
+        var names = new JdbcTemplate(shards.names().dataSource());
+        names.execute("TRUNCATE recipe_names");
+        names.execute("ALTER SEQUENCE recipe_id_seq RESTART");
+
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("recipeIndex", recipeIndex);
+        recipeService = new ShardedRecipeService(shards, beanFactory.getBeanProvider(RecipeIndex.class),
+                mock(RecipePopularity.class), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void shouldCreateRecipe_andReadItBackFromItsShardOnly() {
+        var created = recipeService.createRecipe(recipe("Vada Pav", true, 4, "Potato", "Pav"));
+
+        var found = recipeService.getRecipeById(created.getId()).orElseThrow();
+
+        assertThat(found.getName()).isEqualTo("Vada Pav");
+        assertThat(found.getIngredients()).containsExactlyInAnyOrder("Potato", "Pav");
+        assertThat(shards.scatter(shard -> shard.findById(created.getId()).isPresent()))
+                .containsExactlyInAnyOrder(true, false);
+        assertThat(shards.shardFor(created.getId()).findById(created.getId())).isPresent();
+        verify(recipeIndex).add(argThat(recipe -> recipe.getId().equals(created.getId())));
+    }
+
+    @Test
+    void shouldMergeShardsInIdOrder_andPushLimitDown() {
+        var ids = createRecipes(10).stream().map(RecipeEntity::getId).toList();
+        assertThat(ids.stream().map(id -> shards.shardFor(id).number()).distinct()).hasSize(2);
+
+        assertThat(recipeService.getAllRecipes()).extracting(RecipeEntity::getId).containsExactlyElementsOf(ids);
+        assertThat(recipeService.searchTopRecipes(null, null, null, null, null, 3, false))
+                .extracting(RecipeEntity::getId)
+                .containsExactlyElementsOf(ids.subList(0, 3));
+        var all = new RecipeShardFilter(null, null, null, null, null);
+        assertThat(shards.scatter(shard -> shard.findAll(all, 3).size())).allSatisfy(size ->
+                assertThat(size).isLessThanOrEqualTo(3));
+    }
+
+    @Test
+    void shouldMergeBestMatchesOfAllShards_whenRankedByRelevance() {
+        // The more ingredients besides the included potato, the lower the ingredient overlap and score.
+        var recipes = IntStream.rangeClosed(1, 6)
+                .mapToObj(count -> recipeService.createRecipe(recipe("Recipe " + count, true, 2,
+                        IntStream.range(0, count).mapToObj(i -> i == 0 ? "Potato" : "Spice " + i)
+                                .toArray(String[]::new))))
+                .toList();
+        assertThat(recipes.subList(0, 3).stream().map(recipe -> shards.shardFor(recipe.getId()).number())
+                .distinct()).hasSize(2);
+
+        var ranked = recipeService.searchTopRecipes(null, null, List.of("Potato"), null, null, 3, true);
+
+        assertThat(ranked).extracting(RecipeEntity::getName)
+                .containsExactly("Recipe 1", "Recipe 2", "Recipe 3");
+    }
+
+    @Test
+    void shouldRejectDuplicateName_whenNewIdBelongsToAnotherShard() {
+        var vadaPav = recipeService.createRecipe(recipe("Vada Pav", true, 4, "Potato"));
+        int nextId = vadaPav.getId() + 1;
+        while (RecipeShards.shardIndex(nextId, 2) == shards.shardFor(vadaPav.getId()).number()) {
+            nextId++;
+        }
+        new JdbcTemplate(shards.names().dataSource())
+                .queryForObject("SELECT setval('recipe_id_seq', ?)", Long.class, nextId - 1);
+
+        assertThatThrownBy(() -> recipeService.createRecipe(recipe("Vada Pav", false, 2, "Chicken")))
+                .isInstanceOf(DuplicateRecipeException.class);
+        assertThat(recipeService.getAllRecipes()).extracting(RecipeEntity::getId).containsExactly(vadaPav.getId());
+    }
+
+    @Test
+    void shouldMoveNameReservation_whenRecipeIsRenamed() {
+        var vadaPav = recipeService.createRecipe(recipe("Vada Pav", true, 4, "Potato"));
+        var ramen = recipeService.createRecipe(recipe("Ramen", false, 2, "Noodles"));
+
+        recipeService.updateRecipe(vadaPav.getId(), recipe("Pav Bhaji", true, 4, "Potato"));
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(ramen.getId(), recipe("Pav Bhaji", false, 2, "Noodles")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> recipeService.createRecipe(recipe("Ramen", false, 1, "Egg")))
+                .isInstanceOf(DuplicateRecipeException.class);
+        assertThat(recipeService.createRecipe(recipe("Vada Pav", true, 2, "Potato")).getId()).isPositive();
+        assertThat(recipeService.getRecipeById(vadaPav.getId())).get()
+                .extracting(RecipeEntity::getName).isEqualTo("Pav Bhaji");
+    }
+
+    @Test
+    void shouldReleaseName_whenRecipeIsDeleted() {
+        var vadaPav = recipeService.createRecipe(recipe("Vada Pav", true, 4, "Potato"));
+
+        recipeService.deleteRecipe(vadaPav.getId());
+        var recreated = recipeService.createRecipe(recipe("Vada Pav", true, 2, "Potato"));
+
+        assertThat(recipeService.getRecipeById(vadaPav.getId())).isEmpty();
+        assertThat(recreated.getId()).isNotEqualTo(vadaPav.getId());
+        verify(recipeIndex).remove(argThat(recipe -> recipe.getId().equals(vadaPav.getId())));
+    }
+
+    @Test
+    void shouldFoldIngredientRowsIntoRecipes() {
+        var recipes = List.of(
+                recipeService.createRecipe(recipe("Vada Pav", true, 4, "Potato", "Pav", "Chutney")),
+                recipeService.createRecipe(recipe("Plain Rice", true, 2)),
+                recipeService.createRecipe(recipe("Ramen", false, 2, "Noodles", "Egg")));
+
+        List<RecipeEntity> streamed = new ArrayList<>();
+        shards.scatter(shard -> {
+            List<RecipeEntity> ofShard = new ArrayList<>();
+            shard.forEach(ofShard::add);
+            return ofShard;
+        }).forEach(streamed::addAll);
+
+        assertThat(streamed).hasSize(3).allSatisfy(recipe -> {
+            var created = recipes.stream().filter(r -> r.getId().equals(recipe.getId())).findFirst().orElseThrow();
+            assertThat(recipe.getIngredients()).containsExactlyInAnyOrderElementsOf(created.getIngredients());
+        });
+        assertThat(recipeService.getRecipesByIds(recipes.stream().map(RecipeEntity::getId).toList()))
+                .extracting(recipe -> recipe.getIngredients().size())
+                .containsExactly(3, 0, 2);
+    }
+
+    private List<RecipeEntity> createRecipes(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> recipeService.createRecipe(recipe("Recipe " + i, i % 2 == 0, i, "Rice")))
+                .toList();
+    }
+
+    private static RecipeEntity recipe(String name, boolean isVegetarian, int servings, String... ingredients) {
+        return RecipeEntity.builder()
+                .name(name)
+                .isVegetarian(isVegetarian)
+                .servings(servings)
+                .ingredients(List.of(ingredients))
+                .instructions("Cook it.")
+                .build();
+    }
+
+    private static RecipeShardingProperties.Database database(String name) {
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + name);
+        return new RecipeShardingProperties.Database(url, POSTGRES.getUsername(), POSTGRES.getPassword(), 5);
+    }
+}
@@ -0,0 +1,191 @@
+package com.food.recipe.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.food.recipe.api.model.RecipeRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link ReactiveRecipeApplication} on Netty against PostgreSQL in a Testcontainer, through R2DBC.
+ * There is no in-memory backend for it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(ReactiveRecipeApplication.PROFILE)
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*memory.*")
+@Testcontainers
+public class ReactiveRecipeIntegrationTest {
+
+    private static final String RECIPES_PATH = "/api/v1/recipes";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("recipe_db")
+            .withUsername("postgres")
+            .withPassword("root");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void deleteAllRecipes() {
+        databaseClient.sql("DELETE FROM recipe_entity_ingredients").then()
+                .then(databaseClient.sql("DELETE FROM recipes_table").then())
+                .block();
+    }
+
+    @Test
+    void shouldCreateRecipe_andReadItBackById() {
+        int id = create(recipe("Vada Pav", true, 4, List.of("Potato", "Bread")));
+
+        assertThat(id).isPositive();
+        webTestClient.get().uri(RECIPES_PATH + "/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Vada Pav")
+                .jsonPath("$.servings").isEqualTo(4)
+                .jsonPath("$.ingredients.length()").isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnConflict_whenNameAlreadyExists() {
+        create(recipe("Vada Pav", true, 4, List.of("Potato")));
+
+        webTestClient.post().uri(RECIPES_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipe("Vada Pav", false, 2, List.of("Chicken")))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void shouldFilterByIncludedAndExcludedIngredients() {
+        create(recipe("Vada Pav", true, 4, List.of("Potato", "Bread")));
+        create(recipe("Aloo Paratha", true, 2, List.of("Potato", "Flour")));
+        create(recipe("Fish Curry", false, 4, List.of("Salmon", "Potato")));
+
+        webTestClient.get().uri(RECIPES_PATH + "/search?includeIngredients=Potato&excludeIngredients=Salmon")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(recipes -> assertThat(recipes.findValuesAsText("name"))
+                        .containsExactly("Vada Pav", "Aloo Paratha"));
+
+        webTestClient.get().uri(RECIPES_PATH + "/search?includeIngredients=Potato,Flour&servingsMin=2&servingsMax=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(recipes -> assertThat(recipes.findValuesAsText("name"))
+                        .containsExactly("Aloo Paratha"));
+
+        webTestClient.get().uri(RECIPES_PATH + "/search/count?includeIngredients=Potato&isVegetarian=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(2);
+
+        webTestClient.get().uri(RECIPES_PATH + "/search?includeIngredients=Rice")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldRankMostRelevantFirst_whenSortedByRelevance() {
+        create(recipe("Potato Bake", true, 4, List.of("Potato", "Cheese", "Cream", "Onion")));
+        create(recipe("Mashed Potato", true, 2, List.of("Potato")));
+
+        webTestClient.get().uri(RECIPES_PATH + "/search?includeIngredients=Potato&sort=relevance&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .value(recipes -> assertThat(recipes.findValuesAsText("name"))
+                        .containsExactly("Mashed Potato"));
+    }
+
+    @Test
+    void shouldReplaceIngredients_whenRecipeIsUpdated() {
+        int id = create(recipe("Vada Pav", true, 4, List.of("Potato", "Bread")));
+
+        webTestClient.put().uri(RECIPES_PATH + "/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipe("Vada Pav", true, 6, List.of("Potato", "Chutney")))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(RECIPES_PATH + "/search?includeIngredients=Chutney&servings=6")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].ingredients").value((List<String> ingredients) -> assertThat(ingredients)
+                        .containsExactlyInAnyOrder("Potato", "Chutney"));
+    }
+
+    @Test
+    void shouldReturnNotFound_afterRecipeIsDeleted() {
+        int id = create(recipe("Vada Pav", true, 4, List.of("Potato")));
+
+        webTestClient.delete().uri(RECIPES_PATH + "/{id}", id)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(RECIPES_PATH + "/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri(RECIPES_PATH + "/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * @return the ID of the created recipe
+     */
+    private int create(RecipeRequestDto recipe) {
+        return webTestClient.post().uri(RECIPES_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipe)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody()
+                .get("id").asInt();
+    }
+
+    private static RecipeRequestDto recipe(String name, boolean vegetarian, int servings, List<String> ingredients) {
+        return RecipeRequestDto.builder()
+                .recipeName(name)
+                .isVegetarian(vegetarian)
+                .servings(servings)
+                .ingredients(ingredients)
+                .instructions("Cook the " + String.join(" and ", ingredients).toLowerCase() + ".")
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.food.recipe.reactive.handler;
+
+import com.food.recipe.api.exception.DuplicateRecipeException;
+import com.food.recipe.api.exception.EntityNotFoundException;
+import com.food.recipe.api.model.RecipeRequestDto;
+import com.food.recipe.api.model.SearchCountResponse;
+import com.food.recipe.api.search.ServingsFilter;
+import com.food.recipe.reactive.config.ReactiveRecipeRouter;
+import com.food.recipe.reactive.service.ReactiveRecipeService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.food.recipe.api.util.RecipeTestUtil.buildInstructions;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeRequestDto;
+import static com.food.recipe.api.util.RecipeTestUtil.createRecipeResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ReactiveRecipeHandlerTest {
+
+    private final ReactiveRecipeService recipeService = mock(ReactiveRecipeService.class);
+
+    private final WebTestClient webTestClient = WebTestClient.bindToRouterFunction(new ReactiveRecipeRouter()
+                    .recipeRoutes(new ReactiveRecipeHandler(recipeService,
+                                    Validation.buildDefaultValidatorFactory().getValidator()),
+                            new ReactiveRecipeErrorHandler()))
+            .build();
+
+    @Test
+    void shouldReturnCreated_whenRecipeIsValid() {
+        when(recipeService.createRecipe(any())).thenReturn(Mono.just(createRecipeResponse()));
+
+        webTestClient.post().uri("/api/v1/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRecipeRequestDto())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.name").isEqualTo("Vada Pav")
+                .jsonPath("$.isVegetarian").isEqualTo(true);
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenRequiredFieldsAreMissing() {
+        var missingName = RecipeRequestDto.builder()
+                .isVegetarian(true)
+                .servings(4)
+                .instructions(buildInstructions())
+                .ingredients(List.of("Potato"))
+                .build();
+
+        webTestClient.post().uri("/api/v1/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(missingName)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(400)
+                .jsonPath("$.message").value((String message) -> assertThat(message).startsWith("recipeName: "));
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void shouldReturnConflict_whenNameAlreadyExists() {
+        when(recipeService.createRecipe(any()))
+                .thenReturn(Mono.error(new DuplicateRecipeException("Recipe with name Vada Pav already exists")));
+
+        webTestClient.post().uri("/api/v1/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRecipeRequestDto())
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Recipe with name Vada Pav already exists");
+    }
+
+    @Test
+    void shouldReturnNotFound_whenUpdatedRecipeDoesNotExist() {
+        when(recipeService.updateRecipe(eq(9), any()))
+                .thenReturn(Mono.error(new EntityNotFoundException("Recipe with ID 9 not found")));
+
+        webTestClient.put().uri("/api/v1/recipes/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRecipeRequestDto())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Recipe with ID 9 not found");
+    }
+
+    @Test
+    void shouldReturnOk_whenRecipeIsDeleted() {
+        when(recipeService.deleteRecipe(1)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/v1/recipes/1")
+                .exchange()
+                .expectStatus().isOk();
+        verify(recipeService).deleteRecipe(1);
+    }
+
+    @Test
+    void shouldReturnRecipe_whenIdExists() {
+        when(recipeService.findRecipeById(1)).thenReturn(Mono.just(createRecipeResponse()));
+
+        webTestClient.get().uri("/api/v1/recipes/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Vada Pav");
+    }
+
+    @Test
+    void shouldReturnNotFound_whenIdDoesNotExist() {
+        when(recipeService.findRecipeById(anyInt())).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/recipes/5")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Record not found for given ID. 5");
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenIdIsNotANumber() {
+        webTestClient.get().uri("/api/v1/recipes/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void shouldReturnNotFound_whenThereAreNoRecipes() {
+        when(recipeService.findAllRecipes()).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/v1/recipes")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No recipes found");
+    }
+
+    @Test
+    void shouldSearchWithBoundFilters_andDefaultLimit_whenSortedByRelevance() {
+        when(recipeService.searchRecipes(any(), any(), any(), any(), any(), anyInt(), eq(true)))
+                .thenReturn(Flux.just(createRecipeResponse()));
+
+        webTestClient.get().uri("/api/v1/recipes/search?isVegetarian=true&servings=4&includeIngredients=Potato"
+                        + "&sort=relevance")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Vada Pav");
+        verify(recipeService).searchRecipes(true, ServingsFilter.exactly(4), List.of("Potato"), null, null,
+                ReactiveRecipeHandler.DEFAULT_SEARCH_LIMIT, true);
+    }
+
+    @Test
+    void shouldReturnEveryMatch_whenNeitherLimitNorSortIsGiven() {
+        when(recipeService.searchRecipes(any(), any(), any(), any(), any(), anyInt(), eq(false)))
+                .thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/v1/recipes/search?excludeIngredients=Salmon")
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(recipeService).searchRecipes(isNull(), isNull(), isNull(), eq(List.of("Salmon")), isNull(), eq(0),
+                eq(false));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenLimitIsOutOfRange() {
+        webTestClient.get().uri("/api/v1/recipes/search?limit=1001")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("limit: must be between 1 and 1000");
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenSortIsUnknown() {
+        webTestClient.get().uri("/api/v1/recipes/search?sort=name")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void shouldReturnCount_ofMatchingRecipes() {
+        when(recipeService.countRecipes(any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(SearchCountResponse.builder().count(3L).build()));
+
+        webTestClient.get().uri("/api/v1/recipes/search/count?instructionText=oven")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(3);
+        verify(recipeService).countRecipes(null, null, null, null, "oven");
+    }
+}